@@ -215,4 +215,15 @@ class AgreementIT extends AbstractAppTest {
 			.withExpectedResponse(RESPONSE_FILE)
 			.sendRequestAndVerifyResponse();
 	}
+
+	@Test
+	void test19_getPagedAgreementsForPartyWithFiltersAndSorting() {
+
+		setupCall()
+			.withServicePath("/2281/paged/agreements/9d41d9b1-3c8e-4c76-8f3d-2b4a1b59a7c2?category=WASTE_MANAGEMENT&sortBy=fromDate&sortDirection=DESC&mainAgreement=true&binding=false&netAreaId=SUV&fromDate=2022-01-01")
+			.withHttpMethod(GET)
+			.withExpectedResponseStatus(OK)
+			.withExpectedResponse(RESPONSE_FILE)
+			.sendRequestAndVerifyResponse();
+	}
 }
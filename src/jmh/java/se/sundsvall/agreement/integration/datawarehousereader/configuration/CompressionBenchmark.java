@@ -0,0 +1,206 @@
+package se.sundsvall.agreement.integration.datawarehousereader.configuration;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Request;
+import generated.se.sundsvall.datawarehousereader.Agreement;
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import generated.se.sundsvall.datawarehousereader.Category;
+import generated.se.sundsvall.datawarehousereader.PagingAndSortingMetaData;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import static feign.Request.HttpMethod.GET;
+import static java.lang.Math.min;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+
+/**
+ * End-to-end latency and bytes on the wire of a DataWarehouseReader page, with and without compression. A local HTTP
+ * server serializes a large fixture for every call, gzip encoding it on the fly when the client asks for it, and the
+ * client decodes the response as the service does. The server can be limited to a link speed to show the effect of the
+ * network, as the loopback interface alone hides it. Bytes on the wire per call is {@code wireBytes / calls}.
+ *
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="CompressionBenchmark -p mbitPerSecond=100"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+
+	private static final int AGREEMENTS_PER_CUSTOMER = 5;
+	private static final int CHUNK_SIZE = 16 * 1024;
+	private static final Category[] CATEGORIES = Category.values();
+
+	@Param({
+		"1000", "10000"
+	})
+	private int agreements;
+
+	@Param({
+		"true", "false"
+	})
+	private boolean compression;
+
+	@Param({
+		"0", "100"
+	})
+	private int mbitPerSecond;
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+	private final AtomicLong written = new AtomicLong();
+
+	private HttpServer server;
+	private Client client;
+	private Request request;
+	private Request.Options options;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class WireCounters {
+
+		public long wireBytes;
+		public long calls;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			wireBytes = 0;
+			calls = 0;
+		}
+	}
+
+	@Setup
+	public void setup() throws IOException {
+		final var response = new AgreementResponse()
+			.agreements(new ArrayList<>(IntStream.range(0, agreements).mapToObj(CompressionBenchmark::agreement).toList()))
+			.meta(new PagingAndSortingMetaData()
+				.page(1)
+				.limit(agreements)
+				.count(agreements)
+				.totalRecords((long) agreements)
+				.totalPages(1));
+
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", exchange -> serve(exchange, response));
+		server.start();
+
+		client = compression ? new CompressionClient(new Client.Default(null, null)) : new Client.Default(null, null);
+		request = Request.create(GET, "http://localhost:" + server.getAddress().getPort() + "/2281/agreements",
+			Map.of("Accept", List.of("application/json")), null, UTF_8, null);
+		options = new Request.Options();
+	}
+
+	@TearDown
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	@Benchmark
+	public AgreementResponse fetchAndDecode(WireCounters counters) throws IOException {
+		final var before = written.get();
+		try (final var response = client.execute(request, options); final var body = response.body().asInputStream()) {
+			final var result = jsonMapper.readValue(body, AgreementResponse.class);
+			counters.wireBytes += written.get() - before;
+			counters.calls++;
+			return result;
+		}
+	}
+
+	private void serve(HttpExchange exchange, AgreementResponse response) throws IOException {
+		final var acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+		final var gzip = (acceptEncoding != null) && acceptEncoding.contains("gzip");
+
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		if (gzip) {
+			exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+		}
+		exchange.sendResponseHeaders(200, 0);
+
+		final OutputStream wire = new ThrottledOutputStream(exchange.getResponseBody());
+		try (final var body = gzip ? new GZIPOutputStream(wire, CHUNK_SIZE) : wire) {
+			jsonMapper.writeValue(body, response);
+		}
+		exchange.close();
+	}
+
+	private static Agreement agreement(int index) {
+		return new Agreement()
+			.customerNumber(String.valueOf(10000000 + (index / AGREEMENTS_PER_CUSTOMER)))
+			.agreementId(index + "-A")
+			.billingId(String.valueOf(100000000 + index))
+			.category(CATEGORIES[index % CATEGORIES.length])
+			.description("Agreement " + index)
+			.facilityId(String.valueOf(1000000 + index))
+			.mainAgreement((index % 2) == 0)
+			.binding((index % 3) == 0)
+			.bindingRule("12 mån bindning")
+			.placementStatus("Tillkopplad")
+			.netAreaId("SUV")
+			.siteAddress("Första gatan " + index)
+			.production(null)
+			.fromDate(LocalDate.of(2022, 1, 1))
+			.toDate(LocalDate.of(2022, 12, 31))
+			.active(true);
+	}
+
+	/**
+	 * Counts the written bytes and, when a link speed is given, delays each chunk for the time it takes on that link.
+	 */
+	private final class ThrottledOutputStream extends FilterOutputStream {
+
+		private ThrottledOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] {
+				(byte) b
+			}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) throws IOException {
+			for (var position = offset; position < (offset + length); position += CHUNK_SIZE) {
+				final var chunk = min(CHUNK_SIZE, (offset + length) - position);
+				written.addAndGet(chunk);
+				out.write(bytes, position, chunk);
+				if (mbitPerSecond > 0) {
+					parkNanos((chunk * 8_000L) / mbitPerSecond);
+				}
+			}
+		}
+	}
+}
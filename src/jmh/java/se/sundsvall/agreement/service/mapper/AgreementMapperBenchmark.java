@@ -0,0 +1,106 @@
+package se.sundsvall.agreement.service.mapper;
+
+import generated.se.sundsvall.datawarehousereader.Agreement;
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import generated.se.sundsvall.datawarehousereader.PagingAndSortingMetaData;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.sundsvall.agreement.api.model.AgreementParty;
+import se.sundsvall.agreement.api.model.Category;
+
+/**
+ * Throughput of the {@link AgreementMapper} functions for synthetic DataWarehouseReader responses. Run with the gc
+ * profiler (default for the benchmark profile) to get the bytes allocated per operation:
+ *
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="-prof gc AgreementMapperBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AgreementMapperBenchmark {
+
+	private static final int AGREEMENTS_PER_CUSTOMER = 5;
+	private static final generated.se.sundsvall.datawarehousereader.Category[] DATAWAREHOUSEREADER_CATEGORIES = generated.se.sundsvall.datawarehousereader.Category.values();
+
+	@Param({
+		"1", "100", "10000", "100000"
+	})
+	private int agreements;
+
+	private AgreementResponse response;
+	private List<Category> categories;
+	private Category category;
+
+	@Setup
+	public void setup() {
+		response = new AgreementResponse()
+			.agreements(new ArrayList<>(IntStream.range(0, agreements).mapToObj(AgreementMapperBenchmark::agreement).toList()))
+			.meta(new PagingAndSortingMetaData()
+				.page(1)
+				.limit(agreements)
+				.count(agreements)
+				.totalRecords((long) agreements)
+				.totalPages(1));
+		categories = List.of(Category.values());
+		category = Category.DISTRICT_HEATING;
+	}
+
+	@Benchmark
+	public List<AgreementParty> toAgreementParties() {
+		return AgreementMapper.toAgreementParties(response);
+	}
+
+	@Benchmark
+	public List<se.sundsvall.agreement.api.model.Agreement> toAgreements() {
+		return AgreementMapper.toAgreements(response);
+	}
+
+	@Benchmark
+	public generated.se.sundsvall.datawarehousereader.Category toCategory() {
+		return AgreementMapper.toCategory(category);
+	}
+
+	@Benchmark
+	public List<generated.se.sundsvall.datawarehousereader.Category> toCategories() {
+		return AgreementMapper.toCategories(categories);
+	}
+
+	private static Agreement agreement(int index) {
+		return new Agreement()
+			.customerNumber(String.valueOf(10000000 + (index / AGREEMENTS_PER_CUSTOMER)))
+			.agreementId(index + "-A")
+			.billingId(String.valueOf(100000000 + index))
+			.category(DATAWAREHOUSEREADER_CATEGORIES[index % DATAWAREHOUSEREADER_CATEGORIES.length])
+			.description("Agreement " + index)
+			.facilityId(String.valueOf(1000000 + index))
+			.mainAgreement((index % 2) == 0)
+			.binding((index % 3) == 0)
+			.bindingRule("12 mån bindning")
+			.placementStatus("Tillkopplad")
+			.netAreaId("SUV")
+			.siteAddress("Första gatan " + index)
+			.production(null)
+			.fromDate(LocalDate.of(2022, 1, 1))
+			.toDate(LocalDate.of(2022, 12, 31))
+			.active(true);
+	}
+}
@@ -0,0 +1,140 @@
+package se.sundsvall.agreement.api;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+import se.sundsvall.agreement.api.model.Agreement;
+import se.sundsvall.agreement.api.model.AgreementFields;
+import se.sundsvall.agreement.api.model.AgreementParty;
+import se.sundsvall.agreement.api.model.AgreementResponse;
+import se.sundsvall.agreement.api.model.CursorMetaData;
+import se.sundsvall.agreement.api.model.PagedAgreementResponse;
+import se.sundsvall.dept44.models.api.paging.PagingMetaData;
+
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
+import static se.sundsvall.agreement.api.model.AgreementFields.ACTIVE;
+import static se.sundsvall.agreement.api.model.AgreementFields.AGREEMENT_ID;
+import static se.sundsvall.agreement.api.model.AgreementFields.BILLING_ID;
+import static se.sundsvall.agreement.api.model.AgreementFields.BINDING;
+import static se.sundsvall.agreement.api.model.AgreementFields.BINDING_RULE;
+import static se.sundsvall.agreement.api.model.AgreementFields.CATEGORY;
+import static se.sundsvall.agreement.api.model.AgreementFields.CUSTOMER_ID;
+import static se.sundsvall.agreement.api.model.AgreementFields.DESCRIPTION;
+import static se.sundsvall.agreement.api.model.AgreementFields.FACILITY_ID;
+import static se.sundsvall.agreement.api.model.AgreementFields.FROM_DATE;
+import static se.sundsvall.agreement.api.model.AgreementFields.MAIN_AGREEMENT;
+import static se.sundsvall.agreement.api.model.AgreementFields.NET_AREA_ID;
+import static se.sundsvall.agreement.api.model.AgreementFields.PLACEMENT_STATUS;
+import static se.sundsvall.agreement.api.model.AgreementFields.PRODUCTION;
+import static se.sundsvall.agreement.api.model.AgreementFields.SITE_ADDRESS;
+import static se.sundsvall.agreement.api.model.AgreementFields.TO_DATE;
+
+/**
+ * Strong entity tags for agreement responses. The tag is a SHA-256 hash of a canonical form of the content, where the
+ * order of parties and agreements does not matter, so the same content always gives the same tag. Only the agreement
+ * properties of the requested sparse fieldset are part of the content.
+ */
+public final class AgreementETag {
+
+	private static final char FIELD_SEPARATOR = '\u001f';
+	private static final char RECORD_SEPARATOR = '\u001e';
+	private static final char GROUP_SEPARATOR = '\u001d';
+
+	private AgreementETag() {}
+
+	public static String of(final AgreementResponse response, final AgreementFields fields) {
+		return hash(sorted(ofNullable(response.getAgreementParties()).orElse(emptyList()).stream()
+			.map(party -> canonical(party, fields))));
+	}
+
+	public static String of(final PagedAgreementResponse response, final AgreementFields fields) {
+		return hash(canonical(response.getMetaData()) + GROUP_SEPARATOR + canonical(response.getCursorMetaData()) + GROUP_SEPARATOR + sorted(agreements(response.getAgreements(), fields)));
+	}
+
+	private static String canonical(final AgreementParty party, final AgreementFields fields) {
+		return canonicalFields(party.getCustomerId()) + GROUP_SEPARATOR + sorted(agreements(party.getAgreements(), fields));
+	}
+
+	private static Stream<String> agreements(final List<Agreement> agreements, final AgreementFields fields) {
+		return ofNullable(agreements).orElse(emptyList()).stream()
+			.map(agreement -> canonical(agreement, fields));
+	}
+
+	private static String canonical(final Agreement agreement, final AgreementFields fields) {
+		return canonicalFields(
+			included(fields, CUSTOMER_ID, agreement.getCustomerId()),
+			included(fields, AGREEMENT_ID, agreement.getAgreementId()),
+			included(fields, BILLING_ID, agreement.getBillingId()),
+			included(fields, CATEGORY, agreement.getCategory()),
+			included(fields, DESCRIPTION, agreement.getDescription()),
+			included(fields, FACILITY_ID, agreement.getFacilityId()),
+			included(fields, MAIN_AGREEMENT, agreement.getMainAgreement()),
+			included(fields, BINDING, agreement.getBinding()),
+			included(fields, BINDING_RULE, agreement.getBindingRule()),
+			included(fields, PLACEMENT_STATUS, agreement.getPlacementStatus()),
+			included(fields, NET_AREA_ID, agreement.getNetAreaId()),
+			included(fields, SITE_ADDRESS, agreement.getSiteAddress()),
+			included(fields, PRODUCTION, agreement.getProduction()),
+			included(fields, FROM_DATE, agreement.getFromDate()),
+			included(fields, TO_DATE, agreement.getToDate()),
+			included(fields, ACTIVE, agreement.getActive()));
+	}
+
+	/**
+	 * Properties left out of the sparse fieldset are not written, and are hashed as null.
+	 */
+	private static Object included(final AgreementFields fields, final String name, final Object value) {
+		return fields.includes(name) ? value : null;
+	}
+
+	private static String canonical(final PagingMetaData metaData) {
+		if (metaData == null) {
+			return "";
+		}
+		return canonicalFields(metaData.getPage(), metaData.getLimit(), metaData.getCount(), metaData.getTotalRecords(), metaData.getTotalPages());
+	}
+
+	private static String canonical(final CursorMetaData cursorMetaData) {
+		if (cursorMetaData == null) {
+			return "";
+		}
+		return canonicalFields(cursorMetaData.getNext());
+	}
+
+	/**
+	 * Joins the fields prefixed with their length, so that separators within values can not make two different contents
+	 * equal. A null value is written as a single separator without length.
+	 */
+	private static String canonicalFields(final Object... fields) {
+		final var builder = new StringBuilder();
+		for (final var field : fields) {
+			if (field == null) {
+				builder.append(FIELD_SEPARATOR);
+				continue;
+			}
+			final var value = Objects.toString(field);
+			builder.append(value.length()).append(':').append(value).append(FIELD_SEPARATOR);
+		}
+		return builder.toString();
+	}
+
+	private static String sorted(final Stream<String> canonicals) {
+		final var builder = new StringBuilder();
+		canonicals.sorted().forEach(canonical -> builder.append(canonical).append(RECORD_SEPARATOR));
+		return builder.toString();
+	}
+
+	private static String hash(final String canonical) {
+		try {
+			final var digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+			return '"' + HexFormat.of().formatHex(digest) + '"';
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);
+		}
+	}
+}
@@ -14,6 +14,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import se.sundsvall.agreement.api.model.Agreement;
+import se.sundsvall.agreement.api.model.AgreementFields;
+import se.sundsvall.agreement.api.model.AgreementParty;
 import se.sundsvall.agreement.api.model.AgreementResponse;
 import se.sundsvall.agreement.api.model.Category;
 import se.sundsvall.agreement.service.AgreementService;
@@ -23,6 +28,8 @@ import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.dept44.problem.violations.ConstraintViolationProblem;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
 import static org.springframework.http.ResponseEntity.ok;
 
@@ -33,50 +40,112 @@ import static org.springframework.http.ResponseEntity.ok;
 public class AgreementResource {
 
 	private final AgreementService agreementService;
+	private final CancellableRequests cancellableRequests;
 
-	public AgreementResource(final AgreementService agreementService) {
+	public AgreementResource(final AgreementService agreementService, final CancellableRequests cancellableRequests) {
 		this.agreementService = agreementService;
+		this.cancellableRequests = cancellableRequests;
 	}
 
 	@GetMapping(path = "/{category}/{facilityId}", produces = APPLICATION_JSON_VALUE)
 	@Operation(summary = "Get agreements by category and facility-id", responses = {
 
-		@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true),
+		@ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = AgreementResponse.class))),
 		@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
 			Problem.class, ConstraintViolationProblem.class
 		}))),
 		@ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class))),
 		@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class))),
-		@ApiResponse(responseCode = "502", description = "Bad Gateway", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+		@ApiResponse(responseCode = "502", description = "Bad Gateway", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class))),
+		@ApiResponse(responseCode = "504", description = "Gateway Timeout", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
 	})
-	public ResponseEntity<AgreementResponse> getAgreementsByCategoryAndFacilityId(
+	public WebAsyncTask<ResponseEntity<AgreementResponse>> getAgreementsByCategoryAndFacilityId(
 		@Parameter(name = "municipalityId", description = "Municipality id", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
 		@Parameter(name = "category", description = "Agreement category", example = "ELECTRICITY") @PathVariable(name = "category") final Category category,
 		@Parameter(name = "facilityId", description = "Id for the facility", example = "1471222") @PathVariable(name = "facilityId") final String facilityId,
 		@Parameter(name = "onlyActive", description = "Signal if only active or all agreements should be included in response, default is to only return active agreements.", example = "true") @RequestParam(name = "onlyActive",
-			defaultValue = "true") final boolean onlyActive) {
+			defaultValue = "true") final boolean onlyActive,
+		@Parameter(name = "fields", description = "Optional list of agreement properties to include in response, default is to include all properties", example = "agreementId,category,facilityId,active") @RequestParam(name = "fields",
+			required = false) final List<String> fields) {
 
-		return ok(agreementService.getAgreementsByCategoryAndFacilityId(municipalityId, category, facilityId, onlyActive));
+		SparseFieldsAdvice.select(fields);
+		return cancellableRequests.execute(() -> ok(agreementService.getAgreementsByCategoryAndFacilityId(municipalityId, category, facilityId, onlyActive)));
+	}
+
+	@GetMapping(path = "/{category}/{facilityId}/stream", produces = APPLICATION_NDJSON_VALUE)
+	@Operation(summary = "Stream agreement parties by category and facility-id as newline delimited JSON",
+		description = "The agreements are read sorted by customer, and each party is written as soon as all of its agreements have been read. An empty stream is returned when no agreements match.",
+		responses = {
+			@ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = AgreementParty.class))),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
+				Problem.class, ConstraintViolationProblem.class
+			}))),
+			@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class))),
+			@ApiResponse(responseCode = "502", description = "Bad Gateway", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+		})
+	public ResponseEntity<StreamingResponseBody> streamAgreementPartiesByCategoryAndFacilityId(
+		@Parameter(name = "municipalityId", description = "Municipality id", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
+		@Parameter(name = "category", description = "Agreement category", example = "ELECTRICITY") @PathVariable(name = "category") final Category category,
+		@Parameter(name = "facilityId", description = "Id for the facility", example = "1471222") @PathVariable(name = "facilityId") final String facilityId,
+		@Parameter(name = "onlyActive", description = "Signal if only active or all agreements should be included in response, default is to only return active agreements.", example = "true") @RequestParam(name = "onlyActive",
+			defaultValue = "true") final boolean onlyActive,
+		@Parameter(name = "fields", description = "Optional list of agreement properties to include in response, default is to include all properties", example = "agreementId,category,facilityId,active") @RequestParam(name = "fields",
+			required = false) final List<String> fields) {
+
+		return ok()
+			.contentType(APPLICATION_NDJSON)
+			.body(agreementService.streamAgreementPartiesByCategoryAndFacilityId(municipalityId, category, facilityId, onlyActive, AgreementFields.of(fields)));
 	}
 
 	@GetMapping(path = "/{partyId}", produces = APPLICATION_JSON_VALUE)
-	@Operation(summary = "Get agreements connected to a party-ID, optionally filtered by provided categories", responses = {
-		@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true),
-		@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
-			Problem.class, ConstraintViolationProblem.class
-		}))),
-		@ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class))),
-		@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class))),
-		@ApiResponse(responseCode = "502", description = "Bad Gateway", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
-	})
+	@Operation(summary = "Get agreements connected to a party-ID, optionally filtered by provided categories",
+		description = "The response has a strong ETag. A request with a matching If-None-Match header is answered with 304 Not Modified without a body.", responses = {
+			@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true),
+			@ApiResponse(responseCode = "304", description = "Not modified"),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
+				Problem.class, ConstraintViolationProblem.class
+			}))),
+			@ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class))),
+			@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class))),
+			@ApiResponse(responseCode = "502", description = "Bad Gateway", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+		})
 	public ResponseEntity<AgreementResponse> getAgreementsForPartyId(
 		@Parameter(name = "municipalityId", description = "Municipality id", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
 		@Parameter(name = "partyId", description = "Party-ID", example = "81471222-5798-11e9-ae24-57fa13b361e1") @ValidUuid @PathVariable(name = "partyId") final String partyId,
 		@Parameter(name = "category", description = "Optional list of one or more agreement categories to be included in response, default is to return all agreements connected to the party-ID") @RequestParam(value = "category",
 			defaultValue = "") final List<Category> categories,
 		@Parameter(name = "onlyActive", description = "Signal if only active or all agreements should be included in response, default is to only return active agreements.", example = "true") @RequestParam(name = "onlyActive",
-			defaultValue = "true") final boolean onlyActive) {
+			defaultValue = "true") final boolean onlyActive,
+		@Parameter(name = "fields", description = "Optional list of agreement properties to include in response, default is to include all properties", example = "agreementId,category,facilityId,active") @RequestParam(name = "fields",
+			required = false) final List<String> fields) {
+
+		final var agreementFields = SparseFieldsAdvice.select(fields);
+		final var response = agreementService.getAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, onlyActive);
+		return ok().eTag(AgreementETag.of(response, agreementFields)).body(response);
+	}
+
+	@GetMapping(path = "/{partyId}/stream", produces = APPLICATION_NDJSON_VALUE)
+	@Operation(summary = "Stream agreements connected to a party-ID as newline delimited JSON, optionally filtered by provided categories",
+		description = "Each agreement is written as soon as the page containing it has been read. An empty stream is returned when no agreements match.", responses = {
+			@ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = Agreement.class))),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
+				Problem.class, ConstraintViolationProblem.class
+			}))),
+			@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class))),
+			@ApiResponse(responseCode = "502", description = "Bad Gateway", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+		})
+	public ResponseEntity<StreamingResponseBody> streamAgreementsForPartyId(
+		@Parameter(name = "municipalityId", description = "Municipality id", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
+		@Parameter(name = "partyId", description = "Party-ID", example = "81471222-5798-11e9-ae24-57fa13b361e1") @ValidUuid @PathVariable(name = "partyId") final String partyId,
+		@Parameter(name = "category", description = "Optional list of one or more agreement categories to be included in response, default is to return all agreements connected to the party-ID") @RequestParam(value = "category",
+			defaultValue = "") final List<Category> categories,
+		@Parameter(name = "onlyActive", description = "Signal if only active or all agreements should be included in response, default is to only return active agreements.", example = "true") @RequestParam(name = "onlyActive",
+			defaultValue = "true") final boolean onlyActive,
+		@Parameter(name = "fields", description = "Optional list of agreement properties to include in response, default is to include all properties", example = "agreementId,category,facilityId,active") @RequestParam(name = "fields",
+			required = false) final List<String> fields) {
 
-		return ok(agreementService.getAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, onlyActive));
+		return ok()
+			.contentType(APPLICATION_NDJSON)
+			.body(agreementService.streamAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, onlyActive, AgreementFields.of(fields)));
 	}
 }
@@ -0,0 +1,73 @@
+package se.sundsvall.agreement.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import se.sundsvall.agreement.api.model.FacilityBatchRequest;
+import se.sundsvall.agreement.api.model.FacilityBatchResponse;
+import se.sundsvall.agreement.api.model.PartyBatchRequest;
+import se.sundsvall.agreement.api.model.PartyBatchResponse;
+import se.sundsvall.agreement.service.BatchAgreementService;
+import se.sundsvall.dept44.common.validators.annotation.ValidMunicipalityId;
+import se.sundsvall.dept44.problem.Problem;
+import se.sundsvall.dept44.problem.violations.ConstraintViolationProblem;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
+import static org.springframework.http.ResponseEntity.ok;
+
+@RestController
+@Validated
+@RequestMapping("/{municipalityId}/agreements/batch")
+@Tag(name = "Batch agreement", description = "Batch agreement resources")
+public class BatchAgreementResource {
+
+	private final BatchAgreementService batchAgreementService;
+
+	public BatchAgreementResource(final BatchAgreementService batchAgreementService) {
+		this.batchAgreementService = batchAgreementService;
+	}
+
+	@PostMapping(path = "/parties", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+	@Operation(summary = "Get agreements connected to a list of party-IDs, optionally filtered by provided categories",
+		description = "Repeated party-IDs are only looked up once. The result of each party-ID has its own status, so a party-ID without matching agreements does not fail the whole batch.", responses = {
+			@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
+				Problem.class, ConstraintViolationProblem.class
+			}))),
+			@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+		})
+	public ResponseEntity<PartyBatchResponse> getAgreementsForPartyIds(
+		@Parameter(name = "municipalityId", description = "Municipality id", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
+		@Valid @RequestBody final PartyBatchRequest request) {
+
+		return ok(batchAgreementService.getAgreementsByPartyIds(municipalityId, request));
+	}
+
+	@PostMapping(path = "/facilities", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+	@Operation(summary = "Get agreements connected to a list of category and facility-id pairs",
+		description = "Repeated pairs are only looked up once. The result of each pair has its own status, so a pair without matching agreements does not fail the whole batch.", responses = {
+			@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
+				Problem.class, ConstraintViolationProblem.class
+			}))),
+			@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+		})
+	public ResponseEntity<FacilityBatchResponse> getAgreementsForFacilities(
+		@Parameter(name = "municipalityId", description = "Municipality id", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
+		@Valid @RequestBody final FacilityBatchRequest request) {
+
+		return ok(batchAgreementService.getAgreementsByFacilities(municipalityId, request));
+	}
+}
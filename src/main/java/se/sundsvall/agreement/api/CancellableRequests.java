@@ -0,0 +1,75 @@
+package se.sundsvall.agreement.api;
+
+import java.util.concurrent.Callable;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import se.sundsvall.agreement.service.DeadlineProperties;
+import se.sundsvall.agreement.service.RequestDeadline;
+
+import static java.lang.Math.max;
+import static java.util.Objects.isNull;
+
+/**
+ * Executes requests asynchronously, so that the servlet container can report a passed deadline or a disconnected client
+ * while DataWarehouseReader is called. The async timeout of a request is the time left until its deadline, and a timed
+ * out request is answered with 504 Gateway Timeout. Once a request completes, in any way, its deadline is cancelled and
+ * the page fetches still outstanding for it are abandoned. The amount of requests executing at once is limited, and a
+ * request thread submitting a request beyond the limit waits for a free slot, so the limits of the servlet container
+ * still apply.
+ */
+@Component
+public class CancellableRequests {
+
+	private static final String THREAD_PREFIX = "agreement-request-";
+
+	private final SimpleAsyncTaskExecutor executor;
+
+	public CancellableRequests(DeadlineProperties properties, @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+		this.executor = new SimpleAsyncTaskExecutor(THREAD_PREFIX);
+		this.executor.setVirtualThreads(virtualThreads);
+		this.executor.setConcurrencyLimit(properties.asyncParallelism());
+	}
+
+	/**
+	 * Creates a task executing the callable with the deadline and logging context of the calling request thread. The
+	 * request attributes are not propagated, as Spring MVC binds attributes of its own to the async thread, which stay
+	 * usable after the calling request thread has returned.
+	 *
+	 * @param  callable the request handling to execute
+	 * @return          the task to return from the request handler method
+	 */
+	public <T> WebAsyncTask<T> execute(Callable<T> callable) {
+		final var deadline = RequestDeadline.current().orElseGet(RequestDeadline::none);
+		final var timeout = deadline.remaining().map(remaining -> max(1, remaining.toMillis())).orElse(null);
+
+		final var task = new WebAsyncTask<>(timeout, executor, withContext(deadline, callable));
+		task.onTimeout(() -> {
+			deadline.cancel();
+			throw RequestDeadline.exceeded();
+		});
+		task.onCompletion(deadline::cancel);
+		return task;
+	}
+
+	private static <T> Callable<T> withContext(RequestDeadline deadline, Callable<T> callable) {
+		final var context = MDC.getCopyOfContextMap();
+
+		return () -> {
+			RequestDeadline.bind(deadline);
+			if (isNull(context)) {
+				MDC.clear();
+			} else {
+				MDC.setContextMap(context);
+			}
+			try {
+				return callable.call();
+			} finally {
+				MDC.clear();
+				RequestDeadline.bind(null);
+			}
+		};
+	}
+}
@@ -41,21 +41,30 @@ public class PagedAgreementResource {
 	}
 
 	@GetMapping(path = "/{partyId}", produces = APPLICATION_JSON_VALUE)
-	@Operation(summary = "Get agreements connected to a party-ID, optionally filtered by provided categories", responses = {
-		@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true),
-		@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
-			Problem.class, ConstraintViolationProblem.class
-		}))),
-		@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class))),
-		@ApiResponse(responseCode = "502", description = "Bad Gateway", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
-	})
+	@Operation(summary = "Get agreements connected to a party-ID, optionally filtered by provided categories",
+		description = "The response has a strong ETag. A request with a matching If-None-Match header is answered with 304 Not Modified without a body. "
+			+ "A response followed by more agreements has a cursor, which continues paging after its last agreement. "
+			+ "Gone is returned when that agreement is no longer part of the result.", responses = {
+			@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true),
+			@ApiResponse(responseCode = "304", description = "Not modified"),
+			@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
+				Problem.class, ConstraintViolationProblem.class
+			}))),
+			@ApiResponse(responseCode = "410", description = "Gone", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class))),
+			@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class))),
+			@ApiResponse(responseCode = "502", description = "Bad Gateway", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+		})
 	public ResponseEntity<PagedAgreementResponse> getAgreementsForPartyId(
 		@Parameter(name = "municipalityId", description = "Municipality id", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
 		@Parameter(name = "partyId", description = "Party-ID", example = "81471222-5798-11e9-ae24-57fa13b361e1") @ValidUuid @PathVariable(name = "partyId") final String partyId,
 		@Parameter(name = "category", description = "Optional list of one or more agreement categories to be included in response, default is to return all agreements connected to the party-ID") @RequestParam(value = "category",
 			defaultValue = "") final List<Category> categories,
-		@Valid final AgreementParameters parameters) {
+		@Valid final AgreementParameters parameters,
+		@Parameter(name = "fields", description = "Optional list of agreement properties to include in response, default is to include all properties", example = "agreementId,category,facilityId,active") @RequestParam(name = "fields",
+			required = false) final List<String> fields) {
 
-		return ok(agreementService.getPagedAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, parameters));
+		final var agreementFields = SparseFieldsAdvice.select(fields);
+		final var response = agreementService.getPagedAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, parameters);
+		return ok().eTag(AgreementETag.of(response, agreementFields)).body(response);
 	}
 }
@@ -0,0 +1,58 @@
+package se.sundsvall.agreement.api;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import se.sundsvall.agreement.service.DeadlineProperties;
+import se.sundsvall.agreement.service.RequestDeadline;
+
+import static java.lang.Math.max;
+import static java.util.Objects.isNull;
+
+/**
+ * Binds the deadline of the request to the request thread. The deadline is the configured timeout from now, or the
+ * amount of milliseconds sent by the client in the deadline header when that is shorter.
+ */
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+	private final DeadlineProperties properties;
+
+	public RequestDeadlineFilter(DeadlineProperties properties) {
+		this.properties = properties;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !properties.enabled();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+		RequestDeadline.bind(RequestDeadline.after(timeout(request)));
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			RequestDeadline.bind(null);
+		}
+	}
+
+	private Duration timeout(HttpServletRequest request) {
+		final var header = request.getHeader(properties.header());
+		if (isNull(header)) {
+			return properties.timeout();
+		}
+
+		try {
+			final var requested = Duration.ofMillis(max(0, Long.parseLong(header.trim())));
+			return (requested.compareTo(properties.timeout()) < 0) ? requested : properties.timeout();
+		} catch (final NumberFormatException e) {
+			return properties.timeout();
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package se.sundsvall.agreement.api;
+
+import java.util.List;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import se.sundsvall.agreement.api.model.AgreementFields;
+import se.sundsvall.agreement.api.model.AgreementResponse;
+import se.sundsvall.agreement.api.model.PagedAgreementResponse;
+import se.sundsvall.agreement.service.AgreementJsonWriter;
+
+import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
+
+/**
+ * Writes agreement responses to requests with a sparse fieldset (see {@link AgreementFields}) with only the requested
+ * agreement properties. The responses themselves always hold all properties.
+ */
+@ControllerAdvice
+public class SparseFieldsAdvice implements ResponseBodyAdvice<Object> {
+
+	private static final String FIELDS_ATTRIBUTE = SparseFieldsAdvice.class.getName() + ".fields";
+
+	private final AgreementJsonWriter agreementJsonWriter;
+
+	public SparseFieldsAdvice(AgreementJsonWriter agreementJsonWriter) {
+		this.agreementJsonWriter = agreementJsonWriter;
+	}
+
+	/**
+	 * Selects the agreement properties to write in the response to the current request.
+	 *
+	 * @param  fields the requested property names, or null or empty for all properties
+	 * @return        the requested properties
+	 * @throws        se.sundsvall.dept44.problem.ThrowableProblem with status 400 if a property name is unknown
+	 */
+	static AgreementFields select(List<String> fields) {
+		final var agreementFields = AgreementFields.of(fields);
+		RequestContextHolder.currentRequestAttributes().setAttribute(FIELDS_ATTRIBUTE, agreementFields, SCOPE_REQUEST);
+		return agreementFields;
+	}
+
+	@Override
+	public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+		return true;
+	}
+
+	@Override
+	public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType,
+		ServerHttpRequest request, ServerHttpResponse response) {
+
+		if (((body instanceof AgreementResponse) || (body instanceof PagedAgreementResponse))
+			&& (request instanceof final ServletServerHttpRequest servletRequest)
+			&& (servletRequest.getServletRequest().getAttribute(FIELDS_ATTRIBUTE) instanceof final AgreementFields fields)
+			&& !fields.isAll()) {
+			return agreementJsonWriter.writeValueAsRaw(body, fields);
+		}
+		return body;
+	}
+}
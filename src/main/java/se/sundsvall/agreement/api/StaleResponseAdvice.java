@@ -0,0 +1,41 @@
+package se.sundsvall.agreement.api;
+
+import java.time.Duration;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import static org.springframework.http.HttpHeaders.AGE;
+import static se.sundsvall.agreement.service.AgreementService.STALE_RESPONSE_AGE_ATTRIBUTE;
+
+/**
+ * Marks responses served from the last known good responses, while DataWarehouseReader can not be called, with the
+ * header X-Stale-Response and their age in seconds in the Age header.
+ */
+@ControllerAdvice
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+
+	static final String STALE_RESPONSE_HEADER = "X-Stale-Response";
+
+	@Override
+	public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+		return true;
+	}
+
+	@Override
+	public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType,
+		ServerHttpRequest request, ServerHttpResponse response) {
+
+		if ((request instanceof final ServletServerHttpRequest servletRequest)
+			&& (servletRequest.getServletRequest().getAttribute(STALE_RESPONSE_AGE_ATTRIBUTE) instanceof final Duration age)) {
+			response.getHeaders().set(STALE_RESPONSE_HEADER, "true");
+			response.getHeaders().set(AGE, String.valueOf(age.toSeconds()));
+		}
+		return body;
+	}
+}
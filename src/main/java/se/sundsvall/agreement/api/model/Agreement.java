@@ -30,10 +30,10 @@ public class Agreement {
 	private String facilityId;
 
 	@Schema(description = "Signal indicating whether the agreement is the main agreement or not", examples = "true", accessMode = READ_ONLY)
-	private boolean mainAgreement;
+	private Boolean mainAgreement;
 
 	@Schema(description = "Signal indicating whether the agreement has a binding period or not", examples = "true", accessMode = READ_ONLY)
-	private boolean binding;
+	private Boolean binding;
 
 	@Schema(description = "Description of the binding rule in cases where the agreement has a binding period", nullable = true, examples = "12 mån bindning", accessMode = READ_ONLY)
 	private String bindingRule;
@@ -57,7 +57,7 @@ public class Agreement {
 	private LocalDate toDate;
 
 	@Schema(description = "Signal if the agreement is active or not", examples = "true", accessMode = READ_ONLY)
-	private boolean active;
+	private Boolean active;
 
 	public static Agreement create() {
 		return new Agreement();
@@ -141,28 +141,28 @@ public class Agreement {
 		return this;
 	}
 
-	public boolean isMainAgreement() {
+	public Boolean getMainAgreement() {
 		return mainAgreement;
 	}
 
-	public void setMainAgreement(boolean mainAgreement) {
+	public void setMainAgreement(Boolean mainAgreement) {
 		this.mainAgreement = mainAgreement;
 	}
 
-	public Agreement withMainAgreement(boolean mainAgreement) {
+	public Agreement withMainAgreement(Boolean mainAgreement) {
 		this.mainAgreement = mainAgreement;
 		return this;
 	}
 
-	public boolean isBinding() {
+	public Boolean getBinding() {
 		return binding;
 	}
 
-	public void setBinding(boolean binding) {
+	public void setBinding(Boolean binding) {
 		this.binding = binding;
 	}
 
-	public Agreement withBinding(boolean binding) {
+	public Agreement withBinding(Boolean binding) {
 		this.binding = binding;
 		return this;
 	}
@@ -258,15 +258,15 @@ public class Agreement {
 		return this;
 	}
 
-	public boolean isActive() {
+	public Boolean getActive() {
 		return active;
 	}
 
-	public void setActive(boolean active) {
+	public void setActive(Boolean active) {
 		this.active = active;
 	}
 
-	public Agreement withActive(boolean active) {
+	public Agreement withActive(Boolean active) {
 		this.active = active;
 		return this;
 	}
@@ -280,8 +280,8 @@ public class Agreement {
 	public boolean equals(Object obj) {
 		if (this == obj) { return true; }
 		if (!(obj instanceof final Agreement other)) { return false; }
-		return active == other.active && Objects.equals(agreementId, other.agreementId) && Objects.equals(billingId, other.billingId) && binding == other.binding && Objects.equals(bindingRule, other.bindingRule) && category == other.category && Objects
-			.equals(customerId, other.customerId) && Objects.equals(description, other.description) && Objects.equals(facilityId, other.facilityId) && Objects.equals(fromDate, other.fromDate) && mainAgreement == other.mainAgreement && Objects.equals(
+		return Objects.equals(active, other.active) && Objects.equals(agreementId, other.agreementId) && Objects.equals(billingId, other.billingId) && Objects.equals(binding, other.binding) && Objects.equals(bindingRule, other.bindingRule) && category == other.category && Objects
+			.equals(customerId, other.customerId) && Objects.equals(description, other.description) && Objects.equals(facilityId, other.facilityId) && Objects.equals(fromDate, other.fromDate) && Objects.equals(mainAgreement, other.mainAgreement) && Objects.equals(
 				netAreaId, other.netAreaId) && Objects.equals(placementStatus, other.placementStatus) && Objects.equals(production, other.production) && Objects.equals(siteAddress, other.siteAddress) && Objects.equals(toDate, other.toDate);
 	}
 
@@ -0,0 +1,114 @@
+package se.sundsvall.agreement.api.model;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import se.sundsvall.dept44.problem.Problem;
+
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Objects.isNull;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.util.CollectionUtils.isEmpty;
+
+/**
+ * The agreement properties requested by the caller. Agreements are always mapped with all properties, and only the
+ * requested properties are written to the response. No requested properties means all properties.
+ */
+public final class AgreementFields {
+
+	public static final String CUSTOMER_ID = "customerId";
+	public static final String AGREEMENT_ID = "agreementId";
+	public static final String BILLING_ID = "billingId";
+	public static final String CATEGORY = "category";
+	public static final String DESCRIPTION = "description";
+	public static final String FACILITY_ID = "facilityId";
+	public static final String MAIN_AGREEMENT = "mainAgreement";
+	public static final String BINDING = "binding";
+	public static final String BINDING_RULE = "bindingRule";
+	public static final String PLACEMENT_STATUS = "placementStatus";
+	public static final String NET_AREA_ID = "netAreaId";
+	public static final String SITE_ADDRESS = "siteAddress";
+	public static final String PRODUCTION = "production";
+	public static final String FROM_DATE = "fromDate";
+	public static final String TO_DATE = "toDate";
+	public static final String ACTIVE = "active";
+
+	public static final List<String> NAMES = List.of(CUSTOMER_ID, AGREEMENT_ID, BILLING_ID, CATEGORY, DESCRIPTION, FACILITY_ID, MAIN_AGREEMENT, BINDING, BINDING_RULE, PLACEMENT_STATUS,
+		NET_AREA_ID, SITE_ADDRESS, PRODUCTION, FROM_DATE, TO_DATE, ACTIVE);
+
+	public static final AgreementFields ALL = new AgreementFields(null);
+
+	private static final String UNKNOWN_FIELDS_MESSAGE = "Unknown agreement field(s) %s, valid fields are %s";
+
+	private final Set<String> names;
+
+	private AgreementFields(Set<String> names) {
+		this.names = names;
+	}
+
+	/**
+	 * @param  fields the requested property names, or null or empty for all properties
+	 * @return        the requested properties
+	 * @throws        se.sundsvall.dept44.problem.ThrowableProblem with status 400 if a property name is unknown
+	 */
+	public static AgreementFields of(Collection<String> fields) {
+		if (isEmpty(fields)) {
+			return ALL;
+		}
+
+		final var requested = new TreeSet<String>();
+		fields.stream()
+			.filter(Objects::nonNull)
+			.map(String::trim)
+			.filter(field -> !field.isEmpty())
+			.forEach(requested::add);
+
+		final var unknown = requested.stream()
+			.filter(field -> !NAMES.contains(field))
+			.toList();
+		if (!unknown.isEmpty()) {
+			throw Problem.valueOf(BAD_REQUEST, UNKNOWN_FIELDS_MESSAGE.formatted(unknown, NAMES));
+		}
+
+		return (requested.isEmpty() || requested.containsAll(NAMES)) ? ALL : new AgreementFields(unmodifiableSet(requested));
+	}
+
+	public boolean includes(String name) {
+		return isNull(names) || names.contains(name);
+	}
+
+	public boolean isAll() {
+		return isNull(names);
+	}
+
+	/**
+	 * @return the requested property names, or all property names
+	 */
+	public Set<String> names() {
+		return isNull(names) ? Set.copyOf(NAMES) : names;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		final AgreementFields that = (AgreementFields) o;
+		return Objects.equals(names, that.names);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hashCode(names);
+	}
+
+	@Override
+	public String toString() {
+		return "AgreementFields{names=" + (isNull(names) ? "ALL" : names) + '}';
+	}
+}
@@ -1,15 +1,48 @@
 package se.sundsvall.agreement.api.model;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Objects;
-import se.sundsvall.dept44.models.api.paging.AbstractParameterPagingBase;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.format.annotation.DateTimeFormat;
+import se.sundsvall.dept44.models.api.paging.AbstractParameterPagingAndSortingBase;
+
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
 
 @Schema(description = "Agreement request parameters model")
-public class AgreementParameters extends AbstractParameterPagingBase {
+public class AgreementParameters extends AbstractParameterPagingAndSortingBase {
 
 	@Schema(description = "Signal if only active or all agreements should be included in response, default is to only return active agreements.", examples = "true")
 	private boolean onlyActive = true;
 
+	@Schema(description = "Signal if only main agreements (true) or only other agreements (false) should be included in response, default is to include both", nullable = true, examples = "true")
+	private Boolean mainAgreement;
+
+	@Schema(description = "Signal if only agreements with (true) or without (false) a binding period should be included in response, default is to include both", nullable = true, examples = "false")
+	private Boolean binding;
+
+	@Schema(description = "Signal if only production agreements (true) or only other agreements (false) should be included in response, default is to include both", nullable = true, examples = "true")
+	private Boolean production;
+
+	@Schema(description = "Placement status of the agreements to include in response", nullable = true, examples = "Tillkopplad")
+	private String placementStatus;
+
+	@Schema(description = "Net area id of the agreements to include in response", nullable = true, examples = "SUV")
+	private String netAreaId;
+
+	@Schema(description = "Start date of the agreements to include in response", nullable = true, examples = "2022-01-01")
+	@DateTimeFormat(iso = DATE)
+	private LocalDate fromDate;
+
+	@Schema(description = "End date of the agreements to include in response", nullable = true, examples = "2022-12-31")
+	@DateTimeFormat(iso = DATE)
+	private LocalDate toDate;
+
+	@Schema(description = "Cursor from _cursor.next of a previous response. Continues after the last agreement of that response and takes precedence over page. All other parameters must be the same as in the previous request",
+		nullable = true, examples = "MToyNzE4MjgxODI4OjQ5OjEyMDo1MTM0NzY")
+	private String cursor;
+
 	public static AgreementParameters create() {
 		return new AgreementParameters();
 	}
@@ -27,6 +60,120 @@ public class AgreementParameters extends AbstractParameterPagingBase {
 		return this;
 	}
 
+	public Boolean getMainAgreement() {
+		return mainAgreement;
+	}
+
+	public void setMainAgreement(Boolean mainAgreement) {
+		this.mainAgreement = mainAgreement;
+	}
+
+	public AgreementParameters withMainAgreement(Boolean mainAgreement) {
+		this.mainAgreement = mainAgreement;
+		return this;
+	}
+
+	public Boolean getBinding() {
+		return binding;
+	}
+
+	public void setBinding(Boolean binding) {
+		this.binding = binding;
+	}
+
+	public AgreementParameters withBinding(Boolean binding) {
+		this.binding = binding;
+		return this;
+	}
+
+	public Boolean getProduction() {
+		return production;
+	}
+
+	public void setProduction(Boolean production) {
+		this.production = production;
+	}
+
+	public AgreementParameters withProduction(Boolean production) {
+		this.production = production;
+		return this;
+	}
+
+	public String getPlacementStatus() {
+		return placementStatus;
+	}
+
+	public void setPlacementStatus(String placementStatus) {
+		this.placementStatus = placementStatus;
+	}
+
+	public AgreementParameters withPlacementStatus(String placementStatus) {
+		this.placementStatus = placementStatus;
+		return this;
+	}
+
+	public String getNetAreaId() {
+		return netAreaId;
+	}
+
+	public void setNetAreaId(String netAreaId) {
+		this.netAreaId = netAreaId;
+	}
+
+	public AgreementParameters withNetAreaId(String netAreaId) {
+		this.netAreaId = netAreaId;
+		return this;
+	}
+
+	public LocalDate getFromDate() {
+		return fromDate;
+	}
+
+	public void setFromDate(LocalDate fromDate) {
+		this.fromDate = fromDate;
+	}
+
+	public AgreementParameters withFromDate(LocalDate fromDate) {
+		this.fromDate = fromDate;
+		return this;
+	}
+
+	public LocalDate getToDate() {
+		return toDate;
+	}
+
+	public void setToDate(LocalDate toDate) {
+		this.toDate = toDate;
+	}
+
+	public AgreementParameters withToDate(LocalDate toDate) {
+		this.toDate = toDate;
+		return this;
+	}
+
+	public String getCursor() {
+		return cursor;
+	}
+
+	public void setCursor(String cursor) {
+		this.cursor = cursor;
+	}
+
+	public AgreementParameters withCursor(String cursor) {
+		this.cursor = cursor;
+		return this;
+	}
+
+	public AgreementParameters withSortBy(List<String> sortBy) {
+		super.setSortBy(sortBy);
+		return this;
+	}
+
+	public AgreementParameters withSortDirection(Direction sortDirection) {
+		super.setSortDirection(sortDirection);
+		return this;
+	}
+
 	public AgreementParameters withPage(int page) {
 		super.setPage(page);
 		return this;
@@ -49,18 +196,30 @@ public class AgreementParameters extends AbstractParameterPagingBase {
 			return false;
 		}
 		AgreementParameters that = (AgreementParameters) o;
-		return onlyActive == that.onlyActive;
+		return onlyActive == that.onlyActive && Objects.equals(mainAgreement, that.mainAgreement) && Objects.equals(binding, that.binding) && Objects.equals(production, that.production)
+			&& Objects.equals(placementStatus, that.placementStatus) && Objects.equals(netAreaId, that.netAreaId) && Objects.equals(fromDate, that.fromDate) && Objects.equals(toDate, that.toDate)
+			&& Objects.equals(cursor, that.cursor);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(super.hashCode(), onlyActive);
+		return Objects.hash(super.hashCode(), onlyActive, mainAgreement, binding, production, placementStatus, netAreaId, fromDate, toDate, cursor);
 	}
 
 	@Override
 	public String toString() {
 		final StringBuilder sb = new StringBuilder("AgreementParameters{");
 		sb.append("onlyActive=").append(onlyActive);
+		sb.append(", mainAgreement=").append(mainAgreement);
+		sb.append(", binding=").append(binding);
+		sb.append(", production=").append(production);
+		sb.append(", placementStatus='").append(placementStatus).append('\'');
+		sb.append(", netAreaId='").append(netAreaId).append('\'');
+		sb.append(", fromDate=").append(fromDate);
+		sb.append(", toDate=").append(toDate);
+		sb.append(", cursor='").append(cursor).append('\'');
+		sb.append(", sortBy=").append(getSortBy());
+		sb.append(", sortDirection=").append(getSortDirection());
 		sb.append(", page=").append(page);
 		sb.append(", limit=").append(limit);
 		sb.append('}');
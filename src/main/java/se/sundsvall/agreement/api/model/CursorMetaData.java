@@ -0,0 +1,55 @@
+package se.sundsvall.agreement.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Objects;
+
+import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
+
+@Schema(description = "Cursor meta data model")
+public class CursorMetaData {
+
+	@Schema(description = "Cursor to pass as parameter cursor to get the agreements following this response", examples = "MjoyNzE4MjgxODI4OjQ5OjUxMzQ3Ng", accessMode = READ_ONLY)
+	private String next;
+
+	public static CursorMetaData create() {
+		return new CursorMetaData();
+	}
+
+	public String getNext() {
+		return next;
+	}
+
+	public void setNext(String next) {
+		this.next = next;
+	}
+
+	public CursorMetaData withNext(String next) {
+		this.next = next;
+		return this;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		CursorMetaData that = (CursorMetaData) o;
+		return Objects.equals(next, that.next);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hashCode(next);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("CursorMetaData{");
+		sb.append("next='").append(next).append('\'');
+		sb.append('}');
+		return sb.toString();
+	}
+}
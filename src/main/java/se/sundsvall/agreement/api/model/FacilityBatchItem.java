@@ -0,0 +1,73 @@
+package se.sundsvall.agreement.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.util.Objects;
+
+@Schema(description = "Category and facility-id pair in a batch request")
+public class FacilityBatchItem {
+
+	@Schema(implementation = Category.class, requiredMode = Schema.RequiredMode.REQUIRED)
+	@NotNull
+	private Category category;
+
+	@Schema(description = "Id for the facility", examples = "1471222", requiredMode = Schema.RequiredMode.REQUIRED)
+	@NotBlank
+	private String facilityId;
+
+	public static FacilityBatchItem create() {
+		return new FacilityBatchItem();
+	}
+
+	public Category getCategory() {
+		return category;
+	}
+
+	public void setCategory(final Category category) {
+		this.category = category;
+	}
+
+	public FacilityBatchItem withCategory(final Category category) {
+		this.category = category;
+		return this;
+	}
+
+	public String getFacilityId() {
+		return facilityId;
+	}
+
+	public void setFacilityId(final String facilityId) {
+		this.facilityId = facilityId;
+	}
+
+	public FacilityBatchItem withFacilityId(final String facilityId) {
+		this.facilityId = facilityId;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(category, facilityId);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		final FacilityBatchItem other = (FacilityBatchItem) obj;
+		return category == other.category && Objects.equals(facilityId, other.facilityId);
+	}
+
+	@Override
+	public String toString() {
+		return "FacilityBatchItem{"
+			+ "category=" + category
+			+ ", facilityId='" + facilityId + '\''
+			+ '}';
+	}
+}
@@ -0,0 +1,78 @@
+package se.sundsvall.agreement.api.model;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.Objects;
+
+@Schema(description = "Batch request model for agreements connected to a list of category and facility-id pairs")
+public class FacilityBatchRequest {
+
+	public static final int MAX_ITEMS = 1000;
+
+	@ArraySchema(schema = @Schema(implementation = FacilityBatchItem.class), minItems = 1, maxItems = MAX_ITEMS)
+	@NotEmpty
+	@Size(max = MAX_ITEMS)
+	private List<@Valid FacilityBatchItem> items;
+
+	@Schema(description = "Signal if only active or all agreements should be included in response, default is to only return active agreements.", examples = "true")
+	private boolean onlyActive = true;
+
+	public static FacilityBatchRequest create() {
+		return new FacilityBatchRequest();
+	}
+
+	public List<FacilityBatchItem> getItems() {
+		return items;
+	}
+
+	public void setItems(final List<FacilityBatchItem> items) {
+		this.items = items;
+	}
+
+	public FacilityBatchRequest withItems(final List<FacilityBatchItem> items) {
+		this.items = items;
+		return this;
+	}
+
+	public boolean isOnlyActive() {
+		return onlyActive;
+	}
+
+	public void setOnlyActive(final boolean onlyActive) {
+		this.onlyActive = onlyActive;
+	}
+
+	public FacilityBatchRequest withOnlyActive(final boolean onlyActive) {
+		this.onlyActive = onlyActive;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(items, onlyActive);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		final FacilityBatchRequest other = (FacilityBatchRequest) obj;
+		return Objects.equals(items, other.items) && onlyActive == other.onlyActive;
+	}
+
+	@Override
+	public String toString() {
+		return "FacilityBatchRequest{"
+			+ "items=" + items
+			+ ", onlyActive=" + onlyActive
+			+ '}';
+	}
+}
@@ -0,0 +1,58 @@
+package se.sundsvall.agreement.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.Objects;
+
+import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Batch response model for agreements connected to a list of category and facility-id pairs")
+public class FacilityBatchResponse {
+
+	@ArraySchema(schema = @Schema(implementation = FacilityBatchResult.class, accessMode = READ_ONLY))
+	private List<FacilityBatchResult> results;
+
+	public static FacilityBatchResponse create() {
+		return new FacilityBatchResponse();
+	}
+
+	public List<FacilityBatchResult> getResults() {
+		return results;
+	}
+
+	public void setResults(final List<FacilityBatchResult> results) {
+		this.results = results;
+	}
+
+	public FacilityBatchResponse withResults(final List<FacilityBatchResult> results) {
+		this.results = results;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(results);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		final FacilityBatchResponse other = (FacilityBatchResponse) obj;
+		return Objects.equals(results, other.results);
+	}
+
+	@Override
+	public String toString() {
+		return "FacilityBatchResponse{"
+			+ "results=" + results
+			+ '}';
+	}
+}
@@ -0,0 +1,126 @@
+package se.sundsvall.agreement.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.Objects;
+
+import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Result for one category and facility-id pair in a batch request")
+public class FacilityBatchResult {
+
+	@Schema(implementation = Category.class, accessMode = READ_ONLY)
+	private Category category;
+
+	@Schema(description = "Id for the facility", examples = "1471222", accessMode = READ_ONLY)
+	private String facilityId;
+
+	@Schema(description = "HTTP status of the lookup for the pair", examples = "200", accessMode = READ_ONLY)
+	private int status;
+
+	@Schema(description = "Description of the problem when the lookup for the pair did not succeed", examples = "No matching agreements were found for facility with id '1471222' and category 'ELECTRICITY'", accessMode = READ_ONLY)
+	private String detail;
+
+	@ArraySchema(schema = @Schema(implementation = AgreementParty.class, accessMode = READ_ONLY))
+	private List<AgreementParty> agreementParties;
+
+	public static FacilityBatchResult create() {
+		return new FacilityBatchResult();
+	}
+
+	public Category getCategory() {
+		return category;
+	}
+
+	public void setCategory(final Category category) {
+		this.category = category;
+	}
+
+	public FacilityBatchResult withCategory(final Category category) {
+		this.category = category;
+		return this;
+	}
+
+	public String getFacilityId() {
+		return facilityId;
+	}
+
+	public void setFacilityId(final String facilityId) {
+		this.facilityId = facilityId;
+	}
+
+	public FacilityBatchResult withFacilityId(final String facilityId) {
+		this.facilityId = facilityId;
+		return this;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public void setStatus(final int status) {
+		this.status = status;
+	}
+
+	public FacilityBatchResult withStatus(final int status) {
+		this.status = status;
+		return this;
+	}
+
+	public String getDetail() {
+		return detail;
+	}
+
+	public void setDetail(final String detail) {
+		this.detail = detail;
+	}
+
+	public FacilityBatchResult withDetail(final String detail) {
+		this.detail = detail;
+		return this;
+	}
+
+	public List<AgreementParty> getAgreementParties() {
+		return agreementParties;
+	}
+
+	public void setAgreementParties(final List<AgreementParty> agreementParties) {
+		this.agreementParties = agreementParties;
+	}
+
+	public FacilityBatchResult withAgreementParties(final List<AgreementParty> agreementParties) {
+		this.agreementParties = agreementParties;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(agreementParties, category, detail, facilityId, status);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		final FacilityBatchResult other = (FacilityBatchResult) obj;
+		return Objects.equals(agreementParties, other.agreementParties) && category == other.category && Objects.equals(detail, other.detail) && Objects.equals(facilityId, other.facilityId) && status == other.status;
+	}
+
+	@Override
+	public String toString() {
+		return "FacilityBatchResult{"
+			+ "category=" + category
+			+ ", facilityId='" + facilityId + '\''
+			+ ", status=" + status
+			+ ", detail='" + detail + '\''
+			+ ", agreementParties=" + agreementParties
+			+ '}';
+	}
+}
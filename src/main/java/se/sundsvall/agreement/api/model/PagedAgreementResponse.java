@@ -1,5 +1,6 @@
 package se.sundsvall.agreement.api.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -19,6 +20,11 @@ public class PagedAgreementResponse {
 	@Schema(implementation = PagingMetaData.class, accessMode = READ_ONLY)
 	private PagingMetaData metaData;
 
+	@JsonProperty("_cursor")
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	@Schema(implementation = CursorMetaData.class, description = "Present when more agreements follow this response", accessMode = READ_ONLY)
+	private CursorMetaData cursorMetaData;
+
 	public static PagedAgreementResponse create() {
 		return new PagedAgreementResponse();
 	}
@@ -49,6 +55,19 @@ public class PagedAgreementResponse {
 		return this;
 	}
 
+	public CursorMetaData getCursorMetaData() {
+		return cursorMetaData;
+	}
+
+	public void setCursorMetaData(CursorMetaData cursorMetaData) {
+		this.cursorMetaData = cursorMetaData;
+	}
+
+	public PagedAgreementResponse withCursorMetaData(CursorMetaData cursorMetaData) {
+		this.cursorMetaData = cursorMetaData;
+		return this;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -58,12 +77,12 @@ public class PagedAgreementResponse {
 			return false;
 		}
 		PagedAgreementResponse that = (PagedAgreementResponse) o;
-		return Objects.equals(agreements, that.agreements) && Objects.equals(metaData, that.metaData);
+		return Objects.equals(agreements, that.agreements) && Objects.equals(metaData, that.metaData) && Objects.equals(cursorMetaData, that.cursorMetaData);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(agreements, metaData);
+		return Objects.hash(agreements, metaData, cursorMetaData);
 	}
 
 	@Override
@@ -71,6 +90,7 @@ public class PagedAgreementResponse {
 		final StringBuilder sb = new StringBuilder("PagedAgreementResponse{");
 		sb.append("agreements=").append(agreements);
 		sb.append(", metaData=").append(metaData);
+		sb.append(", cursorMetaData=").append(cursorMetaData);
 		sb.append('}');
 		return sb.toString();
 	}
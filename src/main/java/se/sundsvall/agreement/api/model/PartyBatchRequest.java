@@ -0,0 +1,95 @@
+package se.sundsvall.agreement.api.model;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.Objects;
+import se.sundsvall.dept44.common.validators.annotation.ValidUuid;
+
+@Schema(description = "Batch request model for agreements connected to a list of party-IDs")
+public class PartyBatchRequest {
+
+	public static final int MAX_PARTY_IDS = 1000;
+
+	@ArraySchema(schema = @Schema(description = "Party-ID", examples = "81471222-5798-11e9-ae24-57fa13b361e1"), minItems = 1, maxItems = MAX_PARTY_IDS)
+	@NotEmpty
+	@Size(max = MAX_PARTY_IDS)
+	private List<@ValidUuid String> partyIds;
+
+	@ArraySchema(schema = @Schema(implementation = Category.class, description = "Optional list of one or more agreement categories to be included in response, default is to return all agreements connected to the party-IDs"))
+	private List<Category> categories;
+
+	@Schema(description = "Signal if only active or all agreements should be included in response, default is to only return active agreements.", examples = "true")
+	private boolean onlyActive = true;
+
+	public static PartyBatchRequest create() {
+		return new PartyBatchRequest();
+	}
+
+	public List<String> getPartyIds() {
+		return partyIds;
+	}
+
+	public void setPartyIds(final List<String> partyIds) {
+		this.partyIds = partyIds;
+	}
+
+	public PartyBatchRequest withPartyIds(final List<String> partyIds) {
+		this.partyIds = partyIds;
+		return this;
+	}
+
+	public List<Category> getCategories() {
+		return categories;
+	}
+
+	public void setCategories(final List<Category> categories) {
+		this.categories = categories;
+	}
+
+	public PartyBatchRequest withCategories(final List<Category> categories) {
+		this.categories = categories;
+		return this;
+	}
+
+	public boolean isOnlyActive() {
+		return onlyActive;
+	}
+
+	public void setOnlyActive(final boolean onlyActive) {
+		this.onlyActive = onlyActive;
+	}
+
+	public PartyBatchRequest withOnlyActive(final boolean onlyActive) {
+		this.onlyActive = onlyActive;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(categories, onlyActive, partyIds);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		final PartyBatchRequest other = (PartyBatchRequest) obj;
+		return Objects.equals(categories, other.categories) && onlyActive == other.onlyActive && Objects.equals(partyIds, other.partyIds);
+	}
+
+	@Override
+	public String toString() {
+		return "PartyBatchRequest{"
+			+ "partyIds=" + partyIds
+			+ ", categories=" + categories
+			+ ", onlyActive=" + onlyActive
+			+ '}';
+	}
+}
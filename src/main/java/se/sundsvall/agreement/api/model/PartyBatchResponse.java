@@ -0,0 +1,57 @@
+package se.sundsvall.agreement.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Map;
+import java.util.Objects;
+
+import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Batch response model for agreements connected to a list of party-IDs")
+public class PartyBatchResponse {
+
+	@Schema(description = "Result per requested party-ID, keyed by party-ID", additionalPropertiesSchema = PartyBatchResult.class, accessMode = READ_ONLY)
+	private Map<String, PartyBatchResult> results;
+
+	public static PartyBatchResponse create() {
+		return new PartyBatchResponse();
+	}
+
+	public Map<String, PartyBatchResult> getResults() {
+		return results;
+	}
+
+	public void setResults(final Map<String, PartyBatchResult> results) {
+		this.results = results;
+	}
+
+	public PartyBatchResponse withResults(final Map<String, PartyBatchResult> results) {
+		this.results = results;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(results);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		final PartyBatchResponse other = (PartyBatchResponse) obj;
+		return Objects.equals(results, other.results);
+	}
+
+	@Override
+	public String toString() {
+		return "PartyBatchResponse{"
+			+ "results=" + results
+			+ '}';
+	}
+}
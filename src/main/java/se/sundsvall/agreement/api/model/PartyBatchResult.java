@@ -0,0 +1,92 @@
+package se.sundsvall.agreement.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.Objects;
+
+import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Result for one party-ID in a batch request")
+public class PartyBatchResult {
+
+	@Schema(description = "HTTP status of the lookup for the party-ID", examples = "200", accessMode = READ_ONLY)
+	private int status;
+
+	@Schema(description = "Description of the problem when the lookup for the party-ID did not succeed", examples = "No matching agreements were found for party with id '81471222-5798-11e9-ae24-57fa13b361e1'", accessMode = READ_ONLY)
+	private String detail;
+
+	@ArraySchema(schema = @Schema(implementation = AgreementParty.class, accessMode = READ_ONLY))
+	private List<AgreementParty> agreementParties;
+
+	public static PartyBatchResult create() {
+		return new PartyBatchResult();
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public void setStatus(final int status) {
+		this.status = status;
+	}
+
+	public PartyBatchResult withStatus(final int status) {
+		this.status = status;
+		return this;
+	}
+
+	public String getDetail() {
+		return detail;
+	}
+
+	public void setDetail(final String detail) {
+		this.detail = detail;
+	}
+
+	public PartyBatchResult withDetail(final String detail) {
+		this.detail = detail;
+		return this;
+	}
+
+	public List<AgreementParty> getAgreementParties() {
+		return agreementParties;
+	}
+
+	public void setAgreementParties(final List<AgreementParty> agreementParties) {
+		this.agreementParties = agreementParties;
+	}
+
+	public PartyBatchResult withAgreementParties(final List<AgreementParty> agreementParties) {
+		this.agreementParties = agreementParties;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(agreementParties, detail, status);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		final PartyBatchResult other = (PartyBatchResult) obj;
+		return Objects.equals(agreementParties, other.agreementParties) && Objects.equals(detail, other.detail) && status == other.status;
+	}
+
+	@Override
+	public String toString() {
+		return "PartyBatchResult{"
+			+ "status=" + status
+			+ ", detail='" + detail + '\''
+			+ ", agreementParties=" + agreementParties
+			+ '}';
+	}
+}
@@ -1,10 +1,12 @@
 package se.sundsvall.agreement.integration.datawarehousereader;
 
+import generated.se.sundsvall.datawarehousereader.AgreementParameters;
 import generated.se.sundsvall.datawarehousereader.AgreementResponse;
 import generated.se.sundsvall.datawarehousereader.Category;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import java.util.List;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.cloud.openfeign.SpringQueryMap;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -34,4 +36,9 @@ public interface DataWarehouseReaderClient {
 		@RequestParam("page") int page,
 		@RequestParam("limit") int limit,
 		@RequestParam("active") Boolean active);
+
+	@GetMapping(path = "/{municipalityId}/agreements", produces = APPLICATION_JSON_VALUE)
+	AgreementResponse getAgreements(
+		@PathVariable("municipalityId") String municipalityId,
+		@SpringQueryMap AgreementParameters parameters);
 }
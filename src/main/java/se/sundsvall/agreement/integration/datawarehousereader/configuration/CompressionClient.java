@@ -0,0 +1,98 @@
+package se.sundsvall.agreement.integration.datawarehousereader.configuration;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+import static java.util.Optional.ofNullable;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
+
+/**
+ * Feign client decorator negotiating compressed responses. Asks for gzip or deflate encoded responses and inflates the
+ * body while it is read, so that the decoder consumes the response as a stream without buffering the compressed body.
+ * A body that the underlying transport already has inflated, while keeping the Content-Encoding header, is recognized
+ * by its leading bytes and passed on as is.
+ */
+class CompressionClient implements Client {
+
+	static final String ACCEPTED_ENCODINGS = "gzip, deflate";
+
+	private static final int GZIP_MAGIC = 0x1f8b;
+
+	private final Client delegate;
+
+	CompressionClient(Client delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public Response execute(Request request, Request.Options options) throws IOException {
+		return decompress(delegate.execute(withAcceptEncoding(request), options));
+	}
+
+	private static Request withAcceptEncoding(Request request) {
+		final var headers = caseInsensitiveCopyOf(request.headers());
+		if (headers.containsKey(ACCEPT_ENCODING)) {
+			return request;
+		}
+		headers.put(ACCEPT_ENCODING, List.of(ACCEPTED_ENCODINGS));
+		return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(), request.requestTemplate());
+	}
+
+	private static Response decompress(Response response) throws IOException {
+		final var headers = caseInsensitiveCopyOf(response.headers());
+		final var encoding = contentEncoding(headers);
+		if ((response.body() == null) || !("gzip".equals(encoding) || "x-gzip".equals(encoding) || "deflate".equals(encoding))) {
+			return response;
+		}
+
+		final var body = new PushbackInputStream(response.body().asInputStream(), 2);
+		final var leading = body.readNBytes(2);
+		body.unread(leading);
+
+		headers.remove(CONTENT_ENCODING);
+		headers.remove(CONTENT_LENGTH);
+
+		return response.toBuilder()
+			.headers(headers)
+			.body(inflate(body, encoding, leading), null)
+			.build();
+	}
+
+	private static InputStream inflate(InputStream body, String encoding, byte[] leading) throws IOException {
+		if (leading.length < 2) {
+			return body;
+		}
+		final var header = ((leading[0] & 0xff) << 8) | (leading[1] & 0xff);
+		if ("deflate".equals(encoding)) {
+			// A zlib stream starts with compression method 8 and a header that is a multiple of 31
+			return (((leading[0] & 0x0f) == 8) && ((header % 31) == 0)) ? new InflaterInputStream(body) : body;
+		}
+		return (header == GZIP_MAGIC) ? new GZIPInputStream(body) : body;
+	}
+
+	private static String contentEncoding(Map<String, Collection<String>> headers) {
+		return ofNullable(headers.get(CONTENT_ENCODING))
+			.flatMap(values -> values.stream().findFirst())
+			.map(value -> value.trim().toLowerCase())
+			.orElse(null);
+	}
+
+	private static Map<String, Collection<String>> caseInsensitiveCopyOf(Map<String, Collection<String>> headers) {
+		final var copy = new TreeMap<String, Collection<String>>(CASE_INSENSITIVE_ORDER);
+		ofNullable(headers).ifPresent(copy::putAll);
+		return copy;
+	}
+}
@@ -17,11 +17,17 @@ public class DataWarehouseReaderConfiguration {
 	public static final String CLIENT_ID = "datawarehousereader";
 
 	@Bean
-	FeignBuilderCustomizer feignBuilderCustomizer(ClientRegistrationRepository clientRegistrationRepository, DataWarehouseReaderProperties properties) {
-		return FeignMultiCustomizer.create()
+	FeignBuilderCustomizer feignBuilderCustomizer(ClientRegistrationRepository clientRegistrationRepository, DataWarehouseReaderProperties properties, DataWarehouseReaderTransport transport) {
+		final var customizer = FeignMultiCustomizer.create()
 			.withErrorDecoder(new ProblemErrorDecoder(CLIENT_ID, List.of(NOT_FOUND.value())))
 			.withRetryableOAuth2InterceptorForClientRegistration(clientRegistrationRepository.findByRegistrationId(CLIENT_ID))
 			.withRequestTimeoutsInSeconds(properties.connectTimeout(), properties.readTimeout())
 			.composeCustomizersToOne();
+
+		final var client = new DeadlineClient(properties.compression() ? new CompressionClient(transport.client()) : transport.client());
+		return builder -> {
+			customizer.customize(builder);
+			builder.client(client);
+		};
 	}
 }
@@ -1,6 +1,7 @@
 package se.sundsvall.agreement.integration.datawarehousereader.configuration;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 @ConfigurationProperties("integration.datawarehousereader")
-public record DataWarehouseReaderProperties(int connectTimeout, int readTimeout) {}
+public record DataWarehouseReaderProperties(int connectTimeout, int readTimeout, @DefaultValue("4") int pageFetchParallelism, boolean virtualThreads, @DefaultValue("false") boolean compression) {}
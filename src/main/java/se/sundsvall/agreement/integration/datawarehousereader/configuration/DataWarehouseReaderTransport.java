@@ -0,0 +1,131 @@
+package se.sundsvall.agreement.integration.datawarehousereader.configuration;
+
+import feign.Client;
+import feign.Request;
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import static feign.Request.HttpMethod.HEAD;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static se.sundsvall.agreement.integration.datawarehousereader.configuration.DataWarehouseReaderConfiguration.CLIENT_ID;
+
+/**
+ * The transport of the DataWarehouseReader client: the Feign default client, the JDK HttpClient (HTTP/2) or Apache
+ * HttpClient 5 with a connection pool bounded in total and per route, where idle and expired connections are evicted and
+ * the pool utilization is exported. Connections can be opened in advance, before the application accepts traffic.
+ */
+@Component
+public class DataWarehouseReaderTransport {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DataWarehouseReaderTransport.class);
+
+	private final String url;
+	private final DataWarehouseReaderProperties properties;
+	private final DataWarehouseReaderTransportProperties transportProperties;
+	private final Client client;
+	private final AutoCloseable resources;
+
+	public DataWarehouseReaderTransport(@Value("${integration.datawarehousereader.url}") String url, DataWarehouseReaderProperties properties,
+		DataWarehouseReaderTransportProperties transportProperties, MeterRegistry meterRegistry) {
+
+		this.url = url;
+		this.properties = properties;
+		this.transportProperties = transportProperties;
+
+		switch (transportProperties.type()) {
+			case JDK -> {
+				final var httpClient = HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_2)
+					.connectTimeout(Duration.ofSeconds(properties.connectTimeout()))
+					.build();
+				this.client = new Http2Client(httpClient);
+				this.resources = httpClient;
+			}
+			case APACHE -> {
+				final var connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+					.setMaxConnTotal(transportProperties.maxConnections())
+					.setMaxConnPerRoute(transportProperties.maxConnectionsPerRoute())
+					.setDefaultConnectionConfig(ConnectionConfig.custom()
+						.setConnectTimeout(Timeout.ofSeconds(properties.connectTimeout()))
+						.setSocketTimeout(Timeout.ofSeconds(properties.readTimeout()))
+						.setTimeToLive(TimeValue.ofMilliseconds(transportProperties.timeToLive().toMillis()))
+						.build())
+					.build();
+				new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, CLIENT_ID).bindTo(meterRegistry);
+
+				// Compressed responses are inflated by the CompressionClient, so the content compression of the client is disabled
+				final var httpClient = HttpClients.custom()
+					.setConnectionManager(connectionManager)
+					.evictIdleConnections(TimeValue.ofMilliseconds(transportProperties.idleTimeout().toMillis()))
+					.evictExpiredConnections()
+					.disableContentCompression()
+					.disableCookieManagement()
+					.build();
+				this.client = new ApacheHttp5Client(httpClient);
+				this.resources = httpClient;
+			}
+			default -> {
+				this.client = new Client.Default(null, null);
+				this.resources = () -> {};
+			}
+		}
+	}
+
+	public Client client() {
+		return client;
+	}
+
+	/**
+	 * Opens the configured amount of connections concurrently, by sending HEAD requests to DataWarehouseReader, before the
+	 * application accepts traffic. The requests are sent by the transport itself and so carry no access token, which is
+	 * why warm-up is off unless connections are configured. A failing request is logged and otherwise ignored.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	void warmUp() {
+		final var connections = transportProperties.warmUpConnections();
+		if (connections <= 0) {
+			return;
+		}
+
+		final var options = new Request.Options(properties.connectTimeout(), SECONDS, properties.readTimeout(), SECONDS, true);
+		final var opened = new AtomicInteger();
+		try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (var i = 0; i < connections; i++) {
+				executor.execute(() -> {
+					try (final var ignored = client.execute(Request.create(HEAD, url, Map.of(), null, UTF_8, null), options)) {
+						opened.incrementAndGet();
+					} catch (final IOException e) {
+						LOGGER.debug("Unable to warm up connection to {}", url, e);
+					}
+				});
+			}
+		}
+		LOGGER.info("Warmed up {} of {} connections to DataWarehouseReader using the {} transport", opened.get(), connections, transportProperties.type());
+	}
+
+	@PreDestroy
+	void close() throws Exception {
+		resources.close();
+	}
+}
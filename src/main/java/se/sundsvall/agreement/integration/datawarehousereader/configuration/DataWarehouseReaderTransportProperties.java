@@ -0,0 +1,24 @@
+package se.sundsvall.agreement.integration.datawarehousereader.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("integration.datawarehousereader.transport")
+public record DataWarehouseReaderTransportProperties(
+	@DefaultValue("DEFAULT") Type type,
+	@DefaultValue("50") int maxConnections,
+	@DefaultValue("20") int maxConnectionsPerRoute,
+	@DefaultValue("PT30S") Duration idleTimeout,
+	@DefaultValue("PT5M") Duration timeToLive,
+	@DefaultValue("0") int warmUpConnections) {
+
+	public enum Type {
+		/** Feign default client, using HttpURLConnection */
+		DEFAULT,
+		/** JDK HttpClient, multiplexing requests over HTTP/2 when the server supports it */
+		JDK,
+		/** Apache HttpClient 5 with a bounded connection pool */
+		APACHE
+	}
+}
@@ -0,0 +1,46 @@
+package se.sundsvall.agreement.integration.datawarehousereader.configuration;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import java.io.IOException;
+import se.sundsvall.agreement.service.RequestDeadline;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Feign client decorator limiting the connect and read timeout of a call to the time left until the deadline of the
+ * request the call is made for. Calls made outside of a request, or for a request without time limit, keep the
+ * configured timeouts.
+ */
+class DeadlineClient implements Client {
+
+	private final Client delegate;
+
+	DeadlineClient(Client delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public Response execute(Request request, Request.Options options) throws IOException {
+		final var timeLeft = RequestDeadline.current().flatMap(RequestDeadline::remaining);
+		if (timeLeft.isEmpty()) {
+			return delegate.execute(request, options);
+		}
+
+		final var remaining = timeLeft.get().toMillis();
+		return delegate.execute(request, new Request.Options(
+			limit(options.connectTimeoutUnit().toMillis(options.connectTimeout()), remaining), MILLISECONDS,
+			limit(options.readTimeoutUnit().toMillis(options.readTimeout()), remaining), MILLISECONDS,
+			options.isFollowRedirects()));
+	}
+
+	/**
+	 * A timeout of zero means no timeout, so the limited timeout is at least one millisecond.
+	 */
+	private static long limit(long timeout, long remaining) {
+		return max(1, (timeout <= 0) ? remaining : min(timeout, remaining));
+	}
+}
@@ -0,0 +1,202 @@
+package se.sundsvall.agreement.service;
+
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import org.springframework.stereotype.Component;
+import se.sundsvall.agreement.integration.datawarehousereader.configuration.DataWarehouseReaderProperties;
+
+import static java.lang.Math.ceil;
+import static java.lang.Math.ceilDiv;
+import static java.lang.Math.clamp;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Chooses the DataWarehouseReader page size per query type and municipality. The expected amount of records is learned
+ * from meta.totalRecords and the page latency is modelled as a fixed cost per call plus a cost per returned record. The
+ * chosen page size is the one giving the shortest estimated wall time for a walk of all pages, where the first page is
+ * fetched alone and the remaining pages {@code pageFetchParallelism} at a time.
+ */
+@Component
+public class AdaptivePageSizeController {
+
+	static final String PAGE_SIZE_METRIC = "agreement.datawarehousereader.page.size";
+	static final String PAGE_LATENCY_METRIC = "agreement.datawarehousereader.page.size.latency";
+
+	private static final double SMOOTHING = 0.1;
+	private static final int MINIMUM_SAMPLES = 10;
+	private static final double MINIMUM_RELATIVE_SPREAD = 1e-6;
+	private static final int FIRST_PAGE = 1;
+
+	private final AdaptivePageSizeProperties properties;
+	private final int parallelism;
+	private final MeterRegistry meterRegistry;
+	private final Map<ModelKey, Model> models = new ConcurrentHashMap<>();
+
+	public AdaptivePageSizeController(AdaptivePageSizeProperties properties, DataWarehouseReaderProperties dataWarehouseReaderProperties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.parallelism = max(1, dataWarehouseReaderProperties.pageFetchParallelism());
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Returns the page size to use for the next walk of the query type in the municipality.
+	 *
+	 * @param  queryType      the type of query, e.g. party or facility
+	 * @param  municipalityId the municipality id
+	 * @return                the page size, within the configured minimum and maximum
+	 */
+	public int pageSize(String queryType, String municipalityId) {
+		if (!properties.adaptive()) {
+			return properties.maximum();
+		}
+		return model(queryType, municipalityId).pageSize();
+	}
+
+	/**
+	 * Wraps the page fetcher so that the latency and size of each fetched page, and the total amount of records reported
+	 * by the first page, are recorded for the query type in the municipality.
+	 *
+	 * @param  queryType      the type of query, e.g. party or facility
+	 * @param  municipalityId the municipality id
+	 * @param  pageFetcher    function fetching a specific page from DataWarehouseReader
+	 * @return                the observing page fetcher
+	 */
+	public IntFunction<AgreementResponse> observe(String queryType, String municipalityId, IntFunction<AgreementResponse> pageFetcher) {
+		if (!properties.adaptive()) {
+			return pageFetcher;
+		}
+
+		final var model = model(queryType, municipalityId);
+		return page -> {
+			final var start = System.nanoTime();
+			final var response = pageFetcher.apply(page);
+			final var latency = System.nanoTime() - start;
+
+			model.recordPage(records(response), latency);
+			if ((page == FIRST_PAGE) && nonNull(response) && nonNull(response.getMeta()) && nonNull(response.getMeta().getTotalRecords())) {
+				model.recordTotalRecords(response.getMeta().getTotalRecords());
+			}
+			return response;
+		};
+	}
+
+	private Model model(String queryType, String municipalityId) {
+		return models.computeIfAbsent(new ModelKey(queryType, municipalityId), key -> {
+			final var model = new Model(properties.minimum(), properties.maximum(), parallelism, Timer.builder(PAGE_LATENCY_METRIC)
+				.description("Latency of DataWarehouseReader page fetches using the adaptive page size")
+				.tags("type", queryType, "municipalityId", municipalityId)
+				.register(meterRegistry));
+
+			Gauge.builder(PAGE_SIZE_METRIC, model, Model::pageSize)
+				.description("Page size currently chosen for DataWarehouseReader page fetches")
+				.tags("type", queryType, "municipalityId", municipalityId)
+				.register(meterRegistry);
+			return model;
+		});
+	}
+
+	private static int records(AgreementResponse response) {
+		return (isNull(response) || isNull(response.getAgreements())) ? 0 : response.getAgreements().size();
+	}
+
+	private record ModelKey(String queryType, String municipalityId) {}
+
+	/**
+	 * Exponentially weighted estimates for one query type and municipality: the mean and variance of the total amount of
+	 * records, and a least squares fit of page latency (nanoseconds) against the amount of records on the page.
+	 */
+	static final class Model {
+
+		private final int minimum;
+		private final int maximum;
+		private final int parallelism;
+		private final Timer latencyTimer;
+
+		private double recordsMean = Double.NaN;
+		private double recordsVariance;
+		private double weight;
+		private double sumX;
+		private double sumY;
+		private double sumXX;
+		private double sumXY;
+		private long samples;
+		private volatile int pageSize;
+
+		Model(int minimum, int maximum, int parallelism, Timer latencyTimer) {
+			this.minimum = minimum;
+			this.maximum = maximum;
+			this.parallelism = parallelism;
+			this.latencyTimer = latencyTimer;
+			this.pageSize = maximum;
+		}
+
+		int pageSize() {
+			return pageSize;
+		}
+
+		synchronized void recordPage(int records, long latencyNanos) {
+			latencyTimer.record(latencyNanos, NANOSECONDS);
+
+			weight = (1 - SMOOTHING) * weight + SMOOTHING;
+			sumX = (1 - SMOOTHING) * sumX + SMOOTHING * records;
+			sumY = (1 - SMOOTHING) * sumY + SMOOTHING * latencyNanos;
+			sumXX = (1 - SMOOTHING) * sumXX + SMOOTHING * records * (double) records;
+			sumXY = (1 - SMOOTHING) * sumXY + SMOOTHING * records * (double) latencyNanos;
+			samples++;
+		}
+
+		synchronized void recordTotalRecords(long totalRecords) {
+			if (Double.isNaN(recordsMean)) {
+				recordsMean = totalRecords;
+			} else {
+				final var difference = totalRecords - recordsMean;
+				recordsMean += SMOOTHING * difference;
+				recordsVariance = (1 - SMOOTHING) * (recordsVariance + SMOOTHING * difference * difference);
+			}
+			pageSize = choosePageSize();
+		}
+
+		/**
+		 * Estimates the records of a walk as mean plus two standard deviations and returns the page size with the shortest
+		 * estimated wall time. Until enough pages have been observed to fit the latency model, the page size covering the
+		 * estimated records in one page is used.
+		 */
+		private int choosePageSize() {
+			final var expectedRecords = max(1, (long) ceil(recordsMean + 2 * sqrt(recordsVariance)));
+			final var singlePage = (int) clamp(expectedRecords, minimum, maximum);
+
+			final var denominator = weight * sumXX - sumX * sumX;
+			if ((samples < MINIMUM_SAMPLES) || (denominator <= MINIMUM_RELATIVE_SPREAD * weight * sumXX)) {
+				return singlePage;
+			}
+
+			final var perRecord = max(0, (weight * sumXY - sumX * sumY) / denominator);
+			final var perCall = max(0, (sumY - perRecord * sumX) / weight);
+
+			var bestPageSize = singlePage;
+			var bestWallTime = Double.MAX_VALUE;
+			for (long pages = ceilDiv(expectedRecords, maximum); pages <= ceilDiv(expectedRecords, minimum); pages++) {
+				final var candidate = (int) clamp(ceilDiv(expectedRecords, pages), minimum, maximum);
+				final var candidatePages = ceilDiv(expectedRecords, candidate);
+				final var rounds = 1 + ceilDiv(candidatePages - 1, parallelism);
+				final var wallTime = rounds * (perCall + perRecord * min(candidate, expectedRecords));
+
+				if (wallTime < bestWallTime) {
+					bestWallTime = wallTime;
+					bestPageSize = candidate;
+				}
+			}
+			return bestPageSize;
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package se.sundsvall.agreement.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("integration.datawarehousereader.page-size")
+public record AdaptivePageSizeProperties(
+	@DefaultValue("false") boolean adaptive,
+	@DefaultValue("50") int minimum,
+	@DefaultValue("1000") int maximum) {}
@@ -0,0 +1,80 @@
+package se.sundsvall.agreement.service;
+
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import java.util.Base64;
+import java.util.Optional;
+import se.sundsvall.dept44.problem.Problem;
+import se.sundsvall.dept44.problem.ThrowableProblem;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.util.CollectionUtils.isEmpty;
+
+/**
+ * Position of the last agreement returned by a paged request, handed to the client as an opaque cursor. The cursor is
+ * tied to the query it was issued for by a fingerprint. The agreement id is checked at the offset when paging continues,
+ * so that a moved agreement is found even when the total amount of records is unchanged.
+ *
+ * @param fingerprint fingerprint of the query the cursor was issued for
+ * @param offset      zero based position of the last returned agreement within the result
+ * @param agreementId id of the last returned agreement
+ */
+public record AgreementCursor(long fingerprint, long offset, String agreementId) {
+
+	private static final String VERSION = "2";
+	private static final String SEPARATOR = ":";
+	private static final int PARTS = 4;
+	private static final String INVALID_CURSOR_MESSAGE = "Invalid cursor '%s'";
+
+	/**
+	 * @param  cursor the cursor as handed to the client
+	 * @return        the decoded cursor
+	 * @throws        ThrowableProblem with status 400 if the cursor is malformed
+	 */
+	public static AgreementCursor decode(String cursor) {
+		try {
+			final var parts = new String(Base64.getUrlDecoder().decode(cursor), UTF_8).split(SEPARATOR, PARTS);
+			if ((parts.length != PARTS) || !VERSION.equals(parts[0]) || parts[3].isEmpty()) {
+				throw invalidCursor(cursor);
+			}
+
+			final var decoded = new AgreementCursor(Long.parseLong(parts[1]), Long.parseLong(parts[2]), parts[3]);
+			if (decoded.offset() < 0) {
+				throw invalidCursor(cursor);
+			}
+			return decoded;
+		} catch (final IllegalArgumentException e) {
+			throw invalidCursor(cursor);
+		}
+	}
+
+	/**
+	 * Creates the cursor following a window of agreements.
+	 *
+	 * @param  fingerprint fingerprint of the query the window was fetched for
+	 * @param  offset      zero based position of the first agreement of the window within the result
+	 * @param  window      the agreements of the window, with the meta data of the result
+	 * @return             the cursor after the last agreement of the window, or empty if the result has no more agreements
+	 */
+	public static Optional<AgreementCursor> after(long fingerprint, long offset, AgreementResponse window) {
+		if (isNull(window) || isEmpty(window.getAgreements()) || isNull(window.getMeta()) || isNull(window.getMeta().getTotalRecords())) {
+			return Optional.empty();
+		}
+
+		final var last = offset + window.getAgreements().size() - 1;
+		if (last + 1 >= window.getMeta().getTotalRecords()) {
+			return Optional.empty();
+		}
+		return Optional.of(new AgreementCursor(fingerprint, last, window.getAgreements().getLast().getAgreementId()));
+	}
+
+	public String encode() {
+		final var cursor = String.join(SEPARATOR, VERSION, Long.toString(fingerprint), Long.toString(offset), agreementId);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(UTF_8));
+	}
+
+	private static ThrowableProblem invalidCursor(String cursor) {
+		return Problem.valueOf(BAD_REQUEST, INVALID_CURSOR_MESSAGE.formatted(cursor));
+	}
+}
@@ -0,0 +1,56 @@
+package se.sundsvall.agreement.service;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import org.springframework.stereotype.Component;
+import se.sundsvall.agreement.api.model.Agreement;
+import se.sundsvall.agreement.api.model.AgreementFields;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.ser.std.SimpleBeanPropertyFilter;
+import tools.jackson.databind.ser.std.SimpleFilterProvider;
+import tools.jackson.databind.util.RawValue;
+
+/**
+ * Writes values holding agreements as JSON with only the agreement properties of a sparse fieldset (see
+ * {@link AgreementFields}). The properties are selected by a Jackson filter that is only added to the agreements written
+ * by this writer, so the application mapper and the agreement model are not affected.
+ */
+@Component
+public class AgreementJsonWriter {
+
+	private static final String FILTER_ID = "agreementFields";
+
+	private final JsonMapper jsonMapper;
+
+	public AgreementJsonWriter(JsonMapper jsonMapper) {
+		this.jsonMapper = jsonMapper.rebuild()
+			.addMixIn(Agreement.class, FilteredAgreement.class)
+			.build();
+	}
+
+	/**
+	 * @param  value  the value to write
+	 * @param  fields the agreement properties to write
+	 * @return        the value as JSON
+	 */
+	public byte[] writeValueAsBytes(Object value, AgreementFields fields) {
+		return writer(fields).writeValueAsBytes(value);
+	}
+
+	/**
+	 * @param  value  the value to write
+	 * @param  fields the agreement properties to write
+	 * @return        the value as JSON, to be written as it is by another mapper
+	 */
+	public RawValue writeValueAsRaw(Object value, AgreementFields fields) {
+		return new RawValue(writer(fields).writeValueAsString(value));
+	}
+
+	private ObjectWriter writer(AgreementFields fields) {
+		return jsonMapper.writer(new SimpleFilterProvider()
+			.addFilter(FILTER_ID, fields.isAll() ? SimpleBeanPropertyFilter.serializeAll() : SimpleBeanPropertyFilter.filterOutAllExcept(fields.names())));
+	}
+
+	@JsonFilter(FILTER_ID)
+	private abstract static class FilteredAgreement {}
+}
@@ -1,62 +1,422 @@
 package se.sundsvall.agreement.service;
 
+import generated.se.sundsvall.datawarehousereader.Agreement;
 import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import generated.se.sundsvall.datawarehousereader.PagingAndSortingMetaData;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import org.springframework.stereotype.Service;
+import se.sundsvall.agreement.api.model.AgreementParameters;
 import se.sundsvall.agreement.api.model.Category;
 import se.sundsvall.agreement.integration.datawarehousereader.DataWarehouseReaderClient;
+import se.sundsvall.agreement.service.DataWarehouseReaderMetrics.Walk;
+import se.sundsvall.agreement.service.cache.FacilityAgreementCacheKey;
+import se.sundsvall.agreement.service.cache.PartyAgreementCacheKey;
+import se.sundsvall.dept44.problem.Problem;
 
-import static org.apache.commons.lang3.ObjectUtils.allNotNull;
+import static java.util.Collections.emptyList;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.function.Predicate.not;
+import static java.util.stream.Collectors.toCollection;
+import static org.springframework.http.HttpStatus.GONE;
+import static se.sundsvall.agreement.service.RequestDeadline.bounded;
+import static se.sundsvall.agreement.service.mapper.AgreementMapper.toAgreementParameters;
 import static se.sundsvall.agreement.service.mapper.AgreementMapper.toCategories;
 import static se.sundsvall.agreement.service.mapper.AgreementMapper.toCategory;
+import static se.sundsvall.agreement.service.mapper.AgreementMapper.toEndingAgreementParameters;
+import static se.sundsvall.agreement.service.mapper.AgreementMapper.toStartingAgreementParameters;
 
 @Service
 public class AgreementPartyProvider {
 
-	private static final int DATAWAREHOUSEREADER_PAGE_LIMIT = 1000;
 	private static final int DATAWAREHOUSEREADER_START_PAGE = 1;
+	private static final String FACILITY_REQUEST_TYPE = "facility";
+	private static final String PARTY_REQUEST_TYPE = "party";
+	private static final String PAGED_REQUEST_TYPE = "paged";
+	private static final String STREAM_REQUEST_TYPE = "stream";
+	private static final String SNAPSHOT_REQUEST_TYPE = "snapshot";
+	private static final String DELTA_REQUEST_TYPE = "delta";
+	private static final String AGREEMENT_ID_SORT_PROPERTY = "agreementId";
+	private static final String CURSOR_GONE_MESSAGE = "The last agreement before the cursor is no longer part of the result, restart paging without cursor";
 
 	private final DataWarehouseReaderClient dataWarehouseReaderClient;
+	private final PageFetchExecutor pageFetchExecutor;
+	private final RequestCoalescer requestCoalescer;
+	private final AdaptivePageSizeController pageSizeController;
+	private final PageFetchHedger pageFetchHedger;
+	private final DataWarehouseReaderMetrics metrics;
 
-	public AgreementPartyProvider(DataWarehouseReaderClient dataWarehouseReaderClient) {
+	public AgreementPartyProvider(DataWarehouseReaderClient dataWarehouseReaderClient, PageFetchExecutor pageFetchExecutor, RequestCoalescer requestCoalescer, AdaptivePageSizeController pageSizeController,
+		PageFetchHedger pageFetchHedger, DataWarehouseReaderMetrics metrics) {
 		this.dataWarehouseReaderClient = dataWarehouseReaderClient;
+		this.pageFetchExecutor = pageFetchExecutor;
+		this.requestCoalescer = requestCoalescer;
+		this.pageSizeController = pageSizeController;
+		this.pageFetchHedger = pageFetchHedger;
+		this.metrics = metrics;
 	}
 
 	public AgreementResponse getAgreementsByCategoryAndFacility(String municipalityId, Category category, String facilityId, boolean onlyActive) {
 		final var active = onlyActive ? true : null;
-		return getAgreementsByCategoryAndFacility(municipalityId, category, facilityId, DATAWAREHOUSEREADER_START_PAGE, DATAWAREHOUSEREADER_PAGE_LIMIT, active);
+		return requestCoalescer.execute(FACILITY_REQUEST_TYPE, new FacilityAgreementCacheKey(municipalityId, category, facilityId, onlyActive),
+			() -> getAgreementsByCategoryAndFacility(municipalityId, category, facilityId, DATAWAREHOUSEREADER_START_PAGE, pageSizeController.pageSize(FACILITY_REQUEST_TYPE, municipalityId), active));
 	}
 
 	private AgreementResponse getAgreementsByCategoryAndFacility(String municipalityId, Category category, String facilityId, int page, int limit, Boolean active) {
-		final var agreementsResponse = dataWarehouseReaderClient.getAgreementsByCategoryAndFacility(municipalityId, toCategory(category), facilityId, page, limit, active);
+		final var dataWarehouseReaderCategory = toCategory(category);
+		final var walk = metrics.startWalk(FACILITY_REQUEST_TYPE, municipalityId, List.of(category));
 
-		var currentPage = page;
+		return walk.finish(fetchAllPages(walk, page, walk.timed(bounded(pageSizeController.observe(FACILITY_REQUEST_TYPE, municipalityId, pageFetchHedger.hedged(FACILITY_REQUEST_TYPE,
+			currentPage -> dataWarehouseReaderClient.getAgreementsByCategoryAndFacility(municipalityId, dataWarehouseReaderCategory, facilityId, currentPage, limit, active)))))));
+	}
+
+	public AgreementResponse getAgreementsByPartyIdAndCategories(String municipalityId, String partyId, List<Category> categories, boolean onlyActive) {
+		final var active = onlyActive ? true : null;
+		return requestCoalescer.execute(PARTY_REQUEST_TYPE, PartyAgreementCacheKey.create(municipalityId, partyId, categories, onlyActive),
+			() -> getAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, DATAWAREHOUSEREADER_START_PAGE, pageSizeController.pageSize(PARTY_REQUEST_TYPE, municipalityId), active));
+	}
+
+	private AgreementResponse getAgreementsByPartyIdAndCategories(String municipalityId, String partyId, List<Category> categories, int page, int limit, Boolean active) {
+		final var dataWarehouseReaderCategories = toCategories(categories);
+		final var walk = metrics.startWalk(PARTY_REQUEST_TYPE, municipalityId, categories);
+
+		return walk.finish(fetchAllPages(walk, page, walk.timed(bounded(pageSizeController.observe(PARTY_REQUEST_TYPE, municipalityId, pageFetchHedger.hedged(PARTY_REQUEST_TYPE,
+			currentPage -> dataWarehouseReaderClient.getAgreementsByPartyIdAndCategories(municipalityId, partyId, dataWarehouseReaderCategories, currentPage, limit, active)))))));
+	}
+
+	/**
+	 * Fetches the requested page of the party lookup. Filtering, sorting and paging is pushed down to DataWarehouseReader,
+	 * so only the agreements of the requested page are transferred. Any page followed by more agreements issues a cursor,
+	 * so the page is sorted with the same agreement id tie-breaker as the pages fetched after a cursor, and the position
+	 * of the cursor means the same on both.
+	 *
+	 * @param  municipalityId the municipality id
+	 * @param  partyId        the party id
+	 * @param  categories     the categories to include, or empty for all categories
+	 * @param  parameters     the filter, sort and paging parameters
+	 * @return                the requested page
+	 */
+	public AgreementResponse getPagedAgreementsByPartyIdAndCategories(String municipalityId, String partyId, List<Category> categories, AgreementParameters parameters) {
+		final var searchParameters = withTieBreaker(toAgreementParameters(partyId, categories, parameters));
+		final var walk = metrics.startWalk(PAGED_REQUEST_TYPE, municipalityId, categories);
+		final var pageFetcher = walk.timed(bounded(pageFetchHedger.hedged(PARTY_REQUEST_TYPE,
+			currentPage -> dataWarehouseReaderClient.getAgreements(municipalityId, searchParameters))));
+
+		return walk.finish(pageFetcher.apply(parameters.getPage()));
+	}
+
+	/**
+	 * Fetches the page of the party lookup following the cursor. The last returned agreement is checked at the position of
+	 * the cursor, and when it has moved it is looked up on the pages next to it, so agreements added or removed before it
+	 * are neither repeated nor skipped. The amount of pages fetched does not depend on how deep the position is.
+	 *
+	 * @param  municipalityId the municipality id
+	 * @param  partyId        the party id
+	 * @param  categories     the categories to include, or empty for all categories
+	 * @param  parameters     the filter, sort and paging parameters, of which the page is ignored
+	 * @param  cursor         the position to continue after
+	 * @return                the agreements following the cursor, and the position of the first of them
+	 * @throws                se.sundsvall.dept44.problem.ThrowableProblem with status 410 if the last returned agreement is
+	 *                        no longer part of the result
+	 */
+	public CursorPage getPagedAgreementsAfterCursor(String municipalityId, String partyId, List<Category> categories, AgreementParameters parameters, AgreementCursor cursor) {
+		final var limit = parameters.getLimit();
+		final var walk = metrics.startWalk(PAGED_REQUEST_TYPE, municipalityId, categories);
+		final var pageFetcher = walk.timed(bounded(pageFetchHedger.hedged(PARTY_REQUEST_TYPE,
+			currentPage -> dataWarehouseReaderClient.getAgreements(municipalityId, withTieBreaker(toAgreementParameters(partyId, categories, parameters)).page(currentPage)))));
+		final var fetchedPages = new HashMap<Integer, AgreementResponse>();
+		final IntFunction<AgreementResponse> pages = page -> fetchedPages.computeIfAbsent(page, pageFetcher::apply);
+
+		final var offset = locate(cursor, limit, pages) + 1;
+		final var firstPage = pageOf(offset, limit);
+		var response = pages.apply(firstPage);
+		final var agreements = new ArrayList<>(agreementsOf(response).stream().skip(offset % limit).toList());
+		if ((agreements.size() < limit) && (firstPage < totalPagesOf(response))) {
+			response = pages.apply(firstPage + 1);
+			agreementsOf(response).stream().limit((long) limit - agreements.size()).forEach(agreements::add);
+		}
+
+		return walk.finish(new CursorPage(new AgreementResponse()
+			.agreements(agreements)
+			.meta(new PagingAndSortingMetaData()
+				.page(firstPage)
+				.limit(limit)
+				.count(agreements.size())
+				.totalRecords(isNull(response.getMeta()) ? null : response.getMeta().getTotalRecords())
+				.totalPages(totalPagesOf(response))),
+			offset));
+	}
+
+	/**
+	 * Finds the current position of the last agreement returned before the cursor was issued. The agreement id at the
+	 * position of the cursor is always checked, as agreements added and removed in the meantime may leave the total amount
+	 * of records unchanged while moving the agreement.
+	 */
+	private static long locate(AgreementCursor cursor, int limit, IntFunction<AgreementResponse> pages) {
+		final var cursorPage = pageOf(cursor.offset(), limit);
+		final var current = pages.apply(cursorPage);
 
-		if (allNotNull(agreementsResponse, agreementsResponse.getMeta(), agreementsResponse.getMeta().getTotalPages()) && (agreementsResponse.getMeta().getTotalPages() > currentPage)) {
-			while (agreementsResponse.getMeta().getTotalPages() > currentPage) {
-				agreementsResponse.getAgreements().addAll(dataWarehouseReaderClient.getAgreementsByCategoryAndFacility(municipalityId, toCategory(category), facilityId, ++currentPage, limit, active).getAgreements());
+		if (cursor.agreementId().equals(agreementIdAt(current, (int) (cursor.offset() % limit)))) {
+			return cursor.offset();
+		}
+
+		final var totalPages = totalPagesOf(current);
+		return IntStream.of(cursorPage, cursorPage + 1, cursorPage - 1)
+			.filter(page -> (page >= DATAWAREHOUSEREADER_START_PAGE) && (page <= totalPages))
+			.mapToLong(page -> offsetOf(pages.apply(page), page, limit, cursor.agreementId()))
+			.filter(offset -> offset >= 0)
+			.findFirst()
+			.orElseThrow(() -> Problem.valueOf(GONE, CURSOR_GONE_MESSAGE));
+	}
+
+	private static long offsetOf(AgreementResponse response, int page, int limit, String agreementId) {
+		final var agreements = agreementsOf(response);
+		for (var index = 0; index < agreements.size(); index++) {
+			if (agreementId.equals(agreements.get(index).getAgreementId())) {
+				return ((long) (page - 1) * limit) + index;
 			}
 		}
+		return -1;
+	}
 
-		return agreementsResponse;
+	private static String agreementIdAt(AgreementResponse response, int index) {
+		final var agreements = agreementsOf(response);
+		return (index < agreements.size()) ? agreements.get(index).getAgreementId() : null;
 	}
 
-	public AgreementResponse getAgreementsByPartyIdAndCategories(String municipalityId, String partyId, List<Category> categories, boolean onlyActive) {
+	private static List<Agreement> agreementsOf(AgreementResponse response) {
+		return (isNull(response) || isNull(response.getAgreements())) ? emptyList() : response.getAgreements();
+	}
+
+	private static int totalPagesOf(AgreementResponse response) {
+		return (isNull(response) || isNull(response.getMeta()) || isNull(response.getMeta().getTotalPages())) ? 0 : response.getMeta().getTotalPages();
+	}
+
+	private static int pageOf(long offset, int limit) {
+		return (int) (offset / limit) + DATAWAREHOUSEREADER_START_PAGE;
+	}
+
+	/**
+	 * Adds the agreement id as last sort property, so that agreements with equal values in the requested sort properties
+	 * are always returned in the same order and a cursor position is well defined.
+	 */
+	private static generated.se.sundsvall.datawarehousereader.AgreementParameters withTieBreaker(generated.se.sundsvall.datawarehousereader.AgreementParameters searchParameters) {
+		if (isNull(searchParameters.getSortBy()) || !searchParameters.getSortBy().contains(AGREEMENT_ID_SORT_PROPERTY)) {
+			searchParameters.addSortByItem(AGREEMENT_ID_SORT_PROPERTY);
+		}
+		return searchParameters;
+	}
+
+	/**
+	 * Walks all pages of the party lookup and passes each page to the consumer as soon as it has been fetched. The next page
+	 * is prefetched while the consumer processes the current one, so at most two pages are held in memory.
+	 *
+	 * @param municipalityId the municipality id
+	 * @param partyId        the party id
+	 * @param categories     the categories to include, or empty for all categories
+	 * @param onlyActive     if only active agreements should be included
+	 * @param pageConsumer   consumer receiving each page in page order
+	 */
+	public void streamAgreementsByPartyIdAndCategories(String municipalityId, String partyId, List<Category> categories, boolean onlyActive, Consumer<AgreementResponse> pageConsumer) {
 		final var active = onlyActive ? true : null;
-		return getAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, DATAWAREHOUSEREADER_START_PAGE, DATAWAREHOUSEREADER_PAGE_LIMIT, active, false);
+		final var dataWarehouseReaderCategories = toCategories(categories);
+		final var limit = pageSizeController.pageSize(PARTY_REQUEST_TYPE, municipalityId);
+		final var walk = metrics.startWalk(STREAM_REQUEST_TYPE, municipalityId, categories);
+		final var pageFetcher = walk.timed(bounded(pageSizeController.observe(PARTY_REQUEST_TYPE, municipalityId, pageFetchHedger.hedged(PARTY_REQUEST_TYPE,
+			currentPage -> dataWarehouseReaderClient.getAgreementsByPartyIdAndCategories(municipalityId, partyId, dataWarehouseReaderCategories, currentPage, limit, active)))));
+
+		streamAllPages(walk, pageFetcher, pageConsumer);
 	}
 
-	public AgreementResponse getAgreementsByPartyIdAndCategories(String municipalityId, String partyId, List<Category> categories, int page, int limit, Boolean active, boolean paged) {
-		final var agreementsResponse = dataWarehouseReaderClient.getAgreementsByPartyIdAndCategories(municipalityId, partyId, toCategories(categories), page, limit, active);
+	/**
+	 * Walks all pages of the facility lookup sorted by customer number, and passes each page to the consumer as soon as it
+	 * has been fetched. The agreements of a party are adjacent, so the consumer can group parties in a single forward pass.
+	 *
+	 * @param municipalityId the municipality id
+	 * @param category       the category of the facility
+	 * @param facilityId     the facility id
+	 * @param onlyActive     if only active agreements should be included
+	 * @param pageConsumer   consumer receiving each page in page order
+	 */
+	public void streamAgreementsByCategoryAndFacility(String municipalityId, Category category, String facilityId, boolean onlyActive, Consumer<AgreementResponse> pageConsumer) {
+		final var limit = pageSizeController.pageSize(FACILITY_REQUEST_TYPE, municipalityId);
+		final var walk = metrics.startWalk(STREAM_REQUEST_TYPE, municipalityId, List.of(category));
+		final var pageFetcher = walk.timed(bounded(pageSizeController.observe(FACILITY_REQUEST_TYPE, municipalityId, pageFetchHedger.hedged(FACILITY_REQUEST_TYPE,
+			currentPage -> dataWarehouseReaderClient.getAgreements(municipalityId, toAgreementParameters(category, facilityId, onlyActive).page(currentPage).limit(limit))))));
 
-		var currentPage = page;
+		streamAllPages(walk, pageFetcher, pageConsumer);
+	}
+
+	/**
+	 * Walks all pages of all agreements of the category sorted by agreement id, and passes each page to the consumer as soon
+	 * as it has been fetched. Used for bulk loads in the background, so the walk is neither coalesced nor bounded by a
+	 * request deadline.
+	 *
+	 * @param municipalityId the municipality id
+	 * @param category       the category
+	 * @param limit          the amount of agreements per page
+	 * @param pageConsumer   consumer receiving each page in page order
+	 */
+	public void streamAgreementsByCategory(String municipalityId, Category category, int limit, Consumer<AgreementResponse> pageConsumer) {
+		streamAgreementsInBackground(SNAPSHOT_REQUEST_TYPE, municipalityId, category, () -> toAgreementParameters(category), limit, pageConsumer, page -> true);
+	}
+
+	/**
+	 * Walks the pages of the agreements of the category that may have changed since the date, and passes each page to the
+	 * consumer as soon as it has been fetched. These are the agreements starting and the agreements ending between the two
+	 * dates, inclusive, which also covers agreements becoming active or inactive in between. DataWarehouseReader can only
+	 * filter on dates on or after a date, so each walk is sorted by its date and stops at the first page holding an
+	 * agreement dated after the upper date, and such agreements are left out of the pages passed on. The starting
+	 * agreements are passed first, followed by the ending agreements, so an agreement can be passed twice. Used for bulk
+	 * loads in the background, so the walks are neither coalesced nor bounded by a request deadline.
+	 *
+	 * @param municipalityId the municipality id
+	 * @param category       the category
+	 * @param since          the date of the last lookup of changed agreements
+	 * @param until          the date of this lookup, normally today
+	 * @param limit          the amount of agreements per page
+	 * @param pageConsumer   consumer receiving each page in page order
+	 */
+	public void streamAgreementsByCategoryChangedSince(String municipalityId, Category category, LocalDate since, LocalDate until, int limit, Consumer<AgreementResponse> pageConsumer) {
+		streamAgreementsDatedUntil(municipalityId, category, () -> toStartingAgreementParameters(category, since), Agreement::getFromDate, until, limit, pageConsumer);
+		streamAgreementsDatedUntil(municipalityId, category, () -> toEndingAgreementParameters(category, since), Agreement::getToDate, until, limit, pageConsumer);
+	}
+
+	private void streamAgreementsDatedUntil(String municipalityId, Category category, Supplier<generated.se.sundsvall.datawarehousereader.AgreementParameters> searchParameters,
+		Function<Agreement, LocalDate> date, LocalDate until, int limit, Consumer<AgreementResponse> pageConsumer) {
+		final Predicate<Agreement> datedAfter = agreement -> nonNull(date.apply(agreement)) && date.apply(agreement).isAfter(until);
+
+		streamAgreementsInBackground(DELTA_REQUEST_TYPE, municipalityId, category, searchParameters, limit,
+			page -> pageConsumer.accept(new AgreementResponse()
+				.agreements(agreementsOf(page).stream().filter(not(datedAfter)).collect(toCollection(ArrayList::new)))
+				.meta(isNull(page) ? null : page.getMeta())),
+			page -> agreementsOf(page).stream().noneMatch(datedAfter));
+	}
+
+	private void streamAgreementsInBackground(String requestType, String municipalityId, Category category,
+		Supplier<generated.se.sundsvall.datawarehousereader.AgreementParameters> searchParameters, int limit, Consumer<AgreementResponse> pageConsumer,
+		Predicate<AgreementResponse> continueAfter) {
+		final var walk = metrics.startWalk(requestType, municipalityId, List.of(category));
+		final var pageFetcher = walk.timed(pageFetchHedger.hedged(requestType,
+			currentPage -> dataWarehouseReaderClient.getAgreements(municipalityId, searchParameters.get().page(currentPage).limit(limit))));
+
+		streamPages(walk, pageFetcher, pageConsumer, continueAfter);
+	}
+
+	/**
+	 * Passes all pages to the consumer in page order, prefetching the next page while the consumer processes the current.
+	 */
+	private void streamAllPages(Walk walk, IntFunction<AgreementResponse> pageFetcher, Consumer<AgreementResponse> pageConsumer) {
+		streamPages(walk, pageFetcher, pageConsumer, page -> true);
+	}
+
+	/**
+	 * Passes the pages to the consumer in page order, prefetching the next page while the consumer processes the current.
+	 * The walk stops after a page the predicate does not continue after.
+	 */
+	private void streamPages(Walk walk, IntFunction<AgreementResponse> pageFetcher, Consumer<AgreementResponse> pageConsumer, Predicate<AgreementResponse> continueAfter) {
+		var pageResponse = pageFetcher.apply(DATAWAREHOUSEREADER_START_PAGE);
+		final var totalPages = (isNull(pageResponse) || isNull(pageResponse.getMeta()) || isNull(pageResponse.getMeta().getTotalPages())) ? DATAWAREHOUSEREADER_START_PAGE : pageResponse.getMeta().getTotalPages();
+
+		for (var page = DATAWAREHOUSEREADER_START_PAGE; page <= totalPages; page++) {
+			final var nextPage = page + 1;
+			final var hasNextPage = (nextPage <= totalPages) && continueAfter.test(pageResponse);
+			final CompletableFuture<AgreementResponse> nextPageResponse = hasNextPage ? pageFetchExecutor.supplyAsync(() -> pageFetcher.apply(nextPage)) : null;
+
+			try {
+				pageConsumer.accept(pageResponse);
+			} catch (final RuntimeException e) {
+				if (nextPageResponse != null) {
+					abandon(walk, List.of(nextPageResponse));
+				}
+				throw e;
+			}
 
-		if (!paged && allNotNull(agreementsResponse, agreementsResponse.getMeta(), agreementsResponse.getMeta().getTotalPages()) && (agreementsResponse.getMeta().getTotalPages() > currentPage)) {
-			while (agreementsResponse.getMeta().getTotalPages() > currentPage) {
-				agreementsResponse.getAgreements().addAll(dataWarehouseReaderClient.getAgreementsByPartyIdAndCategories(municipalityId, partyId, toCategories(categories), ++currentPage, limit, active).getAgreements());
+			if (nextPageResponse == null) {
+				break;
 			}
+			pageResponse = join(nextPageResponse);
+		}
+		walk.finish();
+	}
+
+	/**
+	 * Fetches the first page to learn the total amount of pages, then fetches the remaining pages concurrently on the
+	 * bounded page fetch executor. The agreements of the remaining pages are appended to the first page in page order.
+	 * The outstanding page fetches are abandoned when a page fails or the request is cancelled.
+	 *
+	 * @param  walk        the walk the pages are fetched for
+	 * @param  firstPage   the page to start from
+	 * @param  pageFetcher function fetching a specific page from DataWarehouseReader
+	 * @return             the first page response containing the agreements of all pages
+	 */
+	private AgreementResponse fetchAllPages(Walk walk, int firstPage, IntFunction<AgreementResponse> pageFetcher) {
+		final var agreementsResponse = pageFetcher.apply(firstPage);
+
+		if (isNull(agreementsResponse) || isNull(agreementsResponse.getMeta()) || isNull(agreementsResponse.getMeta().getTotalPages()) || (agreementsResponse.getMeta().getTotalPages() <= firstPage)) {
+			return agreementsResponse;
+		}
+
+		final var remainingPages = IntStream.rangeClosed(firstPage + 1, agreementsResponse.getMeta().getTotalPages())
+			.mapToObj(page -> pageFetchExecutor.supplyAsync(() -> pageFetcher.apply(page)))
+			.toList();
+
+		final var abandoned = new AtomicBoolean();
+		final Runnable abandon = () -> {
+			if (abandoned.compareAndSet(false, true)) {
+				abandon(walk, remainingPages);
+			}
+		};
+
+		try (final var ignored = onCancel(abandon)) {
+			remainingPages.forEach(pageResponse -> agreementsResponse.getAgreements().addAll(join(pageResponse).getAgreements()));
+		} catch (final RuntimeException e) {
+			abandon.run();
+			throw e;
 		}
 
 		return agreementsResponse;
 	}
+
+	private static RequestDeadline.Registration onCancel(Runnable listener) {
+		return RequestDeadline.current()
+			.map(deadline -> deadline.onCancel(listener))
+			.orElse(() -> {});
+	}
+
+	/**
+	 * Cancels the page fetches that have not completed yet. Fetches waiting for the page fetch executor are never started.
+	 * Only the fetches cancelled by this call are counted, so it must be called once per walk.
+	 */
+	private static void abandon(Walk walk, List<CompletableFuture<AgreementResponse>> pageResponses) {
+		walk.cancelled(pageResponses.stream().filter(pageResponse -> !pageResponse.isDone() && pageResponse.cancel(true)).count());
+	}
+
+	private static AgreementResponse join(CompletableFuture<AgreementResponse> pageResponse) {
+		try {
+			return pageResponse.join();
+		} catch (final CompletionException e) {
+			throw e.getCause() instanceof final RuntimeException runtimeException ? runtimeException : e;
+		}
+	}
+
+	/**
+	 * Agreements read from a cursor position.
+	 *
+	 * @param response the agreements, with meta data of the result
+	 * @param offset   zero based position of the first agreement within the result
+	 */
+	public record CursorPage(AgreementResponse response, long offset) {}
 }
@@ -1,72 +1,244 @@
 package se.sundsvall.agreement.service;
 
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import se.sundsvall.agreement.api.model.AgreementFields;
 import se.sundsvall.agreement.api.model.AgreementParameters;
 import se.sundsvall.agreement.api.model.AgreementResponse;
 import se.sundsvall.agreement.api.model.Category;
+import se.sundsvall.agreement.api.model.CursorMetaData;
 import se.sundsvall.agreement.api.model.PagedAgreementResponse;
+import se.sundsvall.agreement.service.AgreementPartyProvider.CursorPage;
+import se.sundsvall.agreement.service.cache.FacilityAgreementCache;
+import se.sundsvall.agreement.service.cache.FacilityAgreementCacheKey;
+import se.sundsvall.agreement.service.cache.LastGoodAgreementStore;
+import se.sundsvall.agreement.service.cache.NegativeAgreementCache;
+import se.sundsvall.agreement.service.cache.PagedAgreementCacheKey;
+import se.sundsvall.agreement.service.cache.PartyAgreementCache;
+import se.sundsvall.agreement.service.cache.PartyAgreementCacheKey;
+import se.sundsvall.agreement.service.mapper.AgreementPartyGrouper;
+import se.sundsvall.agreement.service.snapshot.AgreementSnapshotStore;
 import se.sundsvall.dept44.models.api.paging.PagingMetaData;
 import se.sundsvall.dept44.problem.Problem;
+import se.sundsvall.dept44.problem.ThrowableProblem;
 
 import static java.lang.String.format;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.util.CollectionUtils.isEmpty;
+import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
 import static se.sundsvall.agreement.service.mapper.AgreementMapper.toAgreementParties;
 import static se.sundsvall.agreement.service.mapper.AgreementMapper.toAgreements;
 
 @Service
 public class AgreementService {
 
+	/** Request attribute holding the age of a last known good response served instead of a fresh one */
+	public static final String STALE_RESPONSE_AGE_ATTRIBUTE = AgreementService.class.getName() + ".staleResponseAge";
+
 	private static final String NO_CATEGORY_AND_FACILITY_MATCH_MESSAGE = "No matching agreements were found for facility with id '%s' and category '%s'";
 	private static final String NO_PARTYID_MATCH_MESSAGE = "No matching agreements were found for party with id '%s'";
+	private static final String CURSOR_MISMATCH_MESSAGE = "The cursor was issued for other parameters, only page may differ from the request the cursor was returned by";
 	private static final String NO_PARTYID_AND_CATEGORY_MATCH_MESSAGE = "No matching agreements were found for party with id '%s' and category in '%s'";
+	private static final byte NDJSON_LINE_SEPARATOR = '\n';
+	private static final String TO_AGREEMENT_PARTIES = "toAgreementParties";
+	private static final String TO_AGREEMENTS = "toAgreements";
+	private static final String FACILITY_ENDPOINT = "facility";
+	private static final String PARTY_ENDPOINT = "party";
+	private static final String PAGED_ENDPOINT = "paged";
 
 	private final AgreementPartyProvider agreementPartyProvider;
+	private final PartyAgreementCache partyAgreementCache;
+	private final FacilityAgreementCache facilityAgreementCache;
+	private final NegativeAgreementCache negativeAgreementCache;
+	private final LastGoodAgreementStore lastGoodAgreementStore;
+	private final AgreementSnapshotStore agreementSnapshotStore;
+	private final AgreementJsonWriter agreementJsonWriter;
+	private final DataWarehouseReaderMetrics metrics;
+
+	public AgreementService(AgreementPartyProvider agreementPartyProvider, PartyAgreementCache partyAgreementCache, FacilityAgreementCache facilityAgreementCache,
+		NegativeAgreementCache negativeAgreementCache, LastGoodAgreementStore lastGoodAgreementStore, AgreementSnapshotStore agreementSnapshotStore, AgreementJsonWriter agreementJsonWriter,
+		DataWarehouseReaderMetrics metrics) {
 
-	public AgreementService(AgreementPartyProvider agreementPartyProvider) {
 		this.agreementPartyProvider = agreementPartyProvider;
+		this.partyAgreementCache = partyAgreementCache;
+		this.facilityAgreementCache = facilityAgreementCache;
+		this.negativeAgreementCache = negativeAgreementCache;
+		this.lastGoodAgreementStore = lastGoodAgreementStore;
+		this.agreementSnapshotStore = agreementSnapshotStore;
+		this.agreementJsonWriter = agreementJsonWriter;
+		this.metrics = metrics;
 	}
 
 	public AgreementResponse getAgreementsByCategoryAndFacilityId(String municipalityId, Category category, String facilityId, boolean onlyActive) {
-		final var agreementParties = toAgreementParties(agreementPartyProvider.getAgreementsByCategoryAndFacility(municipalityId, category, facilityId, onlyActive));
-		final var response = AgreementResponse.create().withAgreementParties(agreementParties);
-
-		if (response.getAgreementParties().isEmpty()) {
-			throw Problem.valueOf(NOT_FOUND, format(NO_CATEGORY_AND_FACILITY_MATCH_MESSAGE, facilityId, category));
+		final var cacheKey = new FacilityAgreementCacheKey(municipalityId, category, facilityId, onlyActive);
+		if (negativeAgreementCache.isNotFound(cacheKey)) {
+			throw facilityNotFound(facilityId, category);
 		}
 
-		return response;
+		return withLastGood(FACILITY_ENDPOINT, cacheKey, AgreementResponse.class, freshFetch -> {
+			final var dataWarehouseReaderResponse = agreementSnapshotStore.find(municipalityId)
+				.map(snapshot -> snapshot.getAgreementsByCategoryAndFacility(category, facilityId, onlyActive))
+				.orElseGet(() -> facilityAgreementCache.get(cacheKey, freshFetch.of(() -> agreementPartyProvider.getAgreementsByCategoryAndFacility(municipalityId, category, facilityId, onlyActive))));
+			final var agreementParties = metrics.timeMapping(TO_AGREEMENT_PARTIES, () -> toAgreementParties(dataWarehouseReaderResponse));
+			final var response = AgreementResponse.create().withAgreementParties(agreementParties);
+
+			if (response.getAgreementParties().isEmpty()) {
+				negativeAgreementCache.putNotFound(cacheKey);
+				throw facilityNotFound(facilityId, category);
+			}
+
+			return response;
+		});
 	}
 
 	public AgreementResponse getAgreementsByPartyIdAndCategories(final String municipalityId, final String partyId, final List<Category> categories, final boolean onlyActive) {
-		final var agreementParties = toAgreementParties(agreementPartyProvider.getAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, onlyActive));
-		final var response = AgreementResponse.create().withAgreementParties(agreementParties);
-
-		if (response.getAgreementParties().isEmpty()) {
-			throw isEmpty(categories) ? Problem.valueOf(NOT_FOUND, format(NO_PARTYID_MATCH_MESSAGE, partyId)) : Problem.valueOf(NOT_FOUND, format(NO_PARTYID_AND_CATEGORY_MATCH_MESSAGE, partyId, categories));
+		final var cacheKey = PartyAgreementCacheKey.create(municipalityId, partyId, categories, onlyActive);
+		if (negativeAgreementCache.isNotFound(cacheKey)) {
+			throw partyNotFound(partyId, categories);
 		}
 
-		return response;
+		return withLastGood(PARTY_ENDPOINT, cacheKey, AgreementResponse.class, freshFetch -> {
+			final var dataWarehouseReaderResponse = agreementSnapshotStore.find(municipalityId)
+				.map(snapshot -> snapshot.getAgreementsByPartyIdAndCategories(partyId, categories, onlyActive))
+				.orElseGet(() -> partyAgreementCache.get(cacheKey, freshFetch.of(() -> agreementPartyProvider.getAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, onlyActive))));
+			final var agreementParties = metrics.timeMapping(TO_AGREEMENT_PARTIES, () -> toAgreementParties(dataWarehouseReaderResponse));
+			final var response = AgreementResponse.create().withAgreementParties(agreementParties);
+
+			if (response.getAgreementParties().isEmpty()) {
+				negativeAgreementCache.putNotFound(cacheKey);
+				throw partyNotFound(partyId, categories);
+			}
+
+			return response;
+		});
+	}
+
+	public StreamingResponseBody streamAgreementsByPartyIdAndCategories(final String municipalityId, final String partyId, final List<Category> categories, final boolean onlyActive, final AgreementFields fields) {
+		return outputStream -> agreementPartyProvider.streamAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, onlyActive,
+			page -> writeAsNdjson(outputStream, metrics.timeMapping(TO_AGREEMENTS, () -> toAgreements(page)), fields));
+	}
+
+	public StreamingResponseBody streamAgreementPartiesByCategoryAndFacilityId(final String municipalityId, final Category category, final String facilityId, final boolean onlyActive,
+		final AgreementFields fields) {
+		return outputStream -> {
+			final var grouper = new AgreementPartyGrouper();
+			agreementPartyProvider.streamAgreementsByCategoryAndFacility(municipalityId, category, facilityId, onlyActive,
+				page -> writeAsNdjson(outputStream, metrics.timeMapping(TO_AGREEMENT_PARTIES, () -> grouper.add(page)), fields));
+			writeAsNdjson(outputStream, grouper.finish().stream().toList(), fields);
+		};
 	}
 
 	public PagedAgreementResponse getPagedAgreementsByPartyIdAndCategories(final String municipalityId, final String partyId, final List<Category> categories, AgreementParameters parameters) {
-		final var response = agreementPartyProvider.getAgreementsByPartyIdAndCategories(
-			municipalityId,
-			partyId,
-			categories,
-			parameters.getPage(),
-			parameters.getLimit(),
-			parameters.isOnlyActive() ? true : null,
-			true);
-
-		return PagedAgreementResponse.create()
-			.withAgreements(toAgreements(response))
-			.withMetaData(PagingMetaData.create()
-				.withPage(response.getMeta().getPage())
-				.withLimit(response.getMeta().getLimit())
-				.withCount(response.getMeta().getCount())
-				.withTotalRecords(response.getMeta().getTotalRecords())
-				.withTotalPages(response.getMeta().getTotalPages()));
+		final var cacheKey = PagedAgreementCacheKey.create(municipalityId, partyId, categories, parameters);
+		final var fingerprint = cacheKey.fingerprint();
+		final var cursor = ofNullable(parameters.getCursor()).map(AgreementCursor::decode).orElse(null);
+		if (nonNull(cursor) && (cursor.fingerprint() != fingerprint)) {
+			throw Problem.valueOf(BAD_REQUEST, CURSOR_MISMATCH_MESSAGE);
+		}
+
+		return withLastGood(PAGED_ENDPOINT, cacheKey, PagedAgreementResponse.class, freshFetch -> {
+			final var page = freshFetch.of(() -> isNull(cursor)
+				? new CursorPage(agreementPartyProvider.getPagedAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, parameters), (long) (parameters.getPage() - 1) * parameters.getLimit())
+				: agreementPartyProvider.getPagedAgreementsAfterCursor(municipalityId, partyId, categories, parameters, cursor)).get();
+			final var response = page.response();
+
+			return PagedAgreementResponse.create()
+				.withAgreements(metrics.timeMapping(TO_AGREEMENTS, () -> toAgreements(response)))
+				.withMetaData(PagingMetaData.create()
+					.withPage(response.getMeta().getPage())
+					.withLimit(response.getMeta().getLimit())
+					.withCount(response.getMeta().getCount())
+					.withTotalRecords(response.getMeta().getTotalRecords())
+					.withTotalPages(response.getMeta().getTotalPages()))
+				.withCursorMetaData(AgreementCursor.after(fingerprint, page.offset(), response)
+					.map(next -> CursorMetaData.create().withNext(next.encode()))
+					.orElse(null));
+		});
+	}
+
+	/**
+	 * Executes the lookup and, when it fetched its response from DataWarehouseReader, stores the response as the last known
+	 * good response for the key. Responses served from the snapshot or the cache are not stored again, as that would reset
+	 * the age of older data. While the DataWarehouseReader circuit breaker is open, the last known good response is
+	 * returned instead and the request is marked with its age, or the failure is rethrown when there is none.
+	 */
+	private <T> T withLastGood(final String endpoint, final Object key, final Class<T> type, final Function<FreshFetch, T> lookup) {
+		try {
+			final var freshFetch = new FreshFetch();
+			final var response = lookup.apply(freshFetch);
+			if (freshFetch.fetched) {
+				lastGoodAgreementStore.put(key, response);
+			}
+			return response;
+		} catch (final RuntimeException e) {
+			if (!isCircuitBreakerOpen(e)) {
+				throw e;
+			}
+
+			final var lastGood = lastGoodAgreementStore.get(endpoint, key, type).orElseThrow(() -> e);
+			ofNullable(RequestContextHolder.getRequestAttributes())
+				.ifPresent(attributes -> attributes.setAttribute(STALE_RESPONSE_AGE_ATTRIBUTE, lastGood.age(), SCOPE_REQUEST));
+			return lastGood.response();
+		}
+	}
+
+	/**
+	 * Tells if a lookup fetched its response from DataWarehouseReader. Only fetches on the thread executing the lookup are
+	 * counted, as background refreshes of the cache run the same fetch on other threads.
+	 */
+	private static final class FreshFetch {
+
+		private final Thread lookupThread = Thread.currentThread();
+		private boolean fetched;
+
+		<R> Supplier<R> of(final Supplier<R> fetch) {
+			return () -> {
+				if (Thread.currentThread() == lookupThread) {
+					fetched = true;
+				}
+				return fetch.get();
+			};
+		}
+	}
+
+	private static boolean isCircuitBreakerOpen(final Throwable throwable) {
+		for (var cause = throwable; cause != null; cause = cause.getCause()) {
+			if (cause instanceof CallNotPermittedException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static ThrowableProblem facilityNotFound(final String facilityId, final Category category) {
+		return Problem.valueOf(NOT_FOUND, format(NO_CATEGORY_AND_FACILITY_MATCH_MESSAGE, facilityId, category));
+	}
+
+	private static ThrowableProblem partyNotFound(final String partyId, final List<Category> categories) {
+		return isEmpty(categories) ? Problem.valueOf(NOT_FOUND, format(NO_PARTYID_MATCH_MESSAGE, partyId)) : Problem.valueOf(NOT_FOUND, format(NO_PARTYID_AND_CATEGORY_MATCH_MESSAGE, partyId, categories));
+	}
+
+	private void writeAsNdjson(final OutputStream outputStream, final List<?> values, final AgreementFields fields) {
+		try {
+			for (final var value : values) {
+				outputStream.write(agreementJsonWriter.writeValueAsBytes(value, fields));
+				outputStream.write(NDJSON_LINE_SEPARATOR);
+			}
+			outputStream.flush();
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
 	}
 }
@@ -0,0 +1,104 @@
+package se.sundsvall.agreement.service;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import se.sundsvall.agreement.api.model.Category;
+import se.sundsvall.agreement.api.model.FacilityBatchItem;
+import se.sundsvall.agreement.api.model.FacilityBatchRequest;
+import se.sundsvall.agreement.api.model.FacilityBatchResponse;
+import se.sundsvall.agreement.api.model.FacilityBatchResult;
+import se.sundsvall.agreement.api.model.PartyBatchRequest;
+import se.sundsvall.agreement.api.model.PartyBatchResponse;
+import se.sundsvall.agreement.api.model.PartyBatchResult;
+import se.sundsvall.dept44.problem.ThrowableProblem;
+
+import static java.util.Objects.nonNull;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * Resolves agreements for many items in one request. The items are looked up concurrently on the {@link BatchExecutor}
+ * and a failing item is reported in its own result instead of failing the whole batch.
+ */
+@Service
+public class BatchAgreementService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BatchAgreementService.class);
+	private static final String INTERNAL_ERROR_DETAIL = "Internal error";
+
+	private final AgreementService agreementService;
+	private final BatchExecutor batchExecutor;
+
+	public BatchAgreementService(AgreementService agreementService, BatchExecutor batchExecutor) {
+		this.agreementService = agreementService;
+		this.batchExecutor = batchExecutor;
+	}
+
+	public PartyBatchResponse getAgreementsByPartyIds(final String municipalityId, final PartyBatchRequest request) {
+		final var futures = new LinkedHashMap<String, CompletableFuture<PartyBatchResult>>();
+		new LinkedHashSet<>(request.getPartyIds())
+			.forEach(partyId -> futures.put(partyId, batchExecutor.supplyAsync(() -> getPartyResult(municipalityId, partyId, request.getCategories(), request.isOnlyActive()))));
+
+		final var results = new LinkedHashMap<String, PartyBatchResult>();
+		futures.forEach((partyId, future) -> results.put(partyId, future.join()));
+
+		return PartyBatchResponse.create().withResults(results);
+	}
+
+	public FacilityBatchResponse getAgreementsByFacilities(final String municipalityId, final FacilityBatchRequest request) {
+		final var futures = new LinkedHashSet<>(request.getItems()).stream()
+			.map(item -> batchExecutor.supplyAsync(() -> getFacilityResult(municipalityId, item, request.isOnlyActive())))
+			.toList();
+
+		return FacilityBatchResponse.create().withResults(futures.stream()
+			.map(CompletableFuture::join)
+			.toList());
+	}
+
+	private PartyBatchResult getPartyResult(final String municipalityId, final String partyId, final List<Category> categories, final boolean onlyActive) {
+		try {
+			return PartyBatchResult.create()
+				.withStatus(OK.value())
+				.withAgreementParties(agreementService.getAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, onlyActive).getAgreementParties());
+		} catch (final ThrowableProblem e) {
+			return PartyBatchResult.create()
+				.withStatus(statusOf(e))
+				.withDetail(e.getDetail());
+		} catch (final RuntimeException e) {
+			LOGGER.warn("Lookup of agreements for party with id '{}' failed", partyId, e);
+			return PartyBatchResult.create()
+				.withStatus(INTERNAL_SERVER_ERROR.value())
+				.withDetail(INTERNAL_ERROR_DETAIL);
+		}
+	}
+
+	private FacilityBatchResult getFacilityResult(final String municipalityId, final FacilityBatchItem item, final boolean onlyActive) {
+		final var result = FacilityBatchResult.create()
+			.withCategory(item.getCategory())
+			.withFacilityId(item.getFacilityId());
+
+		try {
+			return result
+				.withStatus(OK.value())
+				.withAgreementParties(agreementService.getAgreementsByCategoryAndFacilityId(municipalityId, item.getCategory(), item.getFacilityId(), onlyActive).getAgreementParties());
+		} catch (final ThrowableProblem e) {
+			return result
+				.withStatus(statusOf(e))
+				.withDetail(e.getDetail());
+		} catch (final RuntimeException e) {
+			LOGGER.warn("Lookup of agreements for facility with id '{}' and category '{}' failed", item.getFacilityId(), item.getCategory(), e);
+			return result
+				.withStatus(INTERNAL_SERVER_ERROR.value())
+				.withDetail(INTERNAL_ERROR_DETAIL);
+		}
+	}
+
+	private static int statusOf(final ThrowableProblem problem) {
+		return nonNull(problem.getStatus()) ? problem.getStatus().value() : INTERNAL_SERVER_ERROR.value();
+	}
+}
@@ -0,0 +1,21 @@
+package se.sundsvall.agreement.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executor for the items of batch requests. Kept apart from the {@link PageFetchExecutor}, as each item in turn waits
+ * for its page fetches.
+ */
+@Component
+public class BatchExecutor extends BoundedExecutor {
+
+	static final String INFLIGHT_TASKS_METRIC = "agreement.batch.inflight";
+
+	private static final String THREAD_PREFIX = "agreement-batch-";
+
+	public BatchExecutor(BatchProperties properties, MeterRegistry meterRegistry) {
+		super(THREAD_PREFIX, properties.parallelism(), properties.virtualThreads(), INFLIGHT_TASKS_METRIC,
+			"Number of batch items currently executing", meterRegistry);
+	}
+}
@@ -0,0 +1,9 @@
+package se.sundsvall.agreement.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("agreement.batch")
+public record BatchProperties(
+	@DefaultValue("8") int parallelism,
+	@DefaultValue("false") boolean virtualThreads) {}
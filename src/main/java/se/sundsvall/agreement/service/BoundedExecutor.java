@@ -0,0 +1,112 @@
+package se.sundsvall.agreement.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.slf4j.MDC;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newThreadPerTaskExecutor;
+
+/**
+ * Executor limited to a fixed parallelism. Runs on a fixed pool of platform threads, or on virtual threads limited by a
+ * semaphore to the same parallelism.
+ */
+abstract class BoundedExecutor {
+
+	private final ExecutorService executorService;
+	private final Semaphore permits;
+	private final AtomicInteger inFlightTasks = new AtomicInteger();
+
+	protected BoundedExecutor(String threadPrefix, int parallelism, boolean virtualThreads, String inFlightMetric, String inFlightDescription, MeterRegistry meterRegistry) {
+		if (virtualThreads) {
+			this.executorService = newThreadPerTaskExecutor(Thread.ofVirtual().name(threadPrefix, 0).factory());
+			this.permits = new Semaphore(parallelism);
+		} else {
+			this.executorService = newFixedThreadPool(parallelism, Thread.ofPlatform().name(threadPrefix, 0).factory());
+			this.permits = null;
+		}
+
+		Gauge.builder(inFlightMetric, inFlightTasks, AtomicInteger::get)
+			.description(inFlightDescription)
+			.tag("threads", virtualThreads ? "virtual" : "platform")
+			.register(meterRegistry);
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executorService.shutdown();
+	}
+
+	/**
+	 * Executes the supplier asynchronously, propagating the logging context (e.g. request id) and the request deadline of
+	 * the calling thread.
+	 *
+	 * @param  supplier the task to execute
+	 * @return          a future completed with the result of the supplier
+	 */
+	public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+		return CompletableFuture.supplyAsync(withContext(limited(supplier)), executorService);
+	}
+
+	private <T> Supplier<T> limited(Supplier<T> supplier) {
+		return () -> {
+			acquirePermit();
+			inFlightTasks.incrementAndGet();
+			try {
+				return supplier.get();
+			} finally {
+				inFlightTasks.decrementAndGet();
+				releasePermit();
+			}
+		};
+	}
+
+	private void acquirePermit() {
+		if (isNull(permits)) {
+			return;
+		}
+		try {
+			permits.acquire();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancellationException("Interrupted while waiting for an execution permit");
+		}
+	}
+
+	private void releasePermit() {
+		if (nonNull(permits)) {
+			permits.release();
+		}
+	}
+
+	/**
+	 * Wraps the supplier so that it runs with the logging context (e.g. request id) and the request deadline of the calling
+	 * thread.
+	 */
+	static <T> Supplier<T> withContext(Supplier<T> supplier) {
+		final var context = MDC.getCopyOfContextMap();
+		final var propagated = RequestDeadline.propagated(supplier);
+
+		return () -> {
+			if (isNull(context)) {
+				MDC.clear();
+			} else {
+				MDC.setContextMap(context);
+			}
+			try {
+				return propagated.get();
+			} finally {
+				MDC.clear();
+			}
+		};
+	}
+}
@@ -0,0 +1,157 @@
+package se.sundsvall.agreement.service;
+
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import se.sundsvall.agreement.api.model.Category;
+
+import static java.util.Objects.isNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.springframework.util.CollectionUtils.isEmpty;
+
+/**
+ * Metrics for walks of DataWarehouseReader pages and for the mapping of the result. Tags are limited to values with a
+ * bounded set: the endpoint, the category (the category name, ALL when no category is given or MULTIPLE when several are
+ * given) and the validated municipality id.
+ */
+@Component
+public class DataWarehouseReaderMetrics {
+
+	static final String PAGE_METRIC = "agreement.datawarehousereader.page";
+	static final String PAGES_METRIC = "agreement.datawarehousereader.pages";
+	static final String RECORDS_METRIC = "agreement.datawarehousereader.records";
+	static final String FETCH_METRIC = "agreement.datawarehousereader.fetch";
+	static final String CANCELLED_METRIC = "agreement.datawarehousereader.page.cancelled";
+	static final String MAPPING_METRIC = "agreement.mapping";
+
+	static final String ALL_CATEGORIES = "ALL";
+	static final String MULTIPLE_CATEGORIES = "MULTIPLE";
+
+	private final MeterRegistry meterRegistry;
+
+	public DataWarehouseReaderMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Starts measuring a walk of DataWarehouseReader pages.
+	 *
+	 * @param  endpoint       the endpoint causing the walk, e.g. party or facility
+	 * @param  municipalityId the municipality id
+	 * @param  categories     the requested categories, or empty for all categories
+	 * @return                the walk to time pages with and to finish when all pages have been read
+	 */
+	public Walk startWalk(String endpoint, String municipalityId, List<Category> categories) {
+		return new Walk(Tags.of("endpoint", endpoint, "category", categoryTag(categories), "municipalityId", municipalityId));
+	}
+
+	/**
+	 * Measures the time of mapping a DataWarehouseReader response.
+	 *
+	 * @param  mapper  the name of the mapping function
+	 * @param  mapping the mapping to execute
+	 * @return         the result of the mapping
+	 */
+	public <T> T timeMapping(String mapper, Supplier<T> mapping) {
+		return Timer.builder(MAPPING_METRIC)
+			.description("Time spent mapping DataWarehouseReader responses")
+			.tag("mapper", mapper)
+			.register(meterRegistry)
+			.record(mapping);
+	}
+
+	static String categoryTag(List<Category> categories) {
+		if (isEmpty(categories)) {
+			return ALL_CATEGORIES;
+		}
+		return (categories.stream().distinct().count() == 1) ? categories.getFirst().name() : MULTIPLE_CATEGORIES;
+	}
+
+	public final class Walk {
+
+		private final Tags tags;
+		private final Timer pageTimer;
+		private final long start = System.nanoTime();
+		private final AtomicInteger pages = new AtomicInteger();
+		private final AtomicInteger records = new AtomicInteger();
+
+		private Walk(Tags tags) {
+			this.tags = tags;
+			this.pageTimer = Timer.builder(PAGE_METRIC)
+				.description("Latency of a single DataWarehouseReader page fetch")
+				.tags(tags)
+				.register(meterRegistry);
+		}
+
+		/**
+		 * Wraps the page fetcher so that the latency, and the amount of records, of each fetched page is recorded.
+		 *
+		 * @param  pageFetcher function fetching a specific page from DataWarehouseReader
+		 * @return             the timed page fetcher
+		 */
+		public IntFunction<AgreementResponse> timed(IntFunction<AgreementResponse> pageFetcher) {
+			return page -> {
+				final var response = pageTimer.record(() -> pageFetcher.apply(page));
+				pages.incrementAndGet();
+				records.addAndGet((isNull(response) || isNull(response.getAgreements())) ? 0 : response.getAgreements().size());
+				return response;
+			};
+		}
+
+		/**
+		 * Records page fetches of the walk that were abandoned before they completed, e.g. because the request was
+		 * cancelled or another page failed.
+		 *
+		 * @param pages the amount of abandoned page fetches
+		 */
+		public void cancelled(long pages) {
+			if (pages > 0) {
+				Counter.builder(CANCELLED_METRIC)
+					.description("Number of DataWarehouseReader page fetches abandoned before they completed")
+					.tags(tags)
+					.register(meterRegistry)
+					.increment(pages);
+			}
+		}
+
+		/**
+		 * Records the total fetch time and the amount of pages and records of the walk.
+		 *
+		 * @param  result the result of the walk, returned as is
+		 * @return        the result
+		 */
+		public <T> T finish(T result) {
+			finish();
+			return result;
+		}
+
+		/**
+		 * Records the total fetch time and the amount of pages and records of the walk.
+		 */
+		public void finish() {
+			Timer.builder(FETCH_METRIC)
+				.description("Total time fetching all DataWarehouseReader pages of a request")
+				.tags(tags)
+				.register(meterRegistry)
+				.record(System.nanoTime() - start, NANOSECONDS);
+			DistributionSummary.builder(PAGES_METRIC)
+				.description("Amount of DataWarehouseReader pages fetched for a request")
+				.tags(tags)
+				.register(meterRegistry)
+				.record(pages.get());
+			DistributionSummary.builder(RECORDS_METRIC)
+				.description("Amount of DataWarehouseReader records fetched for a request")
+				.tags(tags)
+				.register(meterRegistry)
+				.record(records.get());
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package se.sundsvall.agreement.service;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * The deadline of a request, shared by all DataWarehouseReader calls made for it. A client can shorten, but not extend,
+ * the configured {@code timeout} by sending the amount of milliseconds it is willing to wait in the {@code header}. At
+ * most {@code asyncParallelism} requests are handled asynchronously at once, further requests wait for a free slot on
+ * their request thread.
+ */
+@ConfigurationProperties("agreement.deadline")
+public record DeadlineProperties(
+	@DefaultValue("false") boolean enabled,
+	@DefaultValue("PT30S") Duration timeout,
+	@DefaultValue("X-Request-Timeout") String header,
+	@DefaultValue("200") int asyncParallelism) {}
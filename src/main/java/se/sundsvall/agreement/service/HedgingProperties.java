@@ -0,0 +1,20 @@
+package se.sundsvall.agreement.service;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Hedging of DataWarehouseReader page fetches. A page not returned within the {@code percentile} of the recently observed
+ * page latencies (but at least {@code minimumDelay}) is requested once more, and the first response is used. Every page
+ * fetch earns {@code budgetRatio} hedges, at most {@code budgetBurst} are saved up.
+ */
+@ConfigurationProperties("integration.datawarehousereader.hedging")
+public record HedgingProperties(
+	@DefaultValue("false") boolean enabled,
+	@DefaultValue("0.95") double percentile,
+	@DefaultValue("PT0.05S") Duration minimumDelay,
+	@DefaultValue("100") int minimumSamples,
+	@DefaultValue("1000") int windowSize,
+	@DefaultValue("0.05") double budgetRatio,
+	@DefaultValue("10") int budgetBurst) {}
@@ -0,0 +1,22 @@
+package se.sundsvall.agreement.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import se.sundsvall.agreement.integration.datawarehousereader.configuration.DataWarehouseReaderProperties;
+
+/**
+ * Executor for outbound DataWarehouseReader page fetches. Runs on a fixed pool of platform threads by default, or on
+ * virtual threads (limited by a semaphore to the same parallelism) when virtual threads are enabled.
+ */
+@Component
+public class PageFetchExecutor extends BoundedExecutor {
+
+	static final String INFLIGHT_TASKS_METRIC = "agreement.datawarehousereader.page.fetch.inflight";
+
+	private static final String THREAD_PREFIX = "datawarehousereader-page-";
+
+	public PageFetchExecutor(DataWarehouseReaderProperties properties, MeterRegistry meterRegistry) {
+		super(THREAD_PREFIX, properties.pageFetchParallelism(), properties.virtualThreads(), INFLIGHT_TASKS_METRIC,
+			"Number of DataWarehouseReader page fetches currently executing", meterRegistry);
+	}
+}
@@ -0,0 +1,214 @@
+package se.sundsvall.agreement.service;
+
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+import static java.lang.Math.ceil;
+import static java.lang.Math.clamp;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.Executors.newThreadPerTaskExecutor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static se.sundsvall.agreement.service.BoundedExecutor.withContext;
+
+/**
+ * Hedges DataWarehouseReader page fetches to cut the latency tail. A page that has not been returned within the
+ * configured percentile of the recent page latencies of the query type is requested once more, and the first successful
+ * response is used while the other request is cancelled. A global budget, earned by every page fetch, caps the extra load
+ * on DataWarehouseReader. Hedging starts once enough page latencies of the query type have been observed.
+ */
+@Component
+public class PageFetchHedger {
+
+	static final String HEDGES_FIRED_METRIC = "agreement.datawarehousereader.hedges.fired";
+	static final String HEDGES_WON_METRIC = "agreement.datawarehousereader.hedges.won";
+
+	private static final String THREAD_PREFIX = "datawarehousereader-hedge-";
+
+	private final HedgingProperties properties;
+	private final Budget budget;
+	private final ExecutorService executorService;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+	public PageFetchHedger(HedgingProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.budget = new Budget(properties.budgetRatio(), properties.budgetBurst());
+		this.executorService = newThreadPerTaskExecutor(Thread.ofVirtual().name(THREAD_PREFIX, 0).factory());
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executorService.shutdownNow();
+	}
+
+	/**
+	 * Wraps the page fetcher so that slow page fetches of the query type are hedged.
+	 *
+	 * @param  queryType   the type of query, e.g. party or facility
+	 * @param  pageFetcher function fetching a specific page from DataWarehouseReader
+	 * @return             the hedging page fetcher
+	 */
+	public IntFunction<AgreementResponse> hedged(String queryType, IntFunction<AgreementResponse> pageFetcher) {
+		if (!properties.enabled()) {
+			return pageFetcher;
+		}
+
+		final var window = windows.computeIfAbsent(queryType, ignored -> new LatencyWindow(properties.windowSize(), properties.minimumSamples(), properties.percentile(),
+			properties.minimumDelay().toNanos()));
+		return page -> fetch(queryType, window, () -> pageFetcher.apply(page));
+	}
+
+	private AgreementResponse fetch(String queryType, LatencyWindow window, Supplier<AgreementResponse> fetcher) {
+		budget.deposit();
+
+		final var completionService = new ExecutorCompletionService<AgreementResponse>(executorService);
+		final var attempts = new ArrayList<Future<AgreementResponse>>(2);
+		attempts.add(completionService.submit(withContext(timed(window, fetcher))::get));
+
+		try {
+			final var threshold = window.threshold();
+			var completed = (threshold < 0) ? completionService.take() : completionService.poll(threshold, NANOSECONDS);
+			if ((completed == null) && budget.tryWithdraw()) {
+				attempts.add(completionService.submit(withContext(timed(window, fetcher))::get));
+				counter(HEDGES_FIRED_METRIC, "Number of DataWarehouseReader page fetches sent again as a hedge", queryType).increment();
+			}
+			if (completed == null) {
+				completed = completionService.take();
+			}
+
+			RuntimeException failure = null;
+			for (var pending = attempts.size() - 1;; pending--) {
+				try {
+					final var response = result(completed);
+					if (completed != attempts.getFirst()) {
+						counter(HEDGES_WON_METRIC, "Number of hedged DataWarehouseReader page fetches answered first by the hedge", queryType).increment();
+					}
+					return response;
+				} catch (final RuntimeException e) {
+					failure = (failure == null) ? e : failure;
+					if (pending == 0) {
+						throw failure;
+					}
+					completed = completionService.take();
+				}
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancellationException("Interrupted while waiting for a page fetch");
+		} finally {
+			attempts.forEach(attempt -> attempt.cancel(true));
+		}
+	}
+
+	private static Supplier<AgreementResponse> timed(LatencyWindow window, Supplier<AgreementResponse> fetcher) {
+		return () -> {
+			final var start = System.nanoTime();
+			final var response = fetcher.get();
+			window.record(System.nanoTime() - start);
+			return response;
+		};
+	}
+
+	private static AgreementResponse result(Future<AgreementResponse> attempt) throws InterruptedException {
+		try {
+			return attempt.get();
+		} catch (final ExecutionException e) {
+			throw e.getCause() instanceof final RuntimeException runtimeException ? runtimeException : new CompletionException(e.getCause());
+		}
+	}
+
+	private Counter counter(String name, String description, String queryType) {
+		return Counter.builder(name)
+			.description(description)
+			.tag("type", queryType)
+			.register(meterRegistry);
+	}
+
+	/**
+	 * The latencies (nanoseconds) of the most recent successful page fetches of a query type, and the hedge threshold
+	 * derived from them. The threshold is recalculated every {@code RECALCULATE_INTERVAL} samples.
+	 */
+	static final class LatencyWindow {
+
+		private static final int RECALCULATE_INTERVAL = 50;
+
+		private final long[] samples;
+		private final int minimumSamples;
+		private final double percentile;
+		private final long minimumDelay;
+
+		private long count;
+		private volatile long threshold = -1;
+
+		LatencyWindow(int windowSize, int minimumSamples, double percentile, long minimumDelay) {
+			this.samples = new long[max(1, windowSize)];
+			this.minimumSamples = max(1, minimumSamples);
+			this.percentile = clamp(percentile, 0, 1);
+			this.minimumDelay = minimumDelay;
+		}
+
+		/**
+		 * @return the delay in nanoseconds after which a page fetch is hedged, or -1 while too few samples are observed
+		 */
+		long threshold() {
+			return threshold;
+		}
+
+		synchronized void record(long latency) {
+			samples[(int) (count % samples.length)] = latency;
+			count++;
+
+			if ((count >= minimumSamples) && (((count - minimumSamples) % RECALCULATE_INTERVAL) == 0)) {
+				final var sorted = Arrays.copyOf(samples, (int) min(count, samples.length));
+				Arrays.sort(sorted);
+				final var index = clamp((long) ceil(percentile * sorted.length) - 1, 0, sorted.length - 1);
+				threshold = max(minimumDelay, sorted[index]);
+			}
+		}
+	}
+
+	/**
+	 * Token bucket limiting the amount of hedges. Every page fetch adds {@code ratio} tokens, up to {@code burst} tokens,
+	 * and every hedge takes one.
+	 */
+	static final class Budget {
+
+		private final double ratio;
+		private final double burst;
+		private double tokens;
+
+		Budget(double ratio, int burst) {
+			this.ratio = max(0, ratio);
+			this.burst = max(0, burst);
+		}
+
+		synchronized void deposit() {
+			tokens = min(burst, tokens + ratio);
+		}
+
+		synchronized boolean tryWithdraw() {
+			if (tokens < 1) {
+				return false;
+			}
+			tokens--;
+			return true;
+		}
+	}
+}
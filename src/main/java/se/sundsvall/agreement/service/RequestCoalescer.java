@@ -0,0 +1,88 @@
+package se.sundsvall.agreement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets concurrent callers with equal keys share one in-flight execution (single-flight). The first caller executes the
+ * supplier, callers arriving while it is in flight wait for and receive the same result or failure. The shared
+ * execution runs with the deadline of the first caller, so when it fails because that deadline has passed, or that
+ * request was cancelled, callers whose own deadline has not passed execute the supplier again, coalesced among
+ * themselves.
+ */
+@Component
+public class RequestCoalescer {
+
+	static final String COALESCED_METRIC = "agreement.datawarehousereader.coalesced";
+
+	private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+	private final MeterRegistry meterRegistry;
+
+	public RequestCoalescer(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Executes the supplier, or joins an in-flight execution for an equal key.
+	 *
+	 * @param  type     type of request, used as tag on the coalesced requests metric
+	 * @param  key      key identifying equal requests
+	 * @param  supplier the request to execute
+	 * @return          the result of the (shared) execution
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T execute(String type, Object key, Supplier<T> supplier) {
+		final var future = new CompletableFuture<>();
+		final var existing = inFlight.putIfAbsent(key, future);
+
+		if (existing != null) {
+			coalescedCounter(type).increment();
+			try {
+				return (T) join(existing);
+			} catch (final RuntimeException e) {
+				// A passed deadline of the request executing the shared fetch must not fail the requests joining it
+				if (RequestDeadline.isPassedDeadline(e) && !ownDeadlinePassed()) {
+					return execute(type, key, supplier);
+				}
+				throw e;
+			}
+		}
+
+		// The execution is removed before it is completed, so that callers retrying after its failure do not join it again
+		try {
+			final var result = supplier.get();
+			inFlight.remove(key, future);
+			future.complete(result);
+			return result;
+		} catch (final RuntimeException | Error e) {
+			inFlight.remove(key, future);
+			future.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	private static boolean ownDeadlinePassed() {
+		return RequestDeadline.current().map(RequestDeadline::isExpired).orElse(false);
+	}
+
+	private Counter coalescedCounter(String type) {
+		return Counter.builder(COALESCED_METRIC)
+			.description("Number of requests that joined an identical in-flight DataWarehouseReader fetch")
+			.tag("type", type)
+			.register(meterRegistry);
+	}
+
+	private static Object join(CompletableFuture<Object> future) {
+		try {
+			return future.join();
+		} catch (final CompletionException e) {
+			throw e.getCause() instanceof final RuntimeException runtimeException ? runtimeException : e;
+		}
+	}
+}
@@ -0,0 +1,197 @@
+package se.sundsvall.agreement.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import se.sundsvall.dept44.problem.Problem;
+import se.sundsvall.dept44.problem.ThrowableProblem;
+
+import static java.lang.Math.max;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.empty;
+import static java.util.Optional.ofNullable;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+
+/**
+ * The point in time when the current request must be answered. It is bound to the request thread and propagated to the
+ * threads fetching DataWarehouseReader pages for the request, where it limits the timeout of every call to the time
+ * left and stops the walk of the remaining pages once it has passed. A deadline passes at once when the request is
+ * cancelled, e.g. because the client has disconnected.
+ */
+public final class RequestDeadline {
+
+	static final String DEADLINE_EXCEEDED_MESSAGE = "The request deadline was exceeded before all agreements were fetched from DataWarehouseReader";
+	static final String CANCELLED_MESSAGE = "The request was cancelled before all agreements were fetched from DataWarehouseReader";
+
+	private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+	private final Long expiresAt;
+	private final List<Runnable> cancellationListeners = new CopyOnWriteArrayList<>();
+	private volatile boolean cancelled;
+
+	private RequestDeadline(Long expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+
+	/**
+	 * @param  timeout the time from now until the request must be answered
+	 * @return         a deadline passing after the timeout
+	 */
+	public static RequestDeadline after(Duration timeout) {
+		return new RequestDeadline(System.nanoTime() + timeout.toNanos());
+	}
+
+	/**
+	 * @return a deadline without time limit, passing only when the request is cancelled
+	 */
+	public static RequestDeadline none() {
+		return new RequestDeadline(null);
+	}
+
+	/**
+	 * @return the deadline bound to the current thread, or empty if there is none
+	 */
+	public static Optional<RequestDeadline> current() {
+		return ofNullable(CURRENT.get());
+	}
+
+	/**
+	 * Binds the deadline to the current thread, replacing any earlier deadline. A null deadline unbinds it.
+	 *
+	 * @param deadline the deadline of the request executed by the current thread
+	 */
+	public static void bind(RequestDeadline deadline) {
+		if (isNull(deadline)) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(deadline);
+		}
+	}
+
+	/**
+	 * Wraps the supplier so that it runs with the deadline bound to the calling thread.
+	 *
+	 * @param  supplier the task to execute on another thread
+	 * @return          the propagating supplier
+	 */
+	public static <T> Supplier<T> propagated(Supplier<T> supplier) {
+		final var deadline = CURRENT.get();
+
+		return () -> {
+			final var previous = CURRENT.get();
+			bind(deadline);
+			try {
+				return supplier.get();
+			} finally {
+				bind(previous);
+			}
+		};
+	}
+
+	/**
+	 * Wraps the page fetcher so that no page is fetched once the deadline bound to the calling thread has passed, and a
+	 * page fetch failing after the deadline has passed is reported as a passed deadline.
+	 *
+	 * @param  pageFetcher function fetching a specific page from DataWarehouseReader
+	 * @return             the bounded page fetcher
+	 */
+	public static <T> IntFunction<T> bounded(IntFunction<T> pageFetcher) {
+		final var deadline = CURRENT.get();
+		if (isNull(deadline)) {
+			return pageFetcher;
+		}
+
+		return page -> {
+			deadline.throwIfPassed();
+			try {
+				return pageFetcher.apply(page);
+			} catch (final RuntimeException e) {
+				deadline.throwIfPassed();
+				throw e;
+			}
+		};
+	}
+
+	/**
+	 * @return the time left until the deadline, zero once it has passed, or empty if the deadline has no time limit
+	 */
+	public Optional<Duration> remaining() {
+		if (cancelled) {
+			return Optional.of(Duration.ZERO);
+		}
+		return isNull(expiresAt) ? empty() : Optional.of(Duration.ofNanos(max(0, expiresAt - System.nanoTime())));
+	}
+
+	public boolean isExpired() {
+		return cancelled || (nonNull(expiresAt) && ((expiresAt - System.nanoTime()) <= 0));
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * Cancels the request, which lets the deadline pass at once and notifies the registered cancellation listeners.
+	 */
+	public void cancel() {
+		cancelled = true;
+		cancellationListeners.forEach(Runnable::run);
+	}
+
+	/**
+	 * Registers a listener to run when the request is cancelled, or at once if it already is.
+	 *
+	 * @param  listener the listener, e.g. cancelling outstanding page fetches
+	 * @return          a registration removing the listener when closed
+	 */
+	public Registration onCancel(Runnable listener) {
+		cancellationListeners.add(listener);
+		if (cancelled && cancellationListeners.remove(listener)) {
+			listener.run();
+		}
+		return () -> cancellationListeners.remove(listener);
+	}
+
+	private void throwIfPassed() {
+		if (cancelled) {
+			throw new CancellationException(CANCELLED_MESSAGE);
+		}
+		if (isExpired()) {
+			throw exceeded();
+		}
+	}
+
+	/**
+	 * Tells if the failure was caused by a passed deadline or a cancelled request, as opposed to a failure of the work done
+	 * for the request.
+	 *
+	 * @param  failure the failure of work done for a request
+	 * @return         true if the failure reports a passed deadline or a cancelled request
+	 */
+	public static boolean isPassedDeadline(Throwable failure) {
+		return (failure instanceof CancellationException)
+			|| ((failure instanceof final ThrowableProblem problem) && DEADLINE_EXCEEDED_MESSAGE.equals(problem.getDetail()));
+	}
+
+	/**
+	 * @return the problem reported when the deadline has passed
+	 */
+	public static ThrowableProblem exceeded() {
+		return Problem.valueOf(GATEWAY_TIMEOUT, DEADLINE_EXCEEDED_MESSAGE);
+	}
+
+	/**
+	 * Registration of a cancellation listener.
+	 */
+	@FunctionalInterface
+	public interface Registration extends AutoCloseable {
+
+		@Override
+		void close();
+	}
+}
@@ -0,0 +1,41 @@
+package se.sundsvall.agreement.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records virtual threads being pinned to their carrier thread, using the JFR event jdk.VirtualThreadPinned. Only active
+ * when virtual threads are enabled.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+	static final String PINNED_METRIC = "agreement.virtualthreads.pinned";
+
+	private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+	private static final Duration PINNED_THRESHOLD = Duration.ofMillis(20);
+
+	private final RecordingStream recordingStream;
+
+	public VirtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+		final var pinnedTimer = Timer.builder(PINNED_METRIC)
+			.description("Time virtual threads have been pinned to their carrier thread")
+			.register(meterRegistry);
+
+		this.recordingStream = new RecordingStream();
+		this.recordingStream.enable(PINNED_EVENT).withThreshold(PINNED_THRESHOLD);
+		this.recordingStream.onEvent(PINNED_EVENT, event -> pinnedTimer.record(event.getDuration()));
+		this.recordingStream.startAsync();
+	}
+
+	@PreDestroy
+	void close() {
+		recordingStream.close();
+	}
+}
@@ -0,0 +1,43 @@
+package se.sundsvall.agreement.service.cache;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("agreement.cache")
+public record AgreementCacheProperties(
+	@DefaultValue Endpoint party,
+	@DefaultValue Endpoint facility,
+	@DefaultValue Negative negative,
+	@DefaultValue LastGood lastGood) {
+
+	/**
+	 * Cache settings of an endpoint. An entry older than refreshAfter (soft time to live) is refreshed in the background
+	 * while it is still served, an entry older than timeToLive (hard time to live) is evicted. Without refreshAfter, or
+	 * with a refreshAfter not shorter than timeToLive, entries are only evicted.
+	 */
+	public record Endpoint(
+		@DefaultValue("false") boolean enabled,
+		@DefaultValue("PT5M") Duration timeToLive,
+		Duration refreshAfter,
+		@DefaultValue("10000") long maximumEntries,
+		@DefaultValue("1000000") long maximumWeight) {}
+
+	/**
+	 * Settings of the cache of lookups without any agreements, answered with 404 Not Found.
+	 */
+	public record Negative(
+		@DefaultValue("false") boolean enabled,
+		@DefaultValue("PT30S") Duration timeToLive,
+		@DefaultValue("100000") long maximumEntries) {}
+
+	/**
+	 * Settings of the store of last known good responses, served when the DataWarehouseReader circuit breaker is open.
+	 * Entries older than timeToLive are never served.
+	 */
+	public record LastGood(
+		@DefaultValue("false") boolean enabled,
+		@DefaultValue("PT24H") Duration timeToLive,
+		@DefaultValue("10000") long maximumEntries,
+		@DefaultValue("1000000") long maximumWeight) {}
+}
@@ -0,0 +1,179 @@
+package se.sundsvall.agreement.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.lang.Math.ceilDiv;
+import static java.lang.Math.max;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+
+/**
+ * Bounded in-process cache (W-TinyLFU) of DataWarehouseReader responses with stale-while-revalidate. An entry older than
+ * the soft time to live is returned at once while a single background refresh replaces it. An entry older than the hard
+ * time to live is evicted, so the next lookup blocks on the loader. Responses without agreements are not cached.
+ */
+public class AgreementResponseCache<K> {
+
+	static final String STALE_HITS_METRIC = "agreement.cache.stale.hits";
+	static final String REFRESHES_METRIC = "agreement.cache.refreshes";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AgreementResponseCache.class);
+
+	private final String name;
+	private final AgreementCacheProperties.Endpoint properties;
+	private final Cache<K, Entry> cache;
+	private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+	private final Executor refreshExecutor;
+	private final Ticker ticker;
+	private final MeterRegistry meterRegistry;
+	private final Counter staleHits;
+
+	private record Entry(AgreementResponse response, long loadedAt) {}
+
+	protected AgreementResponseCache(String name, AgreementCacheProperties.Endpoint properties, Executor refreshExecutor, Ticker ticker, MeterRegistry meterRegistry) {
+		this.name = name;
+		this.properties = properties;
+		this.refreshExecutor = refreshExecutor;
+		this.ticker = ticker;
+		this.meterRegistry = meterRegistry;
+
+		// Each entry weighs at least maximumWeight / maximumEntries, which limits the cache to maximumEntries entries
+		final var minimumWeight = max(1, ceilDiv(properties.maximumWeight(), max(1, properties.maximumEntries())));
+		this.cache = Caffeine.newBuilder()
+			.expireAfterWrite(properties.timeToLive())
+			.maximumWeight(properties.maximumWeight())
+			.<K, Entry>weigher((key, entry) -> (int) max(minimumWeight, size(entry.response())))
+			.ticker(ticker)
+			.recordStats()
+			.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+		this.staleHits = Counter.builder(STALE_HITS_METRIC)
+			.description("Number of lookups answered with an entry older than the soft time to live")
+			.tag("cache", name)
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Creates a cache refreshing stale entries on virtual threads.
+	 */
+	protected AgreementResponseCache(String name, AgreementCacheProperties.Endpoint properties, MeterRegistry meterRegistry) {
+		this(name, properties, command -> Thread.ofVirtual().name(name + "-refresh").start(command), Ticker.systemTicker(), meterRegistry);
+	}
+
+	/**
+	 * Returns the cached response for the key, or loads and caches it using the loader. A stale response is returned as is
+	 * and refreshed in the background using the loader, unless a refresh for the key is already running. The loader walks
+	 * all pages of a lookup, so it is called outside of the cache, where it would block writes of other keys while
+	 * running. Concurrent loads of equal keys are left to the loader to coalesce.
+	 *
+	 * @param  key    the key of the lookup
+	 * @param  loader loader fetching the response from DataWarehouseReader
+	 * @return        the response for the key
+	 */
+	public AgreementResponse get(K key, Supplier<AgreementResponse> loader) {
+		if (!properties.enabled()) {
+			return loader.get();
+		}
+
+		final var entry = cache.getIfPresent(key);
+		if (entry == null) {
+			final var loaded = loader.get();
+			// Responses without agreements are not cached, those are left to the NegativeAgreementCache
+			if (size(loaded) > 0) {
+				cache.put(key, new Entry(loaded, ticker.read()));
+			}
+			return loaded;
+		}
+		if (isStale(entry)) {
+			staleHits.increment();
+			refresh(key, loader);
+		}
+		return entry.response();
+	}
+
+	protected boolean isEnabled() {
+		return properties.enabled();
+	}
+
+	/**
+	 * Returns the cached response for the key without affecting the statistics or the eviction order of the cache.
+	 *
+	 * @param  key the key of the lookup
+	 * @return     the cached response, or null if there is none
+	 */
+	protected AgreementResponse getIfPresentQuietly(K key) {
+		return ofNullable(cache.policy().getIfPresentQuietly(key)).map(Entry::response).orElse(null);
+	}
+
+	/**
+	 * Returns the cached response for the key, unless it is older than the soft time to live, without affecting the
+	 * statistics or the eviction order of the cache.
+	 *
+	 * @param  key the key of the lookup
+	 * @return     the cached response, or null if there is none or it is stale
+	 */
+	protected AgreementResponse getIfFreshQuietly(K key) {
+		return ofNullable(cache.policy().getIfPresentQuietly(key)).filter(entry -> !isStale(entry)).map(Entry::response).orElse(null);
+	}
+
+	private boolean isStale(Entry entry) {
+		final var refreshAfter = properties.refreshAfter();
+		return nonNull(refreshAfter)
+			&& (refreshAfter.compareTo(properties.timeToLive()) < 0)
+			&& ((ticker.read() - entry.loadedAt()) >= refreshAfter.toNanos());
+	}
+
+	private void refresh(K key, Supplier<AgreementResponse> loader) {
+		if (!refreshing.add(key)) {
+			return;
+		}
+
+		try {
+			refreshExecutor.execute(() -> {
+				try {
+					final var response = loader.get();
+					if (size(response) == 0) {
+						cache.invalidate(key);
+					} else {
+						cache.put(key, new Entry(response, ticker.read()));
+					}
+					refreshes("success").increment();
+				} catch (final RuntimeException e) {
+					LOGGER.warn("Background refresh of cache '{}' failed", name, e);
+					refreshes("failure").increment();
+				} finally {
+					refreshing.remove(key);
+				}
+			});
+		} catch (final RejectedExecutionException e) {
+			refreshing.remove(key);
+		}
+	}
+
+	private Counter refreshes(String result) {
+		return Counter.builder(REFRESHES_METRIC)
+			.description("Number of background refreshes of stale entries")
+			.tag("cache", name)
+			.tag("result", result)
+			.register(meterRegistry);
+	}
+
+	private static long size(AgreementResponse response) {
+		return ofNullable(response).map(AgreementResponse::getAgreements).map(List::size).orElse(0);
+	}
+}
@@ -0,0 +1,25 @@
+package se.sundsvall.agreement.service.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of DataWarehouseReader responses for facility lookups.
+ */
+@Component
+public class FacilityAgreementCache extends AgreementResponseCache<FacilityAgreementCacheKey> {
+
+	static final String CACHE_NAME = "agreement.facility";
+
+	@Autowired
+	public FacilityAgreementCache(AgreementCacheProperties properties, MeterRegistry meterRegistry) {
+		super(CACHE_NAME, properties.facility(), meterRegistry);
+	}
+
+	FacilityAgreementCache(AgreementCacheProperties properties, Executor refreshExecutor, Ticker ticker, MeterRegistry meterRegistry) {
+		super(CACHE_NAME, properties.facility(), refreshExecutor, ticker, meterRegistry);
+	}
+}
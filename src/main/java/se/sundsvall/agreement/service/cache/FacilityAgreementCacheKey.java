@@ -0,0 +1,8 @@
+package se.sundsvall.agreement.service.cache;
+
+import se.sundsvall.agreement.api.model.Category;
+
+/**
+ * Key for facility agreement lookups.
+ */
+public record FacilityAgreementCacheKey(String municipalityId, Category category, String facilityId, boolean onlyActive) {}
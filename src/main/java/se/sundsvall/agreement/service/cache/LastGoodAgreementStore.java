@@ -0,0 +1,119 @@
+package se.sundsvall.agreement.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import se.sundsvall.agreement.api.model.AgreementParty;
+import se.sundsvall.agreement.api.model.AgreementResponse;
+import se.sundsvall.agreement.api.model.PagedAgreementResponse;
+
+import static java.lang.Math.ceilDiv;
+import static java.lang.Math.max;
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
+
+/**
+ * Bounded store (W-TinyLFU) of the last known good response per lookup, used as fallback while DataWarehouseReader can
+ * not be called. The age of every served fallback is recorded.
+ */
+@Component
+public class LastGoodAgreementStore {
+
+	static final String CACHE_NAME = "agreement.lastgood";
+	static final String AGE_METRIC = "agreement.lastgood.age";
+
+	private final AgreementCacheProperties.LastGood properties;
+	private final Cache<Object, Entry> cache;
+	private final Ticker ticker;
+	private final MeterRegistry meterRegistry;
+
+	private record Entry(Object response, long storedAt) {}
+
+	/**
+	 * A last known good response and its age.
+	 */
+	public record LastGood<T>(T response, Duration age) {}
+
+	@Autowired
+	public LastGoodAgreementStore(AgreementCacheProperties properties, MeterRegistry meterRegistry) {
+		this(properties, Ticker.systemTicker(), meterRegistry);
+	}
+
+	LastGoodAgreementStore(AgreementCacheProperties properties, Ticker ticker, MeterRegistry meterRegistry) {
+		this.properties = properties.lastGood();
+		this.ticker = ticker;
+		this.meterRegistry = meterRegistry;
+
+		// Each entry weighs at least maximumWeight / maximumEntries, which limits the store to maximumEntries entries
+		final var minimumWeight = max(1, ceilDiv(this.properties.maximumWeight(), max(1, this.properties.maximumEntries())));
+		this.cache = Caffeine.newBuilder()
+			.expireAfterWrite(this.properties.timeToLive())
+			.maximumWeight(this.properties.maximumWeight())
+			.<Object, Entry>weigher((key, entry) -> (int) max(minimumWeight, size(entry.response())))
+			.ticker(ticker)
+			.recordStats()
+			.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	/**
+	 * Stores the response as the last known good response for the key.
+	 *
+	 * @param key      the key of the lookup
+	 * @param response the response of the lookup
+	 */
+	public void put(Object key, Object response) {
+		if (properties.enabled()) {
+			cache.put(key, new Entry(response, ticker.read()));
+		}
+	}
+
+	/**
+	 * Returns the last known good response for the key, recording its age as served by the endpoint.
+	 *
+	 * @param  endpoint the endpoint serving the response, used as tag on the age metric
+	 * @param  key      the key of the lookup
+	 * @param  type     the type of the response
+	 * @return          the last known good response and its age, or empty if there is none
+	 */
+	public <T> Optional<LastGood<T>> get(String endpoint, Object key, Class<T> type) {
+		if (!properties.enabled()) {
+			return Optional.empty();
+		}
+
+		return ofNullable(cache.getIfPresent(key))
+			.filter(entry -> type.isInstance(entry.response()))
+			.map(entry -> new LastGood<>(type.cast(entry.response()), Duration.ofNanos(ticker.read() - entry.storedAt())))
+			.map(lastGood -> {
+				ageTimer(endpoint).record(lastGood.age());
+				return lastGood;
+			});
+	}
+
+	private Timer ageTimer(String endpoint) {
+		return Timer.builder(AGE_METRIC)
+			.description("Age of last known good responses served while DataWarehouseReader can not be called")
+			.tag("endpoint", endpoint)
+			.register(meterRegistry);
+	}
+
+	private static long size(Object response) {
+		return switch (response) {
+			case final AgreementResponse agreementResponse -> ofNullable(agreementResponse.getAgreementParties()).orElse(emptyList()).stream()
+				.map(AgreementParty::getAgreements)
+				.mapToLong(agreements -> ofNullable(agreements).map(List::size).orElse(0))
+				.sum();
+			case final PagedAgreementResponse pagedAgreementResponse -> ofNullable(pagedAgreementResponse.getAgreements()).map(List::size).orElse(0);
+			default -> 1;
+		};
+	}
+}
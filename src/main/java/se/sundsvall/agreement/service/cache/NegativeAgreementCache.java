@@ -0,0 +1,60 @@
+package se.sundsvall.agreement.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-process cache of lookups that found no agreements, with a short time to live. Lets repeated lookups for
+ * parties and facilities without agreements be answered without calling DataWarehouseReader.
+ */
+@Component
+public class NegativeAgreementCache {
+
+	static final String CACHE_NAME = "agreement.negative";
+
+	private final AgreementCacheProperties.Negative properties;
+	private final Cache<Object, Boolean> cache;
+
+	@Autowired
+	public NegativeAgreementCache(AgreementCacheProperties properties, MeterRegistry meterRegistry) {
+		this(properties, Ticker.systemTicker(), meterRegistry);
+	}
+
+	NegativeAgreementCache(AgreementCacheProperties properties, Ticker ticker, MeterRegistry meterRegistry) {
+		this.properties = properties.negative();
+		this.cache = Caffeine.newBuilder()
+			.expireAfterWrite(this.properties.timeToLive())
+			.maximumSize(this.properties.maximumEntries())
+			.ticker(ticker)
+			.recordStats()
+			.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	/**
+	 * Returns whether a lookup for the key recently found no agreements.
+	 *
+	 * @param  key the key of the lookup
+	 * @return     true if the lookup is known to find no agreements
+	 */
+	public boolean isNotFound(Object key) {
+		return properties.enabled() && (cache.getIfPresent(key) != null);
+	}
+
+	/**
+	 * Records that a lookup for the key found no agreements.
+	 *
+	 * @param key the key of the lookup
+	 */
+	public void putNotFound(Object key) {
+		if (properties.enabled()) {
+			cache.put(key, Boolean.TRUE);
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package se.sundsvall.agreement.service.cache;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import org.springframework.data.domain.Sort.Direction;
+import se.sundsvall.agreement.api.model.AgreementParameters;
+import se.sundsvall.agreement.api.model.Category;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Optional.ofNullable;
+import static org.springframework.util.CollectionUtils.isEmpty;
+
+/**
+ * Key for paged party agreement lookups. The categories are normalized to a set, where an empty set means all categories.
+ * The order of the sort properties is significant and kept as is.
+ */
+public record PagedAgreementCacheKey(String municipalityId, String partyId, Set<Category> categories, int page, int limit, boolean onlyActive, List<String> sortBy, Direction sortDirection,
+	Boolean mainAgreement, Boolean binding, Boolean production, String placementStatus, String netAreaId, LocalDate fromDate, LocalDate toDate, String cursor) {
+
+	public static PagedAgreementCacheKey create(String municipalityId, String partyId, List<Category> categories, AgreementParameters parameters) {
+		final var normalizedCategories = isEmpty(categories) ? EnumSet.noneOf(Category.class) : EnumSet.copyOf(categories);
+		final var sortBy = List.copyOf(ofNullable(parameters.getSortBy()).orElse(emptyList()));
+
+		return new PagedAgreementCacheKey(municipalityId, partyId, unmodifiableSet(normalizedCategories), parameters.getPage(), parameters.getLimit(), parameters.isOnlyActive(), sortBy,
+			sortBy.isEmpty() ? null : parameters.getSortDirection(), parameters.getMainAgreement(), parameters.getBinding(), parameters.getProduction(), parameters.getPlacementStatus(),
+			parameters.getNetAreaId(), parameters.getFromDate(), parameters.getToDate(), parameters.getCursor());
+	}
+
+	/**
+	 * The fingerprint of the query, which is everything but the requested page and cursor. It ties a cursor to the query it
+	 * was issued for, and is stable between application instances and restarts.
+	 *
+	 * @return a checksum of the query
+	 */
+	public long fingerprint() {
+		final var query = new PagedAgreementCacheKey(municipalityId, partyId, categories, 0, limit, onlyActive, sortBy, sortDirection, mainAgreement, binding, production, placementStatus, netAreaId,
+			fromDate, toDate, null);
+		final var checksum = new CRC32();
+		checksum.update(query.toString().getBytes(UTF_8));
+		return checksum.getValue();
+	}
+}
@@ -0,0 +1,82 @@
+package se.sundsvall.agreement.service.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import generated.se.sundsvall.datawarehousereader.PagingAndSortingMetaData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import se.sundsvall.agreement.api.model.Category;
+import se.sundsvall.agreement.service.mapper.AgreementMapper;
+
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Cache of DataWarehouseReader responses for party lookups. A lookup for a subset of categories is answered by filtering
+ * a cached lookup for all categories when such an entry is present and not older than the soft time to live. A stale
+ * entry for all categories can not be refreshed by the loader of the subset, so the subset is then looked up on its own.
+ */
+@Component
+public class PartyAgreementCache extends AgreementResponseCache<PartyAgreementCacheKey> {
+
+	static final String CACHE_NAME = "agreement.party";
+	static final String SUBSET_HITS_METRIC = "agreement.cache.party.subset.hits";
+
+	private final Counter subsetHits;
+
+	@Autowired
+	public PartyAgreementCache(AgreementCacheProperties properties, MeterRegistry meterRegistry) {
+		super(CACHE_NAME, properties.party(), meterRegistry);
+		this.subsetHits = subsetHitsCounter(meterRegistry);
+	}
+
+	PartyAgreementCache(AgreementCacheProperties properties, Executor refreshExecutor, Ticker ticker, MeterRegistry meterRegistry) {
+		super(CACHE_NAME, properties.party(), refreshExecutor, ticker, meterRegistry);
+		this.subsetHits = subsetHitsCounter(meterRegistry);
+	}
+
+	@Override
+	public AgreementResponse get(PartyAgreementCacheKey key, Supplier<AgreementResponse> loader) {
+		if (isEnabled() && !key.isAllCategories() && (getIfPresentQuietly(key) == null)) {
+			final var allCategories = getIfFreshQuietly(key.withAllCategories());
+			if (allCategories != null) {
+				subsetHits.increment();
+				return filter(allCategories, key.categories());
+			}
+		}
+
+		return super.get(key, loader);
+	}
+
+	private static Counter subsetHitsCounter(MeterRegistry meterRegistry) {
+		return Counter.builder(SUBSET_HITS_METRIC)
+			.description("Number of party lookups answered by filtering a cached lookup for all categories")
+			.register(meterRegistry);
+	}
+
+	private static AgreementResponse filter(AgreementResponse response, Set<Category> categories) {
+		final var dataWarehouseReaderCategories = categories.stream()
+			.map(AgreementMapper::toCategory)
+			.collect(toSet());
+
+		final var agreements = ofNullable(response.getAgreements()).orElse(emptyList()).stream()
+			.filter(agreement -> dataWarehouseReaderCategories.contains(agreement.getCategory()))
+			.toList();
+
+		return new AgreementResponse()
+			.agreements(new ArrayList<>(agreements))
+			.meta(new PagingAndSortingMetaData()
+				.page(1)
+				.limit(agreements.size())
+				.count(agreements.size())
+				.totalRecords((long) agreements.size())
+				.totalPages(1));
+	}
+}
@@ -0,0 +1,28 @@
+package se.sundsvall.agreement.service.cache;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import se.sundsvall.agreement.api.model.Category;
+
+import static java.util.Collections.unmodifiableSet;
+import static org.springframework.util.CollectionUtils.isEmpty;
+
+/**
+ * Key for party agreement lookups. The categories are normalized to a set, where an empty set means all categories.
+ */
+public record PartyAgreementCacheKey(String municipalityId, String partyId, Set<Category> categories, boolean onlyActive) {
+
+	public static PartyAgreementCacheKey create(String municipalityId, String partyId, List<Category> categories, boolean onlyActive) {
+		final var normalizedCategories = isEmpty(categories) ? EnumSet.noneOf(Category.class) : EnumSet.copyOf(categories);
+		return new PartyAgreementCacheKey(municipalityId, partyId, unmodifiableSet(normalizedCategories), onlyActive);
+	}
+
+	public boolean isAllCategories() {
+		return categories.isEmpty();
+	}
+
+	public PartyAgreementCacheKey withAllCategories() {
+		return new PartyAgreementCacheKey(municipalityId, partyId, unmodifiableSet(EnumSet.noneOf(Category.class)), onlyActive);
+	}
+}
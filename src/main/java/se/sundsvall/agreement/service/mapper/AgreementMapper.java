@@ -1,11 +1,14 @@
 package se.sundsvall.agreement.service.mapper;
 
 import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import generated.se.sundsvall.datawarehousereader.Direction;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import se.sundsvall.agreement.api.model.Agreement;
+import se.sundsvall.agreement.api.model.AgreementParameters;
 import se.sundsvall.agreement.api.model.AgreementParty;
 import se.sundsvall.agreement.api.model.Category;
 
@@ -13,9 +16,15 @@ import static java.util.Collections.emptyList;
 import static java.util.Objects.isNull;
 import static java.util.Optional.ofNullable;
 import static org.apache.commons.lang3.BooleanUtils.toBoolean;
+import static org.springframework.util.CollectionUtils.isEmpty;
 
 public final class AgreementMapper {
 
+	private static final String CUSTOMER_NUMBER_SORT_PROPERTY = "customerNumber";
+	private static final String AGREEMENT_ID_SORT_PROPERTY = "agreementId";
+	private static final String FROM_DATE_SORT_PROPERTY = "fromDate";
+	private static final String TO_DATE_SORT_PROPERTY = "toDate";
+
 	private AgreementMapper() {}
 
 	public static List<generated.se.sundsvall.datawarehousereader.Category> toCategories(final List<Category> categories) {
@@ -36,6 +45,76 @@ public final class AgreementMapper {
 		};
 	}
 
+	/**
+	 * Maps the paged party lookup to DataWarehouseReader search parameters, so that filtering, sorting and paging is done by
+	 * DataWarehouseReader. The sort direction is only sent together with properties to sort on.
+	 */
+	public static generated.se.sundsvall.datawarehousereader.AgreementParameters toAgreementParameters(final String partyId, final List<Category> categories, final AgreementParameters parameters) {
+		final var sortBy = ofNullable(parameters.getSortBy()).orElse(emptyList());
+
+		return new generated.se.sundsvall.datawarehousereader.AgreementParameters()
+			.partyId(partyId)
+			.category(new ArrayList<>(toCategories(categories)))
+			.page(parameters.getPage())
+			.limit(parameters.getLimit())
+			.active(parameters.isOnlyActive() ? true : null)
+			.sortBy(new ArrayList<>(sortBy))
+			.sortDirection((isEmpty(sortBy) || isNull(parameters.getSortDirection())) ? null : Direction.fromValue(parameters.getSortDirection().name()))
+			.mainAgreement(parameters.getMainAgreement())
+			.binding(parameters.getBinding())
+			.production(parameters.getProduction())
+			.placementStatus(parameters.getPlacementStatus())
+			.netAreaId(parameters.getNetAreaId())
+			.fromDate(parameters.getFromDate())
+			.toDate(parameters.getToDate());
+	}
+
+	/**
+	 * Maps the facility lookup to DataWarehouseReader search parameters sorted by customer number, so that the agreements of
+	 * each party are adjacent and parties can be grouped in a single forward pass. Paging is set per fetched page.
+	 */
+	public static generated.se.sundsvall.datawarehousereader.AgreementParameters toAgreementParameters(final Category category, final String facilityId, final boolean onlyActive) {
+		return new generated.se.sundsvall.datawarehousereader.AgreementParameters()
+			.facilityId(facilityId)
+			.category(new ArrayList<>(List.of(toCategory(category))))
+			.active(onlyActive ? true : null)
+			.sortBy(new ArrayList<>(List.of(CUSTOMER_NUMBER_SORT_PROPERTY, AGREEMENT_ID_SORT_PROPERTY)));
+	}
+
+	/**
+	 * Maps a bulk load of all agreements of a category to DataWarehouseReader search parameters sorted by agreement id, so
+	 * that the pages of the load neither overlap nor leave gaps. Paging is set per fetched page.
+	 */
+	public static generated.se.sundsvall.datawarehousereader.AgreementParameters toAgreementParameters(final Category category) {
+		return new generated.se.sundsvall.datawarehousereader.AgreementParameters()
+			.category(new ArrayList<>(List.of(toCategory(category))))
+			.sortBy(new ArrayList<>(List.of(AGREEMENT_ID_SORT_PROPERTY)));
+	}
+
+	/**
+	 * Maps a lookup of the agreements of a category starting on or after the date to DataWarehouseReader search parameters
+	 * sorted ascending by from-date and agreement id. Paging is set per fetched page.
+	 */
+	public static generated.se.sundsvall.datawarehousereader.AgreementParameters toStartingAgreementParameters(final Category category, final LocalDate date) {
+		return new generated.se.sundsvall.datawarehousereader.AgreementParameters()
+			.category(new ArrayList<>(List.of(toCategory(category))))
+			.fromDate(date)
+			.sortBy(new ArrayList<>(List.of(FROM_DATE_SORT_PROPERTY, AGREEMENT_ID_SORT_PROPERTY)))
+			.sortDirection(Direction.ASC);
+	}
+
+	/**
+	 * Maps a lookup of the agreements of a category ending on or after the date to DataWarehouseReader search parameters
+	 * sorted ascending by to-date and agreement id. Paging is set per fetched page.
+	 */
+	public static generated.se.sundsvall.datawarehousereader.AgreementParameters toEndingAgreementParameters(final Category category, final LocalDate date) {
+		return new generated.se.sundsvall.datawarehousereader.AgreementParameters()
+			.category(new ArrayList<>(List.of(toCategory(category))))
+			.toDate(date)
+			.sortBy(new ArrayList<>(List.of(TO_DATE_SORT_PROPERTY, AGREEMENT_ID_SORT_PROPERTY)))
+			.sortDirection(Direction.ASC);
+	}
+
 	public static List<AgreementParty> toAgreementParties(final AgreementResponse datawarehousereaderResponse) {
 		if (responseIsEmpty(datawarehousereaderResponse)) {
 			return new ArrayList<>();
@@ -58,7 +137,7 @@ public final class AgreementMapper {
 		return isNull(response) || (response.getMeta().getTotalRecords() < 1);
 	}
 
-	private static AgreementParty toAgreementParty(final generated.se.sundsvall.datawarehousereader.Agreement agreement) {
+	static AgreementParty toAgreementParty(final generated.se.sundsvall.datawarehousereader.Agreement agreement) {
 		return AgreementParty.create()
 			.withCustomerId(agreement.getCustomerNumber())
 			.withAgreements(new ArrayList<>());
@@ -73,7 +152,7 @@ public final class AgreementMapper {
 			.orElse(emptyList());
 	}
 
-	private static Agreement toAgreement(final generated.se.sundsvall.datawarehousereader.Agreement agreement, boolean mapCustomerId) {
+	static Agreement toAgreement(final generated.se.sundsvall.datawarehousereader.Agreement agreement, boolean mapCustomerId) {
 		return Agreement.create()
 			.withCustomerId(mapCustomerId ? agreement.getCustomerNumber() : null)
 			.withActive(agreement.getActive())
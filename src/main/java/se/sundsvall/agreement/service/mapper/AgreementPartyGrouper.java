@@ -0,0 +1,54 @@
+package se.sundsvall.agreement.service.mapper;
+
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import se.sundsvall.agreement.api.model.AgreementParty;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static se.sundsvall.agreement.service.mapper.AgreementMapper.toAgreement;
+import static se.sundsvall.agreement.service.mapper.AgreementMapper.toAgreementParty;
+
+/**
+ * Groups agreements into parties in a single forward pass over pages sorted by customer number. A party is complete as
+ * soon as an agreement of another customer is read, so only the agreements of the current party are held between pages.
+ * The grouper relies on the agreements of a customer being adjacent, a customer appearing again later starts a new party.
+ */
+public final class AgreementPartyGrouper {
+
+	private AgreementParty current;
+
+	/**
+	 * @param  page the next page of agreements
+	 * @return      the parties completed by the page, in customer number order
+	 */
+	public List<AgreementParty> add(final AgreementResponse page) {
+		final var completed = new ArrayList<AgreementParty>();
+		if (isNull(page) || isNull(page.getAgreements())) {
+			return completed;
+		}
+
+		page.getAgreements().forEach(agreement -> {
+			if (isNull(current) || !Objects.equals(current.getCustomerId(), agreement.getCustomerNumber())) {
+				if (nonNull(current)) {
+					completed.add(current);
+				}
+				current = toAgreementParty(agreement);
+			}
+			current.getAgreements().add(toAgreement(agreement, false));
+		});
+		return completed;
+	}
+
+	/**
+	 * @return the last party, or empty if no agreements were added
+	 */
+	public Optional<AgreementParty> finish() {
+		final var last = Optional.ofNullable(current);
+		current = null;
+		return last;
+	}
+}
@@ -0,0 +1,166 @@
+package se.sundsvall.agreement.service.snapshot;
+
+import generated.se.sundsvall.datawarehousereader.Agreement;
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import generated.se.sundsvall.datawarehousereader.PagingAndSortingMetaData;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import se.sundsvall.agreement.api.model.Category;
+
+import static java.lang.Boolean.TRUE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toCollection;
+import static se.sundsvall.agreement.service.mapper.AgreementMapper.toCategories;
+import static se.sundsvall.agreement.service.mapper.AgreementMapper.toCategory;
+
+/**
+ * Immutable read model of all agreements of a municipality, indexed by party id, by facility id and category and by
+ * customer number. Every agreement is held once and referenced from each index, so a lookup only filters the agreements
+ * of a single index entry. The agreements are shared with the returned responses and must not be modified. Agreements
+ * are identified by their agreement id when changed agreements are merged into a snapshot.
+ */
+public final class AgreementSnapshot {
+
+	private static final int PAGE = 1;
+
+	private final List<Agreement> agreements;
+	private final Map<String, List<Agreement>> byPartyId;
+	private final Map<FacilityKey, List<Agreement>> byFacility;
+	private final Map<String, List<Agreement>> byCustomerNumber;
+	private final long loadedAt;
+	private final Duration loadTime;
+
+	private record FacilityKey(String facilityId, generated.se.sundsvall.datawarehousereader.Category category) {}
+
+	/**
+	 * @param agreements all agreements of the municipality
+	 * @param loadedAt   ticker time when loading of the agreements started
+	 * @param loadTime   the time it took to load the agreements
+	 */
+	AgreementSnapshot(Collection<Agreement> agreements, long loadedAt, Duration loadTime) {
+		this.agreements = List.copyOf(agreements);
+		this.byPartyId = index(this.agreements, Agreement::getPartyId);
+		this.byFacility = index(this.agreements, agreement -> new FacilityKey(agreement.getFacilityId(), agreement.getCategory()));
+		this.byCustomerNumber = index(this.agreements, Agreement::getCustomerNumber);
+		this.loadedAt = loadedAt;
+		this.loadTime = loadTime;
+	}
+
+	/**
+	 * Creates a snapshot where the changed agreements replace the agreements with the same agreement id, and are added when
+	 * there is none. The indexes are rebuilt, so this snapshot is never modified and can still be read meanwhile.
+	 *
+	 * @param  changed  the changed agreements, where a later agreement replaces an earlier with the same agreement id
+	 * @param  loadedAt ticker time when loading of the changed agreements started
+	 * @param  loadTime the time it took to load the changed agreements
+	 * @return          the merged snapshot
+	 */
+	AgreementSnapshot merge(Collection<Agreement> changed, long loadedAt, Duration loadTime) {
+		final var changedByAgreementId = new LinkedHashMap<String, Agreement>();
+		changed.forEach(agreement -> changedByAgreementId.put(agreement.getAgreementId(), agreement));
+
+		final var merged = new ArrayList<Agreement>(agreements.size() + changedByAgreementId.size());
+		agreements.stream()
+			.filter(agreement -> !changedByAgreementId.containsKey(agreement.getAgreementId()))
+			.forEach(merged::add);
+		merged.addAll(changedByAgreementId.values());
+		return new AgreementSnapshot(merged, loadedAt, loadTime);
+	}
+
+	/**
+	 * The checksum of the agreements, independent of their order. Snapshots holding equal agreements have equal checksums.
+	 *
+	 * @return a checksum of the agreements
+	 */
+	public long checksum() {
+		return agreements.stream()
+			.mapToLong(agreement -> {
+				final var checksum = new CRC32();
+				checksum.update(agreement.toString().getBytes(UTF_8));
+				return checksum.getValue();
+			})
+			.sum();
+	}
+
+	/**
+	 * @param  partyId    the party id
+	 * @param  categories the categories to include, or empty for all categories
+	 * @param  onlyActive if only agreements active when the snapshot was loaded should be included
+	 * @return            the agreements of the party as a single page
+	 */
+	public AgreementResponse getAgreementsByPartyIdAndCategories(String partyId, List<Category> categories, boolean onlyActive) {
+		final var dataWarehouseReaderCategories = toCategories(categories);
+		return toResponse(byPartyId.getOrDefault(partyId, emptyList()).stream()
+			.filter(agreement -> dataWarehouseReaderCategories.isEmpty() || dataWarehouseReaderCategories.contains(agreement.getCategory())), onlyActive);
+	}
+
+	/**
+	 * @param  category   the category of the facility
+	 * @param  facilityId the facility id
+	 * @param  onlyActive if only agreements active when the snapshot was loaded should be included
+	 * @return            the agreements of the facility as a single page
+	 */
+	public AgreementResponse getAgreementsByCategoryAndFacility(Category category, String facilityId, boolean onlyActive) {
+		return toResponse(byFacility.getOrDefault(new FacilityKey(facilityId, toCategory(category)), emptyList()).stream(), onlyActive);
+	}
+
+	/**
+	 * @param  customerNumber the customer number
+	 * @param  onlyActive     if only agreements active when the snapshot was loaded should be included
+	 * @return                the agreements of the customer as a single page
+	 */
+	public AgreementResponse getAgreementsByCustomerNumber(String customerNumber, boolean onlyActive) {
+		return toResponse(byCustomerNumber.getOrDefault(customerNumber, emptyList()).stream(), onlyActive);
+	}
+
+	/**
+	 * @return the amount of agreements in the snapshot
+	 */
+	public int size() {
+		return agreements.size();
+	}
+
+	/**
+	 * @return the time it took to load the agreements, or the changed agreements when merged
+	 */
+	public Duration loadTime() {
+		return loadTime;
+	}
+
+	long loadedAt() {
+		return loadedAt;
+	}
+
+	private static <K> Map<K, List<Agreement>> index(Collection<Agreement> agreements, Function<Agreement, K> key) {
+		final var index = new HashMap<K, List<Agreement>>();
+		agreements.forEach(agreement -> ofNullable(key.apply(agreement))
+			.ifPresent(value -> index.computeIfAbsent(value, ignored -> new ArrayList<>()).add(agreement)));
+		index.replaceAll((value, indexed) -> List.copyOf(indexed));
+		return Map.copyOf(index);
+	}
+
+	private static AgreementResponse toResponse(Stream<Agreement> agreements, boolean onlyActive) {
+		final var result = agreements
+			.filter(agreement -> !onlyActive || TRUE.equals(agreement.getActive()))
+			.collect(toCollection(ArrayList::new));
+
+		return new AgreementResponse()
+			.agreements(result)
+			.meta(new PagingAndSortingMetaData()
+				.page(PAGE)
+				.limit(result.size())
+				.count(result.size())
+				.totalRecords((long) result.size())
+				.totalPages(PAGE));
+	}
+}
@@ -0,0 +1,22 @@
+package se.sundsvall.agreement.service.snapshot;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Read model of all agreements of the listed municipalities, synced in the background every {@code refreshInterval} in
+ * pages of {@code pageSize} agreements. A sync only fetches the agreements that may have changed since the last sync,
+ * except when the last full load is {@code reconcileInterval} old, then all agreements are loaded again. Party and
+ * facility lookups are answered from the snapshot while it is not older than {@code maximumAge}, otherwise from
+ * DataWarehouseReader.
+ */
+@ConfigurationProperties("agreement.snapshot")
+public record AgreementSnapshotProperties(
+	@DefaultValue("false") boolean enabled,
+	@DefaultValue List<String> municipalityIds,
+	@DefaultValue("PT15M") Duration refreshInterval,
+	@DefaultValue("PT24H") Duration reconcileInterval,
+	@DefaultValue("PT1H") Duration maximumAge,
+	@DefaultValue("1000") int pageSize) {}
@@ -0,0 +1,241 @@
+package se.sundsvall.agreement.service.snapshot;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import generated.se.sundsvall.datawarehousereader.Agreement;
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import se.sundsvall.agreement.api.model.Category;
+import se.sundsvall.agreement.service.AgreementPartyProvider;
+
+import static java.lang.Double.NaN;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Holds the agreement snapshot of every configured municipality. The first sync of a municipality loads all its
+ * agreements from DataWarehouseReader, one category at a time. Later syncs only fetch the agreements with a from-date or
+ * to-date between the date of the last sync (the watermark) and today, and merge them into a new snapshot. Agreements
+ * removed from DataWarehouseReader, or changed without such a date, are not seen by these delta syncs, so every
+ * reconcile interval all agreements are loaded again and compared by checksum to the snapshot they replace. A snapshot older than the maximum age, e.g. because syncing has failed since, is not served and lookups are
+ * answered by DataWarehouseReader until it has been synced again.
+ */
+@Component
+public class AgreementSnapshotStore {
+
+	static final String AGE_METRIC = "agreement.snapshot.age";
+	static final String SIZE_METRIC = "agreement.snapshot.size";
+	static final String SYNC_METRIC = "agreement.snapshot.sync";
+	static final String DELTA_METRIC = "agreement.snapshot.delta";
+	static final String MISMATCH_METRIC = "agreement.snapshot.reconciliation.mismatch";
+	static final String LOOKUP_METRIC = "agreement.snapshot.lookup";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AgreementSnapshotStore.class);
+	private static final String THREAD_NAME = "agreement-snapshot";
+	private static final String MUNICIPALITY_ID_TAG = "municipalityId";
+	private static final String FULL_SYNC = "full";
+	private static final String DELTA_SYNC = "delta";
+
+	private final AgreementSnapshotProperties properties;
+	private final AgreementPartyProvider agreementPartyProvider;
+	private final Ticker ticker;
+	private final Clock clock;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, Synced> synced = new ConcurrentHashMap<>();
+	private ScheduledExecutorService scheduler;
+
+	/**
+	 * A snapshot and what its next sync starts from.
+	 *
+	 * @param snapshot     the snapshot
+	 * @param watermark    the date when the last sync of the snapshot started
+	 * @param reconciledAt ticker time when the last full load of the snapshot started
+	 */
+	private record Synced(AgreementSnapshot snapshot, LocalDate watermark, long reconciledAt) {}
+
+	@Autowired
+	public AgreementSnapshotStore(AgreementSnapshotProperties properties, AgreementPartyProvider agreementPartyProvider, MeterRegistry meterRegistry) {
+		this(properties, agreementPartyProvider, Ticker.systemTicker(), Clock.systemDefaultZone(), meterRegistry);
+	}
+
+	AgreementSnapshotStore(AgreementSnapshotProperties properties, AgreementPartyProvider agreementPartyProvider, Ticker ticker, Clock clock, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.agreementPartyProvider = agreementPartyProvider;
+		this.ticker = ticker;
+		this.clock = clock;
+		this.meterRegistry = meterRegistry;
+
+		if (properties.enabled()) {
+			properties.municipalityIds().forEach(this::registerGauges);
+		}
+	}
+
+	/**
+	 * Starts syncing the snapshots once the application is ready, and syncs them again every refresh interval.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	void start() {
+		if (!properties.enabled() || properties.municipalityIds().isEmpty()) {
+			return;
+		}
+
+		scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name(THREAD_NAME).daemon().factory());
+		scheduler.scheduleWithFixedDelay(this::syncAll, 0, properties.refreshInterval().toMillis(), MILLISECONDS);
+	}
+
+	/**
+	 * Returns the snapshot of the municipality, if snapshots are enabled and it is not older than the maximum age.
+	 *
+	 * @param  municipalityId the municipality id
+	 * @return                the snapshot, or empty if lookups of the municipality must be answered by DataWarehouseReader
+	 */
+	public Optional<AgreementSnapshot> find(String municipalityId) {
+		if (!properties.enabled()) {
+			return Optional.empty();
+		}
+
+		final var snapshot = ofNullable(synced.get(municipalityId))
+			.map(Synced::snapshot)
+			.filter(current -> age(current).compareTo(properties.maximumAge()) <= 0);
+		Counter.builder(LOOKUP_METRIC)
+			.description("Number of lookups answered from, or not answered from, the agreement snapshot")
+			.tag("result", snapshot.isPresent() ? "hit" : "miss")
+			.register(meterRegistry)
+			.increment();
+		return snapshot;
+	}
+
+	void syncAll() {
+		properties.municipalityIds().forEach(this::sync);
+	}
+
+	/**
+	 * Loads all agreements of the municipality when there is no snapshot yet or reconciliation is due, otherwise merges the
+	 * agreements changed since the last sync into the snapshot. A failing sync is logged and leaves the current snapshot in
+	 * place.
+	 *
+	 * @param municipalityId the municipality id
+	 */
+	void sync(String municipalityId) {
+		final var current = synced.get(municipalityId);
+		if (isNull(current) || ((ticker.read() - current.reconciledAt()) >= properties.reconcileInterval().toNanos())) {
+			load(municipalityId, current);
+		} else {
+			merge(municipalityId, current);
+		}
+	}
+
+	private void load(String municipalityId, Synced current) {
+		final var start = ticker.read();
+		final var watermark = LocalDate.now(clock);
+		try {
+			final var agreements = new ArrayList<Agreement>();
+			for (final var category : Category.values()) {
+				agreementPartyProvider.streamAgreementsByCategory(municipalityId, category, properties.pageSize(), collectTo(agreements));
+			}
+
+			final var snapshot = new AgreementSnapshot(agreements, start, Duration.ofNanos(ticker.read() - start));
+			synced.put(municipalityId, new Synced(snapshot, watermark, start));
+			syncTimer(municipalityId, FULL_SYNC, "success").record(snapshot.loadTime());
+			LOGGER.info("Loaded agreement snapshot of municipality {} with {} agreements in {}", municipalityId, snapshot.size(), snapshot.loadTime());
+
+			if (nonNull(current) && (current.snapshot().checksum() != snapshot.checksum())) {
+				Counter.builder(MISMATCH_METRIC)
+					.description("Number of reconciliations where the reloaded agreements differ from the synced agreement snapshot")
+					.tag(MUNICIPALITY_ID_TAG, municipalityId)
+					.register(meterRegistry)
+					.increment();
+				LOGGER.info("Reconciliation of agreement snapshot of municipality {} found differences, {} agreements before and {} after", municipalityId, current.snapshot().size(), snapshot.size());
+			}
+		} catch (final RuntimeException e) {
+			syncTimer(municipalityId, FULL_SYNC, "failure").record(Duration.ofNanos(ticker.read() - start));
+			LOGGER.warn("Unable to load agreement snapshot of municipality {}", municipalityId, e);
+		}
+	}
+
+	private void merge(String municipalityId, Synced current) {
+		final var start = ticker.read();
+		final var watermark = LocalDate.now(clock);
+		try {
+			final var changed = new ArrayList<Agreement>();
+			for (final var category : Category.values()) {
+				agreementPartyProvider.streamAgreementsByCategoryChangedSince(municipalityId, category, current.watermark(), watermark, properties.pageSize(), collectTo(changed));
+			}
+
+			final var snapshot = current.snapshot().merge(changed, start, Duration.ofNanos(ticker.read() - start));
+			synced.put(municipalityId, new Synced(snapshot, watermark, current.reconciledAt()));
+			syncTimer(municipalityId, DELTA_SYNC, "success").record(snapshot.loadTime());
+			DistributionSummary.builder(DELTA_METRIC)
+				.description("Amount of agreements starting or ending since the last sync, fetched by a delta sync of the agreement snapshot")
+				.tag(MUNICIPALITY_ID_TAG, municipalityId)
+				.register(meterRegistry)
+				.record(changed.size());
+			LOGGER.debug("Merged {} changed agreements into agreement snapshot of municipality {} in {}", changed.size(), municipalityId, snapshot.loadTime());
+		} catch (final RuntimeException e) {
+			syncTimer(municipalityId, DELTA_SYNC, "failure").record(Duration.ofNanos(ticker.read() - start));
+			LOGGER.warn("Unable to sync changed agreements into agreement snapshot of municipality {}", municipalityId, e);
+		}
+	}
+
+	private static Consumer<AgreementResponse> collectTo(List<Agreement> agreements) {
+		return page -> ofNullable(page)
+			.map(AgreementResponse::getAgreements)
+			.ifPresent(pageAgreements -> pageAgreements.stream().filter(Objects::nonNull).forEach(agreements::add));
+	}
+
+	private Duration age(AgreementSnapshot snapshot) {
+		return Duration.ofNanos(ticker.read() - snapshot.loadedAt());
+	}
+
+	private void registerGauges(String municipalityId) {
+		Gauge.builder(AGE_METRIC, synced, current -> ofNullable(current.get(municipalityId)).map(entry -> age(entry.snapshot()).toMillis() / 1000.0).orElse(NaN))
+			.description("Age of the agreement snapshot, measured from when its last sync started")
+			.baseUnit("seconds")
+			.tag(MUNICIPALITY_ID_TAG, municipalityId)
+			.register(meterRegistry);
+		Gauge.builder(SIZE_METRIC, synced, current -> ofNullable(current.get(municipalityId)).map(entry -> (double) entry.snapshot().size()).orElse(NaN))
+			.description("Amount of agreements in the agreement snapshot")
+			.tag(MUNICIPALITY_ID_TAG, municipalityId)
+			.register(meterRegistry);
+	}
+
+	private Timer syncTimer(String municipalityId, String type, String outcome) {
+		return Timer.builder(SYNC_METRIC)
+			.description("Time syncing the agreement snapshot with DataWarehouseReader")
+			.tag(MUNICIPALITY_ID_TAG, municipalityId)
+			.tag("type", type)
+			.tag("outcome", outcome)
+			.register(meterRegistry);
+	}
+
+	@PreDestroy
+	void close() {
+		if (nonNull(scheduler)) {
+			scheduler.shutdownNow();
+		}
+	}
+}
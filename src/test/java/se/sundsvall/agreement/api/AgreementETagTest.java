@@ -0,0 +1,129 @@
+package se.sundsvall.agreement.api;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.agreement.api.model.Agreement;
+import se.sundsvall.agreement.api.model.AgreementFields;
+import se.sundsvall.agreement.api.model.AgreementParty;
+import se.sundsvall.agreement.api.model.AgreementResponse;
+import se.sundsvall.agreement.api.model.Category;
+import se.sundsvall.agreement.api.model.CursorMetaData;
+import se.sundsvall.agreement.api.model.PagedAgreementResponse;
+import se.sundsvall.dept44.models.api.paging.PagingMetaData;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.agreement.api.model.AgreementFields.ALL;
+
+class AgreementETagTest {
+
+	@Test
+	void ofAgreementResponseIsQuotedSha256() {
+		assertThat(AgreementETag.of(AgreementResponse.create(), ALL)).matches("\"[0-9a-f]{64}\"");
+	}
+
+	@Test
+	void ofAgreementResponseIsIndependentOfOrder() {
+		final var response = AgreementResponse.create().withAgreementParties(List.of(
+			party("1", agreement("A"), agreement("B")),
+			party("2", agreement("C"))));
+		final var reordered = AgreementResponse.create().withAgreementParties(List.of(
+			party("2", agreement("C")),
+			party("1", agreement("B"), agreement("A"))));
+
+		assertThat(AgreementETag.of(response, ALL)).isEqualTo(AgreementETag.of(reordered, ALL));
+	}
+
+	@Test
+	void ofAgreementResponseChangesWithContent() {
+		final var response = AgreementResponse.create().withAgreementParties(List.of(party("1", agreement("A"))));
+		final var otherAgreement = AgreementResponse.create().withAgreementParties(List.of(party("1", agreement("A").withActive(false))));
+		final var otherParty = AgreementResponse.create().withAgreementParties(List.of(party("2", agreement("A"))));
+		final var movedAgreement = AgreementResponse.create().withAgreementParties(List.of(party("1"), party("2", agreement("A"))));
+
+		assertThat(AgreementETag.of(response, ALL))
+			.isNotEqualTo(AgreementETag.of(otherAgreement, ALL))
+			.isNotEqualTo(AgreementETag.of(otherParty, ALL))
+			.isNotEqualTo(AgreementETag.of(movedAgreement, ALL));
+	}
+
+	@Test
+	void ofAgreementResponseDistinguishesNullFromEmptyValue() {
+		final var withNull = AgreementResponse.create().withAgreementParties(List.of(party("1", agreement("A").withDescription(null))));
+		final var withEmpty = AgreementResponse.create().withAgreementParties(List.of(party("1", agreement("A").withDescription(""))));
+
+		assertThat(AgreementETag.of(withNull, ALL)).isNotEqualTo(AgreementETag.of(withEmpty, ALL));
+	}
+
+	@Test
+	void ofAgreementResponseDistinguishesAbsentFromFalseFlag() {
+		final var withAbsent = AgreementResponse.create().withAgreementParties(List.of(party("1", agreement("A").withBinding(null))));
+		final var withFalse = AgreementResponse.create().withAgreementParties(List.of(party("1", agreement("A").withBinding(false))));
+
+		assertThat(AgreementETag.of(withAbsent, ALL)).isNotEqualTo(AgreementETag.of(withFalse, ALL));
+	}
+
+	@Test
+	void ofAgreementResponseWithSparseFields() {
+		final var fields = AgreementFields.of(List.of("agreementId", "active"));
+		final var response = AgreementResponse.create().withAgreementParties(List.of(party("1", agreement("A"))));
+		final var otherDescription = AgreementResponse.create().withAgreementParties(List.of(party("1", agreement("A").withDescription("other"))));
+		final var otherActive = AgreementResponse.create().withAgreementParties(List.of(party("1", agreement("A").withActive(false))));
+
+		assertThat(AgreementETag.of(response, fields))
+			.isEqualTo(AgreementETag.of(otherDescription, fields))
+			.isNotEqualTo(AgreementETag.of(otherActive, fields))
+			.isNotEqualTo(AgreementETag.of(response, ALL));
+	}
+
+	@Test
+	void ofPagedAgreementResponse() {
+		final var response = PagedAgreementResponse.create()
+			.withMetaData(PagingMetaData.create().withPage(1).withLimit(2).withCount(2).withTotalRecords(3).withTotalPages(2))
+			.withAgreements(List.of(agreement("A"), agreement("B")));
+		final var reordered = PagedAgreementResponse.create()
+			.withMetaData(PagingMetaData.create().withPage(1).withLimit(2).withCount(2).withTotalRecords(3).withTotalPages(2))
+			.withAgreements(List.of(agreement("B"), agreement("A")));
+		final var otherPage = PagedAgreementResponse.create()
+			.withMetaData(PagingMetaData.create().withPage(2).withLimit(2).withCount(2).withTotalRecords(3).withTotalPages(2))
+			.withAgreements(List.of(agreement("A"), agreement("B")));
+
+		assertThat(AgreementETag.of(response, ALL))
+			.matches("\"[0-9a-f]{64}\"")
+			.isEqualTo(AgreementETag.of(reordered, ALL))
+			.isNotEqualTo(AgreementETag.of(otherPage, ALL));
+	}
+
+	@Test
+	void ofPagedAgreementResponseChangesWithCursor() {
+		final var response = PagedAgreementResponse.create()
+			.withMetaData(PagingMetaData.create().withPage(1).withLimit(2).withCount(2).withTotalRecords(3).withTotalPages(2))
+			.withAgreements(List.of(agreement("A"), agreement("B")));
+		final var withCursor = PagedAgreementResponse.create()
+			.withMetaData(PagingMetaData.create().withPage(1).withLimit(2).withCount(2).withTotalRecords(3).withTotalPages(2))
+			.withAgreements(List.of(agreement("A"), agreement("B")))
+			.withCursorMetaData(CursorMetaData.create().withNext("cursor"));
+		final var withOtherCursor = PagedAgreementResponse.create()
+			.withMetaData(PagingMetaData.create().withPage(1).withLimit(2).withCount(2).withTotalRecords(3).withTotalPages(2))
+			.withAgreements(List.of(agreement("A"), agreement("B")))
+			.withCursorMetaData(CursorMetaData.create().withNext("otherCursor"));
+
+		assertThat(AgreementETag.of(response, ALL))
+			.isNotEqualTo(AgreementETag.of(withCursor, ALL))
+			.isNotEqualTo(AgreementETag.of(withOtherCursor, ALL));
+		assertThat(AgreementETag.of(withCursor, ALL)).isNotEqualTo(AgreementETag.of(withOtherCursor, ALL));
+	}
+
+	private static AgreementParty party(String customerId, Agreement... agreements) {
+		return AgreementParty.create().withCustomerId(customerId).withAgreements(List.of(agreements));
+	}
+
+	private static Agreement agreement(String agreementId) {
+		return Agreement.create()
+			.withAgreementId(agreementId)
+			.withCategory(Category.ELECTRICITY)
+			.withDescription("description")
+			.withFromDate(LocalDate.of(2022, 1, 1))
+			.withActive(true);
+	}
+}
@@ -1,5 +1,7 @@
 package se.sundsvall.agreement.api;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -8,22 +10,27 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import se.sundsvall.agreement.Application;
+import se.sundsvall.agreement.api.model.AgreementResponse;
 import se.sundsvall.agreement.api.model.Category;
 import se.sundsvall.agreement.service.AgreementService;
+import se.sundsvall.agreement.service.RequestDeadline;
 import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.dept44.problem.violations.ConstraintViolationProblem;
 import se.sundsvall.dept44.problem.violations.Violation;
 
 import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
 import static org.springframework.http.HttpStatus.METHOD_NOT_ALLOWED;
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
 
-@SpringBootTest(classes = Application.class, webEnvironment = RANDOM_PORT)
+@SpringBootTest(classes = Application.class, webEnvironment = RANDOM_PORT, properties = "agreement.deadline.enabled=true")
 @ActiveProfiles("junit")
 @AutoConfigureWebTestClient
 class AgreementResourceFailuresTest {
@@ -90,6 +97,39 @@ class AgreementResourceFailuresTest {
 		verifyNoInteractions(agreementServiceMock);
 	}
 
+	@Test
+	void getAgreementsByCategoryAndFacilityIdWhenDeadlinePasses() {
+
+		// Arrange
+		final var municipalityId = "2281";
+		final var category = Category.ELECTRICITY;
+		final var id = "1234567";
+		final var deadline = new AtomicReference<RequestDeadline>();
+
+		when(agreementServiceMock.getAgreementsByCategoryAndFacilityId(municipalityId, category, id, true)).thenAnswer(invocation -> {
+			deadline.set(RequestDeadline.current().orElseThrow());
+			// Answer once the request has timed out, which cancels its deadline
+			final var cancelled = new CountDownLatch(1);
+			deadline.get().onCancel(cancelled::countDown);
+			cancelled.await(5, SECONDS);
+			return AgreementResponse.create();
+		});
+
+		// Act
+		final var response = webTestClient.get().uri(CATEGORY_AND_FACILITY_ID_PATH, municipalityId, category, id)
+			.header("X-Request-Timeout", "100")
+			.exchange()
+			.expectStatus().isEqualTo(GATEWAY_TIMEOUT)
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON_VALUE)
+			.expectBody(Problem.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response.getStatus()).isEqualTo(GATEWAY_TIMEOUT);
+		assertThat(deadline.get().isCancelled()).isTrue();
+	}
+
 	@Test
 	void methodNotSupported() {
 
@@ -141,6 +181,30 @@ class AgreementResourceFailuresTest {
 		verifyNoInteractions(agreementServiceMock);
 	}
 
+	@Test
+	void getAgreementsByPartyIdUnknownField() {
+
+		// Arrange
+		final var municipalityId = "2281";
+		final var partyId = randomUUID().toString();
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PARTY_ID_PATH).queryParam("fields", "agreementId,unknown").build(municipalityId, partyId))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON_VALUE)
+			.expectBody(Problem.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response.getTitle()).isEqualTo(BAD_REQUEST.getReasonPhrase());
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getDetail()).startsWith("Unknown agreement field(s) [unknown], valid fields are");
+
+		verifyNoInteractions(agreementServiceMock);
+	}
+
 	@Test
 	void getAgreementsByPartyIdInvalidMunicipalityId() {
 
@@ -0,0 +1,80 @@
+package se.sundsvall.agreement.api;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import se.sundsvall.agreement.Application;
+import se.sundsvall.agreement.api.model.Agreement;
+import se.sundsvall.agreement.api.model.AgreementParty;
+import se.sundsvall.agreement.api.model.AgreementResponse;
+import se.sundsvall.agreement.api.model.Category;
+import se.sundsvall.agreement.service.AgreementPartyProvider;
+import se.sundsvall.agreement.service.cache.FacilityAgreementCacheKey;
+import se.sundsvall.agreement.service.cache.LastGoodAgreementStore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static se.sundsvall.agreement.api.StaleResponseAdvice.STALE_RESPONSE_HEADER;
+
+@SpringBootTest(classes = Application.class, webEnvironment = RANDOM_PORT, properties = "agreement.cache.last-good.enabled=true")
+@ActiveProfiles("junit")
+@AutoConfigureWebTestClient
+class AgreementResourceLastGoodTest {
+
+	private static final String CATEGORY_AND_FACILITY_ID_PATH = "/{municipalityId}/agreements/{category}/{facilityId}";
+
+	@MockitoBean
+	private AgreementPartyProvider agreementPartyProviderMock;
+
+	@Autowired
+	private LastGoodAgreementStore lastGoodAgreementStore;
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Test
+	void getAgreementsByCategoryAndFacilityIdWhileCircuitBreakerIsOpen() {
+
+		// Arrange
+		final var municipalityId = "2281";
+		final var category = Category.ELECTRICITY;
+		final var facilityId = "1234567";
+		final var lastGood = AgreementResponse.create().withAgreementParties(List.of(AgreementParty.create()
+			.withCustomerId("customer")
+			.withAgreements(List.of(Agreement.create().withAgreementId("agreement")))));
+
+		lastGoodAgreementStore.put(new FacilityAgreementCacheKey(municipalityId, category, facilityId, true), lastGood);
+		when(agreementPartyProviderMock.getAgreementsByCategoryAndFacility(municipalityId, category, facilityId, true))
+			.thenThrow(CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("datawarehousereader")));
+
+		// Act
+		final var response = webTestClient.get().uri(CATEGORY_AND_FACILITY_ID_PATH, municipalityId, category, facilityId)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectHeader().valueEquals(STALE_RESPONSE_HEADER, "true")
+			.expectHeader().exists("Age")
+			.expectBody(AgreementResponse.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull();
+		assertThat(response.getAgreementParties()).hasSize(1);
+		assertThat(response.getAgreementParties().getFirst().getAgreements())
+			.extracting(Agreement::getAgreementId)
+			.containsExactly("agreement");
+
+		verify(agreementPartyProviderMock).getAgreementsByCategoryAndFacility(municipalityId, category, facilityId, true);
+	}
+}
@@ -10,19 +10,26 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import se.sundsvall.agreement.Application;
 import se.sundsvall.agreement.api.model.Agreement;
+import se.sundsvall.agreement.api.model.AgreementFields;
 import se.sundsvall.agreement.api.model.AgreementParty;
 import se.sundsvall.agreement.api.model.AgreementResponse;
 import se.sundsvall.agreement.api.model.Category;
 import se.sundsvall.agreement.service.AgreementService;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyList;
 import static java.util.UUID.randomUUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static se.sundsvall.agreement.api.model.AgreementFields.ALL;
 
 @SpringBootTest(classes = Application.class, webEnvironment = RANDOM_PORT)
 @ActiveProfiles("junit")
@@ -31,6 +38,8 @@ class AgreementResourceTest {
 
 	private static final String CATEGORY_AND_FACILITY_ID_PATH = "/{municipalityId}/agreements/{category}/{facilityId}";
 	private static final String PARTY_ID_PATH = "/{municipalityId}/agreements/{partyId}";
+	private static final String PARTY_ID_STREAM_PATH = "/{municipalityId}/agreements/{partyId}/stream";
+	private static final String CATEGORY_AND_FACILITY_ID_STREAM_PATH = "/{municipalityId}/agreements/{category}/{facilityId}/stream";
 
 	@MockitoBean
 	private AgreementService agreementServiceMock;
@@ -62,7 +71,7 @@ class AgreementResourceTest {
 		assertThat(response).isNotNull();
 		assertThat(response.getAgreementParties()).hasSize(1);
 		assertThat(response.getAgreementParties().get(0).getAgreements()).hasSize(1)
-			.extracting(Agreement::isMainAgreement, Agreement::isBinding)
+			.extracting(Agreement::getMainAgreement, Agreement::getBinding)
 			.containsExactly(tuple(false, false));
 
 		verify(agreementServiceMock).getAgreementsByCategoryAndFacilityId(municipalityId, category, facilityId, true);
@@ -95,7 +104,7 @@ class AgreementResourceTest {
 		assertThat(response).isNotNull();
 		assertThat(response.getAgreementParties()).hasSize(1);
 		assertThat(response.getAgreementParties().get(0).getAgreements())
-			.extracting(Agreement::isMainAgreement, Agreement::isBinding)
+			.extracting(Agreement::getMainAgreement, Agreement::getBinding)
 			.containsExactly(tuple(false, false));
 
 		verify(agreementServiceMock).getAgreementsByCategoryAndFacilityId(municipalityId, category, facilityId, onlyActive);
@@ -130,12 +139,12 @@ class AgreementResourceTest {
 		assertThat(response).isNotNull();
 		assertThat(response.getAgreementParties()).hasSize(2);
 		assertThat(response.getAgreementParties().get(0).getAgreements())
-			.extracting(Agreement::isMainAgreement, Agreement::isBinding)
+			.extracting(Agreement::getMainAgreement, Agreement::getBinding)
 			.containsExactly(
 				tuple(false, false),
 				tuple(false, false));
 		assertThat(response.getAgreementParties().get(1).getAgreements())
-			.extracting(Agreement::isMainAgreement, Agreement::isBinding)
+			.extracting(Agreement::getMainAgreement, Agreement::getBinding)
 			.containsExactly(
 				tuple(false, false),
 				tuple(false, false));
@@ -166,12 +175,42 @@ class AgreementResourceTest {
 		assertThat(response).isNotNull();
 		assertThat(response.getAgreementParties()).hasSize(1);
 		assertThat(response.getAgreementParties().get(0).getAgreements())
-			.extracting(Agreement::isMainAgreement, Agreement::isBinding)
+			.extracting(Agreement::getMainAgreement, Agreement::getBinding)
 			.containsExactly(tuple(false, false));
 
 		verify(agreementServiceMock).getAgreementsByPartyIdAndCategories(municipalityId, partyId, emptyList(), true);
 	}
 
+	@Test
+	void getAgreementsByPartyIdAndCategoriesWithFields() {
+
+		// Arrange
+		final var municipalityId = "2281";
+		final var partyId = randomUUID().toString();
+		final var agreementResponse = AgreementResponse.create().withAgreementParties(List.of(AgreementParty.create().withAgreements(List.of(Agreement.create()
+			.withAgreementId("agreementId")
+			.withDescription("description")
+			.withBinding(false)
+			.withActive(true)))));
+
+		when(agreementServiceMock.getAgreementsByPartyIdAndCategories(municipalityId, partyId, emptyList(), true)).thenReturn(agreementResponse);
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PARTY_ID_PATH).queryParam("fields", "agreementId,active").build(municipalityId, partyId))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectHeader().valueEquals(ETAG, AgreementETag.of(agreementResponse, AgreementFields.of(List.of("agreementId", "active"))))
+			.expectBody(String.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isEqualTo("{\"agreementParties\":[{\"agreements\":[{\"agreementId\":\"agreementId\",\"active\":true}]}]}");
+
+		verify(agreementServiceMock).getAgreementsByPartyIdAndCategories(municipalityId, partyId, emptyList(), true);
+	}
+
 	@Test
 	void getAgreementsByPartyIdAndCategoriesWithCategoryFilters() {
 
@@ -198,7 +237,7 @@ class AgreementResourceTest {
 		assertThat(response).isNotNull();
 		assertThat(response.getAgreementParties()).hasSize(1);
 		assertThat(response.getAgreementParties().get(0).getAgreements())
-			.extracting(Agreement::isMainAgreement, Agreement::isBinding)
+			.extracting(Agreement::getMainAgreement, Agreement::getBinding)
 			.containsExactly(tuple(false, false));
 
 		verify(agreementServiceMock).getAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, true);
@@ -232,9 +271,98 @@ class AgreementResourceTest {
 		assertThat(response).isNotNull();
 		assertThat(response.getAgreementParties()).hasSize(1);
 		assertThat(response.getAgreementParties().get(0).getAgreements())
-			.extracting(Agreement::isMainAgreement, Agreement::isBinding)
+			.extracting(Agreement::getMainAgreement, Agreement::getBinding)
 			.containsExactly(tuple(false, false));
 
 		verify(agreementServiceMock).getAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, onlyActive);
 	}
+
+	@Test
+	void streamAgreementsByPartyIdAndCategories() {
+
+		// Arrange
+		final var municipalityId = "2281";
+		final var partyId = randomUUID().toString();
+		final var categories = List.of(Category.DISTRICT_COOLING, Category.DISTRICT_HEATING);
+		final var body = "{\"agreementId\":\"1\"}\n{\"agreementId\":\"2\"}\n";
+
+		when(agreementServiceMock.streamAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, false, ALL))
+			.thenReturn(outputStream -> outputStream.write(body.getBytes(UTF_8)));
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PARTY_ID_STREAM_PATH)
+			.queryParam("category", categories)
+			.queryParam("onlyActive", "false")
+			.build(municipalityId, partyId))
+			.accept(APPLICATION_NDJSON)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_NDJSON)
+			.expectBody(String.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isEqualTo(body);
+
+		verify(agreementServiceMock).streamAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, false, ALL);
+	}
+
+	@Test
+	void streamAgreementPartiesByCategoryAndFacilityId() {
+
+		// Arrange
+		final var municipalityId = "2281";
+		final var category = Category.ELECTRICITY;
+		final var facilityId = "1234567";
+		final var body = "{\"customerId\":\"1\",\"agreements\":[]}\n{\"customerId\":\"2\",\"agreements\":[]}\n";
+
+		when(agreementServiceMock.streamAgreementPartiesByCategoryAndFacilityId(municipalityId, category, facilityId, true, ALL))
+			.thenReturn(outputStream -> outputStream.write(body.getBytes(UTF_8)));
+
+		// Act
+		final var response = webTestClient.get().uri(CATEGORY_AND_FACILITY_ID_STREAM_PATH, municipalityId, category, facilityId)
+			.accept(APPLICATION_NDJSON)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_NDJSON)
+			.expectBody(String.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isEqualTo(body);
+
+		verify(agreementServiceMock).streamAgreementPartiesByCategoryAndFacilityId(municipalityId, category, facilityId, true, ALL);
+	}
+
+	@Test
+	void getAgreementsByPartyIdAndCategoriesNotModified() {
+
+		// Arrange
+		final var municipalityId = "2281";
+		final var partyId = randomUUID().toString();
+		final var agreementResponse = AgreementResponse.create().withAgreementParties(List.of(AgreementParty.create().withAgreements(List.of(Agreement.create()))));
+
+		when(agreementServiceMock.getAgreementsByPartyIdAndCategories(municipalityId, partyId, emptyList(), true)).thenReturn(agreementResponse);
+
+		// Act
+		final var eTag = webTestClient.get().uri(PARTY_ID_PATH, municipalityId, partyId)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().valueEquals(ETAG, AgreementETag.of(agreementResponse, ALL))
+			.returnResult(AgreementResponse.class)
+			.getResponseHeaders()
+			.getETag();
+
+		webTestClient.get().uri(PARTY_ID_PATH, municipalityId, partyId)
+			.header(IF_NONE_MATCH, eTag)
+			.exchange()
+			.expectStatus().isNotModified()
+			.expectHeader().valueEquals(ETAG, eTag)
+			.expectBody().isEmpty();
+
+		// Assert
+		verify(agreementServiceMock, times(2)).getAgreementsByPartyIdAndCategories(municipalityId, partyId, emptyList(), true);
+	}
 }
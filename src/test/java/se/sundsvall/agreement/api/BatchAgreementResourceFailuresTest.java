@@ -0,0 +1,163 @@
+package se.sundsvall.agreement.api;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import se.sundsvall.agreement.Application;
+import se.sundsvall.agreement.api.model.FacilityBatchItem;
+import se.sundsvall.agreement.api.model.FacilityBatchRequest;
+import se.sundsvall.agreement.api.model.PartyBatchRequest;
+import se.sundsvall.agreement.service.BatchAgreementService;
+import se.sundsvall.dept44.problem.violations.ConstraintViolationProblem;
+import se.sundsvall.dept44.problem.violations.Violation;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
+
+@SpringBootTest(classes = Application.class, webEnvironment = RANDOM_PORT)
+@ActiveProfiles("junit")
+@AutoConfigureWebTestClient
+class BatchAgreementResourceFailuresTest {
+
+	private static final String PARTIES_PATH = "/{municipalityId}/agreements/batch/parties";
+	private static final String FACILITIES_PATH = "/{municipalityId}/agreements/batch/facilities";
+
+	@MockitoBean
+	private BatchAgreementService batchAgreementServiceMock;
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Test
+	void getAgreementsForPartyIdsWithoutPartyIds() {
+
+		// Act
+		final var response = webTestClient.post().uri(PARTIES_PATH, "2281")
+			.contentType(APPLICATION_JSON)
+			.bodyValue(PartyBatchRequest.create().withPartyIds(List.of()))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON_VALUE)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactly(tuple("partyIds", "must not be empty"));
+
+		verifyNoInteractions(batchAgreementServiceMock);
+	}
+
+	@Test
+	void getAgreementsForPartyIdsWithInvalidPartyId() {
+
+		// Act
+		final var response = webTestClient.post().uri(PARTIES_PATH, "2281")
+			.contentType(APPLICATION_JSON)
+			.bodyValue(PartyBatchRequest.create().withPartyIds(List.of(randomUUID().toString(), "invalid")))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON_VALUE)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactly(tuple("partyIds[1]", "not a valid UUID"));
+
+		verifyNoInteractions(batchAgreementServiceMock);
+	}
+
+	@Test
+	void getAgreementsForPartyIdsInvalidMunicipalityId() {
+
+		// Act
+		final var response = webTestClient.post().uri(PARTIES_PATH, "invalid")
+			.contentType(APPLICATION_JSON)
+			.bodyValue(PartyBatchRequest.create().withPartyIds(List.of(randomUUID().toString())))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON_VALUE)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactly(tuple("getAgreementsForPartyIds.municipalityId", "not a valid municipality ID"));
+
+		verifyNoInteractions(batchAgreementServiceMock);
+	}
+
+	@Test
+	void getAgreementsForFacilitiesWithoutItems() {
+
+		// Act
+		final var response = webTestClient.post().uri(FACILITIES_PATH, "2281")
+			.contentType(APPLICATION_JSON)
+			.bodyValue(FacilityBatchRequest.create())
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON_VALUE)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactly(tuple("items", "must not be empty"));
+
+		verifyNoInteractions(batchAgreementServiceMock);
+	}
+
+	@Test
+	void getAgreementsForFacilitiesWithIncompleteItem() {
+
+		// Act
+		final var response = webTestClient.post().uri(FACILITIES_PATH, "2281")
+			.contentType(APPLICATION_JSON)
+			.bodyValue(FacilityBatchRequest.create().withItems(List.of(FacilityBatchItem.create().withFacilityId(" "))))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON_VALUE)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactlyInAnyOrder(
+				tuple("items[0].category", "must not be null"),
+				tuple("items[0].facilityId", "must not be blank"));
+
+		verifyNoInteractions(batchAgreementServiceMock);
+	}
+}
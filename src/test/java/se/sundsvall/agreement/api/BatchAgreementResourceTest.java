@@ -0,0 +1,116 @@
+package se.sundsvall.agreement.api;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import se.sundsvall.agreement.Application;
+import se.sundsvall.agreement.api.model.AgreementParty;
+import se.sundsvall.agreement.api.model.Category;
+import se.sundsvall.agreement.api.model.FacilityBatchItem;
+import se.sundsvall.agreement.api.model.FacilityBatchRequest;
+import se.sundsvall.agreement.api.model.FacilityBatchResponse;
+import se.sundsvall.agreement.api.model.FacilityBatchResult;
+import se.sundsvall.agreement.api.model.PartyBatchRequest;
+import se.sundsvall.agreement.api.model.PartyBatchResponse;
+import se.sundsvall.agreement.api.model.PartyBatchResult;
+import se.sundsvall.agreement.service.BatchAgreementService;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+@SpringBootTest(classes = Application.class, webEnvironment = RANDOM_PORT)
+@ActiveProfiles("junit")
+@AutoConfigureWebTestClient
+class BatchAgreementResourceTest {
+
+	private static final String PARTIES_PATH = "/{municipalityId}/agreements/batch/parties";
+	private static final String FACILITIES_PATH = "/{municipalityId}/agreements/batch/facilities";
+
+	@MockitoBean
+	private BatchAgreementService batchAgreementServiceMock;
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Test
+	void getAgreementsForPartyIds() {
+
+		// Arrange
+		final var municipalityId = "2281";
+		final var partyId = randomUUID().toString();
+		final var request = PartyBatchRequest.create()
+			.withPartyIds(List.of(partyId))
+			.withCategories(List.of(Category.ELECTRICITY));
+
+		when(batchAgreementServiceMock.getAgreementsByPartyIds(municipalityId, request))
+			.thenReturn(PartyBatchResponse.create().withResults(Map.of(partyId, PartyBatchResult.create()
+				.withStatus(200)
+				.withAgreementParties(List.of(AgreementParty.create().withCustomerId("123"))))));
+
+		// Act
+		final var response = webTestClient.post().uri(PARTIES_PATH, municipalityId)
+			.contentType(APPLICATION_JSON)
+			.bodyValue(request)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBody(PartyBatchResponse.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull();
+		assertThat(response.getResults()).containsOnlyKeys(partyId);
+		assertThat(response.getResults().get(partyId).getStatus()).isEqualTo(200);
+		assertThat(response.getResults().get(partyId).getAgreementParties()).extracting(AgreementParty::getCustomerId).containsExactly("123");
+
+		verify(batchAgreementServiceMock).getAgreementsByPartyIds(municipalityId, request);
+	}
+
+	@Test
+	void getAgreementsForFacilities() {
+
+		// Arrange
+		final var municipalityId = "2281";
+		final var request = FacilityBatchRequest.create()
+			.withItems(List.of(FacilityBatchItem.create().withCategory(Category.WATER).withFacilityId("1471222")))
+			.withOnlyActive(false);
+
+		when(batchAgreementServiceMock.getAgreementsByFacilities(municipalityId, request))
+			.thenReturn(FacilityBatchResponse.create().withResults(List.of(FacilityBatchResult.create()
+				.withCategory(Category.WATER)
+				.withFacilityId("1471222")
+				.withStatus(404)
+				.withDetail("not found"))));
+
+		// Act
+		final var response = webTestClient.post().uri(FACILITIES_PATH, municipalityId)
+			.contentType(APPLICATION_JSON)
+			.bodyValue(request)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBody(FacilityBatchResponse.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).isNotNull();
+		assertThat(response.getResults())
+			.extracting(FacilityBatchResult::getCategory, FacilityBatchResult::getFacilityId, FacilityBatchResult::getStatus, FacilityBatchResult::getDetail)
+			.containsExactly(tuple(Category.WATER, "1471222", 404, "not found"));
+
+		verify(batchAgreementServiceMock).getAgreementsByFacilities(municipalityId, request);
+	}
+}
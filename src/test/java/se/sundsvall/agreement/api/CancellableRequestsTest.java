@@ -0,0 +1,68 @@
+package se.sundsvall.agreement.api;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import se.sundsvall.agreement.service.DeadlineProperties;
+import se.sundsvall.agreement.service.RequestDeadline;
+
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CancellableRequestsTest {
+
+	private final CancellableRequests cancellableRequests = new CancellableRequests(new DeadlineProperties(true, Duration.ofSeconds(30), "X-Request-Timeout", 2), false);
+
+	@AfterEach
+	void tearDown() {
+		RequestDeadline.bind(null);
+		RequestContextHolder.resetRequestAttributes();
+		MDC.clear();
+	}
+
+	@Test
+	void executeUsesTimeLeftUntilDeadlineAsTimeout() {
+		RequestDeadline.bind(RequestDeadline.after(Duration.ofSeconds(10)));
+
+		final var task = cancellableRequests.execute(() -> "result");
+
+		assertThat(task.getTimeout()).isPositive().isLessThanOrEqualTo(10000L);
+		assertThat(task.getExecutor()).isNotNull();
+	}
+
+	@Test
+	void executeWithoutDeadlineUsesDefaultTimeout() {
+		final var task = cancellableRequests.execute(() -> "result");
+
+		assertThat(task.getTimeout()).isNull();
+	}
+
+	@Test
+	void executeRunsWithDeadlineAndLoggingContextOfRequest() {
+		final var deadline = RequestDeadline.after(Duration.ofSeconds(10));
+		final var attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+		RequestDeadline.bind(deadline);
+		RequestContextHolder.setRequestAttributes(attributes);
+		MDC.setContextMap(Map.of("key", "value"));
+
+		final var task = cancellableRequests.execute(() -> new Object[] {
+			RequestDeadline.current().orElse(null), RequestContextHolder.getRequestAttributes(), MDC.get("key")
+		});
+
+		final var context = supplyAsync(() -> {
+			try {
+				return task.getCallable().call();
+			} catch (final Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}).join();
+
+		// The request attributes are bound to the async thread by Spring MVC, not copied from the request thread
+		assertThat(context).containsExactly(deadline, null, "value");
+	}
+}
@@ -1,5 +1,6 @@
 package se.sundsvall.agreement.api;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -14,6 +15,7 @@ import se.sundsvall.agreement.Application;
 import se.sundsvall.agreement.api.model.Agreement;
 import se.sundsvall.agreement.api.model.AgreementParameters;
 import se.sundsvall.agreement.api.model.Category;
+import se.sundsvall.agreement.api.model.CursorMetaData;
 import se.sundsvall.agreement.api.model.PagedAgreementResponse;
 import se.sundsvall.agreement.service.AgreementService;
 import se.sundsvall.dept44.models.api.paging.PagingMetaData;
@@ -24,7 +26,11 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static se.sundsvall.agreement.api.model.AgreementFields.ALL;
 
 @SpringBootTest(classes = Application.class, webEnvironment = RANDOM_PORT)
 @ActiveProfiles("junit")
@@ -84,7 +90,17 @@ class PagedAgreementResourceTest {
 		final var parameters = AgreementParameters.create()
 			.withOnlyActive(false)
 			.withPage(2)
-			.withLimit(123);
+			.withLimit(123)
+			.withSortBy(List.of("fromDate", "agreementId"))
+			.withSortDirection(DESC)
+			.withMainAgreement(true)
+			.withBinding(false)
+			.withProduction(true)
+			.withPlacementStatus("Tillkopplad")
+			.withNetAreaId("SUV")
+			.withFromDate(LocalDate.of(2022, 1, 1))
+			.withToDate(LocalDate.of(2022, 12, 31))
+			.withCursor("MjoyNzE4MjgxODI4OjQ5OjUxMzQ3Ng");
 
 		final var pagingResponse = PagedAgreementResponse.create()
 			.withMetaData(PagingMetaData.create()
@@ -93,6 +109,7 @@ class PagedAgreementResourceTest {
 				.withCount(33)
 				.withTotalRecords(444)
 				.withTotalPages(9))
+			.withCursorMetaData(CursorMetaData.create().withNext("next"))
 			.withAgreements(List.of(Agreement.create().withAgreementId("agreementId")));
 		when(agreementServiceMock.getPagedAgreementsByPartyIdAndCategories(any(), any(), any(), any()))
 			.thenReturn(pagingResponse);
@@ -103,6 +120,16 @@ class PagedAgreementResourceTest {
 			.queryParam("onlyActive", parameters.isOnlyActive())
 			.queryParam("limit", parameters.getLimit())
 			.queryParam("page", parameters.getPage())
+			.queryParam("sortBy", parameters.getSortBy())
+			.queryParam("sortDirection", parameters.getSortDirection())
+			.queryParam("mainAgreement", parameters.getMainAgreement())
+			.queryParam("binding", parameters.getBinding())
+			.queryParam("production", parameters.getProduction())
+			.queryParam("placementStatus", parameters.getPlacementStatus())
+			.queryParam("netAreaId", parameters.getNetAreaId())
+			.queryParam("fromDate", parameters.getFromDate())
+			.queryParam("toDate", parameters.getToDate())
+			.queryParam("cursor", parameters.getCursor())
 			.build(municipalityId, partyId))
 			.exchange()
 			.expectStatus().isOk()
@@ -114,5 +141,33 @@ class PagedAgreementResourceTest {
 		verify(agreementServiceMock).getPagedAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, parameters);
 		assertThat(response.getMetaData()).isEqualTo(pagingResponse.getMetaData());
 		assertThat(response.getAgreements()).isEqualTo(pagingResponse.getAgreements());
+		assertThat(response.getCursorMetaData()).isEqualTo(pagingResponse.getCursorMetaData());
+	}
+
+	@Test
+	void getAgreementsForPartyIdNotModified() {
+
+		// Arrange
+		final var municipalityId = "2281";
+		final var partyId = randomUUID().toString();
+		final var pagingResponse = PagedAgreementResponse.create()
+			.withMetaData(PagingMetaData.create()
+				.withPage(1)
+				.withLimit(100)
+				.withCount(1)
+				.withTotalRecords(1)
+				.withTotalPages(1))
+			.withAgreements(List.of(Agreement.create().withAgreementId("agreementId")));
+		when(agreementServiceMock.getPagedAgreementsByPartyIdAndCategories(any(), any(), any(), any()))
+			.thenReturn(pagingResponse);
+
+		// Act and assert
+		webTestClient.get().uri(builder -> builder.path(PATH)
+			.build(municipalityId, partyId))
+			.header(IF_NONE_MATCH, AgreementETag.of(pagingResponse, ALL))
+			.exchange()
+			.expectStatus().isNotModified()
+			.expectHeader().valueEquals(ETAG, AgreementETag.of(pagingResponse, ALL))
+			.expectBody().isEmpty();
 	}
 }
@@ -0,0 +1,65 @@
+package se.sundsvall.agreement.api;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import se.sundsvall.agreement.service.DeadlineProperties;
+import se.sundsvall.agreement.service.RequestDeadline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestDeadlineFilterTest {
+
+	private static final String HEADER = "X-Request-Timeout";
+
+	private final RequestDeadlineFilter filter = new RequestDeadlineFilter(new DeadlineProperties(true, Duration.ofSeconds(30), HEADER, 200));
+
+	@Test
+	void doFilterBindsConfiguredDeadline() throws Exception {
+		final var remaining = remainingDuringRequest(filter, new MockHttpServletRequest());
+
+		assertThat(remaining).isGreaterThan(Duration.ofSeconds(25)).isLessThanOrEqualTo(Duration.ofSeconds(30));
+		assertThat(RequestDeadline.current()).isEmpty();
+	}
+
+	@Test
+	void doFilterBindsShorterDeadlineFromHeader() throws Exception {
+		final var request = new MockHttpServletRequest();
+		request.addHeader(HEADER, "2000");
+
+		final var remaining = remainingDuringRequest(filter, request);
+
+		assertThat(remaining).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(2));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"60000", "not-a-number"
+	})
+	void doFilterIgnoresLongerOrInvalidDeadlineFromHeader(String header) throws Exception {
+		final var request = new MockHttpServletRequest();
+		request.addHeader(HEADER, header);
+
+		final var remaining = remainingDuringRequest(filter, request);
+
+		assertThat(remaining).isGreaterThan(Duration.ofSeconds(25)).isLessThanOrEqualTo(Duration.ofSeconds(30));
+	}
+
+	@Test
+	void doFilterWhenDisabled() throws Exception {
+		final var disabled = new RequestDeadlineFilter(new DeadlineProperties(false, Duration.ofSeconds(30), HEADER, 200));
+
+		assertThat(remainingDuringRequest(disabled, new MockHttpServletRequest())).isNull();
+	}
+
+	private static Duration remainingDuringRequest(RequestDeadlineFilter filter, MockHttpServletRequest request) throws Exception {
+		final var remaining = new AtomicReference<Duration>();
+		filter.doFilter(request, new MockHttpServletResponse(),
+			(servletRequest, servletResponse) -> RequestDeadline.current().flatMap(RequestDeadline::remaining).ifPresent(remaining::set));
+		return remaining.get();
+	}
+}
@@ -0,0 +1,45 @@
+package se.sundsvall.agreement.api;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import se.sundsvall.agreement.api.model.AgreementResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static se.sundsvall.agreement.api.StaleResponseAdvice.STALE_RESPONSE_HEADER;
+import static se.sundsvall.agreement.service.AgreementService.STALE_RESPONSE_AGE_ATTRIBUTE;
+
+class StaleResponseAdviceTest {
+
+	private final StaleResponseAdvice advice = new StaleResponseAdvice();
+
+	@Test
+	void beforeBodyWriteMarksStaleResponse() {
+		final var servletRequest = new MockHttpServletRequest();
+		servletRequest.setAttribute(STALE_RESPONSE_AGE_ATTRIBUTE, Duration.ofSeconds(90));
+		final var response = new ServletServerHttpResponse(new MockHttpServletResponse());
+		final var body = AgreementResponse.create();
+
+		final var result = advice.beforeBodyWrite(body, null, APPLICATION_JSON, null, new ServletServerHttpRequest(servletRequest), response);
+
+		assertThat(result).isSameAs(body);
+		assertThat(response.getHeaders().getFirst(STALE_RESPONSE_HEADER)).isEqualTo("true");
+		assertThat(response.getHeaders().getFirst("Age")).isEqualTo("90");
+	}
+
+	@Test
+	void beforeBodyWriteLeavesFreshResponse() {
+		final var response = new ServletServerHttpResponse(new MockHttpServletResponse());
+		final var body = AgreementResponse.create();
+
+		final var result = advice.beforeBodyWrite(body, null, APPLICATION_JSON, null, new ServletServerHttpRequest(new MockHttpServletRequest()), response);
+
+		assertThat(result).isSameAs(body);
+		assertThat(response.getHeaders().containsHeader(STALE_RESPONSE_HEADER)).isFalse();
+		assertThat(response.getHeaders().containsHeader("Age")).isFalse();
+	}
+}
@@ -0,0 +1,57 @@
+package se.sundsvall.agreement.api.model;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.dept44.problem.ThrowableProblem;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static se.sundsvall.agreement.api.model.AgreementFields.ALL;
+import static se.sundsvall.agreement.api.model.AgreementFields.NAMES;
+
+class AgreementFieldsTest {
+
+	@Test
+	void testNoFieldsMeansAll() {
+		assertThat(AgreementFields.of(null)).isSameAs(ALL);
+		assertThat(AgreementFields.of(emptyList())).isSameAs(ALL);
+		assertThat(AgreementFields.of(List.of(" ", ""))).isSameAs(ALL);
+		assertThat(AgreementFields.of(NAMES)).isSameAs(ALL);
+		assertThat(ALL.isAll()).isTrue();
+		assertThat(NAMES).allMatch(ALL::includes);
+		assertThat(ALL.names()).containsExactlyInAnyOrderElementsOf(NAMES);
+	}
+
+	@Test
+	void testIncludes() {
+		final var fields = AgreementFields.of(List.of("agreementId", " active "));
+
+		assertThat(fields.isAll()).isFalse();
+		assertThat(fields.includes("agreementId")).isTrue();
+		assertThat(fields.includes("active")).isTrue();
+		assertThat(fields.includes("facilityId")).isFalse();
+		assertThat(fields.names()).containsExactly("active", "agreementId");
+	}
+
+	@Test
+	void testUnknownField() {
+		assertThatThrownBy(() -> AgreementFields.of(List.of("agreementId", "unknown")))
+			.isInstanceOf(ThrowableProblem.class)
+			.hasFieldOrPropertyWithValue("status", BAD_REQUEST)
+			.hasMessageContaining("Unknown agreement field(s) [unknown], valid fields are " + NAMES);
+	}
+
+	@Test
+	void testEqualsAndHashCode() {
+		final var fields = AgreementFields.of(List.of("active", "agreementId"));
+
+		assertThat(fields)
+			.isEqualTo(AgreementFields.of(List.of("agreementId", "active", "agreementId")))
+			.hasSameHashCodeAs(AgreementFields.of(List.of("agreementId", "active")))
+			.isNotEqualTo(ALL)
+			.hasToString("AgreementFields{names=[active, agreementId]}");
+		assertThat(ALL).hasToString("AgreementFields{names=ALL}");
+	}
+}
@@ -1,5 +1,9 @@
 package se.sundsvall.agreement.api.model;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
@@ -7,12 +11,20 @@ import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static com.google.code.beanmatchers.BeanMatchers.registerValueGenerator;
+import static java.time.LocalDate.now;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.springframework.data.domain.Sort.Direction.DESC;
 
 class AgreementParameterTest {
 
+	@BeforeAll
+	static void setup() {
+		registerValueGenerator(() -> now().plusDays(new Random().nextInt()), LocalDate.class);
+	}
+
 	@Test
 	void testBean() {
 		assertThat(AgreementParameters.class, allOf(
@@ -28,14 +40,44 @@ class AgreementParameterTest {
 		final var onlyActive = true;
 		final var page = 12;
 		final var limit = 34;
+		final var sortBy = List.of("fromDate");
+		final var sortDirection = DESC;
+		final var mainAgreement = true;
+		final var binding = false;
+		final var production = true;
+		final var placementStatus = "placementStatus";
+		final var netAreaId = "netAreaId";
+		final var fromDate = LocalDate.now().minusYears(1);
+		final var toDate = LocalDate.now();
+		final var cursor = "cursor";
 
 		var parameters = AgreementParameters.create()
 			.withOnlyActive(onlyActive)
 			.withPage(page)
-			.withLimit(limit);
+			.withLimit(limit)
+			.withSortBy(sortBy)
+			.withSortDirection(sortDirection)
+			.withMainAgreement(mainAgreement)
+			.withBinding(binding)
+			.withProduction(production)
+			.withPlacementStatus(placementStatus)
+			.withNetAreaId(netAreaId)
+			.withFromDate(fromDate)
+			.withToDate(toDate)
+			.withCursor(cursor);
 
 		assertThat(parameters.isOnlyActive()).isTrue();
 		assertThat(parameters.getPage()).isEqualTo(page);
 		assertThat(parameters.getLimit()).isEqualTo(limit);
+		assertThat(parameters.getSortBy()).isEqualTo(sortBy);
+		assertThat(parameters.getSortDirection()).isEqualTo(sortDirection);
+		assertThat(parameters.getMainAgreement()).isTrue();
+		assertThat(parameters.getBinding()).isFalse();
+		assertThat(parameters.getProduction()).isTrue();
+		assertThat(parameters.getPlacementStatus()).isEqualTo(placementStatus);
+		assertThat(parameters.getNetAreaId()).isEqualTo(netAreaId);
+		assertThat(parameters.getFromDate()).isEqualTo(fromDate);
+		assertThat(parameters.getToDate()).isEqualTo(toDate);
+		assertThat(parameters.getCursor()).isEqualTo(cursor);
 	}
 }
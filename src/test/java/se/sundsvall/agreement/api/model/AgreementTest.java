@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.Random;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
 
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
@@ -74,14 +75,14 @@ class AgreementTest {
 
 		assertThat(agreement).isNotNull().hasNoNullFieldsOrProperties();
 		assertThat(agreement.getCustomerId()).isEqualTo(customerId);
-		assertThat(agreement.isActive()).isEqualTo(active);
+		assertThat(agreement.getActive()).isEqualTo(active);
 		assertThat(agreement.getAgreementId()).isEqualTo(agreementId);
 		assertThat(agreement.getBillingId()).isEqualTo(billingId);
 		assertThat(agreement.getCategory()).isEqualTo(category);
 		assertThat(agreement.getDescription()).isEqualTo(description);
 		assertThat(agreement.getFacilityId()).isEqualTo(facilityId);
-		assertThat(agreement.isMainAgreement()).isEqualTo(mainAgreement);
-		assertThat(agreement.isBinding()).isEqualTo(binding);
+		assertThat(agreement.getMainAgreement()).isEqualTo(mainAgreement);
+		assertThat(agreement.getBinding()).isEqualTo(binding);
 		assertThat(agreement.getBindingRule()).isEqualTo(bindingRule);
 		assertThat(agreement.getPlacementStatus()).isEqualTo(placementStatus);
 		assertThat(agreement.getNetAreaId()).isEqualTo(netAreaId);
@@ -93,9 +94,15 @@ class AgreementTest {
 
 	@Test
 	void testNoDirtOnCreatedBean() {
-		assertThat(Agreement.create()).hasAllNullFieldsOrPropertiesExcept("active", "binding", "mainAgreement")
-			.hasFieldOrPropertyWithValue("active", false)
-			.hasFieldOrPropertyWithValue("binding", false)
-			.hasFieldOrPropertyWithValue("mainAgreement", false);
+		assertThat(Agreement.create()).hasAllNullFieldsOrProperties();
+	}
+
+	@Test
+	void testNullPropertiesAreNotWritten() {
+		final var json = JsonMapper.builder().build().writeValueAsString(Agreement.create()
+			.withAgreementId("agreementId")
+			.withActive(false));
+
+		assertThat(json).isEqualTo("{\"agreementId\":\"agreementId\",\"active\":false}");
 	}
 }
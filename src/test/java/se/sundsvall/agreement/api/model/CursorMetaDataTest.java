@@ -0,0 +1,41 @@
+package se.sundsvall.agreement.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class CursorMetaDataTest {
+
+	@Test
+	void testBean() {
+		assertThat(CursorMetaData.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		final var next = "next";
+
+		final var result = CursorMetaData.create()
+			.withNext(next);
+
+		assertThat(result).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(result.getNext()).isEqualTo(next);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(CursorMetaData.create()).hasAllNullFieldsOrProperties();
+	}
+}
@@ -0,0 +1,45 @@
+package se.sundsvall.agreement.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class FacilityBatchItemTest {
+
+	@Test
+	void testBean() {
+		assertThat(FacilityBatchItem.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		final var category = Category.ELECTRICITY;
+		final var facilityId = "1471222";
+
+		final var item = FacilityBatchItem.create()
+			.withCategory(category)
+			.withFacilityId(facilityId);
+
+		assertThat(item).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(item.getCategory()).isEqualTo(category);
+		assertThat(item.getFacilityId()).isEqualTo(facilityId);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(FacilityBatchItem.create()).hasAllNullFieldsOrProperties();
+		assertThat(new FacilityBatchItem()).hasAllNullFieldsOrProperties();
+	}
+}
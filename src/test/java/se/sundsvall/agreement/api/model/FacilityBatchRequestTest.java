@@ -0,0 +1,47 @@
+package se.sundsvall.agreement.api.model;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class FacilityBatchRequestTest {
+
+	@Test
+	void testBean() {
+		assertThat(FacilityBatchRequest.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		final var items = List.of(FacilityBatchItem.create());
+		final var onlyActive = false;
+
+		final var request = FacilityBatchRequest.create()
+			.withItems(items)
+			.withOnlyActive(onlyActive);
+
+		assertThat(request).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(request.getItems()).isEqualTo(items);
+		assertThat(request.isOnlyActive()).isFalse();
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(FacilityBatchRequest.create()).hasAllNullFieldsOrPropertiesExcept("onlyActive");
+		assertThat(FacilityBatchRequest.create().isOnlyActive()).isTrue();
+		assertThat(new FacilityBatchRequest()).hasAllNullFieldsOrPropertiesExcept("onlyActive");
+	}
+}
@@ -0,0 +1,43 @@
+package se.sundsvall.agreement.api.model;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class FacilityBatchResponseTest {
+
+	@Test
+	void testBean() {
+		assertThat(FacilityBatchResponse.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		final var results = List.of(FacilityBatchResult.create());
+
+		final var response = FacilityBatchResponse.create()
+			.withResults(results);
+
+		assertThat(response).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(response.getResults()).isEqualTo(results);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(FacilityBatchResponse.create()).hasAllNullFieldsOrProperties();
+		assertThat(new FacilityBatchResponse()).hasAllNullFieldsOrProperties();
+	}
+}
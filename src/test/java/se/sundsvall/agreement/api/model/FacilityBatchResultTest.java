@@ -0,0 +1,55 @@
+package se.sundsvall.agreement.api.model;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class FacilityBatchResultTest {
+
+	@Test
+	void testBean() {
+		assertThat(FacilityBatchResult.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		final var category = Category.WATER;
+		final var facilityId = "1471222";
+		final var status = 404;
+		final var detail = "detail";
+		final var agreementParties = List.of(AgreementParty.create());
+
+		final var result = FacilityBatchResult.create()
+			.withCategory(category)
+			.withFacilityId(facilityId)
+			.withStatus(status)
+			.withDetail(detail)
+			.withAgreementParties(agreementParties);
+
+		assertThat(result).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(result.getCategory()).isEqualTo(category);
+		assertThat(result.getFacilityId()).isEqualTo(facilityId);
+		assertThat(result.getStatus()).isEqualTo(status);
+		assertThat(result.getDetail()).isEqualTo(detail);
+		assertThat(result.getAgreementParties()).isEqualTo(agreementParties);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(FacilityBatchResult.create()).hasAllNullFieldsOrPropertiesExcept("status");
+		assertThat(new FacilityBatchResult()).hasAllNullFieldsOrPropertiesExcept("status");
+	}
+}
@@ -29,14 +29,17 @@ class PagedAgreementResponseTest {
 	void testBuilderMethods() {
 		final var agreements = new ArrayList<Agreement>();
 		final var meta = PagingMetaData.create();
+		final var cursorMeta = CursorMetaData.create();
 
 		final var result = PagedAgreementResponse.create()
 			.withAgreements(agreements)
-			.withMetaData(meta);
+			.withMetaData(meta)
+			.withCursorMetaData(cursorMeta);
 
 		assertThat(result).isNotNull().hasNoNullFieldsOrProperties();
 		assertThat(result.getAgreements()).isSameAs(agreements);
 		assertThat(result.getMetaData()).isSameAs(meta);
+		assertThat(result.getCursorMetaData()).isSameAs(cursorMeta);
 	}
 
 	@Test
@@ -0,0 +1,50 @@
+package se.sundsvall.agreement.api.model;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class PartyBatchRequestTest {
+
+	@Test
+	void testBean() {
+		assertThat(PartyBatchRequest.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		final var partyIds = List.of("81471222-5798-11e9-ae24-57fa13b361e1");
+		final var categories = List.of(Category.ELECTRICITY);
+		final var onlyActive = false;
+
+		final var request = PartyBatchRequest.create()
+			.withPartyIds(partyIds)
+			.withCategories(categories)
+			.withOnlyActive(onlyActive);
+
+		assertThat(request).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(request.getPartyIds()).isEqualTo(partyIds);
+		assertThat(request.getCategories()).isEqualTo(categories);
+		assertThat(request.isOnlyActive()).isFalse();
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(PartyBatchRequest.create()).hasAllNullFieldsOrPropertiesExcept("onlyActive");
+		assertThat(PartyBatchRequest.create().isOnlyActive()).isTrue();
+		assertThat(new PartyBatchRequest()).hasAllNullFieldsOrPropertiesExcept("onlyActive");
+	}
+}
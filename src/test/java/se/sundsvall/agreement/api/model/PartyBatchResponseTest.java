@@ -0,0 +1,51 @@
+package se.sundsvall.agreement.api.model;
+
+import java.util.Map;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static com.google.code.beanmatchers.BeanMatchers.registerValueGenerator;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class PartyBatchResponseTest {
+
+	@BeforeAll
+	static void setup() {
+		registerValueGenerator(() -> Map.of(randomUUID().toString(), PartyBatchResult.create()), Map.class);
+	}
+
+	@Test
+	void testBean() {
+		assertThat(PartyBatchResponse.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		final var results = Map.of("partyId", PartyBatchResult.create());
+
+		final var response = PartyBatchResponse.create()
+			.withResults(results);
+
+		assertThat(response).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(response.getResults()).isEqualTo(results);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(PartyBatchResponse.create()).hasAllNullFieldsOrProperties();
+		assertThat(new PartyBatchResponse()).hasAllNullFieldsOrProperties();
+	}
+}
@@ -0,0 +1,49 @@
+package se.sundsvall.agreement.api.model;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class PartyBatchResultTest {
+
+	@Test
+	void testBean() {
+		assertThat(PartyBatchResult.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		final var status = 404;
+		final var detail = "detail";
+		final var agreementParties = List.of(AgreementParty.create());
+
+		final var result = PartyBatchResult.create()
+			.withStatus(status)
+			.withDetail(detail)
+			.withAgreementParties(agreementParties);
+
+		assertThat(result).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(result.getStatus()).isEqualTo(status);
+		assertThat(result.getDetail()).isEqualTo(detail);
+		assertThat(result.getAgreementParties()).isEqualTo(agreementParties);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(PartyBatchResult.create()).hasAllNullFieldsOrPropertiesExcept("status");
+		assertThat(new PartyBatchResult()).hasAllNullFieldsOrPropertiesExcept("status");
+	}
+}
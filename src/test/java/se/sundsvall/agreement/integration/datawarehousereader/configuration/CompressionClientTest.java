@@ -0,0 +1,159 @@
+package se.sundsvall.agreement.integration.datawarehousereader.configuration;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static feign.Request.HttpMethod.GET;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.agreement.integration.datawarehousereader.configuration.CompressionClient.ACCEPTED_ENCODINGS;
+
+@ExtendWith(MockitoExtension.class)
+class CompressionClientTest {
+
+	private static final String BODY = "{\"agreements\":[{\"agreementId\":\"1-A\"},{\"agreementId\":\"2-A\"}]}";
+
+	@Mock
+	private Client delegateMock;
+
+	@Captor
+	private ArgumentCaptor<Request> requestCaptor;
+
+	@Test
+	void executeAddsAcceptEncoding() throws IOException {
+		final var request = request(Map.of("Accept", List.of("application/json")));
+		when(delegateMock.execute(any(), any())).thenReturn(response(request, Map.of(), BODY.getBytes(UTF_8)));
+
+		new CompressionClient(delegateMock).execute(request, new Request.Options());
+
+		verify(delegateMock).execute(requestCaptor.capture(), any());
+		assertThat(requestCaptor.getValue().headers())
+			.containsEntry("Accept", List.of("application/json"))
+			.containsEntry("Accept-Encoding", List.of(ACCEPTED_ENCODINGS));
+	}
+
+	@Test
+	void executeKeepsExplicitAcceptEncoding() throws IOException {
+		final var request = request(Map.of("accept-encoding", List.of("identity")));
+		when(delegateMock.execute(any(), any())).thenReturn(response(request, Map.of(), BODY.getBytes(UTF_8)));
+
+		new CompressionClient(delegateMock).execute(request, new Request.Options());
+
+		verify(delegateMock).execute(requestCaptor.capture(), any());
+		assertThat(requestCaptor.getValue()).isSameAs(request);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"gzip", "x-gzip", "GZIP"
+	})
+	void executeInflatesGzip(String encoding) throws IOException {
+		final var request = request(Map.of());
+		when(delegateMock.execute(any(), any())).thenReturn(response(request, Map.of("Content-Encoding", List.of(encoding), "Content-Length", List.of("42")), gzip(BODY)));
+
+		final var response = new CompressionClient(delegateMock).execute(request, new Request.Options());
+
+		assertThat(body(response)).isEqualTo(BODY);
+		assertThat(response.headers()).doesNotContainKeys("Content-Encoding", "Content-Length");
+	}
+
+	@Test
+	void executeInflatesDeflate() throws IOException {
+		final var request = request(Map.of());
+		when(delegateMock.execute(any(), any())).thenReturn(response(request, Map.of("content-encoding", List.of("deflate")), deflate(BODY)));
+
+		final var response = new CompressionClient(delegateMock).execute(request, new Request.Options());
+
+		assertThat(body(response)).isEqualTo(BODY);
+		assertThat(response.headers()).doesNotContainKey("Content-Encoding");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"gzip", "deflate"
+	})
+	void executePassesOnAlreadyInflatedBody(String encoding) throws IOException {
+		final var request = request(Map.of());
+		when(delegateMock.execute(any(), any())).thenReturn(response(request, Map.of("Content-Encoding", List.of(encoding)), BODY.getBytes(UTF_8)));
+
+		final var response = new CompressionClient(delegateMock).execute(request, new Request.Options());
+
+		assertThat(body(response)).isEqualTo(BODY);
+		assertThat(response.headers()).doesNotContainKey("Content-Encoding");
+	}
+
+	@Test
+	void executePassesOnUncompressedResponse() throws IOException {
+		final var request = request(Map.of());
+		final var uncompressed = response(request, Map.of("Content-Type", List.of("application/json")), BODY.getBytes(UTF_8));
+		when(delegateMock.execute(any(), any())).thenReturn(uncompressed);
+
+		final var response = new CompressionClient(delegateMock).execute(request, new Request.Options());
+
+		assertThat(response).isSameAs(uncompressed);
+	}
+
+	@Test
+	void executePassesOnEmptyBody() throws IOException {
+		final var request = request(Map.of());
+		when(delegateMock.execute(any(), any())).thenReturn(response(request, Map.of("Content-Encoding", List.of("gzip")), new byte[0]));
+
+		final var response = new CompressionClient(delegateMock).execute(request, new Request.Options());
+
+		assertThat(body(response)).isEmpty();
+	}
+
+	private static Request request(Map<String, Collection<String>> headers) {
+		return Request.create(GET, "http://localhost/2281/agreements", headers, null, UTF_8, null);
+	}
+
+	private static Response response(Request request, Map<String, Collection<String>> headers, byte[] body) {
+		return Response.builder()
+			.status(200)
+			.request(request)
+			.headers(headers)
+			.body(body)
+			.build();
+	}
+
+	private static String body(Response response) throws IOException {
+		try (final var body = response.body().asInputStream()) {
+			return new String(body.readAllBytes(), UTF_8);
+		}
+	}
+
+	private static byte[] gzip(String content) throws IOException {
+		final var bytes = new ByteArrayOutputStream();
+		try (final var gzip = new GZIPOutputStream(bytes)) {
+			gzip.write(content.getBytes(UTF_8));
+		}
+		return bytes.toByteArray();
+	}
+
+	private static byte[] deflate(String content) throws IOException {
+		final var bytes = new ByteArrayOutputStream();
+		try (final var deflate = new DeflaterOutputStream(bytes)) {
+			deflate.write(content.getBytes(UTF_8));
+		}
+		return bytes.toByteArray();
+	}
+}
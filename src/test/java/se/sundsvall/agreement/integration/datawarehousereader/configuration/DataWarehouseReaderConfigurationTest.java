@@ -1,5 +1,7 @@
 package se.sundsvall.agreement.integration.datawarehousereader.configuration;
 
+import feign.Client;
+import feign.Feign;
 import feign.codec.ErrorDecoder;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -12,12 +14,14 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.openfeign.FeignBuilderCustomizer;
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import se.sundsvall.dept44.configuration.feign.FeignMultiCustomizer;
 import se.sundsvall.dept44.configuration.feign.decoder.ProblemErrorDecoder;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
@@ -35,12 +39,27 @@ class DataWarehouseReaderConfigurationTest {
 	@Mock
 	private DataWarehouseReaderProperties propertiesMock;
 
+	@Mock
+	private DataWarehouseReaderTransport transportMock;
+
+	@Mock
+	private Client clientMock;
+
+	@Mock
+	private FeignBuilderCustomizer customizerMock;
+
+	@Mock
+	private Feign.Builder builderMock;
+
 	@Spy
 	private FeignMultiCustomizer feignMultiCustomizerSpy;
 
 	@Captor
 	private ArgumentCaptor<ErrorDecoder> errorDecoderCaptor;
 
+	@Captor
+	private ArgumentCaptor<Client> clientCaptor;
+
 	@InjectMocks
 	private DataWarehouseReaderConfiguration configuration;
 
@@ -58,7 +77,7 @@ class DataWarehouseReaderConfigurationTest {
 		try (MockedStatic<FeignMultiCustomizer> feignMultiCustomizerMock = Mockito.mockStatic(FeignMultiCustomizer.class)) {
 			feignMultiCustomizerMock.when(FeignMultiCustomizer::create).thenReturn(feignMultiCustomizerSpy);
 
-			configuration.feignBuilderCustomizer(clientRepositoryMock, propertiesMock);
+			configuration.feignBuilderCustomizer(clientRepositoryMock, propertiesMock, transportMock);
 
 			feignMultiCustomizerMock.verify(FeignMultiCustomizer::create);
 		}
@@ -78,4 +97,55 @@ class DataWarehouseReaderConfigurationTest {
 			.hasFieldOrPropertyWithValue("integrationName", CLIENT_ID)
 			.hasFieldOrPropertyWithValue("bypassResponseCodes", List.of(NOT_FOUND.value()));
 	}
+
+	@Test
+	void testFeignBuilderHelperWithCompression() {
+
+		when(propertiesMock.compression()).thenReturn(true);
+		when(transportMock.client()).thenReturn(clientMock);
+		when(clientRepositoryMock.findByRegistrationId(CLIENT_ID)).thenReturn(clientRegistrationMock);
+		doReturn(customizerMock).when(feignMultiCustomizerSpy).composeCustomizersToOne();
+
+		final FeignBuilderCustomizer customizer;
+		try (MockedStatic<FeignMultiCustomizer> feignMultiCustomizerMock = Mockito.mockStatic(FeignMultiCustomizer.class)) {
+			feignMultiCustomizerMock.when(FeignMultiCustomizer::create).thenReturn(feignMultiCustomizerSpy);
+
+			customizer = configuration.feignBuilderCustomizer(clientRepositoryMock, propertiesMock, transportMock);
+		}
+
+		customizer.customize(builderMock);
+
+		// Verifications
+		verify(customizerMock).customize(builderMock);
+		verify(builderMock).client(clientCaptor.capture());
+		assertThat(clientCaptor.getValue())
+			.isInstanceOf(DeadlineClient.class)
+			.extracting("delegate")
+			.isInstanceOf(CompressionClient.class)
+			.hasFieldOrPropertyWithValue("delegate", clientMock);
+	}
+
+	@Test
+	void testFeignBuilderHelperWithoutCompression() {
+
+		when(transportMock.client()).thenReturn(clientMock);
+		when(clientRepositoryMock.findByRegistrationId(CLIENT_ID)).thenReturn(clientRegistrationMock);
+		doReturn(customizerMock).when(feignMultiCustomizerSpy).composeCustomizersToOne();
+
+		final FeignBuilderCustomizer customizer;
+		try (MockedStatic<FeignMultiCustomizer> feignMultiCustomizerMock = Mockito.mockStatic(FeignMultiCustomizer.class)) {
+			feignMultiCustomizerMock.when(FeignMultiCustomizer::create).thenReturn(feignMultiCustomizerSpy);
+
+			customizer = configuration.feignBuilderCustomizer(clientRepositoryMock, propertiesMock, transportMock);
+		}
+
+		customizer.customize(builderMock);
+
+		// Verifications
+		verify(customizerMock).customize(builderMock);
+		verify(builderMock).client(clientCaptor.capture());
+		assertThat(clientCaptor.getValue())
+			.isInstanceOf(DeadlineClient.class)
+			.hasFieldOrPropertyWithValue("delegate", clientMock);
+	}
 }
@@ -19,5 +19,8 @@ class DataWarehouseReaderPropertiesTest {
 	void testProperties() {
 		assertThat(properties.connectTimeout()).isEqualTo(5);
 		assertThat(properties.readTimeout()).isEqualTo(30);
+		assertThat(properties.pageFetchParallelism()).isEqualTo(4);
+		assertThat(properties.virtualThreads()).isFalse();
+		assertThat(properties.compression()).isFalse();
 	}
 }
@@ -0,0 +1,29 @@
+package se.sundsvall.agreement.integration.datawarehousereader.configuration;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import se.sundsvall.agreement.Application;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static se.sundsvall.agreement.integration.datawarehousereader.configuration.DataWarehouseReaderTransportProperties.Type.DEFAULT;
+
+@SpringBootTest(classes = Application.class)
+@ActiveProfiles("junit")
+class DataWarehouseReaderTransportPropertiesTest {
+
+	@Autowired
+	private DataWarehouseReaderTransportProperties properties;
+
+	@Test
+	void testProperties() {
+		assertThat(properties.type()).isEqualTo(DEFAULT);
+		assertThat(properties.maxConnections()).isEqualTo(50);
+		assertThat(properties.maxConnectionsPerRoute()).isEqualTo(20);
+		assertThat(properties.idleTimeout()).isEqualTo(Duration.ofSeconds(30));
+		assertThat(properties.timeToLive()).isEqualTo(Duration.ofMinutes(5));
+		assertThat(properties.warmUpConnections()).isZero();
+	}
+}
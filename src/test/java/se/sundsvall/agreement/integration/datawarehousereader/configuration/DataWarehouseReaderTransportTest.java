@@ -0,0 +1,125 @@
+package se.sundsvall.agreement.integration.datawarehousereader.configuration;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import se.sundsvall.agreement.integration.datawarehousereader.configuration.DataWarehouseReaderTransportProperties.Type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.agreement.integration.datawarehousereader.configuration.DataWarehouseReaderConfiguration.CLIENT_ID;
+import static se.sundsvall.agreement.integration.datawarehousereader.configuration.DataWarehouseReaderTransportProperties.Type.APACHE;
+import static se.sundsvall.agreement.integration.datawarehousereader.configuration.DataWarehouseReaderTransportProperties.Type.DEFAULT;
+import static se.sundsvall.agreement.integration.datawarehousereader.configuration.DataWarehouseReaderTransportProperties.Type.JDK;
+
+class DataWarehouseReaderTransportTest {
+
+	private static final DataWarehouseReaderProperties PROPERTIES = new DataWarehouseReaderProperties(5, 30, 4, false, true);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicInteger headRequests = new AtomicInteger();
+
+	private HttpServer server;
+	private String url;
+
+	@BeforeEach
+	void setup() throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", exchange -> {
+			if ("HEAD".equals(exchange.getRequestMethod())) {
+				headRequests.incrementAndGet();
+			}
+			exchange.sendResponseHeaders(401, -1);
+			exchange.close();
+		});
+		server.start();
+		url = "http://localhost:" + server.getAddress().getPort() + "/datawarehousereader";
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	void defaultTransport() throws Exception {
+		final var transport = transport(DEFAULT, 0);
+
+		assertThat(transport.client()).isInstanceOf(Client.Default.class);
+		assertThat(meterRegistry.getMeters()).isEmpty();
+
+		transport.close();
+	}
+
+	@Test
+	void jdkTransport() throws Exception {
+		final var transport = transport(JDK, 0);
+
+		assertThat(transport.client()).isInstanceOf(Http2Client.class);
+		assertThat(meterRegistry.getMeters()).isEmpty();
+
+		transport.close();
+	}
+
+	@Test
+	void apacheTransport() throws Exception {
+		final var transport = transport(APACHE, 0);
+
+		assertThat(transport.client()).isInstanceOf(ApacheHttp5Client.class);
+		assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", CLIENT_ID).gauge().value()).isEqualTo(50);
+		assertThat(meterRegistry.get("httpcomponents.httpclient.pool.route.max.default").tag("httpclient", CLIENT_ID).gauge().value()).isEqualTo(20);
+
+		transport.close();
+	}
+
+	@ParameterizedTest
+	@EnumSource(Type.class)
+	void warmUp(Type type) throws Exception {
+		final var transport = transport(type, 3);
+
+		transport.warmUp();
+
+		assertThat(headRequests).hasValue(3);
+
+		transport.close();
+	}
+
+	@Test
+	void warmUpDisabled() throws Exception {
+		final var transport = transport(APACHE, 0);
+
+		transport.warmUp();
+
+		assertThat(headRequests).hasValue(0);
+
+		transport.close();
+	}
+
+	@Test
+	void warmUpIgnoresFailures() throws Exception {
+		final var transport = transport(APACHE, 2);
+		server.stop(0);
+
+		transport.warmUp();
+
+		assertThat(headRequests).hasValue(0);
+
+		transport.close();
+	}
+
+	private DataWarehouseReaderTransport transport(Type type, int warmUpConnections) {
+		return new DataWarehouseReaderTransport(url, PROPERTIES,
+			new DataWarehouseReaderTransportProperties(type, 50, 20, Duration.ofSeconds(30), Duration.ofMinutes(5), warmUpConnections), meterRegistry);
+	}
+}
@@ -0,0 +1,86 @@
+package se.sundsvall.agreement.integration.datawarehousereader.configuration;
+
+import feign.Client;
+import feign.Request;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sundsvall.agreement.service.RequestDeadline;
+
+import static feign.Request.HttpMethod.GET;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DeadlineClientTest {
+
+	private static final Request REQUEST = Request.create(GET, "http://localhost/2281/agreements", Map.of(), null, UTF_8, null);
+
+	@Mock
+	private Client delegateMock;
+
+	@Captor
+	private ArgumentCaptor<Request.Options> optionsCaptor;
+
+	@AfterEach
+	void tearDown() {
+		RequestDeadline.bind(null);
+	}
+
+	@Test
+	void executeWithoutDeadlineKeepsOptions() throws IOException {
+		final var options = new Request.Options(5, SECONDS, 30, SECONDS, true);
+
+		new DeadlineClient(delegateMock).execute(REQUEST, options);
+
+		verify(delegateMock).execute(same(REQUEST), same(options));
+	}
+
+	@Test
+	void executeLimitsTimeoutsToDeadline() throws IOException {
+		RequestDeadline.bind(RequestDeadline.after(Duration.ofSeconds(10)));
+
+		new DeadlineClient(delegateMock).execute(REQUEST, new Request.Options(5, SECONDS, 30, SECONDS, false));
+
+		verify(delegateMock).execute(same(REQUEST), optionsCaptor.capture());
+		final var options = optionsCaptor.getValue();
+		assertThat(options.connectTimeoutUnit()).isEqualTo(MILLISECONDS);
+		assertThat(options.connectTimeout()).isEqualTo(5000);
+		assertThat(options.readTimeoutUnit()).isEqualTo(MILLISECONDS);
+		assertThat(options.readTimeout()).isPositive().isLessThanOrEqualTo(10000);
+		assertThat(options.isFollowRedirects()).isFalse();
+	}
+
+	@Test
+	void executeUsesDeadlineWhenTimeoutIsDisabled() throws IOException {
+		RequestDeadline.bind(RequestDeadline.after(Duration.ofSeconds(10)));
+
+		new DeadlineClient(delegateMock).execute(REQUEST, new Request.Options(0, SECONDS, 0, SECONDS, true));
+
+		verify(delegateMock).execute(same(REQUEST), optionsCaptor.capture());
+		assertThat(optionsCaptor.getValue().connectTimeout()).isPositive().isLessThanOrEqualTo(10000);
+		assertThat(optionsCaptor.getValue().readTimeout()).isPositive().isLessThanOrEqualTo(10000);
+	}
+
+	@Test
+	void executeAfterDeadlineUsesShortestTimeout() throws IOException {
+		RequestDeadline.bind(RequestDeadline.after(Duration.ZERO));
+
+		new DeadlineClient(delegateMock).execute(REQUEST, new Request.Options(5, SECONDS, 30, SECONDS, true));
+
+		verify(delegateMock).execute(same(REQUEST), optionsCaptor.capture());
+		assertThat(optionsCaptor.getValue().connectTimeout()).isOne();
+		assertThat(optionsCaptor.getValue().readTimeout()).isOne();
+	}
+}
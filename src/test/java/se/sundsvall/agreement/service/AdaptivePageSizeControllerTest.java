@@ -0,0 +1,99 @@
+package se.sundsvall.agreement.service;
+
+import generated.se.sundsvall.datawarehousereader.Agreement;
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import generated.se.sundsvall.datawarehousereader.PagingAndSortingMetaData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.agreement.integration.datawarehousereader.configuration.DataWarehouseReaderProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.agreement.service.AdaptivePageSizeController.PAGE_LATENCY_METRIC;
+import static se.sundsvall.agreement.service.AdaptivePageSizeController.PAGE_SIZE_METRIC;
+
+class AdaptivePageSizeControllerTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String QUERY_TYPE = "party";
+	private static final DataWarehouseReaderProperties DATAWAREHOUSEREADER_PROPERTIES = new DataWarehouseReaderProperties(5, 30, 4, false, true);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void pageSizeIsMaximumWhenNotAdaptive() {
+		final var controller = new AdaptivePageSizeController(new AdaptivePageSizeProperties(false, 50, 1000), DATAWAREHOUSEREADER_PROPERTIES, meterRegistry);
+		final IntFunction<AgreementResponse> pageFetcher = page -> response(1, 1);
+
+		assertThat(controller.observe(QUERY_TYPE, MUNICIPALITY_ID, pageFetcher)).isSameAs(pageFetcher);
+		assertThat(controller.pageSize(QUERY_TYPE, MUNICIPALITY_ID)).isEqualTo(1000);
+		assertThat(meterRegistry.find(PAGE_SIZE_METRIC).gauge()).isNull();
+	}
+
+	@Test
+	void pageSizeIsMaximumBeforeAnythingIsLearned() {
+		final var controller = new AdaptivePageSizeController(new AdaptivePageSizeProperties(true, 50, 1000), DATAWAREHOUSEREADER_PROPERTIES, meterRegistry);
+
+		assertThat(controller.pageSize(QUERY_TYPE, MUNICIPALITY_ID)).isEqualTo(1000);
+		assertThat(meterRegistry.get(PAGE_SIZE_METRIC).tags("type", QUERY_TYPE, "municipalityId", MUNICIPALITY_ID).gauge().value()).isEqualTo(1000);
+	}
+
+	@Test
+	void pageSizeShrinksToMinimumForSmallResults() {
+		final var controller = new AdaptivePageSizeController(new AdaptivePageSizeProperties(true, 50, 1000), DATAWAREHOUSEREADER_PROPERTIES, meterRegistry);
+
+		for (var i = 0; i < 20; i++) {
+			controller.observe(QUERY_TYPE, MUNICIPALITY_ID, page -> response(1, 1)).apply(1);
+		}
+
+		assertThat(controller.pageSize(QUERY_TYPE, MUNICIPALITY_ID)).isEqualTo(50);
+		assertThat(controller.pageSize("facility", MUNICIPALITY_ID)).isEqualTo(1000);
+		assertThat(meterRegistry.get(PAGE_LATENCY_METRIC).tags("type", QUERY_TYPE, "municipalityId", MUNICIPALITY_ID).timer().count()).isEqualTo(20);
+	}
+
+	@Test
+	void pageSizeCoversLargerResultsInOnePage() {
+		final var controller = new AdaptivePageSizeController(new AdaptivePageSizeProperties(true, 50, 1000), DATAWAREHOUSEREADER_PROPERTIES, meterRegistry);
+
+		for (var i = 0; i < 5; i++) {
+			controller.observe(QUERY_TYPE, MUNICIPALITY_ID, page -> response(300, 300)).apply(1);
+		}
+
+		assertThat(controller.pageSize(QUERY_TYPE, MUNICIPALITY_ID)).isEqualTo(300);
+	}
+
+	@Test
+	void pageSizeSplitsResultsWhenRecordsDominateLatency() {
+		final var model = new AdaptivePageSizeController.Model(50, 1000, 4, meterRegistry.timer("test"));
+
+		// Latency is 1 ms per call plus 1 ms per record, so parallel pages beat a single large page. The best is 17 pages of
+		// 59 records, fetched in 5 rounds of 60 ms.
+		for (var records = 50; records <= 1000; records += 50) {
+			model.recordPage(records, 1_000_000L + records * 1_000_000L);
+		}
+		model.recordTotalRecords(1000);
+
+		assertThat(model.pageSize()).isEqualTo(59);
+	}
+
+	@Test
+	void pageSizeIsSingleLargePageWhenCallOverheadDominatesLatency() {
+		final var model = new AdaptivePageSizeController.Model(50, 1000, 4, meterRegistry.timer("test"));
+
+		// Latency is 100 ms per call plus 1 µs per record, so one page is the fastest
+		for (var records = 50; records <= 1000; records += 50) {
+			model.recordPage(records, 100_000_000L + records * 1_000L);
+		}
+		model.recordTotalRecords(1000);
+
+		assertThat(model.pageSize()).isEqualTo(1000);
+	}
+
+	private static AgreementResponse response(int records, long totalRecords) {
+		return new AgreementResponse()
+			.agreements(new ArrayList<>(Collections.nCopies(records, new Agreement())))
+			.meta(new PagingAndSortingMetaData().totalRecords(totalRecords).totalPages(1));
+	}
+}
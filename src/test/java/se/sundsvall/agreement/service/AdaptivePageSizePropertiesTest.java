@@ -0,0 +1,24 @@
+package se.sundsvall.agreement.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import se.sundsvall.agreement.Application;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest(classes = Application.class)
+@ActiveProfiles("junit")
+class AdaptivePageSizePropertiesTest {
+
+	@Autowired
+	private AdaptivePageSizeProperties properties;
+
+	@Test
+	void testProperties() {
+		assertThat(properties.adaptive()).isFalse();
+		assertThat(properties.minimum()).isEqualTo(50);
+		assertThat(properties.maximum()).isEqualTo(1000);
+	}
+}
@@ -0,0 +1,70 @@
+package se.sundsvall.agreement.service;
+
+import generated.se.sundsvall.datawarehousereader.Agreement;
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import generated.se.sundsvall.datawarehousereader.PagingAndSortingMetaData;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import se.sundsvall.dept44.problem.ThrowableProblem;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+class AgreementCursorTest {
+
+	@Test
+	void encodeAndDecode() {
+		final var cursor = new AgreementCursor(2718281828L, 49, "513:476");
+
+		final var encoded = cursor.encode();
+
+		assertThat(encoded).doesNotContain("=", "+", "/");
+		assertThat(AgreementCursor.decode(encoded)).isEqualTo(cursor);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"not base64!", "Mjox", "MToxOjE6YWdyZWVtZW50SWQ", "MjphOjE6YWdyZWVtZW50SWQ", "MjoxOjE6"
+	})
+	void decodeInvalidCursor(String cursor) {
+		assertThatThrownBy(() -> AgreementCursor.decode(cursor))
+			.isInstanceOf(ThrowableProblem.class)
+			.hasFieldOrPropertyWithValue("status", BAD_REQUEST)
+			.hasMessageContaining("Invalid cursor '%s'".formatted(cursor));
+	}
+
+	@Test
+	void decodeNegativeOffset() {
+		final var cursor = Base64.getUrlEncoder().encodeToString("2:1:-1:agreementId".getBytes(UTF_8));
+
+		assertThatThrownBy(() -> AgreementCursor.decode(cursor))
+			.isInstanceOf(ThrowableProblem.class)
+			.hasFieldOrPropertyWithValue("status", BAD_REQUEST);
+	}
+
+	@Test
+	void afterWindowWithMoreAgreements() {
+		final var window = window(5L, "a3", "a4");
+
+		assertThat(AgreementCursor.after(1L, 2, window)).contains(new AgreementCursor(1L, 3, "a4"));
+	}
+
+	@Test
+	void afterLastWindow() {
+		assertThat(AgreementCursor.after(1L, 3, window(5L, "a4", "a5"))).isEmpty();
+		assertThat(AgreementCursor.after(1L, 0, window(5L))).isEmpty();
+		assertThat(AgreementCursor.after(1L, 0, window(null, "a1"))).isEmpty();
+		assertThat(AgreementCursor.after(1L, 0, null)).isEmpty();
+	}
+
+	private static AgreementResponse window(Long totalRecords, String... agreementIds) {
+		return new AgreementResponse()
+			.agreements(List.of(agreementIds).stream().map(agreementId -> new Agreement().agreementId(agreementId)).toList())
+			.meta(new PagingAndSortingMetaData().totalRecords(totalRecords));
+	}
+}
@@ -0,0 +1,57 @@
+package se.sundsvall.agreement.service;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.agreement.api.model.Agreement;
+import se.sundsvall.agreement.api.model.AgreementFields;
+import se.sundsvall.agreement.api.model.AgreementParty;
+import tools.jackson.databind.json.JsonMapper;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.agreement.api.model.AgreementFields.ALL;
+
+class AgreementJsonWriterTest {
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+	private final AgreementJsonWriter agreementJsonWriter = new AgreementJsonWriter(jsonMapper);
+
+	private static AgreementParty party() {
+		return AgreementParty.create()
+			.withCustomerId("customerId")
+			.withAgreements(List.of(Agreement.create()
+				.withAgreementId("agreementId")
+				.withFacilityId("facilityId")
+				.withActive(false)
+				.withBinding(true)));
+	}
+
+	@Test
+	void writeValueAsBytesWithSparseFields() {
+		final var json = new String(agreementJsonWriter.writeValueAsBytes(party(), AgreementFields.of(List.of("agreementId", "active"))), UTF_8);
+
+		assertThat(json).isEqualTo("{\"customerId\":\"customerId\",\"agreements\":[{\"agreementId\":\"agreementId\",\"active\":false}]}");
+	}
+
+	@Test
+	void writeValueAsBytesWithAllFields() {
+		final var json = new String(agreementJsonWriter.writeValueAsBytes(party(), ALL), UTF_8);
+
+		assertThat(json).isEqualTo(jsonMapper.writeValueAsString(party()));
+	}
+
+	@Test
+	void writeValueAsRaw() {
+		final var raw = agreementJsonWriter.writeValueAsRaw(party(), AgreementFields.of(List.of("binding")));
+
+		assertThat(raw.rawValue()).isEqualTo("{\"customerId\":\"customerId\",\"agreements\":[{\"binding\":true}]}");
+	}
+
+	@Test
+	void applicationMapperIsNotAffected() {
+		agreementJsonWriter.writeValueAsBytes(party(), AgreementFields.of(List.of("binding")));
+
+		assertThat(jsonMapper.writeValueAsString(party())).contains("\"facilityId\":\"facilityId\"");
+	}
+}
@@ -2,29 +2,55 @@ package se.sundsvall.agreement.service;
 
 import generated.se.sundsvall.datawarehousereader.Agreement;
 import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import generated.se.sundsvall.datawarehousereader.Direction;
 import generated.se.sundsvall.datawarehousereader.PagingAndSortingMetaData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import se.sundsvall.agreement.api.model.AgreementParameters;
 import se.sundsvall.agreement.api.model.Category;
 import se.sundsvall.agreement.integration.datawarehousereader.DataWarehouseReaderClient;
+import se.sundsvall.agreement.integration.datawarehousereader.configuration.DataWarehouseReaderProperties;
+import se.sundsvall.dept44.problem.Problem;
+import se.sundsvall.dept44.problem.ThrowableProblem;
 
 import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.InstanceOfAssertFactories.LIST;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.springframework.http.HttpStatus.BAD_GATEWAY;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpStatus.GONE;
 import static se.sundsvall.agreement.api.model.Category.WASTE_MANAGEMENT;
+import static se.sundsvall.agreement.service.DataWarehouseReaderMetrics.CANCELLED_METRIC;
+import static se.sundsvall.agreement.service.DataWarehouseReaderMetrics.FETCH_METRIC;
+import static se.sundsvall.agreement.service.DataWarehouseReaderMetrics.PAGES_METRIC;
+import static se.sundsvall.agreement.service.DataWarehouseReaderMetrics.PAGE_METRIC;
+import static se.sundsvall.agreement.service.DataWarehouseReaderMetrics.RECORDS_METRIC;
 
 @ExtendWith(MockitoExtension.class)
 class AgreementPartyProviderTest {
@@ -41,9 +67,28 @@ class AgreementPartyProviderTest {
 	@Mock
 	private PagingAndSortingMetaData metaDataMock;
 
-	@InjectMocks
+	private SimpleMeterRegistry meterRegistry;
+
+	private PageFetchExecutor pageFetchExecutor;
+
 	private AgreementPartyProvider agreementPartyProvider;
 
+	@BeforeEach
+	void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+		final var dataWarehouseReaderProperties = new DataWarehouseReaderProperties(5, 30, 2, false, true);
+		pageFetchExecutor = new PageFetchExecutor(dataWarehouseReaderProperties, meterRegistry);
+		agreementPartyProvider = new AgreementPartyProvider(dataWarehouseReaderClientMock, pageFetchExecutor, new RequestCoalescer(meterRegistry),
+			new AdaptivePageSizeController(new AdaptivePageSizeProperties(false, 50, 1000), dataWarehouseReaderProperties, meterRegistry),
+			new PageFetchHedger(new HedgingProperties(false, 0.95, Duration.ofMillis(50), 100, 1000, 0.05, 10), meterRegistry), new DataWarehouseReaderMetrics(meterRegistry));
+	}
+
+	@AfterEach
+	void tearDown() {
+		pageFetchExecutor.shutdown();
+		RequestDeadline.bind(null);
+	}
+
 	@Test
 	void getAgreementsByCategoryAndFacilityIdWhenAgreementResponseHasOnePage() {
 
@@ -136,29 +181,478 @@ class AgreementPartyProviderTest {
 	}
 
 	@Test
-	void getAgreementsByPartyIdAndCategoriesPaged() {
+	void getAgreementsByPartyIdAndCategoriesKeepsPageOrder() {
 
 		// Arrange
 		final var municipalityId = "municipalityId";
 		final var partyId = "partyId";
-		final List<Category> categories = List.of(WASTE_MANAGEMENT);
-		final var page = 2;
-		final var limit = 13;
-		final var active = Boolean.TRUE;
+		final var meta = new PagingAndSortingMetaData().totalPages(4);
+		final var agreement1 = new Agreement().agreementId("1");
+		final var agreement2 = new Agreement().agreementId("2");
+		final var agreement3 = new Agreement().agreementId("3");
+		final var agreement4 = new Agreement().agreementId("4");
+		final var lastPageFetched = new CountDownLatch(1);
+
+		when(dataWarehouseReaderClientMock.getAgreementsByPartyIdAndCategories(any(), any(), any(), eq(1), anyInt(), any())).thenReturn(new AgreementResponse().agreements(new ArrayList<>(List.of(agreement1))).meta(meta));
+		when(dataWarehouseReaderClientMock.getAgreementsByPartyIdAndCategories(any(), any(), any(), eq(2), anyInt(), any())).thenAnswer(invocation -> {
+			// Delay page 2 until the pages following it have been fetched
+			assertThat(lastPageFetched.await(5, SECONDS)).isTrue();
+			return new AgreementResponse().agreements(List.of(agreement2)).meta(meta);
+		});
+		when(dataWarehouseReaderClientMock.getAgreementsByPartyIdAndCategories(any(), any(), any(), eq(3), anyInt(), any())).thenReturn(new AgreementResponse().agreements(List.of(agreement3)).meta(meta));
+		when(dataWarehouseReaderClientMock.getAgreementsByPartyIdAndCategories(any(), any(), any(), eq(4), anyInt(), any())).thenAnswer(invocation -> {
+			lastPageFetched.countDown();
+			return new AgreementResponse().agreements(List.of(agreement4)).meta(meta);
+		});
+
+		// Act
+		final var response = agreementPartyProvider.getAgreementsByPartyIdAndCategories(municipalityId, partyId, emptyList(), true);
+
+		// Assert
+		assertThat(response.getAgreements()).containsExactly(agreement1, agreement2, agreement3, agreement4);
+		assertThat(meterRegistry.get(PAGE_METRIC).tags("endpoint", "party", "category", "ALL", "municipalityId", municipalityId).timer().count()).isEqualTo(4);
+		assertThat(meterRegistry.get(FETCH_METRIC).tags("endpoint", "party", "category", "ALL", "municipalityId", municipalityId).timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get(PAGES_METRIC).tags("endpoint", "party", "category", "ALL", "municipalityId", municipalityId).summary().totalAmount()).isEqualTo(4);
+		assertThat(meterRegistry.get(RECORDS_METRIC).tags("endpoint", "party", "category", "ALL", "municipalityId", municipalityId).summary().totalAmount()).isEqualTo(4);
+	}
+
+	@Test
+	void getAgreementsByCategoryAndFacilityWhenFetchOfRemainingPageFails() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var facilityId = "facilityId";
+		final var problem = Problem.valueOf(BAD_GATEWAY, "Bad gateway");
+
+		when(dataWarehouseReaderClientMock.getAgreementsByCategoryAndFacility(any(), any(), any(), eq(1), anyInt(), any())).thenReturn(
+			new AgreementResponse().agreements(new ArrayList<>(List.of(agreementMock))).meta(new PagingAndSortingMetaData().totalPages(2)));
+		when(dataWarehouseReaderClientMock.getAgreementsByCategoryAndFacility(any(), any(), any(), eq(2), anyInt(), any())).thenThrow(problem);
+
+		// Act and assert
+		assertThatThrownBy(() -> agreementPartyProvider.getAgreementsByCategoryAndFacility(municipalityId, WASTE_MANAGEMENT, facilityId, true))
+			.isInstanceOf(ThrowableProblem.class)
+			.isSameAs(problem);
+	}
+
+	@Test
+	void getAgreementsByCategoryAndFacilityWhenDeadlineHasPassed() {
+
+		// Arrange
+		RequestDeadline.bind(RequestDeadline.after(Duration.ZERO));
+
+		// Act and assert
+		assertThatThrownBy(() -> agreementPartyProvider.getAgreementsByCategoryAndFacility("municipalityId", WASTE_MANAGEMENT, "facilityId", true))
+			.isInstanceOf(ThrowableProblem.class)
+			.hasFieldOrPropertyWithValue("status", GATEWAY_TIMEOUT);
+		verifyNoInteractions(dataWarehouseReaderClientMock);
+	}
+
+	@Test
+	void getAgreementsByPartyIdAndCategoriesWhenDeadlinePassesDuringWalk() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var partyId = "partyId";
+		final var deadline = RequestDeadline.after(Duration.ofMillis(50));
+		RequestDeadline.bind(deadline);
+
+		when(dataWarehouseReaderClientMock.getAgreementsByPartyIdAndCategories(any(), any(), any(), eq(1), anyInt(), any())).thenAnswer(invocation -> {
+			// Answer the first page once the deadline has passed
+			while (!deadline.isExpired()) {
+				Thread.onSpinWait();
+			}
+			return new AgreementResponse().agreements(new ArrayList<>(List.of(agreementMock))).meta(new PagingAndSortingMetaData().totalPages(3));
+		});
+
+		// Act and assert
+		assertThatThrownBy(() -> agreementPartyProvider.getAgreementsByPartyIdAndCategories(municipalityId, partyId, emptyList(), true))
+			.isInstanceOf(ThrowableProblem.class)
+			.hasFieldOrPropertyWithValue("status", GATEWAY_TIMEOUT);
+		verify(dataWarehouseReaderClientMock).getAgreementsByPartyIdAndCategories(municipalityId, partyId, emptyList(), 1, 1000, true);
+		verifyNoMoreInteractions(dataWarehouseReaderClientMock);
+	}
+
+	@Test
+	void getAgreementsByCategoryAndFacilityWhenRequestIsCancelledDuringWalk() throws Exception {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var facilityId = "facilityId";
+		final var deadline = RequestDeadline.none();
+		final var started = new CountDownLatch(2);
+		final var release = new CountDownLatch(1);
+		RequestDeadline.bind(deadline);
+
+		when(dataWarehouseReaderClientMock.getAgreementsByCategoryAndFacility(any(), any(), any(), eq(1), anyInt(), any())).thenReturn(
+			new AgreementResponse().agreements(new ArrayList<>(List.of(agreementMock))).meta(new PagingAndSortingMetaData().totalPages(3)));
+		// Pages 2 and 3 are outstanding until released, and the request is cancelled once both have started
+		when(dataWarehouseReaderClientMock.getAgreementsByCategoryAndFacility(any(), any(), any(), intThat(page -> page > 1), anyInt(), any())).thenAnswer(invocation -> {
+			started.countDown();
+			release.await(5, SECONDS);
+			return new AgreementResponse().agreements(new ArrayList<>(List.of(agreementMock))).meta(new PagingAndSortingMetaData().totalPages(3));
+		});
+		final var canceller = CompletableFuture.runAsync(() -> {
+			try {
+				started.await(5, SECONDS);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			deadline.cancel();
+		});
+
+		// Act and assert
+		try {
+			assertThatThrownBy(() -> agreementPartyProvider.getAgreementsByCategoryAndFacility(municipalityId, WASTE_MANAGEMENT, facilityId, true))
+				.isInstanceOf(CancellationException.class);
+			canceller.join();
+			assertThat(meterRegistry.get(CANCELLED_METRIC).tags("endpoint", "facility", "municipalityId", municipalityId).counter().count()).isEqualTo(2);
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	void getAgreementsByPartyIdAndCategoriesWhenRequestIsCancelled() {
+
+		// Arrange
+		final var deadline = RequestDeadline.none();
+		deadline.cancel();
+		RequestDeadline.bind(deadline);
+
+		// Act and assert
+		assertThatThrownBy(() -> agreementPartyProvider.getAgreementsByPartyIdAndCategories("municipalityId", "partyId", emptyList(), true))
+			.isInstanceOf(CancellationException.class);
+		verifyNoInteractions(dataWarehouseReaderClientMock);
+	}
+
+	@Test
+	void streamAgreementsByPartyIdAndCategoriesPassesPagesInOrder() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var partyId = "partyId";
+		final var meta = new PagingAndSortingMetaData().totalPages(3);
+		final var page1 = new AgreementResponse().agreements(List.of(agreementMock)).meta(meta);
+		final var page2 = new AgreementResponse().agreements(List.of(agreementMock)).meta(meta);
+		final var page3 = new AgreementResponse().agreements(List.of(agreementMock)).meta(meta);
+		final var consumedPages = new ArrayList<AgreementResponse>();
+
+		when(dataWarehouseReaderClientMock.getAgreementsByPartyIdAndCategories(any(), any(), any(), eq(1), anyInt(), any())).thenReturn(page1);
+		when(dataWarehouseReaderClientMock.getAgreementsByPartyIdAndCategories(any(), any(), any(), eq(2), anyInt(), any())).thenReturn(page2);
+		when(dataWarehouseReaderClientMock.getAgreementsByPartyIdAndCategories(any(), any(), any(), eq(3), anyInt(), any())).thenReturn(page3);
+
+		// Act
+		agreementPartyProvider.streamAgreementsByPartyIdAndCategories(municipalityId, partyId, List.of(WASTE_MANAGEMENT), false, consumedPages::add);
+
+		// Assert
+		assertThat(consumedPages).containsExactly(page1, page2, page3);
+		verify(dataWarehouseReaderClientMock).getAgreementsByPartyIdAndCategories(municipalityId, partyId, List.of(generated.se.sundsvall.datawarehousereader.Category.WASTE_MANAGEMENT), 1, 1000, null);
+		verify(dataWarehouseReaderClientMock).getAgreementsByPartyIdAndCategories(municipalityId, partyId, List.of(generated.se.sundsvall.datawarehousereader.Category.WASTE_MANAGEMENT), 2, 1000, null);
+		verify(dataWarehouseReaderClientMock).getAgreementsByPartyIdAndCategories(municipalityId, partyId, List.of(generated.se.sundsvall.datawarehousereader.Category.WASTE_MANAGEMENT), 3, 1000, null);
+	}
+
+	@Test
+	void streamAgreementsByCategoryAndFacilityPassesPagesSortedByCustomer() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var facilityId = "facilityId";
+		final var meta = new PagingAndSortingMetaData().totalPages(2);
+		final var page1 = new AgreementResponse().agreements(List.of(agreementMock)).meta(meta);
+		final var page2 = new AgreementResponse().agreements(List.of(agreementMock)).meta(meta);
+		final var consumedPages = new ArrayList<AgreementResponse>();
+		final var searchParameters = ArgumentCaptor.forClass(generated.se.sundsvall.datawarehousereader.AgreementParameters.class);
 
-		when(dataWarehouseReaderClientMock.getAgreementsByPartyIdAndCategories(any(), any(), any(), anyInt(), anyInt(), any())).thenReturn(agreementResponseMock);
+		when(dataWarehouseReaderClientMock.getAgreements(any(), any())).thenAnswer(invocation -> {
+			final generated.se.sundsvall.datawarehousereader.AgreementParameters parameters = invocation.getArgument(1);
+			return parameters.getPage() == 1 ? page1 : page2;
+		});
+
+		// Act
+		agreementPartyProvider.streamAgreementsByCategoryAndFacility(municipalityId, Category.ELECTRICITY, facilityId, true, consumedPages::add);
+
+		// Assert
+		assertThat(consumedPages).containsExactly(page1, page2);
+		verify(dataWarehouseReaderClientMock, times(2)).getAgreements(eq(municipalityId), searchParameters.capture());
+		assertThat(searchParameters.getAllValues()).extracting(generated.se.sundsvall.datawarehousereader.AgreementParameters::getPage).containsExactly(1, 2);
+		assertThat(searchParameters.getAllValues()).allSatisfy(value -> {
+			assertThat(value.getFacilityId()).isEqualTo(facilityId);
+			assertThat(value.getCategory()).containsExactly(generated.se.sundsvall.datawarehousereader.Category.ELECTRICITY);
+			assertThat(value.getActive()).isTrue();
+			assertThat(value.getLimit()).isEqualTo(1000);
+			assertThat(value.getSortBy()).containsExactly("customerNumber", "agreementId");
+		});
+	}
+
+	@Test
+	void streamAgreementsByCategoryPassesPagesSortedByAgreementId() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var meta = new PagingAndSortingMetaData().totalPages(2);
+		final var page1 = new AgreementResponse().agreements(List.of(agreementMock)).meta(meta);
+		final var page2 = new AgreementResponse().agreements(List.of(agreementMock)).meta(meta);
+		final var consumedPages = new ArrayList<AgreementResponse>();
+		final var searchParameters = ArgumentCaptor.forClass(generated.se.sundsvall.datawarehousereader.AgreementParameters.class);
+
+		when(dataWarehouseReaderClientMock.getAgreements(any(), any())).thenAnswer(invocation -> {
+			final generated.se.sundsvall.datawarehousereader.AgreementParameters parameters = invocation.getArgument(1);
+			return parameters.getPage() == 1 ? page1 : page2;
+		});
+
+		// Act
+		agreementPartyProvider.streamAgreementsByCategory(municipalityId, Category.WATER, 500, consumedPages::add);
+
+		// Assert
+		assertThat(consumedPages).containsExactly(page1, page2);
+		verify(dataWarehouseReaderClientMock, times(2)).getAgreements(eq(municipalityId), searchParameters.capture());
+		assertThat(searchParameters.getAllValues()).extracting(generated.se.sundsvall.datawarehousereader.AgreementParameters::getPage).containsExactly(1, 2);
+		assertThat(searchParameters.getAllValues()).allSatisfy(value -> {
+			assertThat(value.getCategory()).containsExactly(generated.se.sundsvall.datawarehousereader.Category.WATER);
+			assertThat(value.getLimit()).isEqualTo(500);
+			assertThat(value.getSortBy()).containsExactly("agreementId");
+		});
+	}
+
+	@Test
+	void streamAgreementsByCategoryChangedSincePassesStartingAndEndingAgreements() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var since = LocalDate.of(2026, 10, 17);
+		final var until = LocalDate.of(2026, 10, 18);
+		final var starting = new Agreement().agreementId("starting").fromDate(until);
+		final var ending = new Agreement().agreementId("ending").toDate(since);
+		final var consumedAgreements = new ArrayList<Agreement>();
+		final var searchParameters = ArgumentCaptor.forClass(generated.se.sundsvall.datawarehousereader.AgreementParameters.class);
+
+		when(dataWarehouseReaderClientMock.getAgreements(any(), any())).thenAnswer(invocation -> {
+			final generated.se.sundsvall.datawarehousereader.AgreementParameters parameters = invocation.getArgument(1);
+			return new AgreementResponse().agreements(List.of(parameters.getFromDate() != null ? starting : ending)).meta(new PagingAndSortingMetaData().totalPages(1));
+		});
 
 		// Act
-		final var response = agreementPartyProvider.getAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, page, limit, active, true);
+		agreementPartyProvider.streamAgreementsByCategoryChangedSince(municipalityId, Category.WATER, since, until, 500, page -> consumedAgreements.addAll(page.getAgreements()));
 
 		// Assert
-		verify(dataWarehouseReaderClientMock).getAgreementsByPartyIdAndCategories(
-			eq(municipalityId),
-			same(partyId),
-			eq(List.of(generated.se.sundsvall.datawarehousereader.Category.WASTE_MANAGEMENT)),
-			eq(page),
-			eq(limit),
-			same(active));
+		assertThat(consumedAgreements).containsExactly(starting, ending);
+		verify(dataWarehouseReaderClientMock, times(2)).getAgreements(eq(municipalityId), searchParameters.capture());
+		assertThat(searchParameters.getAllValues()).satisfiesExactly(
+			value -> {
+				assertThat(value.getFromDate()).isEqualTo(since);
+				assertThat(value.getSortBy()).containsExactly("fromDate", "agreementId");
+			},
+			value -> {
+				assertThat(value.getToDate()).isEqualTo(since);
+				assertThat(value.getSortBy()).containsExactly("toDate", "agreementId");
+			});
+		assertThat(searchParameters.getAllValues()).allSatisfy(value -> {
+			assertThat(value.getCategory()).containsExactly(generated.se.sundsvall.datawarehousereader.Category.WATER);
+			assertThat(value.getPage()).isOne();
+			assertThat(value.getLimit()).isEqualTo(500);
+		});
+	}
+
+	@Test
+	void streamAgreementsByCategoryChangedSinceStopsAfterUpperDate() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var since = LocalDate.of(2026, 10, 17);
+		final var until = LocalDate.of(2026, 10, 18);
+		final var endedSince = new Agreement().agreementId("endedSince").toDate(since);
+		final var endedToday = new Agreement().agreementId("endedToday").toDate(until);
+		final var endingLater = new Agreement().agreementId("endingLater").toDate(until.plusYears(1));
+		final var consumedAgreements = new ArrayList<Agreement>();
+
+		when(dataWarehouseReaderClientMock.getAgreements(any(), any())).thenAnswer(invocation -> {
+			final generated.se.sundsvall.datawarehousereader.AgreementParameters parameters = invocation.getArgument(1);
+			return parameters.getFromDate() != null
+				? new AgreementResponse().agreements(List.of()).meta(new PagingAndSortingMetaData().totalPages(0))
+				: new AgreementResponse().agreements(List.of(endedSince, endedToday, endingLater)).meta(new PagingAndSortingMetaData().totalPages(3));
+		});
+
+		// Act
+		agreementPartyProvider.streamAgreementsByCategoryChangedSince(municipalityId, Category.WATER, since, until, 3, page -> consumedAgreements.addAll(page.getAgreements()));
+
+		// Assert
+		assertThat(consumedAgreements).containsExactly(endedSince, endedToday);
+		verify(dataWarehouseReaderClientMock, times(2)).getAgreements(eq(municipalityId), any());
+		verifyNoMoreInteractions(dataWarehouseReaderClientMock);
+	}
+
+	@Test
+	void getPagedAgreementsByPartyIdAndCategoriesPushesDownFiltersAndSorting() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var partyId = "partyId";
+		final List<Category> categories = List.of(WASTE_MANAGEMENT);
+		final var parameters = AgreementParameters.create()
+			.withPage(2)
+			.withLimit(13)
+			.withSortBy(List.of("fromDate"))
+			.withSortDirection(DESC)
+			.withMainAgreement(true)
+			.withBinding(false)
+			.withNetAreaId("SUV")
+			.withFromDate(LocalDate.of(2024, 1, 1));
+		final var searchParameters = ArgumentCaptor.forClass(generated.se.sundsvall.datawarehousereader.AgreementParameters.class);
+
+		when(dataWarehouseReaderClientMock.getAgreements(any(), any())).thenReturn(agreementResponseMock);
+
+		// Act
+		final var response = agreementPartyProvider.getPagedAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, parameters);
+
+		// Assert
+		verify(dataWarehouseReaderClientMock).getAgreements(eq(municipalityId), searchParameters.capture());
+		assertThat(searchParameters.getValue()).satisfies(value -> {
+			assertThat(value.getPartyId()).isEqualTo(partyId);
+			assertThat(value.getCategory()).containsExactly(generated.se.sundsvall.datawarehousereader.Category.WASTE_MANAGEMENT);
+			assertThat(value.getPage()).isEqualTo(2);
+			assertThat(value.getLimit()).isEqualTo(13);
+			assertThat(value.getActive()).isTrue();
+			assertThat(value.getSortBy()).containsExactly("fromDate", "agreementId");
+			assertThat(value.getSortDirection()).isEqualTo(Direction.DESC);
+			assertThat(value.getMainAgreement()).isTrue();
+			assertThat(value.getBinding()).isFalse();
+			assertThat(value.getProduction()).isNull();
+			assertThat(value.getNetAreaId()).isEqualTo("SUV");
+			assertThat(value.getFromDate()).isEqualTo(LocalDate.of(2024, 1, 1));
+			assertThat(value.getToDate()).isNull();
+		});
 		assertThat(response).isSameAs(agreementResponseMock);
+		verifyNoMoreInteractions(dataWarehouseReaderClientMock);
+	}
+
+	@Test
+	void getPagedAgreementsByPartyIdAndCategoriesWithoutSortingIsSortedByAgreementId() {
+
+		// Arrange
+		final var parameters = AgreementParameters.create().withPage(1).withLimit(2);
+		final var searchParameters = ArgumentCaptor.forClass(generated.se.sundsvall.datawarehousereader.AgreementParameters.class);
+
+		when(dataWarehouseReaderClientMock.getAgreements(any(), any())).thenReturn(agreementResponseMock);
+
+		// Act
+		agreementPartyProvider.getPagedAgreementsByPartyIdAndCategories("municipalityId", "partyId", emptyList(), parameters);
+
+		// Assert
+		verify(dataWarehouseReaderClientMock).getAgreements(eq("municipalityId"), searchParameters.capture());
+		assertThat(searchParameters.getValue().getSortBy()).containsExactly("agreementId");
+		assertThat(searchParameters.getValue().getSortDirection()).isNull();
+		verifyNoMoreInteractions(dataWarehouseReaderClientMock);
+	}
+
+	@Test
+	void getPagedAgreementsAfterCursorWhenResultIsUnchanged() {
+
+		// Arrange
+		final var parameters = AgreementParameters.create().withLimit(2);
+		final var cursor = new AgreementCursor(1L, 1, "a2");
+		final var searchParameters = ArgumentCaptor.forClass(generated.se.sundsvall.datawarehousereader.AgreementParameters.class);
+
+		when(dataWarehouseReaderClientMock.getAgreements(any(), any())).thenAnswer(invocation -> page(List.of("a1", "a2", "a3", "a4", "a5", "a6"), invocation.getArgument(1), 2));
+
+		// Act
+		final var result = agreementPartyProvider.getPagedAgreementsAfterCursor("municipalityId", "partyId", emptyList(), parameters, cursor);
+
+		// Assert
+		assertThat(result.offset()).isEqualTo(2);
+		assertThat(result.response().getAgreements()).extracting(Agreement::getAgreementId).containsExactly("a3", "a4");
+		assertThat(result.response().getMeta().getPage()).isEqualTo(2);
+		assertThat(result.response().getMeta().getCount()).isEqualTo(2);
+		assertThat(result.response().getMeta().getTotalRecords()).isEqualTo(6L);
+		verify(dataWarehouseReaderClientMock, times(2)).getAgreements(eq("municipalityId"), searchParameters.capture());
+		assertThat(searchParameters.getAllValues()).extracting(generated.se.sundsvall.datawarehousereader.AgreementParameters::getPage).containsExactly(1, 2);
+		assertThat(searchParameters.getValue().getSortBy()).containsExactly("agreementId");
+		verifyNoMoreInteractions(dataWarehouseReaderClientMock);
+	}
+
+	@Test
+	void getPagedAgreementsAfterCursorWhenAgreementIsMovedWithUnchangedTotalRecords() {
+
+		// Arrange
+		final var parameters = AgreementParameters.create().withLimit(2);
+		final var cursor = new AgreementCursor(1L, 1, "a2");
+
+		when(dataWarehouseReaderClientMock.getAgreements(any(), any())).thenAnswer(invocation -> page(List.of("a0", "a1", "a2", "a3", "a4", "a6"), invocation.getArgument(1), 2));
+
+		// Act
+		final var result = agreementPartyProvider.getPagedAgreementsAfterCursor("municipalityId", "partyId", emptyList(), parameters, cursor);
+
+		// Assert
+		assertThat(result.offset()).isEqualTo(3);
+		assertThat(result.response().getAgreements()).extracting(Agreement::getAgreementId).containsExactly("a3", "a4");
+		assertThat(result.response().getMeta().getTotalRecords()).isEqualTo(6L);
+	}
+
+	@Test
+	void getPagedAgreementsAfterCursorWhenAgreementIsAddedBeforeCursor() {
+
+		// Arrange
+		final var parameters = AgreementParameters.create().withLimit(2);
+		final var cursor = new AgreementCursor(1L, 1, "a2");
+
+		when(dataWarehouseReaderClientMock.getAgreements(any(), any())).thenAnswer(invocation -> page(List.of("a0", "a1", "a2", "a3", "a4", "a5", "a6"), invocation.getArgument(1), 2));
+
+		// Act
+		final var result = agreementPartyProvider.getPagedAgreementsAfterCursor("municipalityId", "partyId", emptyList(), parameters, cursor);
+
+		// Assert
+		assertThat(result.offset()).isEqualTo(3);
+		assertThat(result.response().getAgreements()).extracting(Agreement::getAgreementId).containsExactly("a3", "a4");
+		assertThat(result.response().getMeta().getTotalRecords()).isEqualTo(7L);
+	}
+
+	@Test
+	void getPagedAgreementsAfterCursorWhenAgreementIsRemovedBeforeCursor() {
+
+		// Arrange
+		final var parameters = AgreementParameters.create().withLimit(2);
+		final var cursor = new AgreementCursor(1L, 1, "a2");
+
+		when(dataWarehouseReaderClientMock.getAgreements(any(), any())).thenAnswer(invocation -> page(List.of("a2", "a3", "a4", "a5", "a6"), invocation.getArgument(1), 2));
+
+		// Act
+		final var result = agreementPartyProvider.getPagedAgreementsAfterCursor("municipalityId", "partyId", emptyList(), parameters, cursor);
+
+		// Assert
+		assertThat(result.offset()).isEqualTo(1);
+		assertThat(result.response().getAgreements()).extracting(Agreement::getAgreementId).containsExactly("a3", "a4");
+		assertThat(result.response().getMeta().getTotalRecords()).isEqualTo(5L);
+	}
+
+	@Test
+	void getPagedAgreementsAfterCursorWhenCursorAgreementIsRemoved() {
+
+		// Arrange
+		final var parameters = AgreementParameters.create().withLimit(2);
+		final var cursor = new AgreementCursor(1L, 1, "a2");
+
+		when(dataWarehouseReaderClientMock.getAgreements(any(), any())).thenAnswer(invocation -> page(List.of("a1", "a3", "a4", "a5", "a6"), invocation.getArgument(1), 2));
+
+		// Act and assert
+		assertThatThrownBy(() -> agreementPartyProvider.getPagedAgreementsAfterCursor("municipalityId", "partyId", emptyList(), parameters, cursor))
+			.isInstanceOf(ThrowableProblem.class)
+			.hasFieldOrPropertyWithValue("status", GONE);
+	}
+
+	private static AgreementResponse page(List<String> agreementIds, generated.se.sundsvall.datawarehousereader.AgreementParameters searchParameters, int limit) {
+		final var totalPages = (agreementIds.size() + limit - 1) / limit;
+		final var agreements = agreementIds.stream()
+			.skip((long) (searchParameters.getPage() - 1) * limit)
+			.limit(limit)
+			.map(agreementId -> new Agreement().agreementId(agreementId))
+			.toList();
+
+		return new AgreementResponse()
+			.agreements(new ArrayList<>(agreements))
+			.meta(new PagingAndSortingMetaData()
+				.page(searchParameters.getPage())
+				.limit(limit)
+				.count(agreements.size())
+				.totalRecords((long) agreementIds.size())
+				.totalPages(totalPages));
 	}
 }
@@ -1,8 +1,16 @@
 package se.sundsvall.agreement.service;
 
 import generated.se.sundsvall.datawarehousereader.PagingAndSortingMetaData;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -11,15 +19,32 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import se.sundsvall.agreement.api.model.Agreement;
 import se.sundsvall.agreement.api.model.AgreementParameters;
 import se.sundsvall.agreement.api.model.AgreementParty;
 import se.sundsvall.agreement.api.model.AgreementResponse;
 import se.sundsvall.agreement.api.model.Category;
+import se.sundsvall.agreement.service.AgreementPartyProvider.CursorPage;
+import se.sundsvall.agreement.service.cache.FacilityAgreementCache;
+import se.sundsvall.agreement.service.cache.FacilityAgreementCacheKey;
+import se.sundsvall.agreement.service.cache.LastGoodAgreementStore;
+import se.sundsvall.agreement.service.cache.LastGoodAgreementStore.LastGood;
+import se.sundsvall.agreement.service.cache.NegativeAgreementCache;
+import se.sundsvall.agreement.service.cache.PagedAgreementCacheKey;
+import se.sundsvall.agreement.service.cache.PartyAgreementCache;
+import se.sundsvall.agreement.service.cache.PartyAgreementCacheKey;
 import se.sundsvall.agreement.service.mapper.AgreementMapper;
+import se.sundsvall.agreement.service.snapshot.AgreementSnapshot;
+import se.sundsvall.agreement.service.snapshot.AgreementSnapshotStore;
 import se.sundsvall.dept44.problem.ThrowableProblem;
+import tools.jackson.databind.json.JsonMapper;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyList;
 import static java.util.List.of;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -27,10 +52,15 @@ import static org.assertj.core.api.InstanceOfAssertFactories.LIST;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static se.sundsvall.agreement.api.model.AgreementFields.ALL;
 import static se.sundsvall.agreement.api.model.Category.WASTE_MANAGEMENT;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +69,24 @@ class AgreementServiceTest {
 	@Mock
 	private AgreementPartyProvider agreementPartyProviderMock;
 
+	@Mock
+	private PartyAgreementCache partyAgreementCacheMock;
+
+	@Mock
+	private FacilityAgreementCache facilityAgreementCacheMock;
+
+	@Mock
+	private NegativeAgreementCache negativeAgreementCacheMock;
+
+	@Mock
+	private LastGoodAgreementStore lastGoodAgreementStoreMock;
+
+	@Mock
+	private AgreementSnapshotStore agreementSnapshotStoreMock;
+
+	@Mock
+	private AgreementSnapshot agreementSnapshotMock;
+
 	@Mock
 	private generated.se.sundsvall.datawarehousereader.AgreementResponse agreementResponseMock;
 
@@ -48,6 +96,9 @@ class AgreementServiceTest {
 	@Mock
 	private Agreement agreementMock;
 
+	@Spy
+	private DataWarehouseReaderMetrics metrics = new DataWarehouseReaderMetrics(new SimpleMeterRegistry());
+
 	@InjectMocks
 	private AgreementService agreementService;
 
@@ -62,6 +113,7 @@ class AgreementServiceTest {
 
 		try (MockedStatic<AgreementMapper> agreementMapperMock = Mockito.mockStatic(AgreementMapper.class)) {
 			agreementMapperMock.when(() -> AgreementMapper.toAgreementParties(agreementResponseMock)).thenReturn(of(agreementPartyMock));
+			when(facilityAgreementCacheMock.get(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
 			when(agreementPartyProviderMock.getAgreementsByCategoryAndFacility(municipalityId, category, facilityId, onlyActive)).thenReturn(agreementResponseMock);
 
 			// Act
@@ -69,12 +121,35 @@ class AgreementServiceTest {
 
 			// Asset
 			agreementMapperMock.verify(() -> AgreementMapper.toAgreementParties(agreementResponseMock));
+			verify(facilityAgreementCacheMock).get(eq(new FacilityAgreementCacheKey(municipalityId, category, facilityId, onlyActive)), any());
 			verify(agreementPartyProviderMock).getAgreementsByCategoryAndFacility(municipalityId, category, facilityId, onlyActive);
+			verify(lastGoodAgreementStoreMock).put(new FacilityAgreementCacheKey(municipalityId, category, facilityId, onlyActive), response);
 
 			assertThat(response).isNotNull().extracting(AgreementResponse::getAgreementParties).asInstanceOf(LIST).hasSize(1).first().isSameAs(agreementPartyMock);
 		}
 	}
 
+	@Test
+	void getAgreementsByCategoryAndFacilityIdFromCacheIsNotStoredAsLastGood() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var facilityId = "facilityId";
+		final var category = WASTE_MANAGEMENT;
+
+		try (MockedStatic<AgreementMapper> agreementMapperMock = Mockito.mockStatic(AgreementMapper.class)) {
+			agreementMapperMock.when(() -> AgreementMapper.toAgreementParties(agreementResponseMock)).thenReturn(of(agreementPartyMock));
+			when(facilityAgreementCacheMock.get(any(), any())).thenReturn(agreementResponseMock);
+
+			// Act
+			final var response = agreementService.getAgreementsByCategoryAndFacilityId(municipalityId, category, facilityId, true);
+
+			// Assert
+			assertThat(response.getAgreementParties()).containsExactly(agreementPartyMock);
+			verifyNoInteractions(agreementPartyProviderMock, lastGoodAgreementStoreMock);
+		}
+	}
+
 	@Test
 	void getAgreementsByCategoryAndFacilityIdShouldThrow404() {
 
@@ -86,6 +161,7 @@ class AgreementServiceTest {
 
 		try (MockedStatic<AgreementMapper> agreementMapperMock = Mockito.mockStatic(AgreementMapper.class)) {
 			agreementMapperMock.when(() -> AgreementMapper.toAgreementParties(agreementResponseMock)).thenReturn(emptyList());
+			when(facilityAgreementCacheMock.get(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
 			when(agreementPartyProviderMock.getAgreementsByCategoryAndFacility(municipalityId, category, facilityId, onlyActive)).thenReturn(agreementResponseMock);
 
 			// Act
@@ -93,7 +169,9 @@ class AgreementServiceTest {
 
 			// Assert
 			agreementMapperMock.verify(() -> AgreementMapper.toAgreementParties(agreementResponseMock));
+			verify(facilityAgreementCacheMock).get(eq(new FacilityAgreementCacheKey(municipalityId, category, facilityId, onlyActive)), any());
 			verify(agreementPartyProviderMock).getAgreementsByCategoryAndFacility(municipalityId, category, facilityId, onlyActive);
+			verify(negativeAgreementCacheMock).putNotFound(new FacilityAgreementCacheKey(municipalityId, category, facilityId, onlyActive));
 
 			assertThat(exception.getStatus()).isEqualTo(NOT_FOUND);
 			assertThat(exception.getMessage()).isEqualTo("Not Found: No matching agreements were found for facility with id 'facilityId' and category 'WASTE_MANAGEMENT'");
@@ -112,6 +190,7 @@ class AgreementServiceTest {
 
 		try (MockedStatic<AgreementMapper> agreementMapperMock = Mockito.mockStatic(AgreementMapper.class)) {
 			agreementMapperMock.when(() -> AgreementMapper.toAgreementParties(agreementResponseMock)).thenReturn(new ArrayList<>(of(agreementPartyMock)));
+			when(partyAgreementCacheMock.get(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
 			when(agreementPartyProviderMock.getAgreementsByPartyIdAndCategories(any(), any(), any(), anyBoolean())).thenReturn(agreementResponseMock);
 
 			// Act
@@ -119,7 +198,9 @@ class AgreementServiceTest {
 
 			// Assert
 			agreementMapperMock.verify(() -> AgreementMapper.toAgreementParties(agreementResponseMock));
+			verify(partyAgreementCacheMock).get(eq(PartyAgreementCacheKey.create(municipalityId, partyId, filters, onlyActive)), any());
 			verify(agreementPartyProviderMock).getAgreementsByPartyIdAndCategories(municipalityId, partyId, filters, onlyActive);
+			verify(lastGoodAgreementStoreMock).put(PartyAgreementCacheKey.create(municipalityId, partyId, filters, onlyActive), response);
 
 			assertThat(response).isNotNull().extracting(AgreementResponse::getAgreementParties).asInstanceOf(LIST).hasSize(1).first().isSameAs(agreementPartyMock);
 		}
@@ -136,6 +217,7 @@ class AgreementServiceTest {
 
 		try (MockedStatic<AgreementMapper> agreementMapperMock = Mockito.mockStatic(AgreementMapper.class)) {
 			agreementMapperMock.when(() -> AgreementMapper.toAgreementParties(agreementResponseMock)).thenReturn(emptyList());
+			when(partyAgreementCacheMock.get(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
 			when(agreementPartyProviderMock.getAgreementsByPartyIdAndCategories(any(), any(), any(), anyBoolean())).thenReturn(agreementResponseMock);
 
 			// Act
@@ -143,7 +225,9 @@ class AgreementServiceTest {
 
 			// Assert
 			agreementMapperMock.verify(() -> AgreementMapper.toAgreementParties(agreementResponseMock));
+			verify(partyAgreementCacheMock).get(eq(PartyAgreementCacheKey.create(municipalityId, partyId, filters, onlyActive)), any());
 			verify(agreementPartyProviderMock).getAgreementsByPartyIdAndCategories(municipalityId, partyId, filters, onlyActive);
+			verify(negativeAgreementCacheMock).putNotFound(PartyAgreementCacheKey.create(municipalityId, partyId, filters, onlyActive));
 
 			assertThat(exception.getStatus()).isEqualTo(NOT_FOUND);
 			assertThat(exception.getMessage()).isEqualTo("Not Found: No matching agreements were found for party with id 'partyId'");
@@ -151,6 +235,149 @@ class AgreementServiceTest {
 		}
 	}
 
+	@Test
+	void getAgreementsByCategoryAndFacilityIdFromSnapshot() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var facilityId = "facilityId";
+		final var category = WASTE_MANAGEMENT;
+
+		try (MockedStatic<AgreementMapper> agreementMapperMock = Mockito.mockStatic(AgreementMapper.class)) {
+			agreementMapperMock.when(() -> AgreementMapper.toAgreementParties(agreementResponseMock)).thenReturn(of(agreementPartyMock));
+			when(agreementSnapshotStoreMock.find(municipalityId)).thenReturn(Optional.of(agreementSnapshotMock));
+			when(agreementSnapshotMock.getAgreementsByCategoryAndFacility(category, facilityId, true)).thenReturn(agreementResponseMock);
+
+			// Act
+			final var response = agreementService.getAgreementsByCategoryAndFacilityId(municipalityId, category, facilityId, true);
+
+			// Assert
+			assertThat(response.getAgreementParties()).containsExactly(agreementPartyMock);
+			verifyNoInteractions(facilityAgreementCacheMock, agreementPartyProviderMock);
+		}
+	}
+
+	@Test
+	void getAgreementsByPartyIdAndCategoriesFromSnapshot() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var partyId = "partyId";
+		final var filters = of(WASTE_MANAGEMENT);
+
+		try (MockedStatic<AgreementMapper> agreementMapperMock = Mockito.mockStatic(AgreementMapper.class)) {
+			agreementMapperMock.when(() -> AgreementMapper.toAgreementParties(agreementResponseMock)).thenReturn(of(agreementPartyMock));
+			when(agreementSnapshotStoreMock.find(municipalityId)).thenReturn(Optional.of(agreementSnapshotMock));
+			when(agreementSnapshotMock.getAgreementsByPartyIdAndCategories(partyId, filters, false)).thenReturn(agreementResponseMock);
+
+			// Act
+			final var response = agreementService.getAgreementsByPartyIdAndCategories(municipalityId, partyId, filters, false);
+
+			// Assert
+			assertThat(response.getAgreementParties()).containsExactly(agreementPartyMock);
+			verify(lastGoodAgreementStoreMock).put(PartyAgreementCacheKey.create(municipalityId, partyId, filters, false), response);
+			verifyNoInteractions(partyAgreementCacheMock, agreementPartyProviderMock);
+		}
+	}
+
+	@Test
+	void getAgreementsByCategoryAndFacilityIdShouldThrow404FromNegativeCache() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var facilityId = "facilityId";
+		final var category = WASTE_MANAGEMENT;
+		when(negativeAgreementCacheMock.isNotFound(new FacilityAgreementCacheKey(municipalityId, category, facilityId, true))).thenReturn(true);
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class, () -> agreementService.getAgreementsByCategoryAndFacilityId(municipalityId, category, facilityId, true));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(NOT_FOUND);
+		assertThat(exception.getDetail()).isEqualTo("No matching agreements were found for facility with id 'facilityId' and category 'WASTE_MANAGEMENT'");
+		verifyNoInteractions(facilityAgreementCacheMock, agreementPartyProviderMock);
+	}
+
+	@Test
+	void getAgreementsByPartyIdAndCategoriesShouldThrow404FromNegativeCache() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var partyId = "partyId";
+		final var filters = of(WASTE_MANAGEMENT);
+		when(negativeAgreementCacheMock.isNotFound(PartyAgreementCacheKey.create(municipalityId, partyId, filters, true))).thenReturn(true);
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class, () -> agreementService.getAgreementsByPartyIdAndCategories(municipalityId, partyId, filters, true));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(NOT_FOUND);
+		assertThat(exception.getDetail()).isEqualTo("No matching agreements were found for party with id 'partyId' and category in '[WASTE_MANAGEMENT]'");
+		verifyNoInteractions(partyAgreementCacheMock, agreementPartyProviderMock);
+	}
+
+	@Test
+	void getAgreementsByPartyIdAndCategoriesReturnsLastGoodWhenCircuitBreakerIsOpen() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var partyId = "partyId";
+		final var filters = of(WASTE_MANAGEMENT);
+		final var cacheKey = PartyAgreementCacheKey.create(municipalityId, partyId, filters, true);
+		final var lastGood = AgreementResponse.create().withAgreementParties(of(agreementPartyMock));
+		final var request = new MockHttpServletRequest();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+		when(partyAgreementCacheMock.get(any(), any())).thenThrow(CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("datawarehousereader")));
+		when(lastGoodAgreementStoreMock.get("party", cacheKey, AgreementResponse.class)).thenReturn(Optional.of(new LastGood<>(lastGood, Duration.ofSeconds(30))));
+
+		try {
+			// Act
+			final var response = agreementService.getAgreementsByPartyIdAndCategories(municipalityId, partyId, filters, true);
+
+			// Assert
+			assertThat(response).isSameAs(lastGood);
+			assertThat(request.getAttribute(AgreementService.STALE_RESPONSE_AGE_ATTRIBUTE)).isEqualTo(Duration.ofSeconds(30));
+			verify(lastGoodAgreementStoreMock, never()).put(any(), any());
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+	}
+
+	@Test
+	void getAgreementsByCategoryAndFacilityIdRethrowsWhenCircuitBreakerIsOpenWithoutLastGood() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var facilityId = "facilityId";
+		final var category = WASTE_MANAGEMENT;
+		final var callNotPermitted = CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("datawarehousereader"));
+
+		when(facilityAgreementCacheMock.get(any(), any())).thenThrow(callNotPermitted);
+		when(lastGoodAgreementStoreMock.get("facility", new FacilityAgreementCacheKey(municipalityId, category, facilityId, true), AgreementResponse.class)).thenReturn(Optional.empty());
+
+		// Act
+		final var exception = assertThrows(CallNotPermittedException.class, () -> agreementService.getAgreementsByCategoryAndFacilityId(municipalityId, category, facilityId, true));
+
+		// Assert
+		assertThat(exception).isSameAs(callNotPermitted);
+	}
+
+	@Test
+	void getAgreementsByPartyIdAndCategoriesDoesNotFallBackOnOtherFailures() {
+
+		// Arrange
+		final var failure = new IllegalStateException("Failure");
+		when(partyAgreementCacheMock.get(any(), any())).thenThrow(failure);
+
+		// Act
+		final var exception = assertThrows(IllegalStateException.class, () -> agreementService.getAgreementsByPartyIdAndCategories("municipalityId", "partyId", of(), true));
+
+		// Assert
+		assertThat(exception).isSameAs(failure);
+		verifyNoInteractions(lastGoodAgreementStoreMock);
+	}
+
 	@ParameterizedTest
 	@ValueSource(booleans = {
 		true, false
@@ -176,14 +403,15 @@ class AgreementServiceTest {
 
 		try (MockedStatic<AgreementMapper> agreementMapperMock = Mockito.mockStatic(AgreementMapper.class)) {
 			agreementMapperMock.when(() -> AgreementMapper.toAgreements(agreementResponseMock)).thenReturn(List.of(agreementMock));
-			when(agreementPartyProviderMock.getAgreementsByPartyIdAndCategories(any(), any(), any(), anyInt(), anyInt(), any(), anyBoolean())).thenReturn(agreementResponseMock);
+			when(agreementPartyProviderMock.getPagedAgreementsByPartyIdAndCategories(any(), any(), any(), any())).thenReturn(agreementResponseMock);
 			when(agreementResponseMock.getMeta()).thenReturn(responseMeta);
 
 			// Act
 			final var result = agreementService.getPagedAgreementsByPartyIdAndCategories(municipalityId, partyId, filters, parameters);
 
 			// Assert
-			verify(agreementPartyProviderMock).getAgreementsByPartyIdAndCategories(municipalityId, partyId, filters, 2, 3, (onlyActive ? true : null), true);
+			verify(agreementPartyProviderMock).getPagedAgreementsByPartyIdAndCategories(municipalityId, partyId, filters, parameters);
+			verify(lastGoodAgreementStoreMock).put(PagedAgreementCacheKey.create(municipalityId, partyId, filters, parameters), result);
 
 			assertThat(result).isNotNull();
 			assertThat(result.getAgreements()).hasSize(1).first().isSameAs(agreementMock);
@@ -194,4 +422,153 @@ class AgreementServiceTest {
 			assertThat(result.getMetaData().getTotalPages()).isEqualTo(6);
 		}
 	}
+
+	@Test
+	void getPagedAgreementsByPartyIdAndCategoriesReturnsNextCursor() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var partyId = "partyId";
+		final var parameters = AgreementParameters.create().withPage(2).withLimit(2);
+		final var response = pagedResponse(5L, "a3", "a4");
+		final var fingerprint = PagedAgreementCacheKey.create(municipalityId, partyId, emptyList(), parameters).fingerprint();
+
+		try (MockedStatic<AgreementMapper> agreementMapperMock = Mockito.mockStatic(AgreementMapper.class)) {
+			agreementMapperMock.when(() -> AgreementMapper.toAgreements(response)).thenReturn(List.of(agreementMock, agreementMock));
+			when(agreementPartyProviderMock.getPagedAgreementsByPartyIdAndCategories(municipalityId, partyId, emptyList(), parameters)).thenReturn(response);
+
+			// Act
+			final var result = agreementService.getPagedAgreementsByPartyIdAndCategories(municipalityId, partyId, emptyList(), parameters);
+
+			// Assert
+			assertThat(result.getCursorMetaData().getNext()).isEqualTo(new AgreementCursor(fingerprint, 3, "a4").encode());
+		}
+	}
+
+	@Test
+	void getPagedAgreementsByPartyIdAndCategoriesContinuesAfterCursor() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var partyId = "partyId";
+		final var parameters = AgreementParameters.create().withLimit(2);
+		final var cursor = new AgreementCursor(PagedAgreementCacheKey.create(municipalityId, partyId, emptyList(), parameters).fingerprint(), 1, "a2");
+		parameters.setCursor(cursor.encode());
+		final var response = pagedResponse(4L, "a3", "a4");
+
+		try (MockedStatic<AgreementMapper> agreementMapperMock = Mockito.mockStatic(AgreementMapper.class)) {
+			agreementMapperMock.when(() -> AgreementMapper.toAgreements(response)).thenReturn(List.of(agreementMock, agreementMock));
+			when(agreementPartyProviderMock.getPagedAgreementsAfterCursor(municipalityId, partyId, emptyList(), parameters, cursor)).thenReturn(new CursorPage(response, 2));
+
+			// Act
+			final var result = agreementService.getPagedAgreementsByPartyIdAndCategories(municipalityId, partyId, emptyList(), parameters);
+
+			// Assert
+			assertThat(result.getAgreements()).hasSize(2);
+			assertThat(result.getMetaData().getTotalRecords()).isEqualTo(4L);
+			assertThat(result.getCursorMetaData()).isNull();
+			verify(agreementPartyProviderMock, never()).getPagedAgreementsByPartyIdAndCategories(any(), any(), any(), any());
+		}
+	}
+
+	@Test
+	void getPagedAgreementsByPartyIdAndCategoriesWithCursorForOtherParameters() {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var partyId = "partyId";
+		final var parameters = AgreementParameters.create().withLimit(2);
+		final var cursor = new AgreementCursor(PagedAgreementCacheKey.create(municipalityId, partyId, emptyList(), parameters).fingerprint(), 1, "a2");
+		parameters.withLimit(3).setCursor(cursor.encode());
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class, () -> agreementService.getPagedAgreementsByPartyIdAndCategories(municipalityId, partyId, emptyList(), parameters));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(BAD_REQUEST);
+		verifyNoInteractions(agreementPartyProviderMock, lastGoodAgreementStoreMock);
+	}
+
+	@Test
+	void streamAgreementsByPartyIdAndCategoriesWritesNdjson() throws Exception {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var partyId = "partyId";
+		final var categories = List.of(WASTE_MANAGEMENT);
+		final var onlyActive = true;
+		final var page1 = new generated.se.sundsvall.datawarehousereader.AgreementResponse();
+		final var page2 = new generated.se.sundsvall.datawarehousereader.AgreementResponse();
+		final var outputStream = new ByteArrayOutputStream();
+		final var service = new AgreementService(agreementPartyProviderMock, partyAgreementCacheMock, facilityAgreementCacheMock, negativeAgreementCacheMock, lastGoodAgreementStoreMock, agreementSnapshotStoreMock, new AgreementJsonWriter(JsonMapper.builder().build()), metrics);
+
+		doAnswer(invocation -> {
+			final Consumer<generated.se.sundsvall.datawarehousereader.AgreementResponse> pageConsumer = invocation.getArgument(4);
+			pageConsumer.accept(page1);
+			pageConsumer.accept(page2);
+			return null;
+		}).when(agreementPartyProviderMock).streamAgreementsByPartyIdAndCategories(eq(municipalityId), eq(partyId), eq(categories), eq(onlyActive), any());
+
+		try (MockedStatic<AgreementMapper> agreementMapperMock = Mockito.mockStatic(AgreementMapper.class)) {
+			agreementMapperMock.when(() -> AgreementMapper.toAgreements(page1)).thenReturn(List.of(Agreement.create().withAgreementId("1"), Agreement.create().withAgreementId("2")));
+			agreementMapperMock.when(() -> AgreementMapper.toAgreements(page2)).thenReturn(List.of(Agreement.create().withAgreementId("3")));
+
+			// Act
+			service.streamAgreementsByPartyIdAndCategories(municipalityId, partyId, categories, onlyActive, ALL).writeTo(outputStream);
+		}
+
+		// Assert
+		assertThat(outputStream.toString(UTF_8).lines())
+			.hasSize(3)
+			.allMatch(line -> line.startsWith("{") && line.endsWith("}"))
+			.anyMatch(line -> line.contains("\"agreementId\":\"1\""))
+			.anyMatch(line -> line.contains("\"agreementId\":\"3\""));
+		verifyNoInteractions(partyAgreementCacheMock, facilityAgreementCacheMock, negativeAgreementCacheMock, lastGoodAgreementStoreMock);
+	}
+
+	@Test
+	void streamAgreementPartiesByCategoryAndFacilityIdWritesOnePartyPerLine() throws Exception {
+
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var facilityId = "facilityId";
+		final var page1 = pageOfCustomerAgreements("c1", "a1", "c1", "a2", "c2", "a3");
+		final var page2 = pageOfCustomerAgreements("c2", "a4", "c3", "a5");
+		final var outputStream = new ByteArrayOutputStream();
+		final var service = new AgreementService(agreementPartyProviderMock, partyAgreementCacheMock, facilityAgreementCacheMock, negativeAgreementCacheMock, lastGoodAgreementStoreMock, agreementSnapshotStoreMock, new AgreementJsonWriter(JsonMapper.builder().build()), metrics);
+
+		doAnswer(invocation -> {
+			final Consumer<generated.se.sundsvall.datawarehousereader.AgreementResponse> pageConsumer = invocation.getArgument(4);
+			pageConsumer.accept(page1);
+			pageConsumer.accept(page2);
+			return null;
+		}).when(agreementPartyProviderMock).streamAgreementsByCategoryAndFacility(eq(municipalityId), eq(WASTE_MANAGEMENT), eq(facilityId), eq(true), any());
+
+		// Act
+		service.streamAgreementPartiesByCategoryAndFacilityId(municipalityId, WASTE_MANAGEMENT, facilityId, true, ALL).writeTo(outputStream);
+
+		// Assert
+		assertThat(outputStream.toString(UTF_8).lines())
+			.hasSize(3)
+			.satisfiesExactly(
+				line -> assertThat(line).startsWith("{\"customerId\":\"c1\"").contains("\"agreementId\":\"a1\"", "\"agreementId\":\"a2\""),
+				line -> assertThat(line).startsWith("{\"customerId\":\"c2\"").contains("\"agreementId\":\"a3\"", "\"agreementId\":\"a4\""),
+				line -> assertThat(line).startsWith("{\"customerId\":\"c3\"").contains("\"agreementId\":\"a5\""));
+		verifyNoInteractions(partyAgreementCacheMock, facilityAgreementCacheMock, negativeAgreementCacheMock, lastGoodAgreementStoreMock);
+	}
+
+	private static generated.se.sundsvall.datawarehousereader.AgreementResponse pagedResponse(Long totalRecords, String... agreementIds) {
+		return new generated.se.sundsvall.datawarehousereader.AgreementResponse()
+			.agreements(of(agreementIds).stream().map(agreementId -> new generated.se.sundsvall.datawarehousereader.Agreement().agreementId(agreementId)).toList())
+			.meta(new PagingAndSortingMetaData().page(2).limit(2).count(agreementIds.length).totalRecords(totalRecords).totalPages(3));
+	}
+
+	private static generated.se.sundsvall.datawarehousereader.AgreementResponse pageOfCustomerAgreements(String... customerAndAgreementIds) {
+		final var agreements = new ArrayList<generated.se.sundsvall.datawarehousereader.Agreement>();
+		for (var index = 0; index < customerAndAgreementIds.length; index += 2) {
+			agreements.add(new generated.se.sundsvall.datawarehousereader.Agreement().customerNumber(customerAndAgreementIds[index]).agreementId(customerAndAgreementIds[index + 1])
+				.category(generated.se.sundsvall.datawarehousereader.Category.WASTE_MANAGEMENT));
+		}
+		return new generated.se.sundsvall.datawarehousereader.AgreementResponse().agreements(agreements);
+	}
 }
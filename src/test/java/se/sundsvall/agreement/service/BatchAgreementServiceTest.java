@@ -0,0 +1,128 @@
+package se.sundsvall.agreement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sundsvall.agreement.api.model.AgreementParty;
+import se.sundsvall.agreement.api.model.AgreementResponse;
+import se.sundsvall.agreement.api.model.FacilityBatchItem;
+import se.sundsvall.agreement.api.model.FacilityBatchRequest;
+import se.sundsvall.agreement.api.model.FacilityBatchResult;
+import se.sundsvall.agreement.api.model.PartyBatchRequest;
+import se.sundsvall.dept44.problem.Problem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static se.sundsvall.agreement.api.model.Category.ELECTRICITY;
+import static se.sundsvall.agreement.api.model.Category.WASTE_MANAGEMENT;
+import static se.sundsvall.agreement.api.model.Category.WATER;
+
+@ExtendWith(MockitoExtension.class)
+class BatchAgreementServiceTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String PARTY_ID_1 = "81471222-5798-11e9-ae24-57fa13b361e1";
+	private static final String PARTY_ID_2 = "91471222-5798-11e9-ae24-57fa13b361e1";
+	private static final String PARTY_ID_3 = "a1471222-5798-11e9-ae24-57fa13b361e1";
+
+	@Mock
+	private AgreementService agreementServiceMock;
+
+	private BatchExecutor batchExecutor;
+
+	private BatchAgreementService batchAgreementService;
+
+	@BeforeEach
+	void setup() {
+		batchExecutor = new BatchExecutor(new BatchProperties(2, false), new SimpleMeterRegistry());
+		batchAgreementService = new BatchAgreementService(agreementServiceMock, batchExecutor);
+	}
+
+	@AfterEach
+	void tearDown() {
+		batchExecutor.shutdown();
+	}
+
+	@Test
+	void getAgreementsByPartyIds() {
+
+		// Arrange
+		final var categories = List.of(ELECTRICITY);
+		final var agreementParties = List.of(AgreementParty.create().withCustomerId("123"));
+		final var request = PartyBatchRequest.create()
+			.withPartyIds(List.of(PARTY_ID_1, PARTY_ID_2, PARTY_ID_1, PARTY_ID_3))
+			.withCategories(categories)
+			.withOnlyActive(false);
+
+		when(agreementServiceMock.getAgreementsByPartyIdAndCategories(MUNICIPALITY_ID, PARTY_ID_1, categories, false))
+			.thenReturn(AgreementResponse.create().withAgreementParties(agreementParties));
+		when(agreementServiceMock.getAgreementsByPartyIdAndCategories(MUNICIPALITY_ID, PARTY_ID_2, categories, false))
+			.thenThrow(Problem.valueOf(NOT_FOUND, "not found"));
+		when(agreementServiceMock.getAgreementsByPartyIdAndCategories(MUNICIPALITY_ID, PARTY_ID_3, categories, false))
+			.thenThrow(new IllegalStateException("failure"));
+
+		// Act
+		final var response = batchAgreementService.getAgreementsByPartyIds(MUNICIPALITY_ID, request);
+
+		// Assert
+		assertThat(response.getResults()).containsOnlyKeys(PARTY_ID_1, PARTY_ID_2, PARTY_ID_3);
+		assertThat(response.getResults().keySet()).containsExactly(PARTY_ID_1, PARTY_ID_2, PARTY_ID_3);
+		assertThat(response.getResults().get(PARTY_ID_1).getStatus()).isEqualTo(200);
+		assertThat(response.getResults().get(PARTY_ID_1).getAgreementParties()).isEqualTo(agreementParties);
+		assertThat(response.getResults().get(PARTY_ID_1).getDetail()).isNull();
+		assertThat(response.getResults().get(PARTY_ID_2).getStatus()).isEqualTo(404);
+		assertThat(response.getResults().get(PARTY_ID_2).getDetail()).isEqualTo("not found");
+		assertThat(response.getResults().get(PARTY_ID_2).getAgreementParties()).isNull();
+		assertThat(response.getResults().get(PARTY_ID_3).getStatus()).isEqualTo(500);
+		assertThat(response.getResults().get(PARTY_ID_3).getDetail()).isEqualTo("Internal error");
+
+		verify(agreementServiceMock).getAgreementsByPartyIdAndCategories(MUNICIPALITY_ID, PARTY_ID_1, categories, false);
+		verify(agreementServiceMock).getAgreementsByPartyIdAndCategories(MUNICIPALITY_ID, PARTY_ID_2, categories, false);
+		verify(agreementServiceMock).getAgreementsByPartyIdAndCategories(MUNICIPALITY_ID, PARTY_ID_3, categories, false);
+		verifyNoMoreInteractions(agreementServiceMock);
+	}
+
+	@Test
+	void getAgreementsByFacilities() {
+
+		// Arrange
+		final var agreementParties = List.of(AgreementParty.create().withCustomerId("123"));
+		final var electricity = FacilityBatchItem.create().withCategory(ELECTRICITY).withFacilityId("1");
+		final var water = FacilityBatchItem.create().withCategory(WATER).withFacilityId("1");
+		final var wasteManagement = FacilityBatchItem.create().withCategory(WASTE_MANAGEMENT).withFacilityId("2");
+		final var request = FacilityBatchRequest.create()
+			.withItems(List.of(electricity, water, FacilityBatchItem.create().withCategory(ELECTRICITY).withFacilityId("1"), wasteManagement));
+
+		when(agreementServiceMock.getAgreementsByCategoryAndFacilityId(MUNICIPALITY_ID, ELECTRICITY, "1", true))
+			.thenReturn(AgreementResponse.create().withAgreementParties(agreementParties));
+		when(agreementServiceMock.getAgreementsByCategoryAndFacilityId(MUNICIPALITY_ID, WATER, "1", true))
+			.thenThrow(Problem.valueOf(NOT_FOUND, "not found"));
+		when(agreementServiceMock.getAgreementsByCategoryAndFacilityId(MUNICIPALITY_ID, WASTE_MANAGEMENT, "2", true))
+			.thenThrow(new IllegalStateException("failure"));
+
+		// Act
+		final var response = batchAgreementService.getAgreementsByFacilities(MUNICIPALITY_ID, request);
+
+		// Assert
+		assertThat(response.getResults())
+			.extracting(FacilityBatchResult::getCategory, FacilityBatchResult::getFacilityId, FacilityBatchResult::getStatus, FacilityBatchResult::getDetail, FacilityBatchResult::getAgreementParties)
+			.containsExactly(
+				tuple(ELECTRICITY, "1", 200, null, agreementParties),
+				tuple(WATER, "1", 404, "not found", null),
+				tuple(WASTE_MANAGEMENT, "2", 500, "Internal error", null));
+
+		verify(agreementServiceMock).getAgreementsByCategoryAndFacilityId(MUNICIPALITY_ID, ELECTRICITY, "1", true);
+		verify(agreementServiceMock).getAgreementsByCategoryAndFacilityId(MUNICIPALITY_ID, WATER, "1", true);
+		verify(agreementServiceMock).getAgreementsByCategoryAndFacilityId(MUNICIPALITY_ID, WASTE_MANAGEMENT, "2", true);
+		verifyNoMoreInteractions(agreementServiceMock);
+	}
+}
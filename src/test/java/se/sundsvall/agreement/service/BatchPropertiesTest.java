@@ -0,0 +1,23 @@
+package se.sundsvall.agreement.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import se.sundsvall.agreement.Application;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest(classes = Application.class)
+@ActiveProfiles("junit")
+class BatchPropertiesTest {
+
+	@Autowired
+	private BatchProperties properties;
+
+	@Test
+	void testProperties() {
+		assertThat(properties.parallelism()).isEqualTo(8);
+		assertThat(properties.virtualThreads()).isFalse();
+	}
+}
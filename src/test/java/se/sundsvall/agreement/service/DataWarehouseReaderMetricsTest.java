@@ -0,0 +1,58 @@
+package se.sundsvall.agreement.service;
+
+import generated.se.sundsvall.datawarehousereader.Agreement;
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.agreement.api.model.Category.ELECTRICITY;
+import static se.sundsvall.agreement.api.model.Category.WATER;
+import static se.sundsvall.agreement.service.DataWarehouseReaderMetrics.FETCH_METRIC;
+import static se.sundsvall.agreement.service.DataWarehouseReaderMetrics.MAPPING_METRIC;
+import static se.sundsvall.agreement.service.DataWarehouseReaderMetrics.PAGES_METRIC;
+import static se.sundsvall.agreement.service.DataWarehouseReaderMetrics.PAGE_METRIC;
+import static se.sundsvall.agreement.service.DataWarehouseReaderMetrics.RECORDS_METRIC;
+
+class DataWarehouseReaderMetricsTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final DataWarehouseReaderMetrics metrics = new DataWarehouseReaderMetrics(meterRegistry);
+
+	@Test
+	void categoryTag() {
+		assertThat(DataWarehouseReaderMetrics.categoryTag(null)).isEqualTo("ALL");
+		assertThat(DataWarehouseReaderMetrics.categoryTag(emptyList())).isEqualTo("ALL");
+		assertThat(DataWarehouseReaderMetrics.categoryTag(List.of(WATER))).isEqualTo("WATER");
+		assertThat(DataWarehouseReaderMetrics.categoryTag(List.of(WATER, WATER))).isEqualTo("WATER");
+		assertThat(DataWarehouseReaderMetrics.categoryTag(List.of(WATER, ELECTRICITY))).isEqualTo("MULTIPLE");
+	}
+
+	@Test
+	void walk() {
+		final var walk = metrics.startWalk("facility", "2281", List.of(WATER));
+		final var pageFetcher = walk.timed(page -> new AgreementResponse().agreements(List.of(new Agreement(), new Agreement())));
+
+		pageFetcher.apply(1);
+		pageFetcher.apply(2);
+		pageFetcher.apply(3);
+		final var result = walk.finish("result");
+
+		assertThat(result).isEqualTo("result");
+		assertThat(meterRegistry.get(PAGE_METRIC).tags("endpoint", "facility", "category", "WATER", "municipalityId", "2281").timer().count()).isEqualTo(3);
+		assertThat(meterRegistry.get(FETCH_METRIC).tags("endpoint", "facility", "category", "WATER", "municipalityId", "2281").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get(PAGES_METRIC).tags("endpoint", "facility", "category", "WATER", "municipalityId", "2281").summary().totalAmount()).isEqualTo(3);
+		assertThat(meterRegistry.get(RECORDS_METRIC).tags("endpoint", "facility", "category", "WATER", "municipalityId", "2281").summary().totalAmount()).isEqualTo(6);
+	}
+
+	@Test
+	void timeMapping() {
+		final var result = metrics.timeMapping("toAgreements", () -> "mapped");
+
+		assertThat(result).isEqualTo("mapped");
+		assertThat(meterRegistry.get(MAPPING_METRIC).tag("mapper", "toAgreements").timer().count()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,26 @@
+package se.sundsvall.agreement.service;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import se.sundsvall.agreement.Application;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest(classes = Application.class)
+@ActiveProfiles("junit")
+class DeadlinePropertiesTest {
+
+	@Autowired
+	private DeadlineProperties properties;
+
+	@Test
+	void testProperties() {
+		assertThat(properties.enabled()).isFalse();
+		assertThat(properties.timeout()).isEqualTo(Duration.ofSeconds(30));
+		assertThat(properties.header()).isEqualTo("X-Request-Timeout");
+		assertThat(properties.asyncParallelism()).isEqualTo(200);
+	}
+}
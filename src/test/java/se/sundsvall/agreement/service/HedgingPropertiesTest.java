@@ -0,0 +1,29 @@
+package se.sundsvall.agreement.service;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import se.sundsvall.agreement.Application;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest(classes = Application.class)
+@ActiveProfiles("junit")
+class HedgingPropertiesTest {
+
+	@Autowired
+	private HedgingProperties properties;
+
+	@Test
+	void testProperties() {
+		assertThat(properties.enabled()).isFalse();
+		assertThat(properties.percentile()).isEqualTo(0.95);
+		assertThat(properties.minimumDelay()).isEqualTo(Duration.ofMillis(50));
+		assertThat(properties.minimumSamples()).isEqualTo(100);
+		assertThat(properties.windowSize()).isEqualTo(1000);
+		assertThat(properties.budgetRatio()).isEqualTo(0.05);
+		assertThat(properties.budgetBurst()).isEqualTo(10);
+	}
+}
@@ -0,0 +1,95 @@
+package se.sundsvall.agreement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.MDC;
+import se.sundsvall.agreement.integration.datawarehousereader.configuration.DataWarehouseReaderProperties;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.agreement.service.PageFetchExecutor.INFLIGHT_TASKS_METRIC;
+
+class PageFetchExecutorTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private PageFetchExecutor pageFetchExecutor;
+
+	@AfterEach
+	void tearDown() {
+		pageFetchExecutor.shutdown();
+		MDC.clear();
+		RequestDeadline.bind(null);
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {
+		true, false
+	})
+	void supplyAsyncRunsOnConfiguredThreadType(boolean virtualThreads) {
+		pageFetchExecutor = new PageFetchExecutor(new DataWarehouseReaderProperties(5, 30, 2, virtualThreads, true), meterRegistry);
+
+		final var isVirtual = pageFetchExecutor.supplyAsync(() -> Thread.currentThread().isVirtual()).join();
+
+		assertThat(isVirtual).isEqualTo(virtualThreads);
+		assertThat(meterRegistry.get(INFLIGHT_TASKS_METRIC).tag("threads", virtualThreads ? "virtual" : "platform").gauge().value()).isZero();
+	}
+
+	@Test
+	void supplyAsyncPropagatesLoggingContext() {
+		pageFetchExecutor = new PageFetchExecutor(new DataWarehouseReaderProperties(5, 30, 2, false, true), meterRegistry);
+		MDC.setContextMap(Map.of("key", "value"));
+
+		final var value = pageFetchExecutor.supplyAsync(() -> MDC.get("key")).join();
+
+		assertThat(value).isEqualTo("value");
+	}
+
+	@Test
+	void supplyAsyncPropagatesRequestDeadline() {
+		pageFetchExecutor = new PageFetchExecutor(new DataWarehouseReaderProperties(5, 30, 2, false, true), meterRegistry);
+		final var deadline = RequestDeadline.after(Duration.ofSeconds(10));
+		RequestDeadline.bind(deadline);
+
+		final var value = pageFetchExecutor.supplyAsync(RequestDeadline::current).join();
+
+		assertThat(value).containsSame(deadline);
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {
+		true, false
+	})
+	void supplyAsyncIsLimitedToParallelism(boolean virtualThreads) throws Exception {
+		pageFetchExecutor = new PageFetchExecutor(new DataWarehouseReaderProperties(5, 30, 2, virtualThreads, true), meterRegistry);
+		final var latch = new CountDownLatch(1);
+		final var started = new CountDownLatch(2);
+
+		final var futures = IntStream.range(0, 4)
+			.mapToObj(i -> pageFetchExecutor.supplyAsync(() -> {
+				started.countDown();
+				try {
+					return latch.await(5, SECONDS);
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}))
+			.toList();
+
+		assertThat(started.await(5, SECONDS)).isTrue();
+		assertThat(meterRegistry.get(INFLIGHT_TASKS_METRIC).gauge().value()).isEqualTo(2);
+
+		latch.countDown();
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+		assertThat(meterRegistry.get(INFLIGHT_TASKS_METRIC).gauge().value()).isZero();
+	}
+}
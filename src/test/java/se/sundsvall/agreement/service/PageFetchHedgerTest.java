@@ -0,0 +1,164 @@
+package se.sundsvall.agreement.service;
+
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.dept44.problem.Problem;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpStatus.BAD_GATEWAY;
+import static se.sundsvall.agreement.service.PageFetchHedger.HEDGES_FIRED_METRIC;
+import static se.sundsvall.agreement.service.PageFetchHedger.HEDGES_WON_METRIC;
+
+class PageFetchHedgerTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private PageFetchHedger pageFetchHedger;
+
+	@AfterEach
+	void tearDown() {
+		if (pageFetchHedger != null) {
+			pageFetchHedger.shutdown();
+		}
+	}
+
+	@Test
+	void hedgedWhenDisabledReturnsPageFetcher() {
+		pageFetchHedger = new PageFetchHedger(new HedgingProperties(false, 0.95, Duration.ofMillis(10), 1, 100, 1, 10), meterRegistry);
+		final IntFunction<AgreementResponse> pageFetcher = page -> new AgreementResponse();
+
+		assertThat(pageFetchHedger.hedged("party", pageFetcher)).isSameAs(pageFetcher);
+	}
+
+	@Test
+	void hedgedSendsHedgeForSlowPageAndUsesFirstResponse() throws Exception {
+		pageFetchHedger = new PageFetchHedger(new HedgingProperties(true, 0.95, Duration.ofMillis(10), 1, 100, 1, 10), meterRegistry);
+		final var hedgeResponse = new AgreementResponse();
+		final var calls = new AtomicInteger();
+		final var primaryCancelled = new CountDownLatch(1);
+
+		final var pageFetcher = pageFetchHedger.hedged("party", page -> switch (calls.incrementAndGet()) {
+			case 1 -> new AgreementResponse();
+			case 2 -> {
+				try {
+					new CountDownLatch(1).await();
+				} catch (final InterruptedException e) {
+					primaryCancelled.countDown();
+				}
+				yield new AgreementResponse();
+			}
+			default -> hedgeResponse;
+		});
+
+		// The first page teaches the threshold, the second page is slow and hedged
+		pageFetcher.apply(1);
+		assertThat(pageFetcher.apply(2)).isSameAs(hedgeResponse);
+
+		assertThat(calls).hasValue(3);
+		assertThat(primaryCancelled.await(5, SECONDS)).isTrue();
+		assertThat(meterRegistry.get(HEDGES_FIRED_METRIC).tag("type", "party").counter().count()).isOne();
+		assertThat(meterRegistry.get(HEDGES_WON_METRIC).tag("type", "party").counter().count()).isOne();
+	}
+
+	@Test
+	void hedgedDoesNotHedgeBeforeMinimumSamples() {
+		pageFetchHedger = new PageFetchHedger(new HedgingProperties(true, 0.95, Duration.ofMillis(10), 100, 100, 1, 10), meterRegistry);
+		final var calls = new AtomicInteger();
+
+		final var pageFetcher = pageFetchHedger.hedged("party", page -> {
+			calls.incrementAndGet();
+			sleep(50);
+			return new AgreementResponse();
+		});
+
+		pageFetcher.apply(1);
+		pageFetcher.apply(2);
+
+		assertThat(calls).hasValue(2);
+		assertThat(meterRegistry.find(HEDGES_FIRED_METRIC).counter()).isNull();
+	}
+
+	@Test
+	void hedgedDoesNotHedgeWhenBudgetIsExhausted() {
+		pageFetchHedger = new PageFetchHedger(new HedgingProperties(true, 0.95, Duration.ofMillis(10), 1, 100, 0, 10), meterRegistry);
+		final var calls = new AtomicInteger();
+
+		final var pageFetcher = pageFetchHedger.hedged("facility", page -> {
+			if (calls.incrementAndGet() > 1) {
+				sleep(50);
+			}
+			return new AgreementResponse();
+		});
+
+		pageFetcher.apply(1);
+		pageFetcher.apply(2);
+
+		assertThat(calls).hasValue(2);
+		assertThat(meterRegistry.find(HEDGES_FIRED_METRIC).counter()).isNull();
+	}
+
+	@Test
+	void hedgedPropagatesFailure() {
+		pageFetchHedger = new PageFetchHedger(new HedgingProperties(true, 0.95, Duration.ofMillis(10), 1, 100, 1, 10), meterRegistry);
+		final var problem = Problem.valueOf(BAD_GATEWAY, "Bad gateway");
+
+		final var pageFetcher = pageFetchHedger.hedged("party", page -> {
+			throw problem;
+		});
+
+		assertThatThrownBy(() -> pageFetcher.apply(1)).isSameAs(problem);
+	}
+
+	@Test
+	void latencyWindowThresholdIsPercentileOfSamples() {
+		final var window = new PageFetchHedger.LatencyWindow(100, 100, 0.95, 0);
+		assertThat(window.threshold()).isEqualTo(-1);
+
+		for (var latency = 1; latency <= 100; latency++) {
+			window.record(latency);
+		}
+
+		assertThat(window.threshold()).isEqualTo(95);
+	}
+
+	@Test
+	void latencyWindowThresholdIsAtLeastMinimumDelay() {
+		final var window = new PageFetchHedger.LatencyWindow(10, 1, 0.95, MILLISECONDS.toNanos(10));
+
+		window.record(1);
+
+		assertThat(window.threshold()).isEqualTo(MILLISECONDS.toNanos(10));
+	}
+
+	@Test
+	void budgetLimitsHedges() {
+		final var budget = new PageFetchHedger.Budget(0.5, 1);
+		assertThat(budget.tryWithdraw()).isFalse();
+
+		budget.deposit();
+		assertThat(budget.tryWithdraw()).isFalse();
+
+		budget.deposit();
+		budget.deposit();
+		budget.deposit();
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isFalse();
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package se.sundsvall.agreement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.dept44.problem.Problem;
+import se.sundsvall.dept44.problem.ThrowableProblem;
+
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpStatus.BAD_GATEWAY;
+import static se.sundsvall.agreement.service.RequestCoalescer.COALESCED_METRIC;
+
+class RequestCoalescerTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final RequestCoalescer requestCoalescer = new RequestCoalescer(meterRegistry);
+
+	@Test
+	void executeSharesInFlightResult() throws Exception {
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+		final var executions = new AtomicInteger();
+
+		final var leader = supplyAsync(() -> requestCoalescer.execute("type", "key", () -> {
+			executions.incrementAndGet();
+			started.countDown();
+			await(release);
+			return "result";
+		}));
+		assertThat(started.await(5, SECONDS)).isTrue();
+
+		final var follower = supplyAsync(() -> requestCoalescer.execute("type", "key", () -> {
+			executions.incrementAndGet();
+			return "other";
+		}));
+		awaitCoalesced();
+		release.countDown();
+
+		assertThat(leader.join()).isEqualTo("result");
+		assertThat(follower.join()).isEqualTo("result");
+		assertThat(executions).hasValue(1);
+		assertThat(meterRegistry.get(COALESCED_METRIC).tag("type", "type").counter().count()).isOne();
+	}
+
+	@Test
+	void executePropagatesFailureToWaiters() throws Exception {
+		final var problem = Problem.valueOf(BAD_GATEWAY, "Bad gateway");
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+
+		final var leader = supplyAsync(() -> requestCoalescer.execute("type", "key", () -> {
+			started.countDown();
+			await(release);
+			throw problem;
+		}));
+		assertThat(started.await(5, SECONDS)).isTrue();
+
+		final var follower = supplyAsync(() -> requestCoalescer.execute("type", "key", () -> "other"));
+		awaitCoalesced();
+		release.countDown();
+
+		assertThatThrownBy(leader::join).hasCause(problem);
+		assertThatThrownBy(follower::join).hasCause(problem);
+	}
+
+	@Test
+	void executeRetriesWhenDeadlineOfFirstCallerPasses() throws Exception {
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+
+		final var leader = supplyAsync(() -> requestCoalescer.execute("type", "key", () -> {
+			started.countDown();
+			await(release);
+			throw RequestDeadline.exceeded();
+		}));
+		assertThat(started.await(5, SECONDS)).isTrue();
+
+		final var follower = supplyAsync(() -> withDeadline(RequestDeadline.after(Duration.ofSeconds(30)), () -> requestCoalescer.execute("type", "key", () -> "other")));
+		awaitCoalesced();
+		release.countDown();
+
+		assertThatThrownBy(leader::join).hasCauseInstanceOf(ThrowableProblem.class);
+		assertThat(follower.join()).isEqualTo("other");
+	}
+
+	@Test
+	void executePropagatesPassedDeadlineWhenOwnDeadlineHasPassed() throws Exception {
+		final var problem = RequestDeadline.exceeded();
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+		final var executions = new AtomicInteger();
+
+		final var leader = supplyAsync(() -> requestCoalescer.execute("type", "key", () -> {
+			executions.incrementAndGet();
+			started.countDown();
+			await(release);
+			throw problem;
+		}));
+		assertThat(started.await(5, SECONDS)).isTrue();
+
+		final var deadline = RequestDeadline.none();
+		final var follower = supplyAsync(() -> withDeadline(deadline, () -> requestCoalescer.execute("type", "key", () -> {
+			executions.incrementAndGet();
+			return "other";
+		})));
+		awaitCoalesced();
+		deadline.cancel();
+		release.countDown();
+
+		assertThatThrownBy(leader::join).hasCause(problem);
+		assertThatThrownBy(follower::join).hasCause(problem);
+		assertThat(executions).hasValue(1);
+	}
+
+	@Test
+	void executeSequentialRequestsAreNotCoalesced() {
+		assertThat(requestCoalescer.execute("type", "key", () -> "first")).isEqualTo("first");
+		assertThat(requestCoalescer.execute("type", "key", () -> "second")).isEqualTo("second");
+		assertThat(meterRegistry.find(COALESCED_METRIC).counter()).isNull();
+	}
+
+	private void awaitCoalesced() throws InterruptedException {
+		for (var i = 0; (i < 100) && (meterRegistry.find(COALESCED_METRIC).counter() == null); i++) {
+			Thread.sleep(50);
+		}
+	}
+
+	private static <T> T withDeadline(RequestDeadline deadline, Supplier<T> supplier) {
+		RequestDeadline.bind(deadline);
+		try {
+			return supplier.get();
+		} finally {
+			RequestDeadline.bind(null);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, SECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
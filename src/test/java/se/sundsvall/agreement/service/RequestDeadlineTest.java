@@ -0,0 +1,135 @@
+package se.sundsvall.agreement.service;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.dept44.problem.Problem;
+import se.sundsvall.dept44.problem.ThrowableProblem;
+
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpStatus.BAD_GATEWAY;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static se.sundsvall.agreement.service.RequestDeadline.DEADLINE_EXCEEDED_MESSAGE;
+
+class RequestDeadlineTest {
+
+	@AfterEach
+	void tearDown() {
+		RequestDeadline.bind(null);
+	}
+
+	@Test
+	void remaining() {
+		final var deadline = RequestDeadline.after(Duration.ofSeconds(10));
+
+		assertThat(deadline.isExpired()).isFalse();
+		assertThat(deadline.remaining()).hasValueSatisfying(remaining -> assertThat(remaining).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(10)));
+	}
+
+	@Test
+	void remainingWhenExpired() {
+		final var deadline = RequestDeadline.after(Duration.ofMillis(-1));
+
+		assertThat(deadline.isExpired()).isTrue();
+		assertThat(deadline.remaining()).contains(Duration.ZERO);
+	}
+
+	@Test
+	void bindAndCurrent() {
+		final var deadline = RequestDeadline.after(Duration.ofSeconds(10));
+		assertThat(RequestDeadline.current()).isEmpty();
+
+		RequestDeadline.bind(deadline);
+		assertThat(RequestDeadline.current()).containsSame(deadline);
+
+		RequestDeadline.bind(null);
+		assertThat(RequestDeadline.current()).isEmpty();
+	}
+
+	@Test
+	void propagated() {
+		final var deadline = RequestDeadline.after(Duration.ofSeconds(10));
+		RequestDeadline.bind(deadline);
+
+		final var propagated = supplyAsync(RequestDeadline.propagated(RequestDeadline::current)).join();
+		final var notPropagated = supplyAsync(RequestDeadline::current).join();
+
+		assertThat(propagated).containsSame(deadline);
+		assertThat(notPropagated).isEmpty();
+	}
+
+	@Test
+	void boundedWithoutDeadlineReturnsPageFetcher() {
+		final IntFunction<String> pageFetcher = String::valueOf;
+
+		assertThat(RequestDeadline.bounded(pageFetcher)).isSameAs(pageFetcher);
+	}
+
+	@Test
+	void boundedFetchesPagesBeforeDeadline() {
+		RequestDeadline.bind(RequestDeadline.after(Duration.ofSeconds(10)));
+
+		assertThat(RequestDeadline.bounded(String::valueOf).apply(1)).isEqualTo("1");
+	}
+
+	@Test
+	void boundedDoesNotFetchPagesAfterDeadline() {
+		final var calls = new AtomicInteger();
+		RequestDeadline.bind(RequestDeadline.after(Duration.ZERO));
+
+		final var pageFetcher = RequestDeadline.bounded(page -> calls.incrementAndGet());
+
+		assertThatThrownBy(() -> pageFetcher.apply(1))
+			.isInstanceOf(ThrowableProblem.class)
+			.hasFieldOrPropertyWithValue("status", GATEWAY_TIMEOUT)
+			.hasMessageContaining(DEADLINE_EXCEEDED_MESSAGE);
+		assertThat(calls).hasValue(0);
+	}
+
+	@Test
+	void boundedReportsFailureAfterDeadlineAsPassedDeadline() {
+		RequestDeadline.bind(RequestDeadline.after(Duration.ofMillis(20)));
+
+		final var pageFetcher = RequestDeadline.bounded(page -> {
+			sleep(50);
+			throw Problem.valueOf(BAD_GATEWAY, "Read timed out");
+		});
+
+		assertThatThrownBy(() -> pageFetcher.apply(1))
+			.isInstanceOf(ThrowableProblem.class)
+			.hasFieldOrPropertyWithValue("status", GATEWAY_TIMEOUT);
+	}
+
+	@Test
+	void boundedPassesOnFailureBeforeDeadline() {
+		final var problem = Problem.valueOf(BAD_GATEWAY, "Bad gateway");
+		RequestDeadline.bind(RequestDeadline.after(Duration.ofSeconds(10)));
+
+		final IntFunction<String> pageFetcher = RequestDeadline.bounded(page -> {
+			throw problem;
+		});
+
+		assertThatThrownBy(() -> pageFetcher.apply(1)).isSameAs(problem);
+	}
+
+	@Test
+	void isPassedDeadline() {
+		assertThat(RequestDeadline.isPassedDeadline(RequestDeadline.exceeded())).isTrue();
+		assertThat(RequestDeadline.isPassedDeadline(new CancellationException())).isTrue();
+		assertThat(RequestDeadline.isPassedDeadline(Problem.valueOf(GATEWAY_TIMEOUT, "Read timed out"))).isFalse();
+		assertThat(RequestDeadline.isPassedDeadline(new IllegalStateException())).isFalse();
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
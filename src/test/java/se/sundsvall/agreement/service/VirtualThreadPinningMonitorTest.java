@@ -0,0 +1,23 @@
+package se.sundsvall.agreement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.agreement.service.VirtualThreadPinningMonitor.PINNED_METRIC;
+
+class VirtualThreadPinningMonitorTest {
+
+	@Test
+	void registersPinnedTimer() {
+		final var meterRegistry = new SimpleMeterRegistry();
+
+		final var monitor = new VirtualThreadPinningMonitor(meterRegistry);
+
+		try {
+			assertThat(meterRegistry.find(PINNED_METRIC).timer()).isNotNull();
+		} finally {
+			monitor.close();
+		}
+	}
+}
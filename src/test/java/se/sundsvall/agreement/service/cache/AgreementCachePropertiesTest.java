@@ -0,0 +1,42 @@
+package se.sundsvall.agreement.service.cache;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import se.sundsvall.agreement.Application;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest(classes = Application.class)
+@ActiveProfiles("junit")
+class AgreementCachePropertiesTest {
+
+	@Autowired
+	private AgreementCacheProperties properties;
+
+	@Test
+	void testProperties() {
+		assertThat(properties.party().enabled()).isFalse();
+		assertThat(properties.party().refreshAfter()).isEqualTo(Duration.ofMinutes(1));
+		assertThat(properties.party().timeToLive()).isEqualTo(Duration.ofMinutes(5));
+		assertThat(properties.party().maximumEntries()).isEqualTo(10000);
+		assertThat(properties.party().maximumWeight()).isEqualTo(1000000);
+
+		assertThat(properties.facility().enabled()).isFalse();
+		assertThat(properties.facility().refreshAfter()).isEqualTo(Duration.ofMinutes(1));
+		assertThat(properties.facility().timeToLive()).isEqualTo(Duration.ofMinutes(5));
+		assertThat(properties.facility().maximumEntries()).isEqualTo(10000);
+		assertThat(properties.facility().maximumWeight()).isEqualTo(1000000);
+
+		assertThat(properties.negative().enabled()).isFalse();
+		assertThat(properties.negative().timeToLive()).isEqualTo(Duration.ofSeconds(30));
+		assertThat(properties.negative().maximumEntries()).isEqualTo(100000);
+
+		assertThat(properties.lastGood().enabled()).isFalse();
+		assertThat(properties.lastGood().timeToLive()).isEqualTo(Duration.ofHours(24));
+		assertThat(properties.lastGood().maximumEntries()).isEqualTo(10000);
+		assertThat(properties.lastGood().maximumWeight()).isEqualTo(1000000);
+	}
+}
@@ -0,0 +1,192 @@
+package se.sundsvall.agreement.service.cache;
+
+import generated.se.sundsvall.datawarehousereader.Agreement;
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.agreement.service.cache.AgreementResponseCache.REFRESHES_METRIC;
+import static se.sundsvall.agreement.service.cache.AgreementResponseCache.STALE_HITS_METRIC;
+
+@ExtendWith(MockitoExtension.class)
+class AgreementResponseCacheTest {
+
+	private static final String CACHE_NAME = "agreement.test";
+	private static final String KEY = "key";
+	private static final Duration SOFT_TTL = Duration.ofMinutes(1);
+	private static final Duration HARD_TTL = Duration.ofMinutes(5);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicLong nanos = new AtomicLong();
+	private final List<Runnable> refreshes = new ArrayList<>();
+
+	@Mock
+	private Supplier<AgreementResponse> loaderMock;
+
+	private static AgreementResponse createResponse(String agreementId) {
+		return new AgreementResponse().agreements(new ArrayList<>(List.of(new Agreement().agreementId(agreementId))));
+	}
+
+	private AgreementResponseCache<String> createCache(boolean enabled, Duration refreshAfter) {
+		return new AgreementResponseCache<>(CACHE_NAME, new AgreementCacheProperties.Endpoint(enabled, HARD_TTL, refreshAfter, 100, 1000), refreshes::add, nanos::get, meterRegistry);
+	}
+
+	private void advance(Duration duration) {
+		nanos.addAndGet(duration.toNanos());
+	}
+
+	private double refreshCount(String result) {
+		return meterRegistry.get(REFRESHES_METRIC).tag("cache", CACHE_NAME).tag("result", result).counter().count();
+	}
+
+	@Test
+	void getCachesFreshResponse() {
+		final var cache = createCache(true, SOFT_TTL);
+		final var response = createResponse("1");
+		when(loaderMock.get()).thenReturn(response);
+
+		assertThat(cache.get(KEY, loaderMock)).isSameAs(response);
+		advance(SOFT_TTL.minusSeconds(1));
+		assertThat(cache.get(KEY, loaderMock)).isSameAs(response);
+
+		verify(loaderMock).get();
+		assertThat(refreshes).isEmpty();
+		assertThat(meterRegistry.get(STALE_HITS_METRIC).tag("cache", CACHE_NAME).counter().count()).isZero();
+	}
+
+	@Test
+	void getReturnsStaleResponseAndRefreshesOnce() {
+		final var cache = createCache(true, SOFT_TTL);
+		final var stale = createResponse("1");
+		final var refreshed = createResponse("2");
+		when(loaderMock.get()).thenReturn(stale, refreshed);
+
+		cache.get(KEY, loaderMock);
+		advance(SOFT_TTL);
+
+		// Stale responses are returned at once and only one refresh is started
+		assertThat(cache.get(KEY, loaderMock)).isSameAs(stale);
+		assertThat(cache.get(KEY, loaderMock)).isSameAs(stale);
+		assertThat(refreshes).hasSize(1);
+		verify(loaderMock).get();
+
+		refreshes.getFirst().run();
+
+		assertThat(cache.get(KEY, loaderMock)).isSameAs(refreshed);
+		verify(loaderMock, times(2)).get();
+		assertThat(meterRegistry.get(STALE_HITS_METRIC).tag("cache", CACHE_NAME).counter().count()).isEqualTo(2);
+		assertThat(refreshCount("success")).isOne();
+	}
+
+	@Test
+	void getKeepsStaleResponseWhenRefreshFails() {
+		final var cache = createCache(true, SOFT_TTL);
+		final var stale = createResponse("1");
+		when(loaderMock.get()).thenReturn(stale).thenThrow(new IllegalStateException("DataWarehouseReader is down"));
+
+		cache.get(KEY, loaderMock);
+		advance(SOFT_TTL);
+		cache.get(KEY, loaderMock);
+		refreshes.getFirst().run();
+
+		// A new refresh is started by the next stale lookup
+		assertThat(cache.get(KEY, loaderMock)).isSameAs(stale);
+		assertThat(refreshes).hasSize(2);
+		assertThat(refreshCount("failure")).isOne();
+	}
+
+	@Test
+	void getBlocksOnLoaderAfterHardTimeToLive() {
+		final var cache = createCache(true, SOFT_TTL);
+		final var expired = createResponse("1");
+		final var loaded = createResponse("2");
+		when(loaderMock.get()).thenReturn(expired, loaded);
+
+		cache.get(KEY, loaderMock);
+		advance(HARD_TTL);
+
+		assertThat(cache.get(KEY, loaderMock)).isSameAs(loaded);
+		verify(loaderMock, times(2)).get();
+		assertThat(refreshes).isEmpty();
+	}
+
+	@Test
+	void getCallsLoaderOutsideOfCache() {
+		final var cache = createCache(true, SOFT_TTL);
+		final var inner = createResponse("1");
+		final var outer = createResponse("2");
+		when(loaderMock.get()).thenReturn(inner);
+
+		// A loader called while the cache computes the entry could not use the cache for the same key
+		assertThat(cache.get(KEY, () -> {
+			assertThat(cache.get(KEY, loaderMock)).isSameAs(inner);
+			return outer;
+		})).isSameAs(outer);
+
+		assertThat(cache.getIfPresentQuietly(KEY)).isSameAs(outer);
+	}
+
+	@Test
+	void getDoesNotCacheResponseWithoutAgreements() {
+		final var cache = createCache(true, SOFT_TTL);
+		final var empty = new AgreementResponse().agreements(new ArrayList<>());
+		when(loaderMock.get()).thenReturn(empty);
+
+		assertThat(cache.get(KEY, loaderMock)).isSameAs(empty);
+		assertThat(cache.get(KEY, loaderMock)).isSameAs(empty);
+
+		verify(loaderMock, times(2)).get();
+		assertThat(cache.getIfPresentQuietly(KEY)).isNull();
+	}
+
+	@Test
+	void refreshEvictsResponseWithoutAgreements() {
+		final var cache = createCache(true, SOFT_TTL);
+		when(loaderMock.get()).thenReturn(createResponse("1"), new AgreementResponse().agreements(new ArrayList<>()));
+
+		cache.get(KEY, loaderMock);
+		advance(SOFT_TTL);
+		cache.get(KEY, loaderMock);
+		refreshes.getFirst().run();
+
+		assertThat(cache.getIfPresentQuietly(KEY)).isNull();
+	}
+
+	@Test
+	void getWithoutSoftTimeToLive() {
+		final var cache = createCache(true, null);
+		final var response = createResponse("1");
+		when(loaderMock.get()).thenReturn(response);
+
+		cache.get(KEY, loaderMock);
+		advance(HARD_TTL.minusSeconds(1));
+
+		assertThat(cache.get(KEY, loaderMock)).isSameAs(response);
+		verify(loaderMock).get();
+		assertThat(refreshes).isEmpty();
+	}
+
+	@Test
+	void getWhenDisabled() {
+		final var cache = createCache(false, SOFT_TTL);
+		when(loaderMock.get()).thenReturn(createResponse("1"));
+
+		cache.get(KEY, loaderMock);
+		cache.get(KEY, loaderMock);
+
+		verify(loaderMock, times(2)).get();
+		assertThat(cache.getIfPresentQuietly(KEY)).isNull();
+	}
+}
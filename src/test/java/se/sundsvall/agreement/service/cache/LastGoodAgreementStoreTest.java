@@ -0,0 +1,80 @@
+package se.sundsvall.agreement.service.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.agreement.api.model.Agreement;
+import se.sundsvall.agreement.api.model.AgreementParty;
+import se.sundsvall.agreement.api.model.AgreementResponse;
+import se.sundsvall.agreement.api.model.PagedAgreementResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.agreement.api.model.Category.WATER;
+import static se.sundsvall.agreement.service.cache.LastGoodAgreementStore.AGE_METRIC;
+
+class LastGoodAgreementStoreTest {
+
+	private static final Duration TIME_TO_LIVE = Duration.ofHours(24);
+	private static final PartyAgreementCacheKey KEY = PartyAgreementCacheKey.create("2281", "partyId", List.of(WATER), true);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicLong nanos = new AtomicLong();
+
+	private LastGoodAgreementStore createStore(boolean enabled) {
+		final var endpoint = new AgreementCacheProperties.Endpoint(true, Duration.ofMinutes(5), null, 100, 1000);
+		final var properties = new AgreementCacheProperties(endpoint, endpoint, new AgreementCacheProperties.Negative(true, Duration.ofSeconds(30), 100),
+			new AgreementCacheProperties.LastGood(enabled, TIME_TO_LIVE, 100, 1000));
+		return new LastGoodAgreementStore(properties, nanos::get, meterRegistry);
+	}
+
+	private static AgreementResponse createResponse() {
+		return AgreementResponse.create().withAgreementParties(List.of(AgreementParty.create().withAgreements(List.of(Agreement.create().withAgreementId("1")))));
+	}
+
+	@Test
+	void getReturnsLastGoodWithAge() {
+		final var store = createStore(true);
+		final var response = createResponse();
+		store.put(KEY, response);
+
+		nanos.addAndGet(Duration.ofSeconds(42).toNanos());
+
+		assertThat(store.get("party", KEY, AgreementResponse.class)).hasValueSatisfying(lastGood -> {
+			assertThat(lastGood.response()).isSameAs(response);
+			assertThat(lastGood.age()).isEqualTo(Duration.ofSeconds(42));
+		});
+		final var ageTimer = meterRegistry.get(AGE_METRIC).tag("endpoint", "party").timer();
+		assertThat(ageTimer.count()).isOne();
+		assertThat(ageTimer.max(TimeUnit.SECONDS)).isEqualTo(42);
+	}
+
+	@Test
+	void getWithOtherType() {
+		final var store = createStore(true);
+		store.put(KEY, createResponse());
+
+		assertThat(store.get("paged", KEY, PagedAgreementResponse.class)).isEmpty();
+	}
+
+	@Test
+	void getAfterTimeToLive() {
+		final var store = createStore(true);
+		store.put(KEY, createResponse());
+
+		nanos.addAndGet(TIME_TO_LIVE.toNanos());
+
+		assertThat(store.get("party", KEY, AgreementResponse.class)).isEmpty();
+		assertThat(meterRegistry.find(AGE_METRIC).timer()).isNull();
+	}
+
+	@Test
+	void getWhenDisabled() {
+		final var store = createStore(false);
+		store.put(KEY, createResponse());
+
+		assertThat(store.get("party", KEY, AgreementResponse.class)).isEmpty();
+	}
+}
@@ -0,0 +1,60 @@
+package se.sundsvall.agreement.service.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.agreement.api.model.Category.WATER;
+import static se.sundsvall.agreement.service.cache.NegativeAgreementCache.CACHE_NAME;
+
+class NegativeAgreementCacheTest {
+
+	private static final Duration TIME_TO_LIVE = Duration.ofSeconds(30);
+	private static final PartyAgreementCacheKey PARTY_KEY = PartyAgreementCacheKey.create("2281", "partyId", List.of(WATER), true);
+	private static final FacilityAgreementCacheKey FACILITY_KEY = new FacilityAgreementCacheKey("2281", WATER, "facilityId", true);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicLong nanos = new AtomicLong();
+
+	private NegativeAgreementCache createCache(boolean enabled) {
+		final var endpoint = new AgreementCacheProperties.Endpoint(true, Duration.ofMinutes(5), null, 100, 1000);
+		final var properties = new AgreementCacheProperties(endpoint, endpoint, new AgreementCacheProperties.Negative(enabled, TIME_TO_LIVE, 100),
+			new AgreementCacheProperties.LastGood(true, Duration.ofHours(24), 100, 1000));
+		return new NegativeAgreementCache(properties, nanos::get, meterRegistry);
+	}
+
+	@Test
+	void isNotFound() {
+		final var cache = createCache(true);
+
+		assertThat(cache.isNotFound(PARTY_KEY)).isFalse();
+		cache.putNotFound(PARTY_KEY);
+
+		assertThat(cache.isNotFound(PARTY_KEY)).isTrue();
+		assertThat(cache.isNotFound(FACILITY_KEY)).isFalse();
+		assertThat(cache.isNotFound(PartyAgreementCacheKey.create("2281", "partyId", List.of(WATER), false))).isFalse();
+		assertThat(meterRegistry.get("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit").functionCounter().count()).isOne();
+		assertThat(meterRegistry.get("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss").functionCounter().count()).isEqualTo(3);
+	}
+
+	@Test
+	void isNotFoundExpires() {
+		final var cache = createCache(true);
+		cache.putNotFound(FACILITY_KEY);
+
+		nanos.addAndGet(TIME_TO_LIVE.toNanos());
+
+		assertThat(cache.isNotFound(FACILITY_KEY)).isFalse();
+	}
+
+	@Test
+	void isNotFoundWhenDisabled() {
+		final var cache = createCache(false);
+		cache.putNotFound(PARTY_KEY);
+
+		assertThat(cache.isNotFound(PARTY_KEY)).isFalse();
+	}
+}
@@ -0,0 +1,151 @@
+package se.sundsvall.agreement.service.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import generated.se.sundsvall.datawarehousereader.Agreement;
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import generated.se.sundsvall.datawarehousereader.PagingAndSortingMetaData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.agreement.api.model.Category.ELECTRICITY;
+import static se.sundsvall.agreement.api.model.Category.WATER;
+import static se.sundsvall.agreement.service.cache.PartyAgreementCache.CACHE_NAME;
+import static se.sundsvall.agreement.service.cache.PartyAgreementCache.SUBSET_HITS_METRIC;
+
+@ExtendWith(MockitoExtension.class)
+class PartyAgreementCacheTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String PARTY_ID = "partyId";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Mock
+	private Supplier<AgreementResponse> loaderMock;
+
+	private static AgreementResponse createResponse(generated.se.sundsvall.datawarehousereader.Category... categories) {
+		final var agreements = new ArrayList<Agreement>();
+		for (final var category : categories) {
+			agreements.add(new Agreement().agreementId(category.name()).category(category));
+		}
+		return new AgreementResponse().agreements(agreements).meta(new PagingAndSortingMetaData().totalRecords((long) agreements.size()));
+	}
+
+	private PartyAgreementCache createCache(boolean enabled) {
+		return createCache(enabled, null, Ticker.systemTicker());
+	}
+
+	private PartyAgreementCache createCache(boolean enabled, Duration refreshAfter, Ticker ticker) {
+		final var endpoint = new AgreementCacheProperties.Endpoint(enabled, Duration.ofMinutes(1), refreshAfter, 100, 1000);
+		final var properties = new AgreementCacheProperties(endpoint, endpoint, new AgreementCacheProperties.Negative(true, Duration.ofSeconds(30), 100),
+			new AgreementCacheProperties.LastGood(true, Duration.ofHours(24), 100, 1000));
+		return new PartyAgreementCache(properties, Runnable::run, ticker, meterRegistry);
+	}
+
+	@Test
+	void getCachesResponse() {
+		final var cache = createCache(true);
+		final var key = PartyAgreementCacheKey.create(MUNICIPALITY_ID, PARTY_ID, List.of(ELECTRICITY), true);
+		final var response = createResponse(generated.se.sundsvall.datawarehousereader.Category.ELECTRICITY);
+		when(loaderMock.get()).thenReturn(response);
+
+		assertThat(cache.get(key, loaderMock)).isSameAs(response);
+		assertThat(cache.get(key, loaderMock)).isSameAs(response);
+
+		verify(loaderMock).get();
+		assertThat(meterRegistry.get("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit").functionCounter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss").functionCounter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void getNormalizesCategories() {
+		final var cache = createCache(true);
+		final var response = createResponse(generated.se.sundsvall.datawarehousereader.Category.ELECTRICITY, generated.se.sundsvall.datawarehousereader.Category.WATER);
+		when(loaderMock.get()).thenReturn(response);
+
+		cache.get(PartyAgreementCacheKey.create(MUNICIPALITY_ID, PARTY_ID, List.of(ELECTRICITY, WATER), true), loaderMock);
+
+		assertThat(cache.get(PartyAgreementCacheKey.create(MUNICIPALITY_ID, PARTY_ID, List.of(WATER, ELECTRICITY, WATER), true), loaderMock)).isSameAs(response);
+		verify(loaderMock).get();
+	}
+
+	@Test
+	void getSubsetOfCategoriesFromAllCategoriesEntry() {
+		final var cache = createCache(true);
+		final var response = createResponse(generated.se.sundsvall.datawarehousereader.Category.ELECTRICITY, generated.se.sundsvall.datawarehousereader.Category.WATER);
+		when(loaderMock.get()).thenReturn(response);
+
+		cache.get(PartyAgreementCacheKey.create(MUNICIPALITY_ID, PARTY_ID, emptyList(), true), loaderMock);
+		final var result = cache.get(PartyAgreementCacheKey.create(MUNICIPALITY_ID, PARTY_ID, List.of(WATER), true), loaderMock);
+
+		verify(loaderMock).get();
+		assertThat(result.getAgreements()).extracting(Agreement::getAgreementId).containsExactly("WATER");
+		assertThat(result.getMeta().getTotalRecords()).isOne();
+		assertThat(meterRegistry.get(SUBSET_HITS_METRIC).counter().count()).isOne();
+	}
+
+	@Test
+	void getSubsetOfCategoriesWhenAllCategoriesEntryIsStale() {
+		final var now = new AtomicLong();
+		final var cache = createCache(true, Duration.ofSeconds(10), now::get);
+		final var subset = createResponse(generated.se.sundsvall.datawarehousereader.Category.WATER);
+		when(loaderMock.get())
+			.thenReturn(createResponse(generated.se.sundsvall.datawarehousereader.Category.ELECTRICITY, generated.se.sundsvall.datawarehousereader.Category.WATER))
+			.thenReturn(subset);
+
+		cache.get(PartyAgreementCacheKey.create(MUNICIPALITY_ID, PARTY_ID, emptyList(), true), loaderMock);
+		now.addAndGet(Duration.ofSeconds(10).toNanos());
+		final var result = cache.get(PartyAgreementCacheKey.create(MUNICIPALITY_ID, PARTY_ID, List.of(WATER), true), loaderMock);
+
+		verify(loaderMock, times(2)).get();
+		assertThat(result).isSameAs(subset);
+		assertThat(meterRegistry.get(SUBSET_HITS_METRIC).counter().count()).isZero();
+	}
+
+	@Test
+	void getDoesNotMixOnlyActive() {
+		final var cache = createCache(true);
+		when(loaderMock.get()).thenReturn(createResponse(generated.se.sundsvall.datawarehousereader.Category.WATER));
+
+		cache.get(PartyAgreementCacheKey.create(MUNICIPALITY_ID, PARTY_ID, emptyList(), true), loaderMock);
+		cache.get(PartyAgreementCacheKey.create(MUNICIPALITY_ID, PARTY_ID, List.of(WATER), false), loaderMock);
+
+		verify(loaderMock, times(2)).get();
+	}
+
+	@Test
+	void getWhenDisabled() {
+		final var cache = createCache(false);
+		final var key = PartyAgreementCacheKey.create(MUNICIPALITY_ID, PARTY_ID, emptyList(), true);
+		when(loaderMock.get()).thenReturn(createResponse());
+
+		cache.get(key, loaderMock);
+		cache.get(key, loaderMock);
+
+		verify(loaderMock, times(2)).get();
+	}
+
+	@Test
+	void createKeyWithoutCategories() {
+		final var key = PartyAgreementCacheKey.create(MUNICIPALITY_ID, PARTY_ID, null, true);
+
+		assertThat(key.isAllCategories()).isTrue();
+		assertThat(key).isEqualTo(PartyAgreementCacheKey.create(MUNICIPALITY_ID, PARTY_ID, emptyList(), true));
+		assertThat(PartyAgreementCacheKey.create(MUNICIPALITY_ID, PARTY_ID, List.of(WATER), true).withAllCategories()).isEqualTo(key);
+		verifyNoInteractions(loaderMock);
+	}
+}
@@ -2,6 +2,7 @@ package se.sundsvall.agreement.service.mapper;
 
 import generated.se.sundsvall.datawarehousereader.Agreement;
 import generated.se.sundsvall.datawarehousereader.Category;
+import generated.se.sundsvall.datawarehousereader.Direction;
 import generated.se.sundsvall.datawarehousereader.PagingAndSortingMetaData;
 import java.time.LocalDate;
 import java.util.List;
@@ -9,12 +10,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import se.sundsvall.agreement.api.model.AgreementParameters;
 import se.sundsvall.agreement.api.model.AgreementParty;
 
 import static java.time.LocalDate.now;
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.InstanceOfAssertFactories.LIST;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.Direction.DESC;
 import static se.sundsvall.agreement.api.model.Category.COMMUNICATION;
 import static se.sundsvall.agreement.api.model.Category.DISTRICT_COOLING;
 import static se.sundsvall.agreement.api.model.Category.DISTRICT_HEATING;
@@ -22,10 +26,13 @@ import static se.sundsvall.agreement.api.model.Category.ELECTRICITY;
 import static se.sundsvall.agreement.api.model.Category.ELECTRICITY_TRADE;
 import static se.sundsvall.agreement.api.model.Category.WASTE_MANAGEMENT;
 import static se.sundsvall.agreement.api.model.Category.WATER;
+import static se.sundsvall.agreement.service.mapper.AgreementMapper.toAgreementParameters;
 import static se.sundsvall.agreement.service.mapper.AgreementMapper.toAgreementParties;
 import static se.sundsvall.agreement.service.mapper.AgreementMapper.toAgreements;
 import static se.sundsvall.agreement.service.mapper.AgreementMapper.toCategories;
 import static se.sundsvall.agreement.service.mapper.AgreementMapper.toCategory;
+import static se.sundsvall.agreement.service.mapper.AgreementMapper.toEndingAgreementParameters;
+import static se.sundsvall.agreement.service.mapper.AgreementMapper.toStartingAgreementParameters;
 
 class AgreementMapperTest {
 
@@ -82,6 +89,111 @@ class AgreementMapperTest {
 		return response;
 	}
 
+	@ParameterizedTest
+	@ValueSource(booleans = {
+		true, false
+	})
+	void testToAgreementParametersForFacility(boolean onlyActive) {
+		final var result = toAgreementParameters(WATER, FACILITY_ID, onlyActive);
+
+		assertThat(result.getFacilityId()).isEqualTo(FACILITY_ID);
+		assertThat(result.getCategory()).containsExactly(Category.WATER);
+		assertThat(result.getActive()).isEqualTo(onlyActive ? true : null);
+		assertThat(result.getSortBy()).containsExactly("customerNumber", "agreementId");
+		assertThat(result.getSortDirection()).isNull();
+		assertThat(result.getPartyId()).isNull();
+	}
+
+	@Test
+	void testToAgreementParametersForCategory() {
+		final var result = toAgreementParameters(WATER);
+
+		assertThat(result.getCategory()).containsExactly(Category.WATER);
+		assertThat(result.getSortBy()).containsExactly("agreementId");
+		assertThat(result.getActive()).isNull();
+		assertThat(result.getPartyId()).isNull();
+		assertThat(result.getFacilityId()).isNull();
+		assertThat(result.getPage()).isNull();
+		assertThat(result.getLimit()).isNull();
+	}
+
+	@Test
+	void testToStartingAgreementParameters() {
+		final var date = LocalDate.of(2026, 10, 18);
+
+		final var result = toStartingAgreementParameters(WATER, date);
+
+		assertThat(result.getCategory()).containsExactly(Category.WATER);
+		assertThat(result.getFromDate()).isEqualTo(date);
+		assertThat(result.getToDate()).isNull();
+		assertThat(result.getSortBy()).containsExactly("fromDate", "agreementId");
+		assertThat(result.getSortDirection()).isEqualTo(Direction.ASC);
+	}
+
+	@Test
+	void testToEndingAgreementParameters() {
+		final var date = LocalDate.of(2026, 10, 18);
+
+		final var result = toEndingAgreementParameters(WATER, date);
+
+		assertThat(result.getCategory()).containsExactly(Category.WATER);
+		assertThat(result.getFromDate()).isNull();
+		assertThat(result.getToDate()).isEqualTo(date);
+		assertThat(result.getSortBy()).containsExactly("toDate", "agreementId");
+		assertThat(result.getSortDirection()).isEqualTo(Direction.ASC);
+	}
+
+	@Test
+	void testToAgreementParameters() {
+		final var parameters = AgreementParameters.create()
+			.withOnlyActive(false)
+			.withPage(3)
+			.withLimit(25)
+			.withSortBy(List.of("toDate", "agreementId"))
+			.withSortDirection(ASC)
+			.withMainAgreement(false)
+			.withBinding(true)
+			.withProduction(true)
+			.withPlacementStatus(PLACEMENT_STATUS)
+			.withNetAreaId(NET_AREA_ID)
+			.withFromDate(LocalDate.of(2024, 1, 1))
+			.withToDate(LocalDate.of(2024, 12, 31));
+
+		final var result = toAgreementParameters(PARTY_ID, List.of(WATER), parameters);
+
+		assertThat(result.getPartyId()).isEqualTo(PARTY_ID);
+		assertThat(result.getCategory()).containsExactly(Category.WATER);
+		assertThat(result.getPage()).isEqualTo(3);
+		assertThat(result.getLimit()).isEqualTo(25);
+		assertThat(result.getActive()).isNull();
+		assertThat(result.getSortBy()).containsExactly("toDate", "agreementId");
+		assertThat(result.getSortDirection()).isEqualTo(Direction.ASC);
+		assertThat(result.getMainAgreement()).isFalse();
+		assertThat(result.getBinding()).isTrue();
+		assertThat(result.getProduction()).isTrue();
+		assertThat(result.getPlacementStatus()).isEqualTo(PLACEMENT_STATUS);
+		assertThat(result.getNetAreaId()).isEqualTo(NET_AREA_ID);
+		assertThat(result.getFromDate()).isEqualTo(LocalDate.of(2024, 1, 1));
+		assertThat(result.getToDate()).isEqualTo(LocalDate.of(2024, 12, 31));
+	}
+
+	@Test
+	void testToAgreementParametersWithoutSortingOrFilters() {
+		final var result = toAgreementParameters(PARTY_ID, null, AgreementParameters.create().withSortDirection(DESC));
+
+		assertThat(result.getCategory()).isEmpty();
+		assertThat(result.getActive()).isTrue();
+		assertThat(result.getSortBy()).isEmpty();
+		assertThat(result.getSortDirection()).isNull();
+		assertThat(result.getMainAgreement()).isNull();
+		assertThat(result.getBinding()).isNull();
+		assertThat(result.getProduction()).isNull();
+		assertThat(result.getPlacementStatus()).isNull();
+		assertThat(result.getNetAreaId()).isNull();
+		assertThat(result.getFromDate()).isNull();
+		assertThat(result.getToDate()).isNull();
+	}
+
 	@Test
 	void testToCategories() {
 		assertThat(toCategories(null)).isEmpty();
@@ -203,14 +315,14 @@ class AgreementMapperTest {
 	}
 
 	private void assertAgreementValues(final se.sundsvall.agreement.api.model.Agreement agreement, final int i, final boolean bound, final boolean mainAgreement, final boolean active, final LocalDate toDate) {
-		assertThat(agreement.isActive()).isEqualTo(active);
+		assertThat(agreement.getActive()).isEqualTo(active);
 		assertThat(agreement.getAgreementId()).isEqualTo(AGREEMENT_ID + i);
 		assertThat(agreement.getBillingId()).isEqualTo(BILLING_ID + i);
-		assertThat(agreement.isBinding()).isEqualTo(bound);
+		assertThat(agreement.getBinding()).isEqualTo(bound);
 		assertThat(agreement.getBindingRule()).isEqualTo(bound ? BINDING_RULE : null);
 		assertThat(agreement.getDescription()).isEqualTo(DESCRIPTION + i);
 		assertThat(agreement.getFromDate()).isEqualTo(now().minusYears(i));
-		assertThat(agreement.isMainAgreement()).isEqualTo(mainAgreement);
+		assertThat(agreement.getMainAgreement()).isEqualTo(mainAgreement);
 		assertThat(agreement.getNetAreaId()).isEqualTo(NET_AREA_ID);
 		assertThat(agreement.getPlacementStatus()).isEqualTo(PLACEMENT_STATUS);
 		assertThat(agreement.getProduction()).isEqualTo(PRODUCTION);
@@ -0,0 +1,49 @@
+package se.sundsvall.agreement.service.mapper;
+
+import generated.se.sundsvall.datawarehousereader.Agreement;
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.agreement.api.model.AgreementParty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgreementPartyGrouperTest {
+
+	@Test
+	void groupsAdjacentAgreementsAcrossPages() {
+		final var grouper = new AgreementPartyGrouper();
+
+		final var completedByPage1 = grouper.add(page("c1:a1", "c1:a2"));
+		final var completedByPage2 = grouper.add(page("c1:a3", "c2:a4", "c3:a5"));
+		final var completedByPage3 = grouper.add(page("c3:a6"));
+		final var last = grouper.finish();
+
+		assertThat(completedByPage1).isEmpty();
+		assertThat(completedByPage2).extracting(AgreementParty::getCustomerId).containsExactly("c1", "c2");
+		assertThat(completedByPage2.getFirst().getAgreements()).extracting(se.sundsvall.agreement.api.model.Agreement::getAgreementId).containsExactly("a1", "a2", "a3");
+		assertThat(completedByPage2.getFirst().getAgreements()).extracting(se.sundsvall.agreement.api.model.Agreement::getCustomerId).containsOnlyNulls();
+		assertThat(completedByPage3).isEmpty();
+		assertThat(last).hasValueSatisfying(party -> {
+			assertThat(party.getCustomerId()).isEqualTo("c3");
+			assertThat(party.getAgreements()).extracting(se.sundsvall.agreement.api.model.Agreement::getAgreementId).containsExactly("a5", "a6");
+		});
+		assertThat(grouper.finish()).isEmpty();
+	}
+
+	@Test
+	void emptyPages() {
+		final var grouper = new AgreementPartyGrouper();
+
+		assertThat(grouper.add(null)).isEmpty();
+		assertThat(grouper.add(new AgreementResponse())).isEmpty();
+		assertThat(grouper.finish()).isEmpty();
+	}
+
+	private static AgreementResponse page(String... customerAndAgreementIds) {
+		return new AgreementResponse().agreements(List.of(customerAndAgreementIds).stream()
+			.map(customerAndAgreementId -> customerAndAgreementId.split(":"))
+			.map(ids -> new Agreement().customerNumber(ids[0]).agreementId(ids[1]))
+			.toList());
+	}
+}
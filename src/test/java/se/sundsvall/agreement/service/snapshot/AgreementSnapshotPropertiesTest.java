@@ -0,0 +1,28 @@
+package se.sundsvall.agreement.service.snapshot;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import se.sundsvall.agreement.Application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = Application.class)
+@ActiveProfiles("junit")
+class AgreementSnapshotPropertiesTest {
+
+	@Autowired
+	private AgreementSnapshotProperties properties;
+
+	@Test
+	void testProperties() {
+		assertThat(properties.enabled()).isFalse();
+		assertThat(properties.municipalityIds()).isEmpty();
+		assertThat(properties.refreshInterval()).isEqualTo(Duration.ofMinutes(15));
+		assertThat(properties.reconcileInterval()).isEqualTo(Duration.ofHours(24));
+		assertThat(properties.maximumAge()).isEqualTo(Duration.ofHours(1));
+		assertThat(properties.pageSize()).isEqualTo(1000);
+	}
+}
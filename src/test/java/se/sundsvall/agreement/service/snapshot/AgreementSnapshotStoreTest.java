@@ -0,0 +1,197 @@
+package se.sundsvall.agreement.service.snapshot;
+
+import generated.se.sundsvall.datawarehousereader.Agreement;
+import generated.se.sundsvall.datawarehousereader.AgreementResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sundsvall.agreement.api.model.Category;
+import se.sundsvall.agreement.service.AgreementPartyProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static se.sundsvall.agreement.api.model.Category.WATER;
+import static se.sundsvall.agreement.service.snapshot.AgreementSnapshotStore.AGE_METRIC;
+import static se.sundsvall.agreement.service.snapshot.AgreementSnapshotStore.DELTA_METRIC;
+import static se.sundsvall.agreement.service.snapshot.AgreementSnapshotStore.LOOKUP_METRIC;
+import static se.sundsvall.agreement.service.snapshot.AgreementSnapshotStore.MISMATCH_METRIC;
+import static se.sundsvall.agreement.service.snapshot.AgreementSnapshotStore.SIZE_METRIC;
+import static se.sundsvall.agreement.service.snapshot.AgreementSnapshotStore.SYNC_METRIC;
+
+@ExtendWith(MockitoExtension.class)
+class AgreementSnapshotStoreTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final Duration MAXIMUM_AGE = Duration.ofHours(1);
+	private static final Duration RECONCILE_INTERVAL = Duration.ofHours(24);
+	private static final Instant NOW = Instant.parse("2026-10-18T10:00:00Z");
+	private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+	@Mock
+	private AgreementPartyProvider agreementPartyProviderMock;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicLong nanos = new AtomicLong();
+
+	private AgreementSnapshotStore createStore(boolean enabled) {
+		final var properties = new AgreementSnapshotProperties(enabled, List.of(MUNICIPALITY_ID), Duration.ofMinutes(15), RECONCILE_INTERVAL, MAXIMUM_AGE, 100);
+		return new AgreementSnapshotStore(properties, agreementPartyProviderMock, nanos::get, Clock.fixed(NOW, ZoneOffset.UTC), meterRegistry);
+	}
+
+	private void returnAll(Agreement... agreements) {
+		doAnswer(invocation -> {
+			final Consumer<AgreementResponse> pageConsumer = invocation.getArgument(3);
+			if (invocation.<Category>getArgument(1) == WATER) {
+				List.of(agreements).forEach(agreement -> pageConsumer.accept(new AgreementResponse().agreements(List.of(agreement))));
+				nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+			}
+			return null;
+		}).when(agreementPartyProviderMock).streamAgreementsByCategory(eq(MUNICIPALITY_ID), any(), eq(100), any());
+	}
+
+	private void returnChanged(LocalDate since, Agreement... agreements) {
+		doAnswer(invocation -> {
+			final Consumer<AgreementResponse> pageConsumer = invocation.getArgument(5);
+			if (invocation.<Category>getArgument(1) == WATER) {
+				pageConsumer.accept(new AgreementResponse().agreements(List.of(agreements)));
+				nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+			}
+			return null;
+		}).when(agreementPartyProviderMock).streamAgreementsByCategoryChangedSince(eq(MUNICIPALITY_ID), any(), eq(since), eq(TODAY), eq(100), any());
+	}
+
+	private static Agreement agreement(String agreementId, String description) {
+		return new Agreement().agreementId(agreementId).partyId("party").description(description);
+	}
+
+	@Test
+	void syncLoadsAllAgreementsFirst() {
+		final var store = createStore(true);
+		returnAll(agreement("1", "first"), agreement("2", "second"));
+
+		store.sync(MUNICIPALITY_ID);
+
+		for (final var category : Category.values()) {
+			verify(agreementPartyProviderMock).streamAgreementsByCategory(eq(MUNICIPALITY_ID), eq(category), eq(100), any());
+		}
+		verify(agreementPartyProviderMock, never()).streamAgreementsByCategoryChangedSince(any(), any(), any(), any(), eq(100), any());
+		assertThat(store.find(MUNICIPALITY_ID)).hasValueSatisfying(snapshot -> {
+			assertThat(snapshot.size()).isEqualTo(2);
+			assertThat(snapshot.loadTime()).isEqualTo(Duration.ofSeconds(5));
+			assertThat(snapshot.getAgreementsByPartyIdAndCategories("party", List.of(), false).getAgreements()).hasSize(2);
+		});
+		assertThat(meterRegistry.get(AGE_METRIC).tag("municipalityId", MUNICIPALITY_ID).gauge().value()).isEqualTo(5);
+		assertThat(meterRegistry.get(SIZE_METRIC).tag("municipalityId", MUNICIPALITY_ID).gauge().value()).isEqualTo(2);
+		assertThat(meterRegistry.get(SYNC_METRIC).tags("municipalityId", MUNICIPALITY_ID, "type", "full", "outcome", "success").timer().count()).isOne();
+		assertThat(meterRegistry.get(LOOKUP_METRIC).tag("result", "hit").counter().count()).isOne();
+		assertThat(meterRegistry.find(MISMATCH_METRIC).counter()).isNull();
+	}
+
+	@Test
+	void syncMergesChangedAgreements() {
+		final var store = createStore(true);
+		returnAll(agreement("1", "first"), agreement("2", "second"));
+		store.sync(MUNICIPALITY_ID);
+
+		returnChanged(TODAY, agreement("2", "changed"), agreement("3", "third"));
+		store.sync(MUNICIPALITY_ID);
+
+		assertThat(store.find(MUNICIPALITY_ID)).hasValueSatisfying(snapshot -> {
+			assertThat(snapshot.size()).isEqualTo(3);
+			assertThat(snapshot.loadTime()).isEqualTo(Duration.ofSeconds(1));
+			assertThat(snapshot.getAgreementsByPartyIdAndCategories("party", List.of(), false).getAgreements())
+				.extracting(Agreement::getDescription)
+				.containsExactly("first", "changed", "third");
+		});
+		assertThat(meterRegistry.get(AGE_METRIC).gauge().value()).isEqualTo(1);
+		assertThat(meterRegistry.get(DELTA_METRIC).tag("municipalityId", MUNICIPALITY_ID).summary().totalAmount()).isEqualTo(2);
+		assertThat(meterRegistry.get(SYNC_METRIC).tags("type", "delta", "outcome", "success").timer().count()).isOne();
+		verify(agreementPartyProviderMock).streamAgreementsByCategory(eq(MUNICIPALITY_ID), eq(WATER), eq(100), any());
+	}
+
+	@Test
+	void syncReconcilesWhenDue() {
+		final var store = createStore(true);
+		returnAll(agreement("1", "first"), agreement("2", "second"));
+		store.sync(MUNICIPALITY_ID);
+
+		nanos.set(RECONCILE_INTERVAL.toNanos());
+		store.sync(MUNICIPALITY_ID);
+		assertThat(meterRegistry.find(MISMATCH_METRIC).counter()).isNull();
+
+		nanos.set(2 * RECONCILE_INTERVAL.toNanos());
+		returnAll(agreement("1", "first"));
+		store.sync(MUNICIPALITY_ID);
+
+		assertThat(store.find(MUNICIPALITY_ID)).hasValueSatisfying(snapshot -> assertThat(snapshot.size()).isOne());
+		assertThat(meterRegistry.get(MISMATCH_METRIC).tag("municipalityId", MUNICIPALITY_ID).counter().count()).isOne();
+		assertThat(meterRegistry.get(SYNC_METRIC).tags("type", "full", "outcome", "success").timer().count()).isEqualTo(3);
+		verify(agreementPartyProviderMock, never()).streamAgreementsByCategoryChangedSince(any(), any(), any(), any(), eq(100), any());
+	}
+
+	@Test
+	void findWithoutSnapshot() {
+		final var store = createStore(true);
+
+		assertThat(store.find(MUNICIPALITY_ID)).isEmpty();
+		assertThat(store.find("other")).isEmpty();
+		assertThat(meterRegistry.get(AGE_METRIC).gauge().value()).isNaN();
+		assertThat(meterRegistry.get(LOOKUP_METRIC).tag("result", "miss").counter().count()).isEqualTo(2);
+	}
+
+	@Test
+	void findAfterMaximumAge() {
+		final var store = createStore(true);
+		returnAll(agreement("1", "first"));
+		store.sync(MUNICIPALITY_ID);
+
+		nanos.addAndGet(MAXIMUM_AGE.minusSeconds(5).toNanos());
+		assertThat(store.find(MUNICIPALITY_ID)).isPresent();
+
+		nanos.incrementAndGet();
+		assertThat(store.find(MUNICIPALITY_ID)).isEmpty();
+	}
+
+	@Test
+	void failingSyncKeepsSnapshot() {
+		final var store = createStore(true);
+		returnAll(agreement("1", "first"), agreement("2", "second"));
+		store.sync(MUNICIPALITY_ID);
+
+		doThrow(new IllegalStateException("DataWarehouseReader failed")).when(agreementPartyProviderMock)
+			.streamAgreementsByCategoryChangedSince(eq(MUNICIPALITY_ID), any(), any(), any(), eq(100), any());
+		store.sync(MUNICIPALITY_ID);
+
+		assertThat(store.find(MUNICIPALITY_ID)).hasValueSatisfying(snapshot -> assertThat(snapshot.size()).isEqualTo(2));
+		assertThat(meterRegistry.get(SYNC_METRIC).tags("type", "delta", "outcome", "failure").timer().count()).isOne();
+		assertThat(meterRegistry.find(DELTA_METRIC).summary()).isNull();
+	}
+
+	@Test
+	void findWhenDisabled() {
+		final var store = createStore(false);
+
+		store.start();
+
+		assertThat(store.find(MUNICIPALITY_ID)).isEmpty();
+		assertThat(meterRegistry.find(AGE_METRIC).gauge()).isNull();
+		assertThat(meterRegistry.find(LOOKUP_METRIC).counter()).isNull();
+		verifyNoInteractions(agreementPartyProviderMock);
+	}
+}
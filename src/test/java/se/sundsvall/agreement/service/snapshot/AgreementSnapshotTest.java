@@ -0,0 +1,116 @@
+package se.sundsvall.agreement.service.snapshot;
+
+import generated.se.sundsvall.datawarehousereader.Agreement;
+import generated.se.sundsvall.datawarehousereader.Category;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.agreement.api.model.Category.ELECTRICITY;
+import static se.sundsvall.agreement.api.model.Category.WATER;
+
+class AgreementSnapshotTest {
+
+	private static final List<Agreement> AGREEMENTS = List.of(
+		agreement("a1", "party1", "customer1", "facility1", Category.WATER, true),
+		agreement("a2", "party1", "customer1", "facility2", Category.ELECTRICITY, false),
+		agreement("a3", "party2", "customer2", "facility1", Category.WATER, true),
+		agreement("a4", "party2", "customer2", "facility1", Category.ELECTRICITY, true),
+		agreement("a5", null, null, null, Category.WATER, true));
+
+	private final AgreementSnapshot snapshot = new AgreementSnapshot(AGREEMENTS, 42, Duration.ofSeconds(3));
+
+	@Test
+	void getAgreementsByPartyIdAndCategories() {
+		assertThat(snapshot.getAgreementsByPartyIdAndCategories("party1", List.of(), false).getAgreements())
+			.extracting(Agreement::getAgreementId).containsExactly("a1", "a2");
+		assertThat(snapshot.getAgreementsByPartyIdAndCategories("party1", List.of(ELECTRICITY), false).getAgreements())
+			.extracting(Agreement::getAgreementId).containsExactly("a2");
+		assertThat(snapshot.getAgreementsByPartyIdAndCategories("party1", null, true).getAgreements())
+			.extracting(Agreement::getAgreementId).containsExactly("a1");
+	}
+
+	@Test
+	void getAgreementsByCategoryAndFacility() {
+		assertThat(snapshot.getAgreementsByCategoryAndFacility(WATER, "facility1", false).getAgreements())
+			.extracting(Agreement::getAgreementId).containsExactly("a1", "a3");
+		assertThat(snapshot.getAgreementsByCategoryAndFacility(ELECTRICITY, "facility2", true).getAgreements()).isEmpty();
+	}
+
+	@Test
+	void getAgreementsByCustomerNumber() {
+		assertThat(snapshot.getAgreementsByCustomerNumber("customer2", false).getAgreements())
+			.extracting(Agreement::getAgreementId).containsExactly("a3", "a4");
+	}
+
+	@Test
+	void responseIsSinglePage() {
+		final var response = snapshot.getAgreementsByPartyIdAndCategories("party2", List.of(), false);
+
+		assertThat(response.getMeta().getPage()).isOne();
+		assertThat(response.getMeta().getTotalPages()).isOne();
+		assertThat(response.getMeta().getCount()).isEqualTo(2);
+		assertThat(response.getMeta().getTotalRecords()).isEqualTo(2);
+	}
+
+	@Test
+	void unknownKeys() {
+		final var response = snapshot.getAgreementsByPartyIdAndCategories("unknown", List.of(), false);
+
+		assertThat(response.getAgreements()).isEmpty();
+		assertThat(response.getMeta().getTotalRecords()).isZero();
+		assertThat(snapshot.getAgreementsByCategoryAndFacility(ELECTRICITY, "facility2", false).getAgreements()).hasSize(1);
+		assertThat(snapshot.getAgreementsByCategoryAndFacility(WATER, "facility2", false).getAgreements()).isEmpty();
+	}
+
+	@Test
+	void sizeAndLoadTime() {
+		assertThat(snapshot.size()).isEqualTo(5);
+		assertThat(snapshot.loadTime()).isEqualTo(Duration.ofSeconds(3));
+		assertThat(snapshot.loadedAt()).isEqualTo(42);
+	}
+
+	@Test
+	void merge() {
+		final var changed = List.of(
+			agreement("a1", "party3", "customer3", "facility1", Category.WATER, false),
+			agreement("a6", "party1", "customer1", "facility3", Category.WATER, true),
+			agreement("a6", "party1", "customer1", "facility4", Category.WATER, true));
+
+		final var merged = snapshot.merge(changed, 84, Duration.ofSeconds(1));
+
+		assertThat(merged.size()).isEqualTo(6);
+		assertThat(merged.loadedAt()).isEqualTo(84);
+		assertThat(merged.loadTime()).isEqualTo(Duration.ofSeconds(1));
+		assertThat(merged.getAgreementsByPartyIdAndCategories("party1", List.of(), false).getAgreements())
+			.extracting(Agreement::getAgreementId).containsExactly("a2", "a6");
+		assertThat(merged.getAgreementsByPartyIdAndCategories("party3", List.of(), false).getAgreements())
+			.extracting(Agreement::getAgreementId).containsExactly("a1");
+		assertThat(merged.getAgreementsByCategoryAndFacility(WATER, "facility4", false).getAgreements()).hasSize(1);
+		assertThat(merged.getAgreementsByCategoryAndFacility(WATER, "facility3", false).getAgreements()).isEmpty();
+		assertThat(snapshot.getAgreementsByPartyIdAndCategories("party1", List.of(), false).getAgreements())
+			.extracting(Agreement::getAgreementId).containsExactly("a1", "a2");
+	}
+
+	@Test
+	void checksum() {
+		final var reordered = new AgreementSnapshot(AGREEMENTS.reversed(), 0, Duration.ZERO);
+		final var changed = snapshot.merge(List.of(agreement("a1", "party1", "customer1", "facility1", Category.WATER, false)), 0, Duration.ZERO);
+		final var unchanged = snapshot.merge(List.of(agreement("a1", "party1", "customer1", "facility1", Category.WATER, true)), 0, Duration.ZERO);
+
+		assertThat(reordered.checksum()).isEqualTo(snapshot.checksum());
+		assertThat(unchanged.checksum()).isEqualTo(snapshot.checksum());
+		assertThat(changed.checksum()).isNotEqualTo(snapshot.checksum());
+	}
+
+	private static Agreement agreement(String agreementId, String partyId, String customerNumber, String facilityId, Category category, boolean active) {
+		return new Agreement()
+			.agreementId(agreementId)
+			.partyId(partyId)
+			.customerNumber(customerNumber)
+			.facilityId(facilityId)
+			.category(category)
+			.active(active);
+	}
+}